@@ -57,14 +57,14 @@ import org.wso2.carbon.identity.action.management.model.Action;
 import org.wso2.carbon.identity.action.management.model.AuthProperty;
 import org.wso2.carbon.identity.action.management.model.Authentication;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
-import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -76,11 +76,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
 
     private static final Log LOG = LogFactory.getLog(ActionExecutorServiceImpl.class);
 
-    private static final int THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
     private static final ActionExecutorServiceImpl INSTANCE = new ActionExecutorServiceImpl();
     private static final ActionExecutionDiagnosticLogger DIAGNOSTIC_LOGGER = new ActionExecutionDiagnosticLogger();
     private final APIClient apiClient;
-    private final ExecutorService executorService = ThreadLocalAwareExecutors.newFixedThreadPool(THREAD_POOL_SIZE);
 
     private ActionExecutorServiceImpl() {
 
@@ -274,11 +272,20 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                                                                  String payload) throws ActionExecutionException {
 
         String apiEndpoint = action.getEndpoint().getUri();
-        CompletableFuture<ActionInvocationResponse> actionExecutor = CompletableFuture.supplyAsync(
-                () -> apiClient.callAPI(apiEndpoint, authenticationMethod, payload), executorService);
+        CompletableFuture<ActionInvocationResponse> actionExecutor =
+                apiClient.callAPIAsync(action.getId(), apiEndpoint, authenticationMethod, payload);
+        long executionTimeout = ActionExecutorConfig.getInstance().getActionExecutionTimeoutInMillis();
         try {
-            return actionExecutor.get();
-        } catch (InterruptedException | ExecutionException e) {
+            return actionExecutor.get(executionTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            actionExecutor.cancel(false);
+            throw new ActionExecutionException("Action: " + action.getId() + " did not respond within " +
+                    executionTimeout + " ms.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            actionExecutor.cancel(false);
+            throw new ActionExecutionException("Interrupted while executing action: " + action.getId(), e);
+        } catch (ExecutionException e) {
             throw new ActionExecutionException("Error occurred while executing action: " + action.getId(),
                     e);
         }
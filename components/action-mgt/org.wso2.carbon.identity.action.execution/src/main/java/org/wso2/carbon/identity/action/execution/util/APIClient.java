@@ -40,10 +40,22 @@ import org.wso2.carbon.identity.action.execution.model.ActionInvocationErrorResp
 import org.wso2.carbon.identity.action.execution.model.ActionInvocationFailureResponse;
 import org.wso2.carbon.identity.action.execution.model.ActionInvocationResponse;
 import org.wso2.carbon.identity.action.execution.model.ActionInvocationSuccessResponse;
+import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class is responsible for making API calls to the external services.
@@ -53,7 +65,18 @@ public class APIClient {
     private static final Log LOG = LogFactory.getLog(APIClient.class);
     private static final ActionExecutionDiagnosticLogger DIAGNOSTIC_LOGGER = new ActionExecutionDiagnosticLogger();
     private static final String ACTION_STATUS = "actionStatus";
+    private static final String MAX_RETRY_ATTEMPTS_ERROR =
+            "Failed to execute the action request or maximum retry attempts reached.";
     private final CloseableHttpClient httpClient;
+    private final Executor requestExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Map<String, EndpointGuard> endpointGuards = new ConcurrentHashMap<>();
+    private final ActionInvocationMetrics invocationMetrics = new ActionInvocationMetrics();
+    private final int maxConcurrentRequestsPerEndpoint;
+    private final int circuitBreakerFailureThreshold;
+    private final int circuitBreakerOpenDurationInMillis;
+    private final long retryBackoffInitialIntervalInMillis;
+    private final long retryBackoffMaxIntervalInMillis;
 
     public APIClient() {
 
@@ -73,6 +96,24 @@ public class APIClient {
         connectionManager.setMaxTotal(ActionExecutorConfig.getInstance().getHttpConnectionPoolSize());
         httpClient = HttpClientBuilder.create().setDefaultRequestConfig(config).setConnectionManager(connectionManager)
                 .build();
+
+        // Requests are executed on a pool sized to the connection pool, so that an in-flight request never waits
+        // on a connection held by another thread of the same pool. Retries are scheduled instead of slept on.
+        requestExecutor = ThreadLocalAwareExecutors.newFixedThreadPool(
+                Math.max(1, ActionExecutorConfig.getInstance().getHttpConnectionPoolSize()));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "action-execution-retry-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxConcurrentRequestsPerEndpoint =
+                Math.max(1, ActionExecutorConfig.getInstance().getMaxConcurrentRequestsPerEndpoint());
+        circuitBreakerFailureThreshold = ActionExecutorConfig.getInstance().getCircuitBreakerFailureThreshold();
+        circuitBreakerOpenDurationInMillis = ActionExecutorConfig.getInstance().getCircuitBreakerOpenDurationInMillis();
+        retryBackoffInitialIntervalInMillis =
+                Math.max(0, ActionExecutorConfig.getInstance().getRetryBackoffInitialIntervalInMillis());
+        retryBackoffMaxIntervalInMillis = Math.max(retryBackoffInitialIntervalInMillis,
+                ActionExecutorConfig.getInstance().getRetryBackoffMaxIntervalInMillis());
     }
 
     public ActionInvocationResponse callAPI(String url, AuthMethods.AuthMethod authMethod,
@@ -84,6 +125,166 @@ public class APIClient {
         return executeRequest(httpPost);
     }
 
+    /**
+     * Calls the action endpoint without blocking the calling thread.
+     * Each endpoint has a bounded concurrency budget and a circuit breaker. When the budget is exhausted or the
+     * breaker is open, the returned future completes immediately with an error response. Retryable failures are
+     * retried with exponential backoff and jitter, up to the configured retry count.
+     *
+     * @param actionId   ID of the action being executed. Used to group the invocation metrics.
+     * @param url        Action endpoint.
+     * @param authMethod Authentication method of the endpoint.
+     * @param payload    JSON request payload.
+     * @return Future that completes with the action invocation response.
+     */
+    public CompletableFuture<ActionInvocationResponse> callAPIAsync(String actionId, String url,
+                                                                    AuthMethods.AuthMethod authMethod,
+                                                                    String payload) {
+
+        int retryCount = ActionExecutorConfig.getInstance().getHttpRequestRetryCount();
+        if (retryCount <= 0) {
+            // No attempt is made, so neither the concurrency limit nor the circuit breaker of the endpoint is involved.
+            return CompletableFuture.completedFuture(new ActionInvocationResponse.Builder()
+                    .errorLog(MAX_RETRY_ATTEMPTS_ERROR).build());
+        }
+        EndpointGuard guard = endpointGuards.computeIfAbsent(url, key -> new EndpointGuard(
+                maxConcurrentRequestsPerEndpoint, circuitBreakerFailureThreshold, circuitBreakerOpenDurationInMillis));
+        if (!guard.permits.tryAcquire()) {
+            invocationMetrics.recordRejection(actionId, guard.circuitBreaker);
+            LOG.debug("Concurrency limit reached for API: " + url + ". Rejecting the request for action: " +
+                    actionId);
+            return CompletableFuture.completedFuture(new ActionInvocationResponse.Builder()
+                    .errorLog("Failed to execute the action request. Concurrency limit reached for the endpoint.")
+                    .build());
+        }
+        if (!guard.circuitBreaker.allowRequest()) {
+            guard.permits.release();
+            invocationMetrics.recordRejection(actionId, guard.circuitBreaker);
+            LOG.debug("Circuit breaker is open for API: " + url + ". Rejecting the request for action: " +
+                    actionId);
+            return CompletableFuture.completedFuture(new ActionInvocationResponse.Builder()
+                    .errorLog("Failed to execute the action request. The endpoint is temporarily unavailable.")
+                    .build());
+        }
+
+        HttpPost httpPost = new HttpPost(url);
+        setRequestEntity(httpPost, payload, authMethod);
+        AsyncInvocation invocation = new AsyncInvocation(actionId, httpPost, guard, retryCount);
+        submitAttempt(invocation);
+        return invocation.result;
+    }
+
+    /**
+     * Returns the invocation metrics of the action endpoints called through this client.
+     *
+     * @return Action invocation metrics.
+     */
+    public ActionInvocationMetrics getInvocationMetrics() {
+
+        return invocationMetrics;
+    }
+
+    /**
+     * Computes the delay before the next attempt using exponential backoff with equal jitter.
+     *
+     * @param attempt The attempt that just failed, starting from 1.
+     * @return Delay in milliseconds.
+     */
+    long getRetryBackoffDelayInMillis(int attempt) {
+
+        long delay = retryBackoffInitialIntervalInMillis << Math.min(Math.max(0, attempt - 1), 20);
+        delay = Math.min(delay, retryBackoffMaxIntervalInMillis);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    private void submitAttempt(AsyncInvocation invocation) {
+
+        if (invocation.result.isCancelled()) {
+            // The caller stopped waiting for the response, so further attempts are of no use.
+            LOG.debug("Request for API: " + invocation.request.getURI() + " was cancelled by the caller.");
+            complete(invocation, invocation.lastResponse, true);
+            return;
+        }
+        try {
+            requestExecutor.execute(() -> {
+                try {
+                    executeAttempt(invocation);
+                } catch (RuntimeException e) {
+                    LOG.error("Request for API: " + invocation.request.getURI() + " failed due to an error.", e);
+                    complete(invocation, invocation.lastResponse, true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.error("Request for API: " + invocation.request.getURI() + " could not be scheduled.", e);
+            complete(invocation, invocation.lastResponse, true);
+        }
+    }
+
+    private void executeAttempt(AsyncInvocation invocation) {
+
+        HttpPost request = invocation.request;
+        int attempt = ++invocation.attempts;
+        boolean retryable;
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            invocation.lastResponse = handleResponse(response);
+            retryable = invocation.lastResponse.isError() && invocation.lastResponse.isRetry();
+        } catch (ConnectTimeoutException | SocketTimeoutException e) {
+            retryable = true;
+            if (attempt < invocation.retryCount) {
+                DIAGNOSTIC_LOGGER.logAPICallTimeout(request, attempt, invocation.retryCount);
+                LOG.debug("Request for API: " + request.getURI() + " timed out. Retrying the request. Attempt " +
+                        attempt + " of " + invocation.retryCount);
+            }
+        } catch (Exception e) {
+            DIAGNOSTIC_LOGGER.logAPICallError(request);
+            LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
+            complete(invocation, invocation.lastResponse, true);
+            return;
+        } finally {
+            request.releaseConnection();
+        }
+
+        if (!retryable) {
+            complete(invocation, invocation.lastResponse, false);
+            return;
+        }
+        if (attempt >= invocation.retryCount) {
+            LOG.warn("Maximum retry attempts reached for API: " + request.getURI());
+            complete(invocation, invocation.lastResponse, true);
+            return;
+        }
+        if (invocation.lastResponse != null) {
+            DIAGNOSTIC_LOGGER.logAPICallRetry(request, attempt, invocation.retryCount);
+            LOG.debug("API: " + request.getURI() + " seems to be unavailable. Retrying the request. Attempt " +
+                    attempt + " of " + invocation.retryCount);
+        }
+        try {
+            retryScheduler.schedule(() -> submitAttempt(invocation), getRetryBackoffDelayInMillis(attempt),
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.error("Retry for API: " + request.getURI() + " could not be scheduled.", e);
+            complete(invocation, invocation.lastResponse, true);
+        }
+    }
+
+    private void complete(AsyncInvocation invocation, ActionInvocationResponse response, boolean failed) {
+
+        if (!invocation.completed.compareAndSet(false, true)) {
+            return;
+        }
+        invocation.guard.permits.release();
+        if (failed) {
+            invocation.guard.circuitBreaker.recordFailure();
+        } else {
+            invocation.guard.circuitBreaker.recordSuccess();
+        }
+        invocationMetrics.recordInvocation(invocation.actionId, invocation.guard.circuitBreaker,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - invocation.startTime), failed);
+        invocation.result.complete(response != null ? response : new ActionInvocationResponse.Builder()
+                .errorLog(MAX_RETRY_ATTEMPTS_ERROR).build());
+    }
+
     private void setRequestEntity(HttpPost httpPost, String jsonRequest, AuthMethods.AuthMethod authMethod) {
 
         StringEntity entity = new StringEntity(jsonRequest, StandardCharsets.UTF_8);
@@ -126,7 +327,7 @@ public class APIClient {
 
         LOG.warn("Maximum retry attempts reached for API: " + request.getURI());
         return actionInvocationResponse != null ? actionInvocationResponse : new ActionInvocationResponse.Builder()
-                .errorLog("Failed to execute the action request or maximum retry attempts reached.").build();
+                .errorLog(MAX_RETRY_ATTEMPTS_ERROR).build();
     }
 
     private ActionInvocationResponse handleResponse(HttpResponse response) {
@@ -273,4 +474,44 @@ public class APIClient {
         return responseEntity != null && responseEntity.getContentType() != null &&
                 responseEntity.getContentType().getValue().contains("application/json");
     }
+
+    /**
+     * Concurrency budget and circuit breaker of a single action endpoint.
+     */
+    private static class EndpointGuard {
+
+        private final Semaphore permits;
+        private final EndpointCircuitBreaker circuitBreaker;
+
+        EndpointGuard(int maxConcurrentRequests, int failureThreshold, long openDurationInMillis) {
+
+            permits = new Semaphore(maxConcurrentRequests);
+            circuitBreaker = new EndpointCircuitBreaker(failureThreshold, openDurationInMillis);
+        }
+    }
+
+    /**
+     * State of an asynchronous action invocation across its attempts. Attempts of an invocation never overlap, and
+     * each attempt is handed over through an executor, which publishes the fields to the next attempt.
+     */
+    private static class AsyncInvocation {
+
+        private final String actionId;
+        private final HttpPost request;
+        private final EndpointGuard guard;
+        private final int retryCount;
+        private final long startTime = System.nanoTime();
+        private final CompletableFuture<ActionInvocationResponse> result = new CompletableFuture<>();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private int attempts;
+        private ActionInvocationResponse lastResponse;
+
+        AsyncInvocation(String actionId, HttpPost request, EndpointGuard guard, int retryCount) {
+
+            this.actionId = actionId;
+            this.request = request;
+            this.guard = guard;
+            this.retryCount = retryCount;
+        }
+    }
 }
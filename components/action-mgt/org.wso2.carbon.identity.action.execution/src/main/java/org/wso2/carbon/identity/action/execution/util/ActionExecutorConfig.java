@@ -50,7 +50,22 @@ public class ActionExecutorConfig {
     private static final String HTTP_CONNECTION_TIMEOUT_PROPERTY = "Actions.HTTPClient.HTTPConnectionTimeout";
     private static final String HTTP_CONNECTION_POOL_SIZE_PROPERTY = "Actions.HTTPClient.HTTPConnectionPoolSize";
     private static final String HTTP_REQUEST_RETRY_COUNT_PROPERTY = "Actions.HTTPClient.HTTPRequestRetryCount";
+    private static final String MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_PROPERTY =
+            "Actions.HTTPClient.MaxConcurrentRequestsPerEndpoint";
+    private static final String RETRY_BACKOFF_INITIAL_INTERVAL_PROPERTY =
+            "Actions.HTTPClient.RetryBackoff.InitialInterval";
+    private static final String RETRY_BACKOFF_MAX_INTERVAL_PROPERTY = "Actions.HTTPClient.RetryBackoff.MaxInterval";
+    private static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD_PROPERTY =
+            "Actions.HTTPClient.CircuitBreaker.FailureThreshold";
+    private static final String CIRCUIT_BREAKER_OPEN_DURATION_PROPERTY =
+            "Actions.HTTPClient.CircuitBreaker.OpenDuration";
+    private static final String ACTION_EXECUTION_TIMEOUT_PROPERTY = "Actions.HTTPClient.ExecutionTimeout";
     private static final int DEFAULT_HTTP_REQUEST_RETRY_COUNT = 2;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_ENDPOINT = 20;
+    private static final int DEFAULT_RETRY_BACKOFF_INITIAL_INTERVAL_IN_MILLIS = 100;
+    private static final int DEFAULT_RETRY_BACKOFF_MAX_INTERVAL_IN_MILLIS = 1000;
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS = 30000;
     private static final int DEFAULT_HTTP_CONNECTION_POOL_SIZE = 20;
     private static final int DEFAULT_HTTP_READ_TIMEOUT_IN_MILLIS = 5000;
     private static final int DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT_IN_MILLIS = 2000;
@@ -162,6 +177,91 @@ public class ActionExecutorConfig {
         return parseTimeoutConfig(HTTP_CONNECTION_TIMEOUT_PROPERTY, DEFAULT_HTTP_CONNECTION_TIMEOUT_IN_MILLIS);
     }
 
+    /**
+     * Returns the maximum number of in-flight requests allowed towards a single action endpoint.
+     *
+     * @return The concurrency budget per endpoint, or the default if the property is missing or invalid.
+     */
+    public int getMaxConcurrentRequestsPerEndpoint() {
+
+        return parsePositiveIntConfig(MAX_CONCURRENT_REQUESTS_PER_ENDPOINT_PROPERTY,
+                DEFAULT_MAX_CONCURRENT_REQUESTS_PER_ENDPOINT);
+    }
+
+    /**
+     * Returns the delay before the first retry of a failed action request. The delay doubles on each subsequent
+     * retry up to the configured maximum interval.
+     *
+     * @return The initial retry backoff interval in milliseconds.
+     */
+    public int getRetryBackoffInitialIntervalInMillis() {
+
+        return parsePositiveIntConfig(RETRY_BACKOFF_INITIAL_INTERVAL_PROPERTY,
+                DEFAULT_RETRY_BACKOFF_INITIAL_INTERVAL_IN_MILLIS);
+    }
+
+    /**
+     * Returns the upper bound of the delay between retries of a failed action request.
+     *
+     * @return The maximum retry backoff interval in milliseconds.
+     */
+    public int getRetryBackoffMaxIntervalInMillis() {
+
+        return parsePositiveIntConfig(RETRY_BACKOFF_MAX_INTERVAL_PROPERTY,
+                DEFAULT_RETRY_BACKOFF_MAX_INTERVAL_IN_MILLIS);
+    }
+
+    /**
+     * Returns the number of consecutive failures after which the circuit breaker of an action endpoint opens.
+     *
+     * @return The circuit breaker failure threshold.
+     */
+    public int getCircuitBreakerFailureThreshold() {
+
+        return parsePositiveIntConfig(CIRCUIT_BREAKER_FAILURE_THRESHOLD_PROPERTY,
+                DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+    }
+
+    /**
+     * Returns the duration an open circuit breaker rejects requests before letting a probe request through.
+     *
+     * @return The circuit breaker open duration in milliseconds.
+     */
+    public int getCircuitBreakerOpenDurationInMillis() {
+
+        return parsePositiveIntConfig(CIRCUIT_BREAKER_OPEN_DURATION_PROPERTY,
+                DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS);
+    }
+
+    /**
+     * Returns the maximum time to wait for the response of an action, including the retries of the action request.
+     * Unless configured, this is the time all the attempts and the backoff between them may take.
+     *
+     * @return The action execution timeout in milliseconds.
+     */
+    public long getActionExecutionTimeoutInMillis() {
+
+        int configuredTimeout = parseTimeoutConfig(ACTION_EXECUTION_TIMEOUT_PROPERTY, 0);
+        if (configuredTimeout > 0) {
+            return configuredTimeout;
+        }
+        long attemptTimeout = (long) getHttpConnectionRequestTimeoutInMillis() + getHttpConnectionTimeoutInMillis() +
+                getHttpReadTimeoutInMillis();
+        int attempts = Math.max(getHttpRequestRetryCount(), 1);
+        return attempts * attemptTimeout + (attempts - 1L) * getRetryBackoffMaxIntervalInMillis();
+    }
+
+    private int parsePositiveIntConfig(String propertyName, int defaultValue) {
+
+        int propertyValue = parseTimeoutConfig(propertyName, defaultValue);
+        if (propertyValue <= 0) {
+            LOG.debug("Invalid value configured for " + propertyName + " property in identity.xml." +
+                    " Expects a positive number. Using the default value: " + defaultValue);
+            return defaultValue;
+        }
+        return propertyValue;
+    }
+
     private int parseTimeoutConfig(String timeoutTypeName, int defaultTimeout) {
 
         int timeoutPropertyValue = defaultTimeout;
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects invocation metrics of external action endpoints per action ID.
+ * Latency percentiles are computed over a sliding window of the most recent invocations.
+ */
+public class ActionInvocationMetrics {
+
+    private static final int LATENCY_WINDOW_SIZE = 1024;
+
+    private final Map<String, ActionStats> statsByAction = new ConcurrentHashMap<>();
+
+    void recordInvocation(String actionId, EndpointCircuitBreaker circuitBreaker, long latencyInMillis,
+                          boolean failed) {
+
+        ActionStats stats = getOrCreate(actionId, circuitBreaker);
+        stats.latencies.add(latencyInMillis);
+        if (failed) {
+            stats.failures.increment();
+        } else {
+            stats.successes.increment();
+        }
+    }
+
+    void recordRejection(String actionId, EndpointCircuitBreaker circuitBreaker) {
+
+        getOrCreate(actionId, circuitBreaker).rejections.increment();
+    }
+
+    /**
+     * Returns the metrics collected for the given action.
+     *
+     * @param actionId Action ID.
+     * @return Action statistics, or null if the action has not been invoked yet.
+     */
+    public ActionStats getStats(String actionId) {
+
+        return actionId == null ? null : statsByAction.get(actionId);
+    }
+
+    private ActionStats getOrCreate(String actionId, EndpointCircuitBreaker circuitBreaker) {
+
+        ActionStats stats = statsByAction.computeIfAbsent(String.valueOf(actionId), key -> new ActionStats());
+        stats.circuitBreaker = circuitBreaker;
+        return stats;
+    }
+
+    /**
+     * Invocation statistics of a single action.
+     */
+    public static class ActionStats {
+
+        private final LatencyWindow latencies = new LatencyWindow(LATENCY_WINDOW_SIZE);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private volatile EndpointCircuitBreaker circuitBreaker;
+
+        public long getSuccessCount() {
+
+            return successes.sum();
+        }
+
+        public long getFailureCount() {
+
+            return failures.sum();
+        }
+
+        /**
+         * Number of invocations rejected without reaching the endpoint, either because the circuit breaker was
+         * open or the concurrency budget of the endpoint was exhausted.
+         *
+         * @return Rejected invocation count.
+         */
+        public long getRejectedCount() {
+
+            return rejections.sum();
+        }
+
+        /**
+         * Returns the latency percentile of the recent invocations.
+         *
+         * @param percentile Percentile between 0 and 100.
+         * @return Latency in milliseconds, or 0 if no invocation is recorded.
+         */
+        public long getLatencyPercentile(double percentile) {
+
+            return latencies.percentile(percentile);
+        }
+
+        public EndpointCircuitBreaker.State getCircuitBreakerState() {
+
+            EndpointCircuitBreaker breaker = circuitBreaker;
+            return breaker != null ? breaker.getState() : EndpointCircuitBreaker.State.CLOSED;
+        }
+    }
+
+    private static class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+
+            samples = new long[capacity];
+        }
+
+        synchronized void add(long latency) {
+
+            samples[next] = latency;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) {
+                size++;
+            }
+        }
+
+        long percentile(double percentile) {
+
+            long[] snapshot;
+            synchronized (this) {
+                if (size == 0) {
+                    return 0L;
+                }
+                snapshot = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(snapshot);
+            double bounded = Math.min(100d, Math.max(0d, percentile));
+            int index = (int) Math.ceil(bounded / 100d * snapshot.length) - 1;
+            return snapshot[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.util;
+
+/**
+ * Circuit breaker guarding a single external action endpoint.
+ * The breaker opens after a configured number of consecutive failures and rejects requests until the open
+ * duration elapses. A single probe request is then let through in the half open state, and its outcome decides
+ * whether the breaker closes again or re-opens.
+ */
+public class EndpointCircuitBreaker {
+
+    /**
+     * States of the circuit breaker.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationInMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public EndpointCircuitBreaker(int failureThreshold, long openDurationInMillis) {
+
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationInMillis = Math.max(0L, openDurationInMillis);
+    }
+
+    /**
+     * Checks whether a request is allowed to reach the endpoint.
+     *
+     * @return true if the request can be sent, false if the breaker is open.
+     */
+    public synchronized boolean allowRequest() {
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (currentTimeMillis() - openedAt < openDurationInMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful call to the endpoint.
+     */
+    public synchronized void recordSuccess() {
+
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failed call to the endpoint.
+     */
+    public synchronized void recordFailure() {
+
+        probeInFlight = false;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+
+        return state;
+    }
+
+    long currentTimeMillis() {
+
+        return System.currentTimeMillis();
+    }
+
+    private void open() {
+
+        state = State.OPEN;
+        openedAt = currentTimeMillis();
+        consecutiveFailures = 0;
+    }
+}
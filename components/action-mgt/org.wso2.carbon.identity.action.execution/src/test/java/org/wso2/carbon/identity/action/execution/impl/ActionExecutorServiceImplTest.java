@@ -76,6 +76,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -360,14 +361,15 @@ public class ActionExecutorServiceImplTest {
 
         // Mock APIClient response
         ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPIAsync(any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(actionInvocationResponse));
 
         // Execute
         actionExecutorService.execute(actionType, eventContext, "tenantDomain");
 
         String payload = getJSONRequestPayload(actionExecutionRequest);
         // Verify that the HTTP client was called with the expected request
-        verify(apiClient).callAPI(any(), any(), eq(payload));
+        verify(apiClient).callAPIAsync(any(), any(), any(), eq(payload));
     }
 
     @Test
@@ -399,14 +401,15 @@ public class ActionExecutorServiceImplTest {
 
         // Mock APIClient response
         ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPIAsync(any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(actionInvocationResponse));
 
         // Execute
         actionExecutorService.execute(actionType, eventContext, "tenantDomain");
 
         String payload = getJSONRequestPayload(actionExecutionRequest);
         // Verify that the HTTP client was called with the expected request
-        verify(apiClient).callAPI(any(), any(), eq(payload));
+        verify(apiClient).callAPIAsync(any(), any(), any(), eq(payload));
     }
 
     @Test
@@ -437,7 +440,8 @@ public class ActionExecutorServiceImplTest {
 
         // Mock APIClient response
         ActionInvocationResponse actionInvocationResponse = createSuccessActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPIAsync(any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(actionInvocationResponse));
 
         // Configure response processor
         ActionExecutionStatus expectedStatus = new SuccessStatus.Builder().build();
@@ -484,7 +488,8 @@ public class ActionExecutorServiceImplTest {
 
         // Mock APIClient response
         ActionInvocationResponse actionInvocationResponse = createFailureActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPIAsync(any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(actionInvocationResponse));
 
         // Configure response processor
         ActionExecutionStatus expectedStatus = new FailedStatus(new Failure("Error_reason",
@@ -538,7 +543,8 @@ public class ActionExecutorServiceImplTest {
 
         // Mock APIClient response
         ActionInvocationResponse actionInvocationResponse = createActionInvocationResponseWithoutAPIResponse();
-        when(apiClient.callAPI(any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPIAsync(any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(actionInvocationResponse));
 
         // Execute and assert
         actionExecutorService.execute(actionType, eventContext, "tenantDomain");
@@ -573,7 +579,8 @@ public class ActionExecutorServiceImplTest {
 
         // Mock APIClient response
         ActionInvocationResponse actionInvocationResponse = createErrorActionInvocationResponse();
-        when(apiClient.callAPI(any(), any(), any())).thenReturn(actionInvocationResponse);
+        when(apiClient.callAPIAsync(any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(actionInvocationResponse));
 
         // Configure response processor
         ActionExecutionStatus expectedStatus = new ErrorStatus(new Error("Error_message",
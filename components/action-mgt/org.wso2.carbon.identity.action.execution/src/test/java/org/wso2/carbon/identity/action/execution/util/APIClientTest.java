@@ -29,6 +29,7 @@ import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -49,12 +50,21 @@ import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -77,6 +87,7 @@ public class APIClientTest {
 
     private MockedStatic<ActionExecutorConfig> actionExecutorConfigStatic;
     private MockedStatic<LoggerUtils> loggerUtils;
+    private ActionExecutorConfig actionExecutorConfig;
 
     @InjectMocks
     private APIClient apiClient;
@@ -90,9 +101,15 @@ public class APIClientTest {
         ActionExecutorConfig actionExecutorConfig = mock(ActionExecutorConfig.class);
         actionExecutorConfigStatic.when(ActionExecutorConfig::getInstance).thenReturn(actionExecutorConfig);
         when(actionExecutorConfig.getHttpConnectionPoolSize()).thenReturn(20);
+        when(actionExecutorConfig.getMaxConcurrentRequestsPerEndpoint()).thenReturn(1);
+        when(actionExecutorConfig.getCircuitBreakerFailureThreshold()).thenReturn(2);
+        when(actionExecutorConfig.getCircuitBreakerOpenDurationInMillis()).thenReturn(30000);
+        when(actionExecutorConfig.getRetryBackoffInitialIntervalInMillis()).thenReturn(100);
+        when(actionExecutorConfig.getRetryBackoffMaxIntervalInMillis()).thenReturn(1000);
         MockitoAnnotations.openMocks(this);
         when(actionExecutorConfig.getHttpRequestRetryCount()).thenReturn(2);
         setField(apiClient, "httpClient", httpClient);
+        this.actionExecutorConfig = actionExecutorConfig;
     }
 
     @AfterMethod
@@ -419,6 +436,140 @@ public class APIClientTest {
                 "Failed to execute the action request or maximum retry attempts reached.");
     }
 
+    @Test
+    public void testCallAPIAsyncRetryOnTimeoutAndReceiveSuccessResponse() throws Exception {
+
+        ScheduledExecutorService retryScheduler = useCallerThreadExecutors();
+        when(httpClient.execute(any(HttpPost.class))).thenThrow(new ConnectTimeoutException("Timeout"))
+                .thenReturn(httpResponse);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(statusLine.getStatusCode()).thenReturn(200);
+        InputStreamEntity entity = new InputStreamEntity(new ByteArrayInputStream(
+                "{\"actionStatus\":\"SUCCESS\",\"operations\":[]}".getBytes(StandardCharsets.UTF_8)));
+        entity.setContentType(ContentType.APPLICATION_JSON.getMimeType());
+        when(httpResponse.getEntity()).thenReturn(entity);
+
+        ActionInvocationResponse response =
+                apiClient.callAPIAsync("action-1", "http://example.com", null, "{}").get();
+
+        assertNotNull(response);
+        assertTrue(response.isSuccess());
+        verify(httpClient, times(2)).execute(any(HttpPost.class));
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(retryScheduler).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() >= 50 && delay.getValue() <= 100);
+
+        ActionInvocationMetrics.ActionStats stats = apiClient.getInvocationMetrics().getStats("action-1");
+        assertEquals(stats.getSuccessCount(), 1);
+        assertEquals(stats.getFailureCount(), 0);
+        assertEquals(stats.getCircuitBreakerState(), EndpointCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void testCallAPIAsyncFailsFastWhenCircuitBreakerIsOpen() throws Exception {
+
+        useCallerThreadExecutors();
+        when(actionExecutorConfig.getHttpRequestRetryCount()).thenReturn(1);
+        when(httpClient.execute(any(HttpPost.class))).thenThrow(new SocketTimeoutException("Read Timeout"));
+
+        for (int i = 0; i < 2; i++) {
+            ActionInvocationResponse response =
+                    apiClient.callAPIAsync("action-1", "http://example.com", null, "{}").get();
+            assertTrue(response.isError());
+        }
+        ActionInvocationResponse rejected =
+                apiClient.callAPIAsync("action-1", "http://example.com", null, "{}").get();
+
+        assertTrue(rejected.isError());
+        assertEquals(rejected.getErrorLog(),
+                "Failed to execute the action request. The endpoint is temporarily unavailable.");
+        verify(httpClient, times(2)).execute(any(HttpPost.class));
+        ActionInvocationMetrics.ActionStats stats = apiClient.getInvocationMetrics().getStats("action-1");
+        assertEquals(stats.getFailureCount(), 2);
+        assertEquals(stats.getRejectedCount(), 1);
+        assertEquals(stats.getCircuitBreakerState(), EndpointCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void testCallAPIAsyncWithoutAttemptsDoesNotTripCircuitBreaker() throws Exception {
+
+        when(actionExecutorConfig.getHttpRequestRetryCount()).thenReturn(0);
+
+        for (int i = 0; i < 3; i++) {
+            ActionInvocationResponse response =
+                    apiClient.callAPIAsync("action-1", "http://example.com", null, "{}").get();
+            assertTrue(response.isError());
+            assertEquals(response.getErrorLog(),
+                    "Failed to execute the action request or maximum retry attempts reached.");
+        }
+
+        verify(httpClient, never()).execute(any(HttpPost.class));
+        assertNull(apiClient.getInvocationMetrics().getStats("action-1"));
+    }
+
+    @Test
+    public void testCallAPIAsyncStopsRetryingWhenCancelled() throws Exception {
+
+        List<Runnable> pendingAttempts = new ArrayList<>();
+        setField(apiClient, "requestExecutor", (Executor) pendingAttempts::add);
+
+        CompletableFuture<ActionInvocationResponse> result =
+                apiClient.callAPIAsync("action-1", "http://example.com", null, "{}");
+        result.cancel(false);
+        pendingAttempts.get(0).run();
+
+        verify(httpClient, never()).execute(any(HttpPost.class));
+        ActionInvocationMetrics.ActionStats stats = apiClient.getInvocationMetrics().getStats("action-1");
+        assertEquals(stats.getFailureCount(), 1);
+    }
+
+    @Test
+    public void testCallAPIAsyncRejectsWhenConcurrencyLimitReached() throws Exception {
+
+        List<Runnable> pendingAttempts = new ArrayList<>();
+        setField(apiClient, "requestExecutor", (Executor) pendingAttempts::add);
+        when(httpClient.execute(any(HttpPost.class))).thenReturn(httpResponse);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(statusLine.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+
+        CompletableFuture<ActionInvocationResponse> inFlight =
+                apiClient.callAPIAsync("action-1", "http://example.com", null, "{}");
+        ActionInvocationResponse rejected =
+                apiClient.callAPIAsync("action-1", "http://example.com", null, "{}").get();
+
+        assertFalse(inFlight.isDone());
+        assertTrue(rejected.isError());
+        assertEquals(rejected.getErrorLog(),
+                "Failed to execute the action request. Concurrency limit reached for the endpoint.");
+
+        pendingAttempts.get(0).run();
+        assertTrue(inFlight.isDone());
+        assertEquals(apiClient.getInvocationMetrics().getStats("action-1").getRejectedCount(), 1);
+    }
+
+    @Test
+    public void testRetryBackoffDelayIsBoundedAndJittered() {
+
+        for (int attempt = 1; attempt <= 8; attempt++) {
+            long expectedMax = Math.min(100L << (attempt - 1), 1000L);
+            long delay = apiClient.getRetryBackoffDelayInMillis(attempt);
+            assertTrue(delay >= expectedMax / 2 && delay <= expectedMax,
+                    "Unexpected delay " + delay + " for attempt " + attempt);
+        }
+    }
+
+    private ScheduledExecutorService useCallerThreadExecutors() throws Exception {
+
+        ScheduledExecutorService retryScheduler = mock(ScheduledExecutorService.class);
+        when(retryScheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        });
+        setField(apiClient, "requestExecutor", (Executor) Runnable::run);
+        setField(apiClient, "retryScheduler", retryScheduler);
+        return retryScheduler;
+    }
+
     private void setField(Object target, String fieldName, Object value) throws Exception {
 
         Field field = target.getClass().getDeclaredField(fieldName);
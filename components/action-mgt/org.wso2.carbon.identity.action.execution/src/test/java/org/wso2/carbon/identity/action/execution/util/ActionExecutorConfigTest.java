@@ -378,4 +378,55 @@ public class ActionExecutorConfigTest {
         when(mockIdentityConfigParser.getConfiguration()).thenReturn(configMap);
         Assert.assertEquals(2, actionExecutorConfig.getHttpRequestRetryCount());
     }
+
+    @Test
+    public void testGetCircuitBreakerAndConcurrencyConfigs() {
+
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put("Actions.HTTPClient.MaxConcurrentRequestsPerEndpoint", "50");
+        configMap.put("Actions.HTTPClient.RetryBackoff.InitialInterval", "200");
+        configMap.put("Actions.HTTPClient.RetryBackoff.MaxInterval", "2000");
+        configMap.put("Actions.HTTPClient.CircuitBreaker.FailureThreshold", "10");
+        configMap.put("Actions.HTTPClient.CircuitBreaker.OpenDuration", "60000");
+        when(mockIdentityConfigParser.getConfiguration()).thenReturn(configMap);
+        Assert.assertEquals(50, actionExecutorConfig.getMaxConcurrentRequestsPerEndpoint());
+        Assert.assertEquals(200, actionExecutorConfig.getRetryBackoffInitialIntervalInMillis());
+        Assert.assertEquals(2000, actionExecutorConfig.getRetryBackoffMaxIntervalInMillis());
+        Assert.assertEquals(10, actionExecutorConfig.getCircuitBreakerFailureThreshold());
+        Assert.assertEquals(60000, actionExecutorConfig.getCircuitBreakerOpenDurationInMillis());
+    }
+
+    @Test
+    public void testGetCircuitBreakerAndConcurrencyConfigsForInvalidConfig() {
+
+        //If the server configuration value is not a positive number, the default values are parsed
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put("Actions.HTTPClient.MaxConcurrentRequestsPerEndpoint", "0");
+        configMap.put("Actions.HTTPClient.CircuitBreaker.FailureThreshold", "value");
+        when(mockIdentityConfigParser.getConfiguration()).thenReturn(configMap);
+        Assert.assertEquals(20, actionExecutorConfig.getMaxConcurrentRequestsPerEndpoint());
+        Assert.assertEquals(100, actionExecutorConfig.getRetryBackoffInitialIntervalInMillis());
+        Assert.assertEquals(1000, actionExecutorConfig.getRetryBackoffMaxIntervalInMillis());
+        Assert.assertEquals(5, actionExecutorConfig.getCircuitBreakerFailureThreshold());
+        Assert.assertEquals(30000, actionExecutorConfig.getCircuitBreakerOpenDurationInMillis());
+    }
+
+    @Test
+    public void testGetActionExecutionTimeout() {
+
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put("Actions.HTTPClient.ExecutionTimeout", "8000");
+        when(mockIdentityConfigParser.getConfiguration()).thenReturn(configMap);
+        Assert.assertEquals(8000L, actionExecutorConfig.getActionExecutionTimeoutInMillis());
+    }
+
+    @Test
+    public void testGetActionExecutionTimeoutForInvalidConfig() {
+
+        //If the timeout is not configured as a positive number, the time all the attempts may take is used
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put("Actions.HTTPClient.ExecutionTimeout", "value");
+        when(mockIdentityConfigParser.getConfiguration()).thenReturn(configMap);
+        Assert.assertEquals(19000L, actionExecutorConfig.getActionExecutionTimeoutInMillis());
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.util;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class EndpointCircuitBreakerTest {
+
+    private long now;
+    private EndpointCircuitBreaker circuitBreaker;
+
+    @BeforeMethod
+    public void setUp() {
+
+        now = 1000L;
+        circuitBreaker = new EndpointCircuitBreaker(3, 500L) {
+
+            @Override
+            long currentTimeMillis() {
+
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.CLOSED);
+
+        circuitBreaker.recordFailure();
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.OPEN);
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testSuccessResetsFailureCount() {
+
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void testHalfOpenAllowsSingleProbeAndClosesOnSuccess() {
+
+        openCircuitBreaker();
+        now += 500L;
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.HALF_OPEN);
+        assertFalse(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.CLOSED);
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testHalfOpenReopensOnFailedProbe() {
+
+        openCircuitBreaker();
+        now += 500L;
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure();
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.OPEN);
+        assertFalse(circuitBreaker.allowRequest());
+
+        now += 500L;
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    private void openCircuitBreaker() {
+
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        assertEquals(circuitBreaker.getState(), EndpointCircuitBreaker.State.OPEN);
+    }
+}
@@ -98,7 +98,13 @@ public class CacheBackedAPIResourceMgtDAO implements APIResourceManagementDAO {
     @Override
     public APIResource addAPIResource(APIResource apiResource, Integer tenantId) throws APIResourceMgtException {
 
-        return apiResourceManagementDAO.addAPIResource(apiResource, tenantId);
+        APIResource createdAPIResource = apiResourceManagementDAO.addAPIResource(apiResource, tenantId);
+        if (apiResourceCacheByIdentifier.getNegativeCacheTimeout() > 0 && apiResource.getIdentifier() != null) {
+            // Drop an earlier not found result of the identifier.
+            apiResourceCacheByIdentifier.clearCacheEntry(
+                    new APIResourceIdentifierCacheKey(apiResource.getIdentifier()), tenantId);
+        }
+        return createdAPIResource;
     }
 
     @Override
@@ -140,38 +146,30 @@ public class CacheBackedAPIResourceMgtDAO implements APIResourceManagementDAO {
     public APIResource getAPIResourceById(String apiId, Integer tenantId) throws APIResourceMgtException {
 
         APIResourceIdCacheKey cacheKey = new APIResourceIdCacheKey(apiId);
-        APIResourceCacheEntry entry = apiResourceCacheById.getValueFromCache(cacheKey, tenantId);
-
-        if (entry != null) {
+        APIResourceCacheEntry entry = apiResourceCacheById.getOrLoad(cacheKey, key -> {
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Cache entry found for API Resource " + apiId);
+                LOG.debug("Cache entry not found for API Resource " + apiId + ". Fetching entry from DB");
+            }
+            APIResource apiResource = apiResourceManagementDAO.getAPIResourceById(apiId, tenantId);
+            if (apiResource == null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Entry for API Resource " + apiId + " not found in cache or DB");
+                }
+                return null;
             }
-            return entry.getAPIResource();
-        }
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Cache entry not found for API Resource " + apiId + ". Fetching entry from DB");
-        }
-
-        APIResource apiResource = apiResourceManagementDAO.getAPIResourceById(apiId, tenantId);
-
-        if (apiResource != null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Entry fetched from DB for API Resource " + apiId + ". Updating cache");
             }
-            apiResourceCacheById.addToCache(cacheKey, new APIResourceCacheEntry(apiResource), tenantId);
             if (apiResource.getIdentifier() != null) {
                 APIResourceIdentifierCacheKey apiResourceIdentifierCacheKey = new APIResourceIdentifierCacheKey(
                         apiResource.getIdentifier());
                 apiResourceCacheByIdentifier.addToCache(apiResourceIdentifierCacheKey,
                         new APIResourceCacheEntry(apiResource), tenantId);
             }
-        } else {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Entry for API Resource " + apiId + " not found in cache or DB");
-            }
-        }
+            return new APIResourceCacheEntry(apiResource);
+        }, tenantId);
 
-        return apiResource;
+        return entry != null ? entry.getAPIResource() : null;
     }
 
     @Override
@@ -179,38 +177,29 @@ public class CacheBackedAPIResourceMgtDAO implements APIResourceManagementDAO {
             throws APIResourceMgtException {
 
         APIResourceIdentifierCacheKey cacheKey = new APIResourceIdentifierCacheKey(identifier);
-        APIResourceCacheEntry entry = apiResourceCacheByIdentifier.getValueFromCache(cacheKey, tenantId);
-
-        if (entry != null) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Cache entry found for API Resource " + identifier);
-            }
-            return entry.getAPIResource();
-        } else {
+        APIResourceCacheEntry entry = apiResourceCacheByIdentifier.getOrLoad(cacheKey, key -> {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Cache entry not found for API Resource " + identifier + ". Fetching entry from DB");
             }
-        }
-
-        APIResource apiResource = apiResourceManagementDAO.getAPIResourceByIdentifier(identifier, tenantId);
-
-        if (apiResource != null) {
+            APIResource apiResource = apiResourceManagementDAO.getAPIResourceByIdentifier(identifier, tenantId);
+            if (apiResource == null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Entry for API Resource " + identifier + " not found in cache or DB");
+                }
+                return null;
+            }
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Entry fetched from DB for API Resource " + identifier + ". Updating cache");
             }
-            apiResourceCacheByIdentifier.addToCache(cacheKey, new APIResourceCacheEntry(apiResource), tenantId);
             if (apiResource.getId() != null) {
                 APIResourceIdCacheKey apiResourceIdCacheKey = new APIResourceIdCacheKey(apiResource.getId());
                 apiResourceCacheById.addToCache(apiResourceIdCacheKey,
                         new APIResourceCacheEntry(apiResource), tenantId);
             }
-        } else {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Entry for API Resource " + identifier + " not found in cache or DB");
-            }
-        }
+            return new APIResourceCacheEntry(apiResource);
+        }, tenantId);
 
-        return apiResource;
+        return entry != null ? entry.getAPIResource() : null;
     }
 
     @Override
@@ -111,6 +111,7 @@ public class ApplicationConstants {
     public static final String TRUSTED_APP_CONSENT_REQUIRED_PROPERTY = "ApplicationMgt.TrustedAppConsentRequired";
     public static final String TRUSTED_APP_MAX_THUMBPRINT_COUNT_PROPERTY =
             "ApplicationMgt.TrustedAppMaxThumbprintCount";
+    public static final String BATCHED_APPLICATION_LOADING_PROPERTY = "ApplicationMgt.BatchedApplicationLoading";
 
     public static final String NON_EXISTING_USER_CODE = "30007 - ";
 
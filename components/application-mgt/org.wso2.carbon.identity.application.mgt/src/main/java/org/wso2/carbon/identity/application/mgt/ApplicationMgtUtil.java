@@ -79,6 +79,7 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 
+import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.BATCHED_APPLICATION_LOADING_PROPERTY;
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.CONSOLE_ACCESS_ORIGIN;
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.CONSOLE_ACCESS_URL_FROM_SERVER_CONFIGS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.ENABLE_APPLICATION_ROLE_VALIDATION_PROPERTY;
@@ -1227,6 +1228,16 @@ public class ApplicationMgtUtil {
         return Boolean.parseBoolean(IdentityUtil.getProperty(TRUSTED_APP_CONSENT_REQUIRED_PROPERTY));
     }
 
+    /**
+     * Check whether the applications should be loaded with the batched queries.
+     *
+     * @return True if batched application loading is enabled.
+     */
+    public static boolean isBatchedApplicationLoadingEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(BATCHED_APPLICATION_LOADING_PROPERTY));
+    }
+
     /**
      * Get the latest applicable version of the application.
      *
@@ -64,6 +64,27 @@ public interface ApplicationDAO {
      */
     ServiceProvider getApplication(int applicationId) throws IdentityApplicationManagementException;
 
+    /**
+     * Get the service providers of the given application ids.
+     *
+     * @param applicationIds The application ids.
+     * @return Service providers of the existing applications, in the order of the given application ids.
+     * @throws IdentityApplicationManagementException throws when an error occurs in retrieving the service providers
+     *                                                with all the configurations.
+     */
+    default List<ServiceProvider> getApplications(List<Integer> applicationIds)
+            throws IdentityApplicationManagementException {
+
+        List<ServiceProvider> serviceProviders = new ArrayList<>();
+        for (Integer applicationId : applicationIds) {
+            ServiceProvider serviceProvider = getApplication(applicationId);
+            if (serviceProvider != null) {
+                serviceProviders.add(serviceProvider);
+            }
+        }
+        return serviceProviders;
+    }
+
     /**
      * @return
      * @throws IdentityApplicationManagementException
@@ -125,6 +125,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -229,6 +230,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
     private static final String AUDIT_FAIL = "Fail";
     private static final String ASTERISK = "*";
     private static final int MAX_RETRY_ATTEMPTS = 3;
+    private static final int APPLICATION_LOADING_BATCH_SIZE = 100;
 
     private List<String> standardInboundAuthTypes;
     public static final String USE_DOMAIN_IN_ROLES = "USE_DOMAIN_IN_ROLES";
@@ -1378,45 +1380,57 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             resultSet = outboundProConfigPrepStmt.executeQuery();
 
             while (resultSet.next()) {
-                ProvisioningConnectorConfig proConnector = null;
-                IdentityProvider fedIdp = null;
+                idpProConnectors.add(buildProvisioningIdentityProvider(resultSet));
+            }
 
-                fedIdp = new IdentityProvider();
-                fedIdp.setIdentityProviderName(resultSet.getString(1));
+            outBoundProvisioningConfig.setProvisioningIdentityProviders(idpProConnectors.toArray(new
+                    IdentityProvider[idpProConnectors.size()]));
 
-                proConnector = new ProvisioningConnectorConfig();
-                proConnector.setName(resultSet.getString(2));
+        } finally {
+            IdentityApplicationManagementUtil.closeStatement(outboundProConfigPrepStmt);
+        }
+        return outBoundProvisioningConfig;
+    }
 
-                if ("1".equals(resultSet.getString(3))) {
-                    JustInTimeProvisioningConfig jitConfig = new JustInTimeProvisioningConfig();
-                    jitConfig.setProvisioningEnabled(true);
-                    fedIdp.setJustInTimeProvisioningConfig(jitConfig);
-                }
+    /**
+     * Builds the provisioning identity provider of the current row of the result set.
+     *
+     * @param resultSet Result set positioned at a row of the SP_PROVISIONING_CONNECTOR table.
+     * @return Identity provider with the default provisioning connector.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private IdentityProvider buildProvisioningIdentityProvider(ResultSet resultSet) throws SQLException {
 
-                if ("1".equals(resultSet.getString(4))) {
-                    proConnector.setBlocking(true);
-                } else {
-                    proConnector.setBlocking(false);
-                }
+        ProvisioningConnectorConfig proConnector = null;
+        IdentityProvider fedIdp = null;
 
-                if ("1".equals(resultSet.getString(5))) {
-                    proConnector.setRulesEnabled(true);
-                } else {
-                    proConnector.setRulesEnabled(false);
-                }
+        fedIdp = new IdentityProvider();
+        fedIdp.setIdentityProviderName(resultSet.getString(1));
 
-                fedIdp.setDefaultProvisioningConnectorConfig(proConnector);
-                idpProConnectors.add(fedIdp);
+        proConnector = new ProvisioningConnectorConfig();
+        proConnector.setName(resultSet.getString(2));
 
-            }
+        if ("1".equals(resultSet.getString(3))) {
+            JustInTimeProvisioningConfig jitConfig = new JustInTimeProvisioningConfig();
+            jitConfig.setProvisioningEnabled(true);
+            fedIdp.setJustInTimeProvisioningConfig(jitConfig);
+        }
 
-            outBoundProvisioningConfig.setProvisioningIdentityProviders(idpProConnectors.toArray(new
-                    IdentityProvider[idpProConnectors.size()]));
+        if ("1".equals(resultSet.getString(4))) {
+            proConnector.setBlocking(true);
+        } else {
+            proConnector.setBlocking(false);
+        }
 
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(outboundProConfigPrepStmt);
+        if ("1".equals(resultSet.getString(5))) {
+            proConnector.setRulesEnabled(true);
+        } else {
+            proConnector.setRulesEnabled(false);
         }
-        return outBoundProvisioningConfig;
+
+        fedIdp.setDefaultProvisioningConnectorConfig(proConnector);
+
+        return fedIdp;
     }
 
     /**
@@ -2226,6 +2240,11 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
     @Override
     public ServiceProvider getApplication(int applicationId) throws IdentityApplicationManagementException {
 
+        if (ApplicationMgtUtil.isBatchedApplicationLoadingEnabled()) {
+            List<ServiceProvider> serviceProviders = getApplications(Collections.singletonList(applicationId));
+            return serviceProviders.isEmpty() ? null : serviceProviders.get(0);
+        }
+
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
 
             // Load basic application data
@@ -2236,23 +2255,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             int tenantID = IdentityTenantUtil.getTenantId(serviceProvider.getTenantDomain());
             List<ServiceProviderProperty> propertyList = getServicePropertiesBySpId(connection, applicationId);
 
-            serviceProvider.setJwksUri(getJwksUri(propertyList));
-            serviceProvider.setTemplateId(getTemplateId(propertyList));
-            serviceProvider.setTemplateVersion(getTemplateVersion(propertyList));
-            serviceProvider.setApplicationEnabled(getIsApplicationEnabled(propertyList));
-            serviceProvider.setManagementApp(getIsManagementApp(propertyList));
-            serviceProvider.setB2BSelfServiceApp(getIsB2BSSApp(propertyList));
-            serviceProvider.setAPIBasedAuthenticationEnabled(getIsAPIBasedAuthenticationEnabled(propertyList));
-            ClientAttestationMetaData clientAttestationMetaData = new ClientAttestationMetaData();
-            clientAttestationMetaData.setAttestationEnabled(getIsAttestationEnabled(propertyList));
-            clientAttestationMetaData.setAndroidPackageName(getAndroidPackageName(propertyList));
-            clientAttestationMetaData.setAppleAppId(getAppleAppId(propertyList));
-            if (StringUtils.isNotEmpty(clientAttestationMetaData.getAndroidPackageName())
-                    && clientAttestationMetaData.isAttestationEnabled()) {
-                clientAttestationMetaData.setAndroidAttestationServiceCredentials
-                        (getAndroidAttestationServiceCredentials(serviceProvider));
-            }
-            serviceProvider.setClientAttestationMetaData(clientAttestationMetaData);
+            readAndSetConfigurationsFromProperties(propertyList, serviceProvider);
             serviceProvider.setTrustedAppMetadata(
                     getSpTrustedAppMetadata(applicationId, connection, tenantID, propertyList));
             serviceProvider.setInboundAuthenticationConfig(getInboundAuthenticationConfig(
@@ -2307,11 +2310,348 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The applications are loaded in batches, with a fixed number of queries per batch irrespective of the number of
+     * applications in the batch and the number of authentication steps of the applications.
+     */
+    @Override
+    public List<ServiceProvider> getApplications(List<Integer> applicationIds)
+            throws IdentityApplicationManagementException {
+
+        List<ServiceProvider> serviceProviders = new ArrayList<>();
+        if (CollectionUtils.isEmpty(applicationIds)) {
+            return serviceProviders;
+        }
+        List<Integer> distinctApplicationIds = new ArrayList<>(new LinkedHashSet<>(applicationIds));
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            for (int i = 0; i < distinctApplicationIds.size(); i += APPLICATION_LOADING_BATCH_SIZE) {
+                List<Integer> batch = distinctApplicationIds.subList(i,
+                        Math.min(i + APPLICATION_LOADING_BATCH_SIZE, distinctApplicationIds.size()));
+                serviceProviders.addAll(loadApplications(batch, connection));
+            }
+        } catch (SQLException | CertificateRetrievingException e) {
+            throw new IdentityApplicationManagementException("Failed to get service providers with ids: " +
+                    applicationIds, e);
+        }
+        return serviceProviders;
+    }
+
+    /**
+     * Loads a batch of applications. Each table of the application configurations is read once for the whole batch.
+     *
+     * @param applicationIds Application IDs of the batch.
+     * @param connection     Database connection.
+     * @return Service providers of the existing applications, in the order of the given application IDs.
+     */
+    private List<ServiceProvider> loadApplications(List<Integer> applicationIds, Connection connection)
+            throws SQLException, CertificateRetrievingException, IdentityApplicationManagementException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Loading applications with IDs: " + applicationIds);
+        }
+        Map<Integer, ApplicationGraph> applicationGraphs = new HashMap<>();
+        try (PreparedStatement prepStmt = connection.prepareStatement(String.format(
+                ApplicationMgtDBQueries.LOAD_BASIC_APP_INFO_BY_APP_IDS, getParameterMarkers(applicationIds.size())))) {
+            setApplicationIds(prepStmt, applicationIds);
+            try (ResultSet rs = prepStmt.executeQuery()) {
+                while (rs.next()) {
+                    ApplicationGraph applicationGraph = new ApplicationGraph(buildBasicApplicationData(rs),
+                            rs.getInt(ApplicationTableColumns.TENANT_ID));
+                    applicationGraph.authType = rs.getString(ApplicationTableColumns.AUTH_TYPE);
+                    readClaimConfig(applicationGraph.claimConfig, rs.getString(ApplicationTableColumns.ROLE_CLAIM),
+                            rs.getString(ApplicationTableColumns.IS_LOCAL_CLAIM_DIALECT),
+                            rs.getString(ApplicationTableColumns.IS_SEND_LOCAL_SUBJECT_ID));
+                    LocalAndOutboundAuthenticationConfig localAndOutboundConfig =
+                            applicationGraph.localAndOutboundConfig;
+                    localAndOutboundConfig.setUseTenantDomainInLocalSubjectIdentifier(
+                            getBooleanValue(rs.getString(ApplicationTableColumns.IS_USE_TENANT_DOMAIN_SUBJECT)));
+                    localAndOutboundConfig.setUseUserstoreDomainInLocalSubjectIdentifier(
+                            getBooleanValue(rs.getString(ApplicationTableColumns.IS_USE_USER_DOMAIN_SUBJECT)));
+                    localAndOutboundConfig.setEnableAuthorization(
+                            getBooleanValue(rs.getString(ApplicationTableColumns.ENABLE_AUTHORIZATION)));
+                    localAndOutboundConfig.setAlwaysSendBackAuthenticatedListOfIdPs(
+                            getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_AUTH_LIST_OF_IDPS)));
+                    localAndOutboundConfig.setSubjectClaimUri(rs.getString(ApplicationTableColumns.SUBJECT_CLAIM_URI));
+                    applicationGraph.inboundProvisioningConfig.setProvisioningUserStore(
+                            rs.getString(ApplicationTableColumns.PROVISIONING_USERSTORE_DOMAIN));
+                    applicationGraph.inboundProvisioningConfig.setDumbMode(
+                            getBooleanValue(rs.getString(ApplicationTableColumns.IS_DUMB_MODE)));
+                    applicationGraphs.put(applicationGraph.serviceProvider.getApplicationID(), applicationGraph);
+                }
+            }
+        } catch (URLBuilderException e) {
+            throw new IdentityApplicationManagementException(
+                    "Error occurred when resolving origin of the access URL with placeholders", e);
+        }
+        if (applicationGraphs.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String metadataQuery = isH2DB() ? ApplicationMgtDBQueries.GET_SP_METADATA_BY_SP_IDS_H2 :
+                ApplicationMgtDBQueries.GET_SP_METADATA_BY_SP_IDS;
+        readApplicationGraphs(connection, metadataQuery, applicationGraphs, 4, 0, (resultSet, applicationGraph) -> {
+            ServiceProviderProperty property = new ServiceProviderProperty();
+            property.setName(resultSet.getString(1));
+            property.setValue(resultSet.getString(2));
+            property.setDisplayName(resultSet.getString(3));
+            applicationGraph.properties.add(property);
+        });
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_CLIENTS_INFO_BY_APP_IDS, applicationGraphs,
+                6, 7, (resultSet, applicationGraph) -> readInboundAuthenticationRequestConfig(resultSet,
+                        applicationGraph.inboundAuthenticationRequestConfigs));
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_STEPS_AND_AUTHENTICATORS_BY_APP_IDS,
+                applicationGraphs, 11, 0, this::readAuthenticationStep);
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_SCRIPTS_BY_APP_IDS, applicationGraphs, 3, 0,
+                (resultSet, applicationGraph) -> {
+                    if (applicationGraph.authenticationScriptConfig == null) {
+                        applicationGraph.authenticationScriptConfig = buildScriptConfiguration(resultSet,
+                                applicationGraph.serviceProvider.getApplicationID());
+                    }
+                });
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_PRO_CONNECTORS_BY_APP_IDS, applicationGraphs,
+                6, 7, (resultSet, applicationGraph) -> applicationGraph.provisioningIdentityProviders.add(
+                        buildProvisioningIdentityProvider(resultSet)));
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_CLAIM_MAPPINGS_BY_APP_IDS, applicationGraphs,
+                6, 7, (resultSet, applicationGraph) -> applicationGraph.claimMappings.add(
+                        buildClaimMapping(resultSet)));
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_SP_DIALECTS_BY_APP_IDS, applicationGraphs,
+                2, 3, (resultSet, applicationGraph) -> {
+                    String spDialect = resultSet.getString(1);
+                    if (StringUtils.isNotEmpty(spDialect)) {
+                        applicationGraph.spClaimDialects.add(spDialect);
+                    }
+                });
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_ROLE_MAPPINGS_BY_APP_IDS, applicationGraphs,
+                3, 4, (resultSet, applicationGraph) -> applicationGraph.roleMappings.add(buildRoleMapping(resultSet)));
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_IDS,
+                applicationGraphs, 2, 3, (resultSet, applicationGraph) -> {
+                    RequestPathAuthenticatorConfig reqAuth = new RequestPathAuthenticatorConfig();
+                    reqAuth.setName(resultSet.getString(1));
+                    applicationGraph.requestPathAuthenticators.add(reqAuth);
+                });
+        readApplicationGraphs(connection, ApplicationMgtDBQueries.LOAD_TRUSTED_APPS_BY_APP_IDS, applicationGraphs,
+                5, 6, (resultSet, applicationGraph) -> {
+                    if (applicationGraph.trustedAppMetadata == null) {
+                        applicationGraph.trustedAppMetadata = new SpTrustedAppMetadata();
+                    }
+                    readTrustedAppMetadata(resultSet, applicationGraph.trustedAppMetadata);
+                });
+        readAssociatedRoles(connection, applicationGraphs.values());
+
+        List<ServiceProvider> serviceProviders = new ArrayList<>();
+        for (Integer applicationId : applicationIds) {
+            ApplicationGraph applicationGraph = applicationGraphs.get(applicationId);
+            if (applicationGraph != null) {
+                serviceProviders.add(buildApplication(applicationGraph));
+            }
+        }
+        return serviceProviders;
+    }
+
+    /**
+     * Reads the rows of a batch query into the graphs of the applications the rows belong to.
+     *
+     * @param connection        Database connection.
+     * @param query             Query with a placeholder for the parameter markers of the application IDs.
+     * @param applicationGraphs Application graphs by application ID.
+     * @param appIdColumn       Index of the application ID column.
+     * @param tenantIdColumn    Index of the tenant ID column, or 0 if the rows are not filtered by the tenant of the
+     *                          application.
+     * @param rowReader         Reader of a row into the application graph.
+     */
+    private void readApplicationGraphs(Connection connection, String query,
+                                       Map<Integer, ApplicationGraph> applicationGraphs, int appIdColumn,
+                                       int tenantIdColumn, ApplicationGraphRowReader rowReader)
+            throws SQLException, IdentityApplicationManagementException {
+
+        List<Integer> applicationIds = new ArrayList<>(applicationGraphs.keySet());
+        try (PreparedStatement prepStmt = connection.prepareStatement(String.format(query,
+                getParameterMarkers(applicationIds.size())))) {
+            setApplicationIds(prepStmt, applicationIds);
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    ApplicationGraph applicationGraph = applicationGraphs.get(resultSet.getInt(appIdColumn));
+                    if (applicationGraph == null || (tenantIdColumn > 0 &&
+                            resultSet.getInt(tenantIdColumn) != applicationGraph.tenantId)) {
+                        continue;
+                    }
+                    rowReader.read(resultSet, applicationGraph);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads an authenticator of an authentication step, joined with its IdP, into the application graph.
+     *
+     * @param resultSet        Result set positioned at a row of the steps and authenticators query.
+     * @param applicationGraph Application graph.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private void readAuthenticationStep(ResultSet resultSet, ApplicationGraph applicationGraph) throws SQLException {
+
+        String step = String.valueOf(resultSet.getInt(1));
+        AuthenticationStep authStep = applicationGraph.authSteps.get(step);
+        if (authStep == null) {
+            authStep = new AuthenticationStep();
+            authStep.setStepOrder(resultSet.getInt(1));
+            applicationGraph.stepLocalAuth.put(step, new ArrayList<>());
+            applicationGraph.stepFedIdPAuthenticators.put(step, new HashMap<>());
+            applicationGraph.authSteps.put(step, authStep);
+        }
+
+        // The IdP columns are null when the authenticator is not visible to the tenant of the application. The step
+        // is kept with the same empty authenticator info the per-application loader gets in that case.
+        String idpName = resultSet.getString(5);
+        Map<String, String> authenticatorInfo = new HashMap<>();
+        if (idpName != null) {
+            authenticatorInfo.put(ApplicationConstants.IDP_NAME, idpName);
+            authenticatorInfo.put(ApplicationConstants.IDP_AUTHENTICATOR_NAME, resultSet.getString(6));
+            authenticatorInfo.put(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME, resultSet.getString(7));
+            authenticatorInfo.put(ApplicationConstants.IDP_AUTHENTICATOR_DEFINED_BY_TYPE, resultSet.getString(8));
+        }
+        addStepAuthenticator(step, authenticatorInfo, applicationGraph.stepLocalAuth,
+                applicationGraph.stepFedIdPAuthenticators);
+        // Federation hub IdPs are looked up in the tenant of the application.
+        if (idpName != null && "1".equals(resultSet.getString(9))
+                && resultSet.getInt(10) == applicationGraph.tenantId) {
+            applicationGraph.federationHubIdPs.add(idpName);
+        }
+
+        authStep.setSubjectStep("1".equals(resultSet.getString(3)));
+        authStep.setAttributeStep("1".equals(resultSet.getString(4)));
+    }
+
+    /**
+     * Reads the roles associated with the applications whose allowed role audience is the application.
+     *
+     * @param connection        Database connection.
+     * @param applicationGraphs Application graphs.
+     * @throws SQLException If an error occurs while reading the associated roles.
+     */
+    private void readAssociatedRoles(Connection connection, Collection<ApplicationGraph> applicationGraphs)
+            throws SQLException {
+
+        Map<String, ApplicationGraph> applicationGraphsByResourceId = new HashMap<>();
+        for (ApplicationGraph applicationGraph : applicationGraphs) {
+            if (RoleConstants.APPLICATION.equalsIgnoreCase(getAllowedRoleAudience(applicationGraph.properties))) {
+                applicationGraphsByResourceId.put(applicationGraph.serviceProvider.getApplicationResourceId(),
+                        applicationGraph);
+            }
+        }
+        if (applicationGraphsByResourceId.isEmpty()) {
+            return;
+        }
+        List<String> resourceIds = new ArrayList<>(applicationGraphsByResourceId.keySet());
+        try (PreparedStatement prepStmt = connection.prepareStatement(String.format(
+                ApplicationMgtDBQueries.LOAD_ASSOCIATED_ROLES_BY_APP_IDS, getParameterMarkers(resourceIds.size())))) {
+            for (int i = 0; i < resourceIds.size(); i++) {
+                prepStmt.setString(i + 1, resourceIds.get(i));
+            }
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    ApplicationGraph applicationGraph = applicationGraphsByResourceId.get(resultSet.getString(2));
+                    if (applicationGraph != null) {
+                        applicationGraph.associatedRoleIds.add(resultSet.getString(1));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the service provider from the configurations read into the application graph.
+     *
+     * @param applicationGraph Application graph.
+     * @return Service provider.
+     */
+    private ServiceProvider buildApplication(ApplicationGraph applicationGraph)
+            throws CertificateRetrievingException, IdentityApplicationManagementException {
+
+        ServiceProvider serviceProvider = applicationGraph.serviceProvider;
+        int applicationId = serviceProvider.getApplicationID();
+        List<ServiceProviderProperty> propertyList = applicationGraph.properties;
+
+        readAndSetConfigurationsFromProperties(propertyList, serviceProvider);
+        SpTrustedAppMetadata spTrustedAppMetadata = applicationGraph.trustedAppMetadata;
+        if (spTrustedAppMetadata != null) {
+            // If consent required property is disabled, consent is always considered as granted.
+            spTrustedAppMetadata.setIsConsentGranted(!ApplicationMgtUtil.isTrustedAppConsentRequired() ||
+                    getTrustedAppConsent(propertyList));
+        }
+        serviceProvider.setTrustedAppMetadata(spTrustedAppMetadata);
+        serviceProvider.setInboundAuthenticationConfig(
+                buildInboundAuthenticationConfig(applicationGraph.inboundAuthenticationRequestConfigs));
+
+        LocalAndOutboundAuthenticationConfig localAndOutboundConfig = applicationGraph.localAndOutboundConfig;
+        AuthenticationStep[] authenticationSteps = buildAuthenticationSteps(applicationId, applicationGraph.authSteps,
+                applicationGraph.stepLocalAuth, applicationGraph.stepFedIdPAuthenticators,
+                applicationGraph.federationHubIdPs);
+        localAndOutboundConfig.setAuthenticationSteps(authenticationSteps);
+        localAndOutboundConfig.setAuthenticationType(
+                resolveAuthenticationType(applicationId, applicationGraph.authType, authenticationSteps));
+        if (applicationGraph.authenticationScriptConfig != null) {
+            localAndOutboundConfig.setAuthenticationScriptConfig(applicationGraph.authenticationScriptConfig);
+        }
+        readAndSetConfigurationsFromProperties(propertyList, localAndOutboundConfig);
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundConfig);
+
+        serviceProvider.setInboundProvisioningConfig(applicationGraph.inboundProvisioningConfig);
+        OutboundProvisioningConfig outboundProvisioningConfig = new OutboundProvisioningConfig();
+        outboundProvisioningConfig.setProvisioningIdentityProviders(
+                applicationGraph.provisioningIdentityProviders.toArray(new IdentityProvider[0]));
+        serviceProvider.setOutboundProvisioningConfig(outboundProvisioningConfig);
+
+        ClaimConfig claimConfig = applicationGraph.claimConfig;
+        claimConfig.setClaimMappings(applicationGraph.claimMappings.toArray(new ClaimMapping[0]));
+        claimConfig.setSpClaimDialects(applicationGraph.spClaimDialects.toArray(new String[0]));
+        serviceProvider.setClaimConfig(claimConfig);
+
+        PermissionsAndRoleConfig permissionAndRoleConfig = new PermissionsAndRoleConfig();
+        permissionAndRoleConfig.setRoleMappings(applicationGraph.roleMappings.toArray(new RoleMapping[0]));
+        serviceProvider.setPermissionAndRoleConfig(permissionAndRoleConfig);
+        serviceProvider.setRequestPathAuthenticatorConfigs(
+                applicationGraph.requestPathAuthenticators.toArray(new RequestPathAuthenticatorConfig[0]));
+
+        serviceProvider.setSpProperties(propertyList.toArray(new ServiceProviderProperty[0]));
+        serviceProvider.setCertificateContent(getCertificateContent(propertyList));
+        serviceProvider.setAssociatedRolesConfig(buildAssociatedRolesConfig(
+                serviceProvider.getApplicationResourceId(), getAllowedRoleAudience(propertyList),
+                applicationGraph.associatedRoleIds, serviceProvider.getTenantDomain()));
+
+        loadApplicationPermissions(serviceProvider.getApplicationName(), serviceProvider);
+        return serviceProvider;
+    }
+
+    private String getAllowedRoleAudience(List<ServiceProviderProperty> propertyList) {
+
+        return propertyList.stream()
+                .filter(property -> ALLOWED_ROLE_AUDIENCE_PROPERTY_NAME.equals(property.getName()))
+                .findFirst()
+                .map(ServiceProviderProperty::getValue)
+                .orElse(StringUtils.EMPTY);
+    }
+
+    private String getParameterMarkers(int count) {
+
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private int setApplicationIds(PreparedStatement prepStmt, List<Integer> applicationIds) throws SQLException {
+
+        int parameterIndex = 1;
+        for (Integer applicationId : applicationIds) {
+            prepStmt.setInt(parameterIndex++, applicationId);
+        }
+        return parameterIndex;
+    }
+
     private AssociatedRolesConfig getAssociatedRoles(String applicationId, Connection connection, int tenantID)
             throws IdentityApplicationManagementException {
 
         String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantID);
-        AssociatedRolesConfig associatedRolesConfig = new AssociatedRolesConfig();
         List<String> associatedRoleIds = new ArrayList<>();
         String allowedAudience =
                 getSPPropertyValueByPropertyKey(applicationId, ALLOWED_ROLE_AUDIENCE_PROPERTY_NAME, tenantDomain);
@@ -2325,9 +2665,33 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                         associatedRoleIds.add(resultSet.getString(1));
                     }
                 }
+            } catch (SQLException e) {
+                throw new IdentityApplicationManagementException(
+                        "Error while retrieving associated roles for application ID: " + applicationId, e);
+            }
+        }
+        return buildAssociatedRolesConfig(applicationId, allowedAudience, associatedRoleIds, tenantDomain);
+    }
+
+    /**
+     * Builds the associated roles config of the application for the allowed role audience.
+     *
+     * @param applicationId     Application resource ID.
+     * @param allowedAudience   Allowed role audience of the application.
+     * @param associatedRoleIds IDs of the roles associated with the application, used for the application audience.
+     * @param tenantDomain      Tenant domain of the application.
+     * @return Associated roles config.
+     * @throws IdentityApplicationManagementException If an error occurs while resolving the roles.
+     */
+    private AssociatedRolesConfig buildAssociatedRolesConfig(String applicationId, String allowedAudience,
+                                                             List<String> associatedRoleIds, String tenantDomain)
+            throws IdentityApplicationManagementException {
 
+        AssociatedRolesConfig associatedRolesConfig = new AssociatedRolesConfig();
+        if (RoleConstants.APPLICATION.equalsIgnoreCase(allowedAudience)) {
+            try {
                 associatedRolesConfig.setRoles(buildAssociatedRolesWithRoleName(associatedRoleIds, tenantDomain));
-            } catch (SQLException | IdentityRoleManagementException e) {
+            } catch (IdentityRoleManagementException e) {
                 throw new IdentityApplicationManagementException(
                         "Error while retrieving associated roles for application ID: " + applicationId, e);
             }
@@ -2555,6 +2919,36 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                 .orElse(StringUtils.EMPTY);
     }
 
+    /**
+     * Reads the application configurations stored as service provider properties into the service provider.
+     *
+     * @param propertyList    Service provider properties.
+     * @param serviceProvider Service provider.
+     * @throws IdentityApplicationManagementException If an error occurs while resolving the attestation credentials.
+     */
+    private void readAndSetConfigurationsFromProperties(List<ServiceProviderProperty> propertyList,
+                                                        ServiceProvider serviceProvider)
+            throws IdentityApplicationManagementException {
+
+        serviceProvider.setJwksUri(getJwksUri(propertyList));
+        serviceProvider.setTemplateId(getTemplateId(propertyList));
+        serviceProvider.setTemplateVersion(getTemplateVersion(propertyList));
+        serviceProvider.setApplicationEnabled(getIsApplicationEnabled(propertyList));
+        serviceProvider.setManagementApp(getIsManagementApp(propertyList));
+        serviceProvider.setB2BSelfServiceApp(getIsB2BSSApp(propertyList));
+        serviceProvider.setAPIBasedAuthenticationEnabled(getIsAPIBasedAuthenticationEnabled(propertyList));
+        ClientAttestationMetaData clientAttestationMetaData = new ClientAttestationMetaData();
+        clientAttestationMetaData.setAttestationEnabled(getIsAttestationEnabled(propertyList));
+        clientAttestationMetaData.setAndroidPackageName(getAndroidPackageName(propertyList));
+        clientAttestationMetaData.setAppleAppId(getAppleAppId(propertyList));
+        if (StringUtils.isNotEmpty(clientAttestationMetaData.getAndroidPackageName())
+                && clientAttestationMetaData.isAttestationEnabled()) {
+            clientAttestationMetaData.setAndroidAttestationServiceCredentials
+                    (getAndroidAttestationServiceCredentials(serviceProvider));
+        }
+        serviceProvider.setClientAttestationMetaData(clientAttestationMetaData);
+    }
+
     private String getAndroidAttestationServiceCredentials(ServiceProvider serviceProvider)
             throws IdentityApplicationManagementException {
 
@@ -2646,79 +3040,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             rs = prepStmt.executeQuery();
 
             if (rs.next()) {
-                serviceProvider = new ServiceProvider();
-                serviceProvider.setApplicationID(rs.getInt(ApplicationTableColumns.ID));
-                serviceProvider.setApplicationResourceId(rs.getString(ApplicationTableColumns.UUID));
-                serviceProvider.setApplicationName(rs.getString(ApplicationTableColumns.APP_NAME));
-                serviceProvider.setApplicationVersion(rs.getString(ApplicationTableColumns.APP_VERSION));
-                serviceProvider.setDescription(rs.getString(ApplicationTableColumns.DESCRIPTION));
-                serviceProvider.setImageUrl(rs.getString(ApplicationTableColumns.IMAGE_URL));
-
-                serviceProvider.setAccessUrl(rs.getString(ApplicationTableColumns.ACCESS_URL));
-                if (ApplicationMgtUtil.isConsoleOrMyAccount(serviceProvider.getApplicationName())) {
-                    serviceProvider.setAccessUrl(ApplicationMgtUtil.resolveOriginUrlFromPlaceholders(
-                            rs.getString(ApplicationTableColumns.ACCESS_URL), serviceProvider.getApplicationName()));
-                }
-                String tenantDomain = IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID));
-                if (ApplicationMgtUtil.isConsole(serviceProvider.getApplicationName())) {
-                    String consoleAccessUrl = getConsoleAccessUrlFromServerConfig(tenantDomain);
-                    if (StringUtils.isNotBlank(consoleAccessUrl)) {
-                        serviceProvider.setAccessUrl(consoleAccessUrl);
-                    }
-                }
-                if (ApplicationMgtUtil.isMyAccount(serviceProvider.getApplicationName())) {
-                    String myAccountAccessUrl = getMyAccountAccessUrlFromServerConfig(tenantDomain);
-                    if (StringUtils.isNotBlank(myAccountAccessUrl)) {
-                        serviceProvider.setAccessUrl(myAccountAccessUrl);
-                    }
-                }
-
-                serviceProvider.setDiscoverable(getBooleanValue(rs.getString(ApplicationTableColumns.IS_DISCOVERABLE)));
-
-                User owner = new User();
-                owner.setUserName(rs.getString(ApplicationTableColumns.USERNAME));
-                owner.setUserStoreDomain(rs.getString(ApplicationTableColumns.USER_STORE));
-                owner.setTenantDomain(getUserTenantDomain(
-                        IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID)),
-                        rs.getString(ApplicationTableColumns.USER_STORE) + "/" +
-                                rs.getString(ApplicationTableColumns.USERNAME)));
-                serviceProvider.setOwner(owner);
-                serviceProvider.setTenantDomain(
-                        IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID)));
-
-                ClaimConfig claimConfig = new ClaimConfig();
-                claimConfig.setRoleClaimURI(rs.getString(ApplicationTableColumns.ROLE_CLAIM));
-                claimConfig.setLocalClaimDialect(
-                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_LOCAL_CLAIM_DIALECT)));
-                claimConfig.setAlwaysSendMappedLocalSubjectId(
-                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_LOCAL_SUBJECT_ID)));
-                serviceProvider.setClaimConfig(claimConfig);
-
-                LocalAndOutboundAuthenticationConfig localAndOutboundAuthenticationConfig =
-                        new LocalAndOutboundAuthenticationConfig();
-                localAndOutboundAuthenticationConfig.setAlwaysSendBackAuthenticatedListOfIdPs(
-                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_AUTH_LIST_OF_IDPS)));
-                localAndOutboundAuthenticationConfig.setEnableAuthorization(
-                        getBooleanValue(rs.getString(ApplicationTableColumns.ENABLE_AUTHORIZATION)));
-                localAndOutboundAuthenticationConfig.setSubjectClaimUri(
-                        rs.getString(ApplicationTableColumns.SUBJECT_CLAIM_URI));
-                serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundAuthenticationConfig);
-
-                serviceProvider.setSaasApp(getBooleanValue(rs.getString(ApplicationTableColumns.IS_SAAS_APP)));
-
-                // Will be supported with 'Advance Consent Management Feature'.
-                /*
-                ConsentConfig consentConfig = new ConsentConfig();
-                consentConfig.setEnabled("1".equals(rs.getString(18)));
-                serviceProvider.setConsentConfig(consentConfig);
-                */
-
-                if (log.isDebugEnabled()) {
-                    log.debug("ApplicationID: " + serviceProvider.getApplicationID()
-                            + " ApplicationName: " + serviceProvider.getApplicationName()
-                            + " UserName: " + serviceProvider.getOwner().getUserName()
-                            + " TenantDomain: " + serviceProvider.getOwner().getTenantDomain());
-                }
+                serviceProvider = buildBasicApplicationData(rs);
             }
 
             return serviceProvider;
@@ -2731,6 +3053,92 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         }
     }
 
+    /**
+     * Builds the service provider with the basic application data of the current row of the result set.
+     *
+     * @param rs Result set positioned at a row of the SP_APP table.
+     * @return Service provider with the basic application data.
+     */
+    private ServiceProvider buildBasicApplicationData(ResultSet rs)
+            throws SQLException, URLBuilderException, IdentityApplicationManagementException {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationID(rs.getInt(ApplicationTableColumns.ID));
+        serviceProvider.setApplicationResourceId(rs.getString(ApplicationTableColumns.UUID));
+        serviceProvider.setApplicationName(rs.getString(ApplicationTableColumns.APP_NAME));
+        serviceProvider.setApplicationVersion(rs.getString(ApplicationTableColumns.APP_VERSION));
+        serviceProvider.setDescription(rs.getString(ApplicationTableColumns.DESCRIPTION));
+        serviceProvider.setImageUrl(rs.getString(ApplicationTableColumns.IMAGE_URL));
+
+        serviceProvider.setAccessUrl(rs.getString(ApplicationTableColumns.ACCESS_URL));
+        if (ApplicationMgtUtil.isConsoleOrMyAccount(serviceProvider.getApplicationName())) {
+            serviceProvider.setAccessUrl(ApplicationMgtUtil.resolveOriginUrlFromPlaceholders(
+                    rs.getString(ApplicationTableColumns.ACCESS_URL), serviceProvider.getApplicationName()));
+        }
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID));
+        if (ApplicationMgtUtil.isConsole(serviceProvider.getApplicationName())) {
+            String consoleAccessUrl = getConsoleAccessUrlFromServerConfig(tenantDomain);
+            if (StringUtils.isNotBlank(consoleAccessUrl)) {
+                serviceProvider.setAccessUrl(consoleAccessUrl);
+            }
+        }
+        if (ApplicationMgtUtil.isMyAccount(serviceProvider.getApplicationName())) {
+            String myAccountAccessUrl = getMyAccountAccessUrlFromServerConfig(tenantDomain);
+            if (StringUtils.isNotBlank(myAccountAccessUrl)) {
+                serviceProvider.setAccessUrl(myAccountAccessUrl);
+            }
+        }
+
+        serviceProvider.setDiscoverable(getBooleanValue(rs.getString(ApplicationTableColumns.IS_DISCOVERABLE)));
+
+        User owner = new User();
+        owner.setUserName(rs.getString(ApplicationTableColumns.USERNAME));
+        owner.setUserStoreDomain(rs.getString(ApplicationTableColumns.USER_STORE));
+        owner.setTenantDomain(getUserTenantDomain(
+                IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID)),
+                rs.getString(ApplicationTableColumns.USER_STORE) + "/" +
+                        rs.getString(ApplicationTableColumns.USERNAME)));
+        serviceProvider.setOwner(owner);
+        serviceProvider.setTenantDomain(
+                IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID)));
+
+        ClaimConfig claimConfig = new ClaimConfig();
+        claimConfig.setRoleClaimURI(rs.getString(ApplicationTableColumns.ROLE_CLAIM));
+        claimConfig.setLocalClaimDialect(
+                getBooleanValue(rs.getString(ApplicationTableColumns.IS_LOCAL_CLAIM_DIALECT)));
+        claimConfig.setAlwaysSendMappedLocalSubjectId(
+                getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_LOCAL_SUBJECT_ID)));
+        serviceProvider.setClaimConfig(claimConfig);
+
+        LocalAndOutboundAuthenticationConfig localAndOutboundAuthenticationConfig =
+                new LocalAndOutboundAuthenticationConfig();
+        localAndOutboundAuthenticationConfig.setAlwaysSendBackAuthenticatedListOfIdPs(
+                getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_AUTH_LIST_OF_IDPS)));
+        localAndOutboundAuthenticationConfig.setEnableAuthorization(
+                getBooleanValue(rs.getString(ApplicationTableColumns.ENABLE_AUTHORIZATION)));
+        localAndOutboundAuthenticationConfig.setSubjectClaimUri(
+                rs.getString(ApplicationTableColumns.SUBJECT_CLAIM_URI));
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundAuthenticationConfig);
+
+        serviceProvider.setSaasApp(getBooleanValue(rs.getString(ApplicationTableColumns.IS_SAAS_APP)));
+
+        // Will be supported with 'Advance Consent Management Feature'.
+        /*
+        ConsentConfig consentConfig = new ConsentConfig();
+        consentConfig.setEnabled("1".equals(rs.getString(18)));
+        serviceProvider.setConsentConfig(consentConfig);
+        */
+
+        if (log.isDebugEnabled()) {
+            log.debug("ApplicationID: " + serviceProvider.getApplicationID()
+                    + " ApplicationName: " + serviceProvider.getApplicationName()
+                    + " UserName: " + serviceProvider.getOwner().getUserName()
+                    + " TenantDomain: " + serviceProvider.getOwner().getTenantDomain());
+        }
+
+        return serviceProvider;
+    }
+
     private boolean getBooleanValue(String booleanValueAsString) throws SQLException {
 
         return "1".equals(booleanValueAsString);
@@ -2979,51 +3387,79 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             resultSet = getClientInfo.executeQuery();
 
             while (resultSet.next()) {
-                String authKey = resultSet.getString(1);
-                //this is done to handle empty string added to oracle database as null.
-                if (authKey == null) {
-                    authKey = new String();
-                }
-                String authType = resultSet.getString(2);
-                String propName = resultSet.getString(3);
-                String propValue = resultSet.getString(4);
-                String configType = resultSet.getString(5);
-
-                String mapKey = authType + ":" + authKey;
-
-                InboundAuthenticationRequestConfig inboundAuthRequest = null;
-                if ((inboundAuthRequest = inboundAuthenticationRequestConfigMap.get(mapKey)) == null) {
-                    inboundAuthRequest = new InboundAuthenticationRequestConfig();
-                }
-                inboundAuthRequest.setInboundAuthKey(authKey);
-                inboundAuthRequest.setInboundAuthType(authType);
-                inboundAuthRequest.setInboundConfigType(configType);
-
-                boolean isCustomAuthenticator = isCustomInboundAuthType(authType);
-                AbstractInboundAuthenticatorConfig customAuthenticator = ApplicationManagementServiceComponentHolder
-                        .getInboundAuthenticatorConfig(authType + ":" + configType);
-                if (isCustomAuthenticator && customAuthenticator != null) {
-                    inboundAuthRequest.setFriendlyName(customAuthenticator.getFriendlyName());
-                }
-                if (propName != null) {
-                    Property prop = new Property();
-                    prop.setName(propName);
-                    prop.setValue(propValue);
-                    if (isCustomAuthenticator && customAuthenticator != null) {
-                        Property mappedProperty = getMappedProperty(customAuthenticator, propName);
-                        if (mappedProperty != null) {
-                            prop.setDisplayName(mappedProperty.getDisplayName());
-                        }
-                    }
-                    inboundAuthRequest.setProperties((ApplicationMgtUtil.concatArrays(new Property[] {prop},
-                            inboundAuthRequest.getProperties())));
-                }
-                inboundAuthenticationRequestConfigMap.put(mapKey, inboundAuthRequest);
+                readInboundAuthenticationRequestConfig(resultSet, inboundAuthenticationRequestConfigMap);
             }
         } finally {
             IdentityApplicationManagementUtil.closeStatement(getClientInfo);
             IdentityApplicationManagementUtil.closeResultSet(resultSet);
         }
+        return buildInboundAuthenticationConfig(inboundAuthenticationRequestConfigMap);
+    }
+
+    /**
+     * Reads an inbound authentication property from the current row of the result set into the matching inbound
+     * authentication request config.
+     *
+     * @param resultSet                             Result set positioned at a row of the SP_INBOUND_AUTH table.
+     * @param inboundAuthenticationRequestConfigMap Inbound authentication request configs by type and key.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private void readInboundAuthenticationRequestConfig(ResultSet resultSet,
+            Map<String, InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigMap)
+            throws SQLException {
+
+        String authKey = resultSet.getString(1);
+        //this is done to handle empty string added to oracle database as null.
+        if (authKey == null) {
+            authKey = new String();
+        }
+        String authType = resultSet.getString(2);
+        String propName = resultSet.getString(3);
+        String propValue = resultSet.getString(4);
+        String configType = resultSet.getString(5);
+
+        String mapKey = authType + ":" + authKey;
+
+        InboundAuthenticationRequestConfig inboundAuthRequest = null;
+        if ((inboundAuthRequest = inboundAuthenticationRequestConfigMap.get(mapKey)) == null) {
+            inboundAuthRequest = new InboundAuthenticationRequestConfig();
+        }
+        inboundAuthRequest.setInboundAuthKey(authKey);
+        inboundAuthRequest.setInboundAuthType(authType);
+        inboundAuthRequest.setInboundConfigType(configType);
+
+        boolean isCustomAuthenticator = isCustomInboundAuthType(authType);
+        AbstractInboundAuthenticatorConfig customAuthenticator = ApplicationManagementServiceComponentHolder
+                .getInboundAuthenticatorConfig(authType + ":" + configType);
+        if (isCustomAuthenticator && customAuthenticator != null) {
+            inboundAuthRequest.setFriendlyName(customAuthenticator.getFriendlyName());
+        }
+        if (propName != null) {
+            Property prop = new Property();
+            prop.setName(propName);
+            prop.setValue(propValue);
+            if (isCustomAuthenticator && customAuthenticator != null) {
+                Property mappedProperty = getMappedProperty(customAuthenticator, propName);
+                if (mappedProperty != null) {
+                    prop.setDisplayName(mappedProperty.getDisplayName());
+                }
+            }
+            inboundAuthRequest.setProperties((ApplicationMgtUtil.concatArrays(new Property[] {prop},
+                    inboundAuthRequest.getProperties())));
+        }
+        inboundAuthenticationRequestConfigMap.put(mapKey, inboundAuthRequest);
+    }
+
+    /**
+     * Builds the inbound authentication config by merging the read inbound authentication request configs with the
+     * configurations of the registered custom inbound authenticators.
+     *
+     * @param inboundAuthenticationRequestConfigMap Inbound authentication request configs by type and key.
+     * @return Inbound authentication config.
+     */
+    private InboundAuthenticationConfig buildInboundAuthenticationConfig(
+            Map<String, InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigMap) {
+
         Map<String, AbstractInboundAuthenticatorConfig> allCustomAuthenticators = new HashMap<>
                 (ApplicationManagementServiceComponentHolder.getAllInboundAuthenticatorConfig());
         for (Map.Entry<String, InboundAuthenticationRequestConfig> entry : inboundAuthenticationRequestConfigMap
@@ -3121,40 +3557,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                 int authenticatorId = stepInfoResultSet.getInt(2);
                 Map<String, String> authenticatorInfo = getAuthenticatorInfo(connection, tenantId,
                         authenticatorId);
-
-                if (authenticatorInfo != null
-                        && authenticatorInfo.get(ApplicationConstants.IDP_NAME) != null
-                        && ApplicationConstants.LOCAL_IDP_NAME.equals(authenticatorInfo
-                        .get("idpName"))) {
-                    LocalAuthenticatorConfig localAuthenticator = new LocalAuthenticatorConfig();
-                    localAuthenticator.setName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
-                    localAuthenticator.setDisplayName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
-                    localAuthenticator.setDefinedByType(DefinedByType.valueOf(
-                            authenticatorInfo.get(ApplicationConstants.IDP_AUTHENTICATOR_DEFINED_BY_TYPE)));
-                    stepLocalAuth.get(step).add(localAuthenticator);
-                } else {
-                    Map<String, List<FederatedAuthenticatorConfig>> stepFedIdps = stepFedIdPAuthenticators
-                            .get(step);
-
-                    if (!stepFedIdps.containsKey(authenticatorInfo
-                            .get(ApplicationConstants.IDP_NAME))) {
-                        stepFedIdps.put(authenticatorInfo.get(ApplicationConstants.IDP_NAME),
-                                new ArrayList<FederatedAuthenticatorConfig>());
-                    }
-
-                    List<FederatedAuthenticatorConfig> idpAuths = stepFedIdps.get(authenticatorInfo
-                            .get(ApplicationConstants.IDP_NAME));
-                    FederatedAuthenticatorConfig fedAuthenticator = new FederatedAuthenticatorConfig();
-                    fedAuthenticator.setName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
-                    fedAuthenticator.setDisplayName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
-                    fedAuthenticator.setDefinedByType(DefinedByType.valueOf(
-                            authenticatorInfo.get(ApplicationConstants.IDP_AUTHENTICATOR_DEFINED_BY_TYPE)));
-                    idpAuths.add(fedAuthenticator);
-                }
+                addStepAuthenticator(step, authenticatorInfo, stepLocalAuth, stepFedIdPAuthenticators);
 
                 authStep.setSubjectStep("1".equals(stepInfoResultSet.getString(3)));
                 authStep.setAttributeStep("1".equals(stepInfoResultSet.getString(4)));
@@ -3165,85 +3568,19 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             LocalAndOutboundAuthenticationConfig localAndOutboundConfiguration
                     = new LocalAndOutboundAuthenticationConfig();
 
-            AuthenticationStep[] authenticationSteps = new AuthenticationStep[authSteps.size()];
-
-            int authStepCount = 0;
-
-            for (Entry<String, AuthenticationStep> entry : authSteps.entrySet()) {
-
-                AuthenticationStep authStep = entry.getValue();
-                String stepId = entry.getKey();
-
-                List<LocalAuthenticatorConfig> localAuthenticatorList = stepLocalAuth.get(stepId);
-
-                if (localAuthenticatorList != null && localAuthenticatorList.size() > 0) {
-                    authStep.setLocalAuthenticatorConfigs(
-                            localAuthenticatorList.toArray(
-                                    new LocalAuthenticatorConfig[localAuthenticatorList.size()]));
-                }
-
-                Map<String, List<FederatedAuthenticatorConfig>> idpList = stepFedIdPAuthenticators
-                        .get(stepId);
-
-                if (idpList != null && idpList.size() > 0) {
-                    IdentityProvider[] fedIdpList = new IdentityProvider[idpList.size()];
-                    int idpCount = 0;
-
-                    for (Entry<String, List<FederatedAuthenticatorConfig>> idpEntry : idpList
-                            .entrySet()) {
-                        String idpName = idpEntry.getKey();
-                        List<FederatedAuthenticatorConfig> fedAuthenticators = idpEntry.getValue();
-                        IdentityProvider idp = new IdentityProvider();
-                        idp.setIdentityProviderName(idpName);
-                        idp.setFederationHub(isFederationHubIdP(idpName, connection, tenantId));
-                        idp.setFederatedAuthenticatorConfigs(
-                                fedAuthenticators.toArray(new FederatedAuthenticatorConfig[fedAuthenticators.size()]));
-                        idp.setDefaultAuthenticatorConfig(idp.getFederatedAuthenticatorConfigs()[0]);
-                        fedIdpList[idpCount++] = idp;
+            Set<String> federationHubIdPs = new HashSet<>();
+            for (Map<String, List<FederatedAuthenticatorConfig>> stepFedIdps : stepFedIdPAuthenticators.values()) {
+                for (String idpName : stepFedIdps.keySet()) {
+                    if (!federationHubIdPs.contains(idpName) && isFederationHubIdP(idpName, connection, tenantId)) {
+                        federationHubIdPs.add(idpName);
                     }
-                    authStep.setFederatedIdentityProviders(fedIdpList);
-                }
-
-                authenticationSteps[authStepCount++] = authStep;
-            }
-
-            Arrays.sort(authenticationSteps, Comparator.comparingInt(AuthenticationStep::getStepOrder));
-
-            int numSteps = authenticationSteps.length;
-            // We check if the steps have consecutive step numbers.
-            if (numSteps > 0 && authenticationSteps[numSteps - 1].getStepOrder() != numSteps) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Authentication steps of Application with id: " + applicationId + "  do not have " +
-                            "consecutive numbers. This was possibility due to a IDP force deletion. Fixing the step " +
-                            "order.");
-                }
-                // Iterate through the steps and fix step order.
-                int count = 1;
-                for (AuthenticationStep step : authenticationSteps) {
-                    step.setStepOrder(count++);
                 }
             }
-
+            AuthenticationStep[] authenticationSteps = buildAuthenticationSteps(applicationId, authSteps,
+                    stepLocalAuth, stepFedIdPAuthenticators, federationHubIdPs);
             localAndOutboundConfiguration.setAuthenticationSteps(authenticationSteps);
-
-            String authType = getAuthenticationType(applicationId, tenantId, connection);
-            if (StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FEDERATED)
-                    || StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FLOW)) {
-                if (ArrayUtils.isEmpty(authenticationSteps)) {
-                    // Although auth type is 'federated' or 'flow' we don't have any authentication steps. This can
-                    // happen due to a force delete of a federated identity provider referred by the SP. So we change
-                    // the authType to 'default'.
-                    if (log.isDebugEnabled()) {
-                        log.debug("Authentication type is '" + authType + "' eventhough the application with id: " +
-                                applicationId +
-                                " has zero authentication step. This was possibility due to a IDP force deletion. " +
-                                " Defaulting authentication type to " + ApplicationConstants.AUTH_TYPE_DEFAULT);
-                    }
-                    authType = ApplicationConstants.AUTH_TYPE_DEFAULT;
-                }
-            }
-
-            localAndOutboundConfiguration.setAuthenticationType(authType);
+            localAndOutboundConfiguration.setAuthenticationType(resolveAuthenticationType(applicationId,
+                    getAuthenticationType(applicationId, tenantId, connection), authenticationSteps));
 
             AuthenticationScriptConfig authenticationScriptConfig = getScriptConfiguration(applicationId, connection);
             if (authenticationScriptConfig != null) {
@@ -3308,6 +3645,164 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         }
     }
 
+    /**
+     * Adds the authenticator of an authentication step to the local or federated authenticators of the step.
+     *
+     * @param step                     Step order.
+     * @param authenticatorInfo        IdP name, authenticator name, display name and defined by type of the
+     *                                 authenticator.
+     * @param stepLocalAuth            Local authenticators by step.
+     * @param stepFedIdPAuthenticators Federated authenticators by IdP name by step.
+     */
+    private void addStepAuthenticator(String step, Map<String, String> authenticatorInfo,
+                                      Map<String, List<LocalAuthenticatorConfig>> stepLocalAuth,
+                                      Map<String, Map<String, List<FederatedAuthenticatorConfig>>>
+                                              stepFedIdPAuthenticators) {
+
+        if (authenticatorInfo != null
+                && authenticatorInfo.get(ApplicationConstants.IDP_NAME) != null
+                && ApplicationConstants.LOCAL_IDP_NAME.equals(authenticatorInfo
+                .get("idpName"))) {
+            LocalAuthenticatorConfig localAuthenticator = new LocalAuthenticatorConfig();
+            localAuthenticator.setName(authenticatorInfo
+                    .get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
+            localAuthenticator.setDisplayName(authenticatorInfo
+                    .get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
+            localAuthenticator.setDefinedByType(DefinedByType.valueOf(
+                    authenticatorInfo.get(ApplicationConstants.IDP_AUTHENTICATOR_DEFINED_BY_TYPE)));
+            stepLocalAuth.get(step).add(localAuthenticator);
+        } else {
+            Map<String, List<FederatedAuthenticatorConfig>> stepFedIdps = stepFedIdPAuthenticators
+                    .get(step);
+
+            if (!stepFedIdps.containsKey(authenticatorInfo
+                    .get(ApplicationConstants.IDP_NAME))) {
+                stepFedIdps.put(authenticatorInfo.get(ApplicationConstants.IDP_NAME),
+                        new ArrayList<FederatedAuthenticatorConfig>());
+            }
+
+            List<FederatedAuthenticatorConfig> idpAuths = stepFedIdps.get(authenticatorInfo
+                    .get(ApplicationConstants.IDP_NAME));
+            FederatedAuthenticatorConfig fedAuthenticator = new FederatedAuthenticatorConfig();
+            fedAuthenticator.setName(authenticatorInfo
+                    .get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
+            fedAuthenticator.setDisplayName(authenticatorInfo
+                    .get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
+            fedAuthenticator.setDefinedByType(DefinedByType.valueOf(
+                    authenticatorInfo.get(ApplicationConstants.IDP_AUTHENTICATOR_DEFINED_BY_TYPE)));
+            idpAuths.add(fedAuthenticator);
+        }
+    }
+
+    /**
+     * Builds the authentication steps in the step order, fixing the step order if the steps are not consecutive.
+     *
+     * @param applicationId            Application ID.
+     * @param authSteps                Authentication steps by step.
+     * @param stepLocalAuth            Local authenticators by step.
+     * @param stepFedIdPAuthenticators Federated authenticators by IdP name by step.
+     * @param federationHubIdPs        Names of the federation hub IdPs.
+     * @return Ordered authentication steps.
+     */
+    private AuthenticationStep[] buildAuthenticationSteps(int applicationId, Map<String, AuthenticationStep> authSteps,
+                                                          Map<String, List<LocalAuthenticatorConfig>> stepLocalAuth,
+                                                          Map<String, Map<String, List<FederatedAuthenticatorConfig>>>
+                                                                  stepFedIdPAuthenticators,
+                                                          Set<String> federationHubIdPs) {
+
+        AuthenticationStep[] authenticationSteps = new AuthenticationStep[authSteps.size()];
+
+        int authStepCount = 0;
+
+        for (Entry<String, AuthenticationStep> entry : authSteps.entrySet()) {
+
+            AuthenticationStep authStep = entry.getValue();
+            String stepId = entry.getKey();
+
+            List<LocalAuthenticatorConfig> localAuthenticatorList = stepLocalAuth.get(stepId);
+
+            if (localAuthenticatorList != null && localAuthenticatorList.size() > 0) {
+                authStep.setLocalAuthenticatorConfigs(
+                        localAuthenticatorList.toArray(
+                                new LocalAuthenticatorConfig[localAuthenticatorList.size()]));
+            }
+
+            Map<String, List<FederatedAuthenticatorConfig>> idpList = stepFedIdPAuthenticators
+                    .get(stepId);
+
+            if (idpList != null && idpList.size() > 0) {
+                IdentityProvider[] fedIdpList = new IdentityProvider[idpList.size()];
+                int idpCount = 0;
+
+                for (Entry<String, List<FederatedAuthenticatorConfig>> idpEntry : idpList
+                        .entrySet()) {
+                    String idpName = idpEntry.getKey();
+                    List<FederatedAuthenticatorConfig> fedAuthenticators = idpEntry.getValue();
+                    IdentityProvider idp = new IdentityProvider();
+                    idp.setIdentityProviderName(idpName);
+                    idp.setFederationHub(federationHubIdPs.contains(idpName));
+                    idp.setFederatedAuthenticatorConfigs(
+                            fedAuthenticators.toArray(new FederatedAuthenticatorConfig[fedAuthenticators.size()]));
+                    idp.setDefaultAuthenticatorConfig(idp.getFederatedAuthenticatorConfigs()[0]);
+                    fedIdpList[idpCount++] = idp;
+                }
+                authStep.setFederatedIdentityProviders(fedIdpList);
+            }
+
+            authenticationSteps[authStepCount++] = authStep;
+        }
+
+        Arrays.sort(authenticationSteps, Comparator.comparingInt(AuthenticationStep::getStepOrder));
+
+        int numSteps = authenticationSteps.length;
+        // We check if the steps have consecutive step numbers.
+        if (numSteps > 0 && authenticationSteps[numSteps - 1].getStepOrder() != numSteps) {
+            if (log.isDebugEnabled()) {
+                log.debug("Authentication steps of Application with id: " + applicationId + "  do not have " +
+                        "consecutive numbers. This was possibility due to a IDP force deletion. Fixing the step " +
+                        "order.");
+            }
+            // Iterate through the steps and fix step order.
+            int count = 1;
+            for (AuthenticationStep step : authenticationSteps) {
+                step.setStepOrder(count++);
+            }
+        }
+
+        return authenticationSteps;
+    }
+
+    /**
+     * Resolves the authentication type of the application, defaulting it when a federated or flow based application
+     * does not have authentication steps.
+     *
+     * @param applicationId       Application ID.
+     * @param authType            Stored authentication type.
+     * @param authenticationSteps Authentication steps of the application.
+     * @return Authentication type.
+     */
+    private String resolveAuthenticationType(int applicationId, String authType,
+                                             AuthenticationStep[] authenticationSteps) {
+
+        if (StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FEDERATED)
+                || StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FLOW)) {
+            if (ArrayUtils.isEmpty(authenticationSteps)) {
+                // Although auth type is 'federated' or 'flow' we don't have any authentication steps. This can
+                // happen due to a force delete of a federated identity provider referred by the SP. So we change
+                // the authType to 'default'.
+                if (log.isDebugEnabled()) {
+                    log.debug("Authentication type is '" + authType + "' eventhough the application with id: " +
+                            applicationId +
+                            " has zero authentication step. This was possibility due to a IDP force deletion. " +
+                            " Defaulting authentication type to " + ApplicationConstants.AUTH_TYPE_DEFAULT);
+                }
+                authType = ApplicationConstants.AUTH_TYPE_DEFAULT;
+            }
+        }
+
+        return authType;
+    }
+
     private AuthenticationScriptConfig getScriptConfiguration(int applicationId, Connection connection)
             throws SQLException, IdentityApplicationManagementException {
 
@@ -3318,29 +3813,44 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             try (ResultSet localAndOutboundConfigScriptResultSet = localAndOutboundConfigScriptPrepStmt
                     .executeQuery()) {
                 if (localAndOutboundConfigScriptResultSet.next()) {
-                    AuthenticationScriptConfig authenticationScriptConfig = new AuthenticationScriptConfig();
-
-                    try {
-                        boolean isEnabled = "1".equals(localAndOutboundConfigScriptResultSet.getString(2));
-                        InputStream scriptBinaryStream = localAndOutboundConfigScriptResultSet.getBinaryStream(1);
-                        String targetString = StringUtils.EMPTY;
-                        if (scriptBinaryStream != null) {
-                            targetString = IOUtils.toString(scriptBinaryStream);
-                        }
-                        authenticationScriptConfig.setContent(targetString);
-                        authenticationScriptConfig.setEnabled(isEnabled);
-                    } catch (IOException e) {
-                        throw new IdentityApplicationManagementException(
-                                "Could not read the Script for application : " + applicationId, e);
-                    }
-
-                    return authenticationScriptConfig;
+                    return buildScriptConfiguration(localAndOutboundConfigScriptResultSet, applicationId);
                 }
             }
         }
         return null;
     }
 
+    /**
+     * Builds the authentication script config of the current row of the result set.
+     *
+     * @param resultSet     Result set positioned at a row of the SP_AUTH_SCRIPT table.
+     * @param applicationId Application ID.
+     * @return Authentication script config.
+     * @throws SQLException                           If an error occurs while reading the result set.
+     * @throws IdentityApplicationManagementException If an error occurs while reading the script.
+     */
+    private AuthenticationScriptConfig buildScriptConfiguration(ResultSet resultSet, int applicationId)
+            throws SQLException, IdentityApplicationManagementException {
+
+        AuthenticationScriptConfig authenticationScriptConfig = new AuthenticationScriptConfig();
+
+        try {
+            boolean isEnabled = "1".equals(resultSet.getString(2));
+            InputStream scriptBinaryStream = resultSet.getBinaryStream(1);
+            String targetString = StringUtils.EMPTY;
+            if (scriptBinaryStream != null) {
+                targetString = IOUtils.toString(scriptBinaryStream);
+            }
+            authenticationScriptConfig.setContent(targetString);
+            authenticationScriptConfig.setEnabled(isEnabled);
+        } catch (IOException e) {
+            throw new IdentityApplicationManagementException(
+                    "Could not read the Script for application : " + applicationId, e);
+        }
+
+        return authenticationScriptConfig;
+    }
+
     private boolean isFederationHubIdP(String idPName, Connection connection, int tenantId)
             throws SQLException {
 
@@ -3393,50 +3903,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             resultSet = get.executeQuery();
 
             while (resultSet.next()) {
-                ClaimMapping claimMapping = new ClaimMapping();
-                Claim localClaim = new Claim();
-                Claim remoteClaim = new Claim();
-
-                localClaim.setClaimUri(resultSet.getString(1));
-                remoteClaim.setClaimUri(resultSet.getString(2));
-
-                String requested = resultSet.getString(3);
-
-                if ("1".equalsIgnoreCase(requested)) {
-                    claimMapping.setRequested(true);
-                } else {
-                    claimMapping.setRequested(false);
-                }
-
-                String mandatory = resultSet.getString(4);
-
-                if ("1".equalsIgnoreCase(mandatory)) {
-                    claimMapping.setMandatory(true);
-                } else {
-                    claimMapping.setMandatory(false);
-                }
-
-                if (remoteClaim.getClaimUri() == null
-                        || remoteClaim.getClaimUri().trim().length() == 0) {
-                    remoteClaim.setClaimUri(localClaim.getClaimUri());
-                }
-
-                if (localClaim.getClaimUri() == null
-                        || localClaim.getClaimUri().trim().length() == 0) {
-                    localClaim.setClaimUri(remoteClaim.getClaimUri());
-                }
-
-                claimMapping.setDefaultValue(resultSet.getString(5));
-
-                claimMapping.setLocalClaim(localClaim);
-                claimMapping.setRemoteClaim(remoteClaim);
-
-                claimMappingList.add(claimMapping);
-
-                if (log.isDebugEnabled()) {
-                    log.debug("Local Claim: " + claimMapping.getLocalClaim().getClaimUri()
-                            + " SPClaim: " + claimMapping.getRemoteClaim().getClaimUri());
-                }
+                claimMappingList.add(buildClaimMapping(resultSet));
             }
 
             claimConfig.setClaimMappings(claimMappingList.toArray(new ClaimMapping[claimMappingList
@@ -3459,22 +3926,8 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             loadClaimConfigsResultSet = loadClaimConfigsPrepStmt.executeQuery();
 
             while (loadClaimConfigsResultSet.next()) {
-                claimConfig.setRoleClaimURI(loadClaimConfigsResultSet.getString(1));
-                claimConfig.setLocalClaimDialect("1".equals(loadClaimConfigsResultSet.getString(2)));
-
-                switch (loadClaimConfigsResultSet.getString(3)) {
-                    case "1":
-                        claimConfig.setAlwaysSendMappedLocalSubjectId(true);
-                        claimConfig.setMappedLocalSubjectMandatory(false);
-                        break;
-                    case "2":
-                        claimConfig.setAlwaysSendMappedLocalSubjectId(true);
-                        claimConfig.setMappedLocalSubjectMandatory(true);
-                        break;
-                    default:
-                        claimConfig.setAlwaysSendMappedLocalSubjectId(false);
-                        claimConfig.setMappedLocalSubjectMandatory(false);
-                }
+                readClaimConfig(claimConfig, loadClaimConfigsResultSet.getString(1),
+                        loadClaimConfigsResultSet.getString(2), loadClaimConfigsResultSet.getString(3));
             }
         } catch (SQLException e) {
             throw new IdentityApplicationManagementException("Error while retrieving all application", e);
@@ -3510,6 +3963,90 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         return claimConfig;
     }
 
+    /**
+     * Builds the claim mapping of the current row of the result set.
+     *
+     * @param resultSet Result set positioned at a row of the SP_CLAIM_MAPPING table.
+     * @return Claim mapping.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private ClaimMapping buildClaimMapping(ResultSet resultSet) throws SQLException {
+
+        ClaimMapping claimMapping = new ClaimMapping();
+        Claim localClaim = new Claim();
+        Claim remoteClaim = new Claim();
+
+        localClaim.setClaimUri(resultSet.getString(1));
+        remoteClaim.setClaimUri(resultSet.getString(2));
+
+        String requested = resultSet.getString(3);
+
+        if ("1".equalsIgnoreCase(requested)) {
+            claimMapping.setRequested(true);
+        } else {
+            claimMapping.setRequested(false);
+        }
+
+        String mandatory = resultSet.getString(4);
+
+        if ("1".equalsIgnoreCase(mandatory)) {
+            claimMapping.setMandatory(true);
+        } else {
+            claimMapping.setMandatory(false);
+        }
+
+        if (remoteClaim.getClaimUri() == null
+                || remoteClaim.getClaimUri().trim().length() == 0) {
+            remoteClaim.setClaimUri(localClaim.getClaimUri());
+        }
+
+        if (localClaim.getClaimUri() == null
+                || localClaim.getClaimUri().trim().length() == 0) {
+            localClaim.setClaimUri(remoteClaim.getClaimUri());
+        }
+
+        claimMapping.setDefaultValue(resultSet.getString(5));
+
+        claimMapping.setLocalClaim(localClaim);
+        claimMapping.setRemoteClaim(remoteClaim);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Local Claim: " + claimMapping.getLocalClaim().getClaimUri()
+                    + " SPClaim: " + claimMapping.getRemoteClaim().getClaimUri());
+        }
+
+        return claimMapping;
+    }
+
+    /**
+     * Reads the claim configurations stored in the SP_APP table into the claim config.
+     *
+     * @param claimConfig          Claim config.
+     * @param roleClaimUri         Role claim URI.
+     * @param isLocalClaimDialect  Whether the local claim dialect is used.
+     * @param isSendLocalSubjectId Whether and how the mapped local subject ID is sent.
+     */
+    private void readClaimConfig(ClaimConfig claimConfig, String roleClaimUri, String isLocalClaimDialect,
+                                 String isSendLocalSubjectId) {
+
+        claimConfig.setRoleClaimURI(roleClaimUri);
+        claimConfig.setLocalClaimDialect("1".equals(isLocalClaimDialect));
+
+        switch (isSendLocalSubjectId) {
+            case "1":
+                claimConfig.setAlwaysSendMappedLocalSubjectId(true);
+                claimConfig.setMappedLocalSubjectMandatory(false);
+                break;
+            case "2":
+                claimConfig.setAlwaysSendMappedLocalSubjectId(true);
+                claimConfig.setMappedLocalSubjectMandatory(true);
+                break;
+            default:
+                claimConfig.setAlwaysSendMappedLocalSubjectId(false);
+                claimConfig.setMappedLocalSubjectMandatory(false);
+        }
+    }
+
     /**
      * @param applicationId
      * @param connection
@@ -3636,19 +4173,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
 
                     // There should be maximum two entries for each service provider. One for Android and one for iOS.
                     while (appConfigResultSet.next()) {
-                        PlatformType platformType = PlatformType.valueOf(appConfigResultSet.getString(1));
-                        if (PlatformType.ANDROID.equals(platformType)) {
-                            spTrustedAppMetadata.setAndroidPackageName(appConfigResultSet.getString(2));
-                            if (appConfigResultSet.getString(3) != null) {
-                                spTrustedAppMetadata.setAndroidThumbprints(
-                                        appConfigResultSet.getString(3).split(ATTRIBUTE_SEPARATOR));
-                            } else {
-                                spTrustedAppMetadata.setAndroidThumbprints(new String[0]);
-                            }
-                        } else if (PlatformType.IOS.equals(platformType)) {
-                            spTrustedAppMetadata.setAppleAppId(appConfigResultSet.getString(2));
-                        }
-                        spTrustedAppMetadata.setIsFidoTrusted(appConfigResultSet.getBoolean(4));
+                        readTrustedAppMetadata(appConfigResultSet, spTrustedAppMetadata);
                     }
 
                     // If consent required property is disabled, consent is always considered as granted.
@@ -3662,6 +4187,31 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         return spTrustedAppMetadata;
     }
 
+    /**
+     * Reads the trusted app configuration of the current row of the result set into the trusted app metadata.
+     *
+     * @param resultSet            Result set positioned at a row of the SP_TRUSTED_APPS table.
+     * @param spTrustedAppMetadata Trusted app metadata.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private void readTrustedAppMetadata(ResultSet resultSet, SpTrustedAppMetadata spTrustedAppMetadata)
+            throws SQLException {
+
+        PlatformType platformType = PlatformType.valueOf(resultSet.getString(1));
+        if (PlatformType.ANDROID.equals(platformType)) {
+            spTrustedAppMetadata.setAndroidPackageName(resultSet.getString(2));
+            if (resultSet.getString(3) != null) {
+                spTrustedAppMetadata.setAndroidThumbprints(
+                        resultSet.getString(3).split(ATTRIBUTE_SEPARATOR));
+            } else {
+                spTrustedAppMetadata.setAndroidThumbprints(new String[0]);
+            }
+        } else if (PlatformType.IOS.equals(platformType)) {
+            spTrustedAppMetadata.setAppleAppId(resultSet.getString(2));
+        }
+        spTrustedAppMetadata.setIsFidoTrusted(resultSet.getBoolean(4));
+    }
+
     /**
      * Update trusted app metadata of the application.
      *
@@ -3762,17 +4312,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             resultSet = getClientInfo.executeQuery();
 
             while (resultSet.next()) {
-                RoleMapping roleMapping = new RoleMapping();
-                LocalRole localRole = new LocalRole();
-                localRole.setLocalRoleName(resultSet.getString(1));
-                roleMapping.setLocalRole(localRole);
-                roleMapping.setRemoteRole(resultSet.getString(2));
-                roleMappingList.add(roleMapping);
-
-                if (log.isDebugEnabled()) {
-                    log.debug("Local Role: " + roleMapping.getLocalRole().getLocalRoleName()
-                            + " SPRole: " + roleMapping.getRemoteRole());
-                }
+                roleMappingList.add(buildRoleMapping(resultSet));
             }
 
         } catch (SQLException e) {
@@ -3784,6 +4324,29 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         return roleMappingList;
     }
 
+    /**
+     * Builds the role mapping of the current row of the result set.
+     *
+     * @param resultSet Result set positioned at a row of the SP_ROLE_MAPPING table.
+     * @return Role mapping.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private RoleMapping buildRoleMapping(ResultSet resultSet) throws SQLException {
+
+        RoleMapping roleMapping = new RoleMapping();
+        LocalRole localRole = new LocalRole();
+        localRole.setLocalRoleName(resultSet.getString(1));
+        roleMapping.setLocalRole(localRole);
+        roleMapping.setRemoteRole(resultSet.getString(2));
+
+        if (log.isDebugEnabled()) {
+            log.debug("Local Role: " + roleMapping.getLocalRole().getLocalRoleName()
+                    + " SPRole: " + roleMapping.getRemoteRole());
+        }
+
+        return roleMapping;
+    }
+
     /**
      * Get count of applications for user
      *
@@ -6682,4 +7245,51 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             throw new IdentityApplicationManagementException("Error while rolling back the transaction.", e);
         }
     }
+
+    /**
+     * Reader of a row of a batch query into the graph of the application the row belongs to.
+     */
+    @FunctionalInterface
+    private interface ApplicationGraphRowReader {
+
+        void read(ResultSet resultSet, ApplicationGraph applicationGraph) throws SQLException,
+                IdentityApplicationManagementException;
+    }
+
+    /**
+     * Configurations of an application read by the batch queries, before they are assembled into the service
+     * provider.
+     */
+    private static class ApplicationGraph {
+
+        private final ServiceProvider serviceProvider;
+        private final int tenantId;
+        private String authType;
+        private final LocalAndOutboundAuthenticationConfig localAndOutboundConfig =
+                new LocalAndOutboundAuthenticationConfig();
+        private final ClaimConfig claimConfig = new ClaimConfig();
+        private final InboundProvisioningConfig inboundProvisioningConfig = new InboundProvisioningConfig();
+        private final List<ServiceProviderProperty> properties = new ArrayList<>();
+        private final Map<String, InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigs =
+                new HashMap<>();
+        private final Map<String, AuthenticationStep> authSteps = new HashMap<>();
+        private final Map<String, List<LocalAuthenticatorConfig>> stepLocalAuth = new HashMap<>();
+        private final Map<String, Map<String, List<FederatedAuthenticatorConfig>>> stepFedIdPAuthenticators =
+                new HashMap<>();
+        private final Set<String> federationHubIdPs = new HashSet<>();
+        private AuthenticationScriptConfig authenticationScriptConfig;
+        private final List<ClaimMapping> claimMappings = new ArrayList<>();
+        private final List<String> spClaimDialects = new ArrayList<>();
+        private final List<RoleMapping> roleMappings = new ArrayList<>();
+        private final List<RequestPathAuthenticatorConfig> requestPathAuthenticators = new ArrayList<>();
+        private final List<IdentityProvider> provisioningIdentityProviders = new ArrayList<>();
+        private SpTrustedAppMetadata trustedAppMetadata;
+        private final List<String> associatedRoleIds = new ArrayList<>();
+
+        private ApplicationGraph(ServiceProvider serviceProvider, int tenantId) {
+
+            this.serviceProvider = serviceProvider;
+            this.tenantId = tenantId;
+        }
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.wso2.carbon.identity.application.mgt.dao.impl;
 
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
 /**
  * This class contains default SQL queries
  * <p/>
@@ -273,6 +275,50 @@ public class ApplicationMgtDBQueries {
     public static final String EXCLUDE_SYSTEM_PORTALS_BY_TABLE_NAME_AND_NAME = "AND SP_APP.APP_NAME NOT IN (%s)";
     public static final String EXCLUDE_SYSTEM_PORTALS_BY_NAME = "AND APP_NAME NOT IN (%s)";
 
+    // Queries to load the configurations of a batch of applications. The placeholder is replaced with the
+    // parameter markers of the application IDs.
+    public static final String LOAD_BASIC_APP_INFO_BY_APP_IDS = "SELECT ID, TENANT_ID, APP_NAME, VERSION, " +
+            "USER_STORE, USERNAME, DESCRIPTION, ROLE_CLAIM, AUTH_TYPE, PROVISIONING_USERSTORE_DOMAIN, " +
+            "IS_LOCAL_CLAIM_DIALECT, IS_SEND_LOCAL_SUBJECT_ID, IS_SEND_AUTH_LIST_OF_IDPS, " +
+            "IS_USE_TENANT_DOMAIN_SUBJECT, IS_USE_USER_DOMAIN_SUBJECT, ENABLE_AUTHORIZATION, " +
+            "SUBJECT_CLAIM_URI, IS_SAAS_APP, UUID, IMAGE_URL, " +
+            "ACCESS_URL, IS_DISCOVERABLE, IS_DUMB_MODE " +
+            "FROM SP_APP WHERE ID IN (%s)";
+    public static final String GET_SP_METADATA_BY_SP_IDS = "SELECT NAME, VALUE, DISPLAY_NAME, SP_ID FROM " +
+            "SP_METADATA WHERE SP_ID IN (%s)";
+    public static final String GET_SP_METADATA_BY_SP_IDS_H2 = "SELECT NAME, `VALUE`, DISPLAY_NAME, SP_ID FROM " +
+            "SP_METADATA WHERE SP_ID IN (%s)";
+    public static final String LOAD_CLIENTS_INFO_BY_APP_IDS = "SELECT INBOUND_AUTH_KEY, INBOUND_AUTH_TYPE, " +
+            "PROP_NAME, PROP_VALUE, INBOUND_CONFIG_TYPE, APP_ID, TENANT_ID FROM SP_INBOUND_AUTH WHERE APP_ID IN (%s)";
+    public static final String LOAD_STEPS_AND_AUTHENTICATORS_BY_APP_IDS = "SELECT SP_AUTH_STEP.STEP_ORDER, " +
+            "SP_FEDERATED_IDP.AUTHENTICATOR_ID, SP_AUTH_STEP.IS_SUBJECT_STEP, SP_AUTH_STEP.IS_ATTRIBUTE_STEP, " +
+            "IDP.NAME, IDP_AUTHENTICATOR.NAME, IDP_AUTHENTICATOR.DISPLAY_NAME, IDP_AUTHENTICATOR.DEFINED_BY, " +
+            "IDP.IS_FEDERATION_HUB, IDP.TENANT_ID, SP_AUTH_STEP.APP_ID " +
+            "FROM SP_AUTH_STEP INNER JOIN SP_FEDERATED_IDP ON SP_AUTH_STEP.ID = SP_FEDERATED_IDP.ID " +
+            "INNER JOIN SP_APP ON SP_AUTH_STEP.APP_ID = SP_APP.ID " +
+            "LEFT JOIN IDP_AUTHENTICATOR ON SP_FEDERATED_IDP.AUTHENTICATOR_ID = IDP_AUTHENTICATOR.ID " +
+            "LEFT JOIN IDP ON IDP_AUTHENTICATOR.IDP_ID = IDP.ID AND ((IDP.TENANT_ID = SP_APP.TENANT_ID AND " +
+            "IDP_AUTHENTICATOR.TENANT_ID = SP_APP.TENANT_ID) OR (IDP.TENANT_ID = " +
+            MultitenantConstants.SUPER_TENANT_ID + " AND IDP.NAME LIKE 'SHARED_%%' AND IDP_AUTHENTICATOR.TENANT_ID = " +
+            MultitenantConstants.SUPER_TENANT_ID + ")) " +
+            "WHERE SP_AUTH_STEP.APP_ID IN (%s)";
+    public static final String LOAD_SCRIPTS_BY_APP_IDS = "SELECT CONTENT, IS_ENABLED, APP_ID FROM SP_AUTH_SCRIPT " +
+            "WHERE APP_ID IN (%s)";
+    public static final String LOAD_PRO_CONNECTORS_BY_APP_IDS = "SELECT IDP_NAME, CONNECTOR_NAME, IS_JIT_ENABLED, " +
+            "BLOCKING, RULE_ENABLED, APP_ID, TENANT_ID FROM SP_PROVISIONING_CONNECTOR WHERE APP_ID IN (%s)";
+    public static final String LOAD_CLAIM_MAPPINGS_BY_APP_IDS = "SELECT IDP_CLAIM, SP_CLAIM, IS_REQUESTED, " +
+            "IS_MANDATORY, DEFAULT_VALUE, APP_ID, TENANT_ID FROM SP_CLAIM_MAPPING WHERE APP_ID IN (%s)";
+    public static final String LOAD_SP_DIALECTS_BY_APP_IDS = "SELECT SP_DIALECT, APP_ID, TENANT_ID FROM " +
+            "SP_CLAIM_DIALECT WHERE APP_ID IN (%s)";
+    public static final String LOAD_ROLE_MAPPINGS_BY_APP_IDS = "SELECT IDP_ROLE, SP_ROLE, APP_ID, TENANT_ID FROM " +
+            "SP_ROLE_MAPPING WHERE APP_ID IN (%s)";
+    public static final String LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_IDS = "SELECT AUTHENTICATOR_NAME, APP_ID, " +
+            "TENANT_ID FROM SP_REQ_PATH_AUTHENTICATOR WHERE APP_ID IN (%s)";
+    public static final String LOAD_TRUSTED_APPS_BY_APP_IDS = "SELECT PLATFORM_TYPE, APP_IDENTIFIER, THUMBPRINTS, " +
+            "IS_FIDO_TRUSTED, SP_ID, TENANT_ID FROM SP_TRUSTED_APPS WHERE SP_ID IN (%s)";
+    public static final String LOAD_ASSOCIATED_ROLES_BY_APP_IDS = "SELECT ROLE_ID, APP_ID FROM " +
+            "APP_ROLE_ASSOCIATION WHERE APP_ID IN (%s)";
+
     // DELETE queries
     public static final String REMOVE_APP_FROM_APPMGT_APP = "DELETE FROM SP_APP WHERE APP_NAME = ? AND TENANT_ID = ?";
     public static final String REMOVE_APP_FROM_APPMGT_APP_WITH_ID = "DELETE FROM SP_APP WHERE ID = ? AND TENANT_ID = ?";
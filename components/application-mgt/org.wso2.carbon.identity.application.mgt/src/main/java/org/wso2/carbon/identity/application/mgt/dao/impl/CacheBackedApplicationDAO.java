@@ -42,6 +42,7 @@ import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicI
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoCacheEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoNameCacheKey;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoResourceIdCacheKey;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationCacheWarmUpTask;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationResourceIDByInboundAuthCache;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationResourceIDCacheInboundAuthEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationResourceIDCacheInboundAuthKey;
@@ -57,10 +58,12 @@ import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderRe
 import org.wso2.carbon.identity.application.mgt.internal.cache.TrustedAppByPlatformTypeCache;
 import org.wso2.carbon.identity.application.mgt.internal.cache.TrustedAppPlatformTypeCacheEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.TrustedAppPlatformTypeCacheKey;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -114,6 +117,10 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
                 throw new IdentityApplicationManagementException(error, e);
             }
         }
+        if (serviceProvider != null) {
+            CacheWarmUpService.getInstance().recordHotKey(ApplicationCacheWarmUpTask.TASK_NAME, tenantDomain,
+                    String.valueOf(serviceProvider.getApplicationID()));
+        }
         return serviceProvider;
     }
 
@@ -132,6 +139,38 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         return serviceProvider;
     }
 
+    @Override
+    public List<ServiceProvider> getApplications(List<Integer> applicationIds)
+            throws IdentityApplicationManagementException {
+
+        String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        Map<Integer, ServiceProvider> serviceProviders = new HashMap<>();
+        List<Integer> uncachedApplicationIds = new ArrayList<>();
+        for (Integer applicationId : applicationIds) {
+            ServiceProvider serviceProvider = getApplicationFromCache(applicationId, tenantDomain);
+            if (serviceProvider == null) {
+                uncachedApplicationIds.add(applicationId);
+            } else {
+                serviceProviders.put(applicationId, serviceProvider);
+            }
+        }
+        if (!uncachedApplicationIds.isEmpty()) {
+            for (ServiceProvider serviceProvider : appDAO.getApplications(uncachedApplicationIds)) {
+                addToCache(serviceProvider, serviceProvider.getTenantDomain());
+                serviceProviders.put(serviceProvider.getApplicationID(), serviceProvider);
+            }
+        }
+
+        List<ServiceProvider> orderedServiceProviders = new ArrayList<>();
+        for (Integer applicationId : new LinkedHashSet<>(applicationIds)) {
+            ServiceProvider serviceProvider = serviceProviders.get(applicationId);
+            if (serviceProvider != null) {
+                orderedServiceProviders.add(serviceProvider);
+            }
+        }
+        return orderedServiceProviders;
+    }
+
     public String getApplicationName(int applicationID) throws IdentityApplicationManagementException {
 
         ServiceProvider applicationFromCache = getApplicationFromCache(applicationID,
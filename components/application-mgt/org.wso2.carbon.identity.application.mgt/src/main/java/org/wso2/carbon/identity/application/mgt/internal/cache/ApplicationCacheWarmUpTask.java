@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.mgt.internal.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtSystemConfig;
+import org.wso2.carbon.identity.application.mgt.dao.ApplicationDAO;
+import org.wso2.carbon.identity.application.mgt.dao.PaginatableFilterableApplicationDAO;
+import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache warm-up task that preloads the applications of a tenant into the application caches keyed by name, ID,
+ * resource ID and inbound key. The hot keys of the task are application IDs. Without hot keys, the first applications
+ * of the tenant are preloaded.
+ */
+public class ApplicationCacheWarmUpTask implements CacheWarmUpTask {
+
+    public static final String TASK_NAME = "Application";
+
+    @Override
+    public String getName() {
+
+        return TASK_NAME;
+    }
+
+    @Override
+    public int warmUp(String tenantDomain, List<String> hotKeys, int maxEntries) throws IdentityException {
+
+        ApplicationDAO appDAO = ApplicationMgtSystemConfig.getInstance().getApplicationDAO();
+        try {
+            List<Integer> applicationIds = hotKeys.isEmpty() ? getApplicationIds(appDAO, maxEntries) :
+                    parseApplicationIds(hotKeys, maxEntries);
+            // Loaded with the batched queries and added to the caches by the cache backed DAO.
+            return appDAO.getApplications(applicationIds).size();
+        } catch (IdentityApplicationManagementException e) {
+            throw new IdentityException("Error while preloading the applications of the tenant: " + tenantDomain, e);
+        }
+    }
+
+    private List<Integer> getApplicationIds(ApplicationDAO appDAO, int maxEntries)
+            throws IdentityApplicationManagementException {
+
+        List<Integer> applicationIds = new ArrayList<>();
+        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+            ApplicationBasicInfo[] applicationBasicInfos =
+                    ((PaginatableFilterableApplicationDAO) appDAO).getApplicationBasicInfo(0, maxEntries);
+            for (ApplicationBasicInfo applicationBasicInfo : applicationBasicInfos) {
+                applicationIds.add(applicationBasicInfo.getApplicationId());
+            }
+        }
+        return applicationIds;
+    }
+
+    private List<Integer> parseApplicationIds(List<String> hotKeys, int maxEntries) {
+
+        List<Integer> applicationIds = new ArrayList<>();
+        for (String hotKey : hotKeys) {
+            if (applicationIds.size() >= maxEntries) {
+                break;
+            }
+            if (StringUtils.isNotEmpty(hotKey) && StringUtils.isNumeric(hotKey)) {
+                applicationIds.add(Integer.parseInt(hotKey));
+            }
+        }
+        return applicationIds;
+    }
+}
@@ -34,6 +34,7 @@ import org.wso2.carbon.identity.application.mgt.ApplicationMgtSystemConfig;
 import org.wso2.carbon.identity.application.mgt.cache.IdentityServiceProviderCache;
 import org.wso2.carbon.identity.application.mgt.dao.ApplicationDAO;
 import org.wso2.carbon.identity.application.mgt.dao.impl.CacheBackedApplicationDAO;
+import org.wso2.carbon.identity.core.cache.CacheInvalidationBatch;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.idp.mgt.IdentityProviderManager;
 import org.wso2.carbon.idp.mgt.listener.AbstractIdentityProviderMgtListener;
@@ -54,7 +55,7 @@ public class ApplicationIdentityProviderMgtListener extends AbstractIdentityProv
     public boolean doPreUpdateIdP(String oldIdPName, IdentityProvider identityProvider, String tenantDomain) throws
             IdentityProviderManagementException {
 
-        try {
+        try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
             IdentityServiceProviderCache.getInstance().clear(tenantDomain);
 
             IdentityProviderManager identityProviderManager = IdentityProviderManager.getInstance();
@@ -118,7 +119,7 @@ public class ApplicationIdentityProviderMgtListener extends AbstractIdentityProv
     public boolean doPostUpdateIdP(String oldIdPName, IdentityProvider identityProvider, String tenantDomain) throws
             IdentityProviderManagementException {
 
-        try {
+        try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
             IdentityProviderManager identityProviderManager = IdentityProviderManager.getInstance();
             ConnectedAppsResult connectedApplications;
             String updatedIdpId = identityProvider.getResourceId();
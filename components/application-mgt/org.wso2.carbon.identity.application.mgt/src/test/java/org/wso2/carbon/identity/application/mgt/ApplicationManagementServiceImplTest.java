@@ -61,6 +61,7 @@ import org.wso2.carbon.identity.application.common.model.ServiceProviderProperty
 import org.wso2.carbon.identity.application.common.model.SpTrustedAppMetadata;
 import org.wso2.carbon.identity.application.common.model.TrustedApp;
 import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants.PlatformType;
+import org.wso2.carbon.identity.application.mgt.dao.impl.ApplicationDAOImpl;
 import org.wso2.carbon.identity.application.mgt.inbound.dto.ApplicationDTO;
 import org.wso2.carbon.identity.application.mgt.inbound.dto.InboundProtocolConfigurationDTO;
 import org.wso2.carbon.identity.application.mgt.inbound.dto.InboundProtocolsDTO;
@@ -1037,6 +1038,82 @@ public class ApplicationManagementServiceImplTest {
         applicationManagementService.deleteApplications(SUPER_TENANT_ID);
     }
 
+    @Test
+    public void testGetApplicationsWithBatchedQueries() throws IdentityApplicationManagementException {
+
+        ServiceProvider inputSP1 = new ServiceProvider();
+        inputSP1.setApplicationName(APPLICATION_NAME_1);
+        addApplicationConfigurations(inputSP1);
+        ServiceProvider inputSP2 = new ServiceProvider();
+        inputSP2.setApplicationName(APPLICATION_NAME_2);
+        addApplicationConfigurations(inputSP2);
+        setApplicationInboundAuthConfigs(inputSP2, APPLICATION_INBOUND_AUTH_KEY_2, "oauth2");
+
+        // Adding applications.
+        applicationManagementService.createApplication(inputSP1, SUPER_TENANT_DOMAIN_NAME, USERNAME_1);
+        applicationManagementService.createApplication(inputSP2, SUPER_TENANT_DOMAIN_NAME, USERNAME_1);
+        int applicationId1 = applicationManagementService.getApplicationExcludingFileBasedSPs(APPLICATION_NAME_1,
+                SUPER_TENANT_DOMAIN_NAME).getApplicationID();
+        int applicationId2 = applicationManagementService.getApplicationExcludingFileBasedSPs(APPLICATION_NAME_2,
+                SUPER_TENANT_DOMAIN_NAME).getApplicationID();
+
+        // Retrieving the applications with the batched queries, including a duplicate and a non-existing id.
+        ApplicationDAOImpl applicationDAO = new ApplicationDAOImpl();
+        List<ServiceProvider> actual = applicationDAO.getApplications(
+                Arrays.asList(applicationId2, applicationId1, applicationId2, -1));
+
+        Assert.assertEquals(actual.size(), 2);
+        assertSameApplication(actual.get(0), applicationDAO.getApplication(applicationId2));
+        assertSameApplication(actual.get(1), applicationDAO.getApplication(applicationId1));
+
+        // Deleting all added application.
+        applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+    }
+
+    private void assertSameApplication(ServiceProvider actual, ServiceProvider expected) {
+
+        Assert.assertEquals(actual.getApplicationID(), expected.getApplicationID());
+        Assert.assertEquals(actual.getApplicationResourceId(), expected.getApplicationResourceId());
+        Assert.assertEquals(actual.getApplicationName(), expected.getApplicationName());
+        Assert.assertEquals(actual.getDescription(), expected.getDescription());
+        Assert.assertEquals(actual.getOwner().getUserName(), expected.getOwner().getUserName());
+        Assert.assertEquals(actual.isSaasApp(), expected.isSaasApp());
+        Assert.assertEquals(actual.getInboundAuthenticationConfig().getInboundAuthenticationRequestConfigs()[0]
+                        .getInboundAuthKey(), expected.getInboundAuthenticationConfig()
+                .getInboundAuthenticationRequestConfigs()[0].getInboundAuthKey());
+        Assert.assertEquals(actual.getInboundProvisioningConfig().getProvisioningUserStore(),
+                expected.getInboundProvisioningConfig().getProvisioningUserStore());
+        Assert.assertEquals(actual.getOutboundProvisioningConfig().getProvisioningIdentityProviders().length,
+                expected.getOutboundProvisioningConfig().getProvisioningIdentityProviders().length);
+
+        LocalAndOutboundAuthenticationConfig actualAuthConfig = actual.getLocalAndOutBoundAuthenticationConfig();
+        LocalAndOutboundAuthenticationConfig expectedAuthConfig = expected.getLocalAndOutBoundAuthenticationConfig();
+        Assert.assertEquals(actualAuthConfig.getAuthenticationType(), expectedAuthConfig.getAuthenticationType());
+        Assert.assertEquals(actualAuthConfig.getAuthenticationSteps().length,
+                expectedAuthConfig.getAuthenticationSteps().length);
+        for (int i = 0; i < actualAuthConfig.getAuthenticationSteps().length; i++) {
+            AuthenticationStep actualStep = actualAuthConfig.getAuthenticationSteps()[i];
+            AuthenticationStep expectedStep = expectedAuthConfig.getAuthenticationSteps()[i];
+            Assert.assertEquals(actualStep.getStepOrder(), expectedStep.getStepOrder());
+            Assert.assertEquals(actualStep.getLocalAuthenticatorConfigs().length,
+                    expectedStep.getLocalAuthenticatorConfigs().length);
+            Assert.assertEquals(actualStep.getFederatedIdentityProviders().length,
+                    expectedStep.getFederatedIdentityProviders().length);
+        }
+        Assert.assertEquals(actualAuthConfig.getSubjectClaimUri(), expectedAuthConfig.getSubjectClaimUri());
+        Assert.assertEquals(actualAuthConfig.isUseUserstoreDomainInRoles(),
+                expectedAuthConfig.isUseUserstoreDomainInRoles());
+
+        Assert.assertEquals(actual.getClaimConfig().getRoleClaimURI(), expected.getClaimConfig().getRoleClaimURI());
+        Assert.assertEquals(actual.getClaimConfig().getClaimMappings().length,
+                expected.getClaimConfig().getClaimMappings().length);
+        Assert.assertEquals(actual.getClaimConfig().getSpClaimDialects(),
+                expected.getClaimConfig().getSpClaimDialects());
+        Assert.assertEquals(actual.getRequestPathAuthenticatorConfigs().length,
+                expected.getRequestPathAuthenticatorConfigs().length);
+        Assert.assertEquals(actual.getSpProperties().length, expected.getSpProperties().length);
+    }
+
     @DataProvider(name = "testAddApplicationWithIsManagementApplicationData")
     public Object[][] testAddApplicationWithIsManagementApplicationData() {
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.application.mgt.dao.impl.ApplicationMgtDBQueries;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading the authentication steps of a set of applications on an in-memory H2 database, once per
+ * application as ApplicationDAOImpl#getApplication does, and with the single batched query of
+ * ApplicationDAOImpl#getApplications.
+ * <p>
+ * The per-application path runs the steps query of the application, an authenticator lookup for each step
+ * authenticator and a federation hub lookup for each federated IdP. The batched path joins the authenticators and
+ * their IdPs into one query for all the applications. The other configuration tables are read with one query per
+ * table on both paths, and the registry, certificate and role lookups are not part of the database reads, so they
+ * are left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class ApplicationStepsLoadingBenchmark {
+
+    private static final int TENANT_ID = MultitenantConstants.SUPER_TENANT_ID;
+    private static final int FEDERATED_IDP_COUNT = 10;
+
+    @Param({"10", "100"})
+    public int applicationCount;
+
+    private int[] applicationIds;
+    private String batchedQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.initCarbonHome();
+        BenchmarkEnvironment.initRealmService();
+        BenchmarkEnvironment.initIdentityDatabase(BenchmarkEnvironment.APPLICATION_STEPS_SCRIPT);
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            int localIdPId = addIdP(connection, "LOCAL");
+            int basicAuthenticatorId = addAuthenticator(connection, localIdPId, "BasicAuthenticator");
+            int totpAuthenticatorId = addAuthenticator(connection, localIdPId, "totp");
+            int[] federatedAuthenticatorIds = new int[FEDERATED_IDP_COUNT];
+            for (int i = 0; i < FEDERATED_IDP_COUNT; i++) {
+                int idPId = addIdP(connection, "Google-" + i);
+                federatedAuthenticatorIds[i] = addAuthenticator(connection, idPId, "GoogleOIDCAuthenticator");
+            }
+
+            // Each application has a first step with the basic authenticator and a federated authenticator, and a
+            // second step with the TOTP authenticator.
+            applicationIds = new int[applicationCount];
+            for (int i = 0; i < applicationCount; i++) {
+                applicationIds[i] = insert(connection, "INSERT INTO SP_APP (TENANT_ID, APP_NAME) VALUES (" +
+                        TENANT_ID + ", 'app-" + i + "')");
+                int firstStepId = addStep(connection, applicationIds[i], 1, true);
+                addStepAuthenticator(connection, firstStepId, basicAuthenticatorId);
+                addStepAuthenticator(connection, firstStepId, federatedAuthenticatorIds[i % FEDERATED_IDP_COUNT]);
+                int secondStepId = addStep(connection, applicationIds[i], 2, false);
+                addStepAuthenticator(connection, secondStepId, totpAuthenticatorId);
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+        }
+        batchedQuery = String.format(ApplicationMgtDBQueries.LOAD_STEPS_AND_AUTHENTICATORS_BY_APP_IDS,
+                String.join(", ", Collections.nCopies(applicationCount, "?")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        BenchmarkEnvironment.closeIdentityDatabase();
+    }
+
+    @Benchmark
+    public void perApplication(Blackhole blackhole) throws SQLException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            for (int applicationId : applicationIds) {
+                Set<String> federatedIdPs = new HashSet<>();
+                try (PreparedStatement stepsStmt = connection.prepareStatement(
+                        ApplicationMgtDBQueries.LOAD_STEPS_INFO_BY_APP_ID)) {
+                    stepsStmt.setInt(1, applicationId);
+                    try (ResultSet steps = stepsStmt.executeQuery()) {
+                        while (steps.next()) {
+                            blackhole.consume(steps.getInt(1));
+                            String idPName = readAuthenticator(connection, steps.getInt(2), blackhole);
+                            if (idPName != null && !"LOCAL".equals(idPName)) {
+                                federatedIdPs.add(idPName);
+                            }
+                        }
+                    }
+                }
+                for (String idPName : federatedIdPs) {
+                    try (PreparedStatement hubStmt = connection.prepareStatement(
+                            ApplicationMgtDBQueries.LOAD_HUB_IDP_BY_NAME)) {
+                        hubStmt.setString(1, idPName);
+                        hubStmt.setInt(2, TENANT_ID);
+                        try (ResultSet hub = hubStmt.executeQuery()) {
+                            blackhole.consume(hub.next() && "1".equals(hub.getString(1)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void batched(Blackhole blackhole) throws SQLException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(batchedQuery)) {
+            for (int i = 0; i < applicationIds.length; i++) {
+                prepStmt.setInt(i + 1, applicationIds[i]);
+            }
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getInt(1));
+                    blackhole.consume(resultSet.getString(5));
+                    blackhole.consume(resultSet.getString(6));
+                    blackhole.consume(resultSet.getString(7));
+                    blackhole.consume(resultSet.getString(8));
+                    blackhole.consume(resultSet.getString(9));
+                    blackhole.consume(resultSet.getInt(11));
+                }
+            }
+        }
+    }
+
+    private String readAuthenticator(Connection connection, int authenticatorId, Blackhole blackhole)
+            throws SQLException {
+
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                ApplicationMgtDBQueries.LOAD_IDP_AND_AUTHENTICATOR_NAMES)) {
+            prepStmt.setInt(1, authenticatorId);
+            prepStmt.setInt(2, TENANT_ID);
+            prepStmt.setInt(3, TENANT_ID);
+            prepStmt.setInt(4, MultitenantConstants.SUPER_TENANT_ID);
+            prepStmt.setInt(5, MultitenantConstants.SUPER_TENANT_ID);
+            String idPName = null;
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    idPName = resultSet.getString(1);
+                    blackhole.consume(resultSet.getString(2));
+                    blackhole.consume(resultSet.getString(3));
+                    blackhole.consume(resultSet.getString(4));
+                }
+            }
+            return idPName;
+        }
+    }
+
+    private int addIdP(Connection connection, String name) throws SQLException {
+
+        return insert(connection, "INSERT INTO IDP (TENANT_ID, NAME) VALUES (" + TENANT_ID + ", '" + name + "')");
+    }
+
+    private int addAuthenticator(Connection connection, int idPId, String name) throws SQLException {
+
+        return insert(connection, "INSERT INTO IDP_AUTHENTICATOR (TENANT_ID, IDP_ID, NAME, DISPLAY_NAME, " +
+                "DEFINED_BY) VALUES (" + TENANT_ID + ", " + idPId + ", '" + name + "', '" + name + "', 'SYSTEM')");
+    }
+
+    private int addStep(Connection connection, int applicationId, int stepOrder, boolean subjectStep)
+            throws SQLException {
+
+        String subjectAndAttributeStep = subjectStep ? "'1'" : "'0'";
+        return insert(connection, "INSERT INTO SP_AUTH_STEP (TENANT_ID, STEP_ORDER, APP_ID, IS_SUBJECT_STEP, " +
+                "IS_ATTRIBUTE_STEP) VALUES (" + TENANT_ID + ", " + stepOrder + ", " + applicationId + ", " +
+                subjectAndAttributeStep + ", " + subjectAndAttributeStep + ")");
+    }
+
+    private void addStepAuthenticator(Connection connection, int stepId, int authenticatorId) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO SP_FEDERATED_IDP (ID, TENANT_ID, AUTHENTICATOR_ID) VALUES (" +
+                    stepId + ", " + TENANT_ID + ", " + authenticatorId + ")");
+        }
+    }
+
+    private int insert(Connection connection, String sql) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                generatedKeys.next();
+                return generatedKeys.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks AuthenticationContextCache backed by SessionDataStore on an in-memory H2 database.
+ * <p>
+ * The identity.xml of test-utils disables the in-memory authentication context cache and persists the temporary
+ * session data synchronously, so each add is a serialization and an insert, and each get is a select and a
+ * deserialization. The context is the one of a login that has just started. It has no sequence config, so the
+ * session data optimization does not look up applications or identity providers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class AuthenticationContextCacheBenchmark {
+
+    private static final int STORED_CONTEXT_COUNT = 1000;
+
+    private AuthenticationContextCache authenticationContextCache;
+    private AuthenticationContextCacheEntry entry;
+    private AuthenticationContextCacheKey[] storedKeys;
+    private int nextStoredKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.initCarbonHome();
+        BenchmarkEnvironment.initRealmService();
+        BenchmarkEnvironment.initIdentityDatabase(BenchmarkEnvironment.SESSION_DATA_STORE_SCRIPT);
+
+        authenticationContextCache = AuthenticationContextCache.getInstance();
+        AuthenticationContext context = BenchmarkFixtures.createInitialContext();
+        entry = new AuthenticationContextCacheEntry(context);
+        storedKeys = new AuthenticationContextCacheKey[STORED_CONTEXT_COUNT];
+        for (int i = 0; i < STORED_CONTEXT_COUNT; i++) {
+            storedKeys[i] = new AuthenticationContextCacheKey(UUID.randomUUID().toString());
+            authenticationContextCache.addToCache(storedKeys[i], entry);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        BenchmarkEnvironment.closeIdentityDatabase();
+    }
+
+    @Benchmark
+    public AuthenticationContextCacheKey add() {
+
+        // Every login gets its own context identifier, so each add inserts a new row.
+        AuthenticationContextCacheKey key = new AuthenticationContextCacheKey(UUID.randomUUID().toString());
+        authenticationContextCache.addToCache(key, entry);
+        return key;
+    }
+
+    @Benchmark
+    public AuthenticationContextCacheEntry get() {
+
+        AuthenticationContextCacheKey key = storedKeys[nextStoredKey];
+        nextStoredKey = (nextStoredKey + 1) % STORED_CONTEXT_COUNT;
+        return authenticationContextCache.getValueFromCache(key);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.caching.impl.CachingConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.Caching;
+
+/**
+ * Benchmarks get and put of {@link BaseCache} against the lookup it replaced, which started a tenant flow, resolved
+ * the cache through the cache manager factory and read the entry twice on every call.
+ * <p>
+ * With {@code callerInTenant} the carbon context of the benchmark thread is already in the super tenant, so the
+ * cache is accessed without a tenant flow. Otherwise the context has no tenant, and each call runs in a tenant flow
+ * but still uses the cache resolved for the tenant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class BaseCacheBenchmark {
+
+    private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
+    private static final String CACHE_NAME = "BaseCacheBenchmarkCache";
+    private static final int STORED_ENTRY_COUNT = 1000;
+
+    @Param({"true", "false"})
+    private boolean callerInTenant;
+
+    private BenchmarkCache cache;
+    private String[] storedKeys;
+    private int nextStoredKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.initCarbonHome();
+        BenchmarkEnvironment.initRealmService();
+
+        PrivilegedCarbonContext.startTenantFlow();
+        if (callerInTenant) {
+            PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                    .setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        }
+        cache = new BenchmarkCache();
+        storedKeys = new String[STORED_ENTRY_COUNT];
+        for (int i = 0; i < STORED_ENTRY_COUNT; i++) {
+            storedKeys[i] = "key-" + i;
+            cache.addToCache(storedKeys[i], "value-" + i, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        cache.clear(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Benchmark
+    public String get() {
+
+        return cache.getValueFromCache(nextKey(), MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+    }
+
+    @Benchmark
+    public String getByTenantId() {
+
+        return cache.getValueFromCache(nextKey(), MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    @Benchmark
+    public void put() {
+
+        String key = nextKey();
+        cache.addToCache(key, key, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+    }
+
+    @Benchmark
+    public String previousGet() {
+
+        String key = nextKey();
+        try {
+            startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            Cache<String, String> baseCache = getCacheFromCacheManager();
+            if (baseCache != null && baseCache.get(key) != null) {
+                return baseCache.get(key);
+            }
+            return null;
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Benchmark
+    public void previousPut() {
+
+        String key = nextKey();
+        try {
+            startTenantFlow(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            Cache<String, String> baseCache = getCacheFromCacheManager();
+            if (baseCache != null) {
+                baseCache.put(key, key);
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private String nextKey() {
+
+        String key = storedKeys[nextStoredKey];
+        nextStoredKey = (nextStoredKey + 1) % STORED_ENTRY_COUNT;
+        return key;
+    }
+
+    private static void startTenantFlow(String tenantDomain) {
+
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+        PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                .setTenantId(IdentityTenantUtil.getTenantId(tenantDomain));
+    }
+
+    private static Cache<String, String> getCacheFromCacheManager() {
+
+        return Caching.getCacheManagerFactory().getCacheManager(CACHE_MANAGER_NAME)
+                .getCache(CachingConstants.LOCAL_CACHE_PREFIX + CACHE_NAME);
+    }
+
+    /**
+     * Local cache without a cache config in identity.xml, hence without an expiry or a capacity.
+     */
+    private static final class BenchmarkCache extends BaseCache<String, String> {
+
+        private BenchmarkCache() {
+
+            super(CACHE_NAME);
+        }
+    }
+}
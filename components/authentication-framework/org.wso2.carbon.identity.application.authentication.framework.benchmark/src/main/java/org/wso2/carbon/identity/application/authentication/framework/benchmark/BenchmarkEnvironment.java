@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.common.testng.CarbonBasedTestListener;
+import org.wso2.carbon.identity.common.testng.MockInitialContextFactory;
+import org.wso2.carbon.identity.common.testng.TestConstants;
+import org.wso2.carbon.identity.common.testng.TestCreationException;
+import org.wso2.carbon.identity.common.testng.realm.InMemoryRealmService;
+import org.wso2.carbon.identity.common.testng.realm.InMemoryTenantManager;
+import org.wso2.carbon.identity.core.persistence.JDBCPersistenceManager;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.user.api.TenantManager;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Sets up the Carbon runtime the benchmarks need, from the same fixtures test-utils provides to the unit tests:
+ * the default carbon.xml and identity.xml, the in-memory realm service and the in-memory H2 identity database.
+ * <p>
+ * The identity database is registered with {@link MockInitialContextFactory}, which keeps the JNDI bindings per
+ * thread. It has to be initialized from a {@code Scope.Thread} state, so that JMH runs the setup on the thread that
+ * runs the benchmark.
+ */
+public final class BenchmarkEnvironment {
+
+    public static final String IDENTITY_DB_JNDI_NAME = "jdbc/WSO2IdentityDB";
+    public static final String SESSION_DATA_STORE_SCRIPT = "dbScripts/session_data_store_h2.sql";
+    public static final String APPLICATION_STEPS_SCRIPT = "dbScripts/application_steps_h2.sql";
+
+    private static final String[] CARBON_CONFIG_FILES = {"repository/conf/carbon.xml",
+            "repository/conf/identity/identity.xml"};
+    private static boolean carbonHomeInitialized;
+
+    private BenchmarkEnvironment() {
+
+    }
+
+    /**
+     * Points carbon.home to a temporary directory holding the default Carbon configuration files of test-utils.
+     * The identity.xml persists the temporary session data synchronously and disables the authentication context
+     * cache, so every cache operation reaches the session data store.
+     *
+     * @throws IOException If the configuration files cannot be copied.
+     */
+    public static synchronized void initCarbonHome() throws IOException {
+
+        if (carbonHomeInitialized) {
+            return;
+        }
+        Path carbonHome = Files.createTempDirectory("identity-benchmark");
+        for (String configFile : CARBON_CONFIG_FILES) {
+            Path target = carbonHome.resolve(configFile);
+            Files.createDirectories(target.getParent());
+            try (InputStream inputStream = CarbonBasedTestListener.class.getClassLoader()
+                    .getResourceAsStream(configFile)) {
+                if (inputStream == null) {
+                    throw new IOException("Could not find " + configFile + " in the classpath.");
+                }
+                Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, carbonHome.toString());
+        System.setProperty(TestConstants.CARBON_CONFIG_DIR_PATH,
+                carbonHome.resolve("repository").resolve("conf").toString());
+        System.setProperty(TestConstants.CARBON_PROTOCOL, TestConstants.CARBON_PROTOCOL_HTTPS);
+        System.setProperty(TestConstants.CARBON_HOST, TestConstants.CARBON_HOST_LOCALHOST);
+        System.setProperty(TestConstants.CARBON_MANAGEMENT_PORT, TestConstants.CARBON_DEFAULT_HTTPS_PORT);
+        carbonHomeInitialized = true;
+    }
+
+    /**
+     * Registers the in-memory realm service of test-utils, which resolves every tenant domain to the super tenant.
+     *
+     * @throws UserStoreException If the realm service cannot be created.
+     */
+    public static synchronized void initRealmService() throws UserStoreException {
+
+        if (IdentityTenantUtil.getRealmService() != null) {
+            return;
+        }
+        InMemoryRealmService realmService = new InMemoryRealmService(MultitenantConstants.SUPER_TENANT_ID);
+        TenantManager tenantManager = new InMemoryTenantManager();
+        realmService.setTenantManager(tenantManager);
+        IdentityTenantUtil.setRealmService(realmService);
+    }
+
+    /**
+     * Creates the in-memory H2 identity database from the given scripts and binds it to the JNDI name of
+     * identity.xml for the calling thread.
+     *
+     * @param scripts Classpath locations of the database scripts.
+     * @throws TestCreationException If the database cannot be created.
+     */
+    public static void initIdentityDatabase(String... scripts) throws TestCreationException {
+
+        System.setProperty(TestConstants.JAVA_NAMING_FACTORY_INITIAL, MockInitialContextFactory.class.getName());
+        MockInitialContextFactory.initializeDatasource(IDENTITY_DB_JNDI_NAME, BenchmarkEnvironment.class, scripts);
+        // Drop the persistence manager, so the next connection is taken from the new datasource.
+        CarbonBasedTestListener.setInternalState(JDBCPersistenceManager.class, "instance", null);
+    }
+
+    /**
+     * Closes the in-memory H2 identity database of the calling thread.
+     */
+    public static void closeIdentityDatabase() {
+
+        MockInitialContextFactory.closeDatasource(IDENTITY_DB_JNDI_NAME);
+        CarbonBasedTestListener.setInternalState(JDBCPersistenceManager.class, "instance", null);
+    }
+}
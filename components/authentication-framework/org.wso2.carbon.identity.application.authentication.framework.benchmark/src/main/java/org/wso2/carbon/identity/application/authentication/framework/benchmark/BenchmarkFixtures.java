@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.common.model.ClaimConfig;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the service providers, identity providers and authentication contexts the benchmarks run against.
+ * The fixtures are sized after a typical login: an application requesting a handful of claims, two authentication
+ * steps and a federated identity provider with custom claim mappings.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String TENANT_DOMAIN = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    public static final String APPLICATION_NAME = "benchmark-app";
+    public static final String APPLICATION_RESOURCE_ID = "0f3c5ab4-3f4e-4b7e-9a8f-6c2d1e7b9a10";
+    public static final String IDENTITY_PROVIDER_NAME = "benchmark-idp";
+    public static final String LOCAL_AUTHENTICATOR_NAME = "BasicAuthenticator";
+    public static final String FEDERATED_AUTHENTICATOR_NAME = "OpenIDConnectAuthenticator";
+    public static final String USER_NAME = "benchmark-user";
+    public static final String ADAPTIVE_SCRIPT = "var onLoginRequest = function(context) {\n" +
+            "    executeStep(1, {\n" +
+            "        onSuccess: function(context) {\n" +
+            "            var user = context.currentKnownSubject;\n" +
+            "            if (user != null && user.username == 'admin') {\n" +
+            "                executeStep(2);\n" +
+            "            }\n" +
+            "        },\n" +
+            "        onFail: function(context) {\n" +
+            "            fail({'errorCode': 'benchmark', 'errorMessage': 'Authentication failed.'});\n" +
+            "        }\n" +
+            "    });\n" +
+            "};\n";
+
+    private static final String LOCAL_CLAIM_URI_PREFIX = "http://wso2.org/claims/benchmark";
+    private static final String REMOTE_CLAIM_URI_PREFIX = "benchmark_claim_";
+
+    private BenchmarkFixtures() {
+
+    }
+
+    /**
+     * Returns the URI of the local claim with the given index.
+     *
+     * @param index Claim index.
+     * @return Local claim URI.
+     */
+    public static String getLocalClaimUri(int index) {
+
+        return LOCAL_CLAIM_URI_PREFIX + index;
+    }
+
+    /**
+     * Returns the URI the federated identity provider uses for the local claim with the given index.
+     *
+     * @param index Claim index.
+     * @return Remote claim URI.
+     */
+    public static String getRemoteClaimUri(int index) {
+
+        return REMOTE_CLAIM_URI_PREFIX + index;
+    }
+
+    /**
+     * Creates an application requesting the given number of local claims.
+     *
+     * @param claimCount Number of requested claims.
+     * @return Service provider.
+     */
+    public static ServiceProvider createServiceProvider(int claimCount) {
+
+        ClaimMapping[] claimMappings = new ClaimMapping[claimCount];
+        for (int i = 0; i < claimCount; i++) {
+            claimMappings[i] = ClaimMapping.build(getLocalClaimUri(i), getLocalClaimUri(i), null, true);
+        }
+        ClaimConfig claimConfig = new ClaimConfig();
+        claimConfig.setLocalClaimDialect(true);
+        claimConfig.setClaimMappings(claimMappings);
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationID(1);
+        serviceProvider.setApplicationName(APPLICATION_NAME);
+        serviceProvider.setApplicationResourceId(APPLICATION_RESOURCE_ID);
+        serviceProvider.setTenantDomain(TENANT_DOMAIN);
+        serviceProvider.setClaimConfig(claimConfig);
+        return serviceProvider;
+    }
+
+    /**
+     * Creates a federated identity provider mapping the given number of its claims to local claims.
+     *
+     * @param claimCount Number of mapped claims.
+     * @return Identity provider.
+     */
+    public static IdentityProvider createIdentityProvider(int claimCount) {
+
+        ClaimMapping[] claimMappings = new ClaimMapping[claimCount];
+        for (int i = 0; i < claimCount; i++) {
+            claimMappings[i] = ClaimMapping.build(getLocalClaimUri(i), getRemoteClaimUri(i), null, false);
+        }
+        ClaimConfig claimConfig = new ClaimConfig();
+        claimConfig.setLocalClaimDialect(false);
+        claimConfig.setClaimMappings(claimMappings);
+
+        IdentityProvider identityProvider = new IdentityProvider();
+        identityProvider.setIdentityProviderName(IDENTITY_PROVIDER_NAME);
+        identityProvider.setResourceId(UUID.nameUUIDFromBytes(IDENTITY_PROVIDER_NAME.getBytes()).toString());
+        identityProvider.setClaimConfig(claimConfig);
+        return identityProvider;
+    }
+
+    /**
+     * Creates the claims a federated identity provider returns for the given number of mapped claims.
+     *
+     * @param claimCount Number of claims.
+     * @return Remote claims keyed by the claim URI of the identity provider.
+     */
+    public static Map<String, String> createRemoteClaims(int claimCount) {
+
+        Map<String, String> remoteClaims = new HashMap<>();
+        for (int i = 0; i < claimCount; i++) {
+            remoteClaims.put(getRemoteClaimUri(i), "value-" + i);
+        }
+        return remoteClaims;
+    }
+
+    /**
+     * Creates the context of a login that has just started, before any step has been executed.
+     *
+     * @return Authentication context.
+     */
+    public static AuthenticationContext createInitialContext() {
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setContextIdentifier(UUID.randomUUID().toString());
+        context.setCallerSessionKey(UUID.randomUUID().toString());
+        context.setCallerPath("/oauth2/authorize");
+        context.setRequestType("oidc");
+        context.setRelyingParty(APPLICATION_NAME);
+        context.setServiceProviderName(APPLICATION_NAME);
+        context.setServiceProviderResourceId(APPLICATION_RESOURCE_ID);
+        context.setTenantDomain(TENANT_DOMAIN);
+        context.setLoginTenantDomain(TENANT_DOMAIN);
+        context.setQueryParams("client_id=benchmark&response_type=code&scope=openid&redirect_uri=" +
+                "https%3A%2F%2Flocalhost%2Fcallback&state=" + UUID.randomUUID());
+        context.setCurrentStep(1);
+        context.initializeAnalyticsData();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("client_id", "benchmark");
+        properties.put("redirect_uri", "https://localhost/callback");
+        properties.put("scope", "openid profile email");
+        context.setProperties(properties);
+        return context;
+    }
+
+    /**
+     * Creates the context of a login in which both steps of the application have been completed.
+     *
+     * @param claimCount Number of claims of the application and of the authenticated user.
+     * @return Authentication context.
+     */
+    public static AuthenticationContext createAuthenticatedContext(int claimCount) {
+
+        AuthenticationContext context = createInitialContext();
+        ServiceProvider serviceProvider = createServiceProvider(claimCount);
+
+        AuthenticatedUser localUser = createAuthenticatedUser(claimCount, false);
+        AuthenticatedUser federatedUser = createAuthenticatedUser(claimCount, true);
+        Map<Integer, StepConfig> stepMap = new HashMap<>();
+        stepMap.put(1, createStepConfig(1, LOCAL_AUTHENTICATOR_NAME, localUser));
+        stepMap.put(2, createStepConfig(2, FEDERATED_AUTHENTICATOR_NAME, federatedUser));
+
+        SequenceConfig sequenceConfig = new SequenceConfig();
+        sequenceConfig.setName(APPLICATION_NAME);
+        sequenceConfig.setApplicationId(APPLICATION_RESOURCE_ID);
+        sequenceConfig.setApplicationConfig(new ApplicationConfig(serviceProvider, TENANT_DOMAIN));
+        sequenceConfig.setStepMap(stepMap);
+        sequenceConfig.setAuthenticatedUser(localUser);
+        sequenceConfig.setCompleted(true);
+
+        context.setSequenceConfig(sequenceConfig);
+        context.setSubject(localUser);
+        context.setCurrentStep(2);
+        context.setRequestAuthenticated(true);
+        return context;
+    }
+
+    private static StepConfig createStepConfig(int order, String authenticatorName, AuthenticatedUser user) {
+
+        AuthenticatorConfig authenticatorConfig = new AuthenticatorConfig();
+        authenticatorConfig.setName(authenticatorName);
+        authenticatorConfig.setEnabled(true);
+
+        StepConfig stepConfig = new StepConfig();
+        stepConfig.setOrder(order);
+        stepConfig.getAuthenticatorList().add(authenticatorConfig);
+        stepConfig.setAuthenticatedUser(user);
+        stepConfig.setAuthenticatedIdP(user.isFederatedUser() ? IDENTITY_PROVIDER_NAME : "LOCAL");
+        stepConfig.setSubjectIdentifierStep(order == 1);
+        stepConfig.setSubjectAttributeStep(order == 1);
+        stepConfig.setCompleted(true);
+        return stepConfig;
+    }
+
+    private static AuthenticatedUser createAuthenticatedUser(int claimCount, boolean federated) {
+
+        Map<ClaimMapping, String> userAttributes = new HashMap<>();
+        for (int i = 0; i < claimCount; i++) {
+            String claimUri = federated ? getRemoteClaimUri(i) : getLocalClaimUri(i);
+            userAttributes.put(ClaimMapping.build(claimUri, claimUri, null, false), "value-" + i);
+        }
+
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+        authenticatedUser.setUserName(USER_NAME);
+        authenticatedUser.setTenantDomain(TENANT_DOMAIN);
+        authenticatedUser.setUserStoreDomain("PRIMARY");
+        authenticatedUser.setAuthenticatedSubjectIdentifier(USER_NAME);
+        authenticatedUser.setUserAttributes(userAttributes);
+        if (federated) {
+            authenticatedUser.setFederatedUser(true);
+            authenticatedUser.setFederatedIdPName(IDENTITY_PROVIDER_NAME);
+        }
+        return authenticatedUser;
+    }
+}
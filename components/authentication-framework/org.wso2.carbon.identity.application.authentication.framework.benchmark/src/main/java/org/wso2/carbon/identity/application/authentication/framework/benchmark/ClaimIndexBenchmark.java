@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimIndex;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.AttributeMapping;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks resolving claim URIs of a tenant through the {@link ClaimIndex} against a linear scan over the local
+ * and external claims, which is how the claim metadata store resolved them before the index was introduced.
+ * <p>
+ * Every invocation resolves all the external claim URIs of the tenant, which is the worst case of the scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClaimIndexBenchmark {
+
+    private static final String EXTERNAL_CLAIM_DIALECT = "http://benchmark.org/claims";
+
+    @Param({"100", "500"})
+    public int claimCount;
+
+    private List<LocalClaim> localClaims;
+    private List<ExternalClaim> externalClaims;
+    private List<String> lookupClaimURIs;
+    private ClaimIndex claimIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        localClaims = new ArrayList<>(claimCount);
+        externalClaims = new ArrayList<>(claimCount);
+        lookupClaimURIs = new ArrayList<>(claimCount);
+        for (int i = 0; i < claimCount; i++) {
+            String localClaimURI = BenchmarkFixtures.getLocalClaimUri(i);
+            localClaims.add(new LocalClaim(localClaimURI,
+                    Collections.singletonList(new AttributeMapping("PRIMARY", "attribute" + i)), new HashMap<>()));
+            String externalClaimURI = EXTERNAL_CLAIM_DIALECT + "/claim" + i;
+            externalClaims.add(new ExternalClaim(EXTERNAL_CLAIM_DIALECT, externalClaimURI, localClaimURI));
+            // Lookups do not always match the case of the stored claim URIs.
+            lookupClaimURIs.add(i % 2 == 0 ? externalClaimURI : externalClaimURI.toUpperCase());
+        }
+        claimIndex = new ClaimIndex(MultitenantConstants.SUPER_TENANT_ID, localClaims, externalClaims);
+    }
+
+    @Benchmark
+    public void resolveWithIndex(Blackhole blackhole) {
+
+        for (String claimURI : lookupClaimURIs) {
+            blackhole.consume(claimIndex.resolveLocalClaim(claimURI));
+        }
+    }
+
+    @Benchmark
+    public void resolveWithScan(Blackhole blackhole) {
+
+        for (String claimURI : lookupClaimURIs) {
+            blackhole.consume(scanLocalClaim(claimURI));
+        }
+    }
+
+    private LocalClaim scanLocalClaim(String claimURI) {
+
+        for (LocalClaim localClaim : localClaims) {
+            if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
+                return localClaim;
+            }
+        }
+        for (ExternalClaim externalClaim : externalClaims) {
+            if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
+                for (LocalClaim localClaim : localClaims) {
+                    if (localClaim.getClaimURI().equalsIgnoreCase(externalClaim.getMappedLocalClaim())) {
+                        return localClaim;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.FederatedApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ExternalIdPConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl.DefaultClaimHandler;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataHandler;
+import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks DefaultClaimHandler#handleClaimMappings for the claims returned by a federated identity provider with
+ * custom claim mappings, requested by an OIDC application.
+ * <p>
+ * The claim dialect mappings are served from memory by a mocked ClaimMetadataHandler, as they are from the claim
+ * metadata cache on a running server. The static mock is bound to the thread that creates it, so the state is
+ * thread scoped and the benchmark runs on a single thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class DefaultClaimHandlerBenchmark {
+
+    private static final String OIDC_CLAIM_URI_PREFIX = "benchmark_oidc_claim_";
+
+    @Param({"10", "50"})
+    public int claimCount;
+
+    private MockedStatic<ClaimMetadataHandler> claimMetadataHandler;
+    private DefaultClaimHandler claimHandler;
+    private AuthenticationContext context;
+    private StepConfig stepConfig;
+    private Map<String, String> remoteClaims;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.initCarbonHome();
+        BenchmarkEnvironment.initRealmService();
+        mockClaimMetadataHandler();
+
+        claimHandler = DefaultClaimHandler.getInstance();
+        remoteClaims = BenchmarkFixtures.createRemoteClaims(claimCount);
+
+        FederatedApplicationAuthenticator authenticator = mock(FederatedApplicationAuthenticator.class);
+        when(authenticator.getName()).thenReturn(BenchmarkFixtures.FEDERATED_AUTHENTICATOR_NAME);
+        when(authenticator.getFriendlyName()).thenReturn(BenchmarkFixtures.FEDERATED_AUTHENTICATOR_NAME);
+        AuthenticatorConfig authenticatorConfig = new AuthenticatorConfig();
+        authenticatorConfig.setName(BenchmarkFixtures.FEDERATED_AUTHENTICATOR_NAME);
+        authenticatorConfig.setApplicationAuthenticator(authenticator);
+
+        AuthenticatedUser federatedUser = new AuthenticatedUser();
+        federatedUser.setUserName(BenchmarkFixtures.USER_NAME);
+        federatedUser.setTenantDomain(BenchmarkFixtures.TENANT_DOMAIN);
+        federatedUser.setAuthenticatedSubjectIdentifier(BenchmarkFixtures.USER_NAME);
+        federatedUser.setFederatedUser(true);
+        federatedUser.setFederatedIdPName(BenchmarkFixtures.IDENTITY_PROVIDER_NAME);
+
+        stepConfig = new StepConfig();
+        stepConfig.setOrder(1);
+        stepConfig.getAuthenticatorList().add(authenticatorConfig);
+        stepConfig.setAuthenticatedAutenticator(authenticatorConfig);
+        stepConfig.setAuthenticatedIdP(BenchmarkFixtures.IDENTITY_PROVIDER_NAME);
+        stepConfig.setAuthenticatedUser(federatedUser);
+        stepConfig.setSubjectIdentifierStep(true);
+        stepConfig.setSubjectAttributeStep(true);
+
+        Map<Integer, StepConfig> stepMap = new HashMap<>();
+        stepMap.put(1, stepConfig);
+        SequenceConfig sequenceConfig = new SequenceConfig();
+        sequenceConfig.setName(BenchmarkFixtures.APPLICATION_NAME);
+        sequenceConfig.setApplicationConfig(new ApplicationConfig(
+                BenchmarkFixtures.createServiceProvider(claimCount), BenchmarkFixtures.TENANT_DOMAIN));
+        sequenceConfig.setStepMap(stepMap);
+
+        context = BenchmarkFixtures.createInitialContext();
+        context.setSequenceConfig(sequenceConfig);
+        context.setExternalIdP(new ExternalIdPConfig(BenchmarkFixtures.createIdentityProvider(claimCount)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        claimMetadataHandler.close();
+    }
+
+    @Benchmark
+    public Map<String, String> handleFederatedClaimMappings() throws FrameworkException {
+
+        // The handler adds the runtime claims to the given map, so each invocation gets its own copy.
+        return claimHandler.handleClaimMappings(stepConfig, context, new HashMap<>(remoteClaims), true);
+    }
+
+    private void mockClaimMetadataHandler() throws ClaimMetadataException {
+
+        ClaimMetadataHandler handler = mock(ClaimMetadataHandler.class);
+        when(handler.getMappingsMapFromOtherDialectToCarbon(anyString(), any(), anyString(), anyBoolean()))
+                .thenAnswer(invocation -> getOidcClaimMappings(invocation.getArgument(1),
+                        invocation.getArgument(3)));
+        claimMetadataHandler = mockStatic(ClaimMetadataHandler.class);
+        claimMetadataHandler.when(ClaimMetadataHandler::getInstance).thenReturn(handler);
+    }
+
+    private Map<String, String> getOidcClaimMappings(Set<String> claimUris, boolean useLocalDialectAsKey) {
+
+        Map<String, String> claimMappings = new HashMap<>();
+        for (int i = 0; i < claimCount; i++) {
+            String localClaimUri = BenchmarkFixtures.getLocalClaimUri(i);
+            String oidcClaimUri = OIDC_CLAIM_URI_PREFIX + i;
+            if (claimUris != null && !claimUris.isEmpty() && !claimUris.contains(oidcClaimUri)) {
+                continue;
+            }
+            if (useLocalDialectAsKey) {
+                claimMappings.put(localClaimUri, oidcClaimUri);
+            } else {
+                claimMappings.put(oidcClaimUri, localClaimUri);
+            }
+        }
+        return claimMappings;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AdaptiveScriptCache;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthenticationGraph;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JSExecutionSupervisor;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalGraphBuilder;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalGraphBuilderFactory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the authentication graph of an adaptive script with GraalJS, the way the sequence handler does
+ * it at the start of every login.
+ * <p>
+ * With a warm script cache the compiled source of the application script is reused across logins. With a cold
+ * cache the entry of the application is invalidated before every build, which is the cost of the first login after
+ * the script of the application has been updated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsGraphBuilderBenchmark {
+
+    @Param({"warm", "cold"})
+    public String scriptCache;
+
+    private JsGraalGraphBuilderFactory graphBuilderFactory;
+    private boolean invalidateScriptCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.initCarbonHome();
+        FrameworkServiceDataHolder.getInstance().setJsExecutionSupervisor(new JSExecutionSupervisor(1, 5000L));
+        graphBuilderFactory = new JsGraalGraphBuilderFactory();
+        graphBuilderFactory.init();
+        invalidateScriptCache = "cold".equals(scriptCache);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor().shutdown();
+    }
+
+    @Benchmark
+    public AuthenticationGraph buildGraph() {
+
+        if (invalidateScriptCache) {
+            AdaptiveScriptCache.invalidateApplication(BenchmarkFixtures.TENANT_DOMAIN,
+                    BenchmarkFixtures.APPLICATION_RESOURCE_ID);
+        }
+        AuthenticationContext context = BenchmarkFixtures.createInitialContext();
+        Map<Integer, StepConfig> stepConfigMap = new HashMap<>();
+        stepConfigMap.put(1, new StepConfig());
+        stepConfigMap.put(2, new StepConfig());
+
+        JsGraalGraphBuilder graphBuilder = graphBuilderFactory.createBuilder(context, stepConfigMap);
+        return graphBuilder.createWith(BenchmarkFixtures.ADAPTIVE_SCRIPT).build();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
+import org.wso2.carbon.identity.application.authentication.framework.store.CompactSessionSerializer;
+import org.wso2.carbon.identity.application.authentication.framework.store.JavaSessionSerializer;
+import org.wso2.carbon.identity.application.authentication.framework.store.SessionSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serializing the authentication context cache entry of a completed login, which is what
+ * SessionDataStore writes for every authentication step. The Java serializer is the default; the compact serializer
+ * is measured against it on the same entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionSerializerBenchmark {
+
+    @Param({"java", "compact"})
+    public String serializerType;
+
+    @Param({"10", "50"})
+    public int claimCount;
+
+    private SessionSerializer serializer;
+    private AuthenticationContextCacheEntry entry;
+    private byte[] serializedEntry;
+
+    @Setup
+    public void setUp() throws IOException, SessionSerializerException {
+
+        serializer = "compact".equals(serializerType) ? new CompactSessionSerializer() : new JavaSessionSerializer();
+        entry = new AuthenticationContextCacheEntry(BenchmarkFixtures.createAuthenticatedContext(claimCount));
+        serializedEntry = toBytes(serializer.serializeSessionObject(entry));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException, SessionSerializerException {
+
+        return toBytes(serializer.serializeSessionObject(entry));
+    }
+
+    @Benchmark
+    public Object deserialize() throws SessionSerializerException {
+
+        return serializer.deSerializeSessionObject(new ByteArrayInputStream(serializedEntry));
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException, SessionSerializerException {
+
+        byte[] bytes = toBytes(serializer.serializeSessionObject(entry));
+        return serializer.deSerializeSessionObject(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] toBytes(InputStream inputStream) throws IOException {
+
+        // SessionDataStore hands the stream to the JDBC driver, which reads it fully.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,41 @@
+CREATE TABLE IF NOT EXISTS SP_APP (
+            ID INTEGER NOT NULL AUTO_INCREMENT,
+            TENANT_ID INTEGER NOT NULL,
+            APP_NAME VARCHAR (255) NOT NULL,
+            PRIMARY KEY (ID));
+
+CREATE TABLE IF NOT EXISTS SP_AUTH_STEP (
+            ID INTEGER NOT NULL AUTO_INCREMENT,
+            TENANT_ID INTEGER NOT NULL,
+            STEP_ORDER INTEGER DEFAULT 1,
+            APP_ID INTEGER NOT NULL,
+            IS_SUBJECT_STEP CHAR(1) DEFAULT '0',
+            IS_ATTRIBUTE_STEP CHAR(1) DEFAULT '0',
+            PRIMARY KEY (ID),
+            FOREIGN KEY (APP_ID) REFERENCES SP_APP (ID) ON DELETE CASCADE);
+
+CREATE TABLE IF NOT EXISTS SP_FEDERATED_IDP (
+            ID INTEGER NOT NULL,
+            TENANT_ID INTEGER NOT NULL,
+            AUTHENTICATOR_ID INTEGER NOT NULL,
+            PRIMARY KEY (ID, AUTHENTICATOR_ID),
+            FOREIGN KEY (ID) REFERENCES SP_AUTH_STEP (ID) ON DELETE CASCADE);
+
+CREATE TABLE IF NOT EXISTS IDP (
+            ID INTEGER AUTO_INCREMENT,
+            TENANT_ID INTEGER,
+            NAME VARCHAR(254) NOT NULL,
+            IS_FEDERATION_HUB CHAR(1) NOT NULL DEFAULT '0',
+            PRIMARY KEY (ID),
+            UNIQUE (TENANT_ID, NAME));
+
+CREATE TABLE IF NOT EXISTS IDP_AUTHENTICATOR (
+            ID INTEGER AUTO_INCREMENT,
+            TENANT_ID INTEGER,
+            IDP_ID INTEGER,
+            NAME VARCHAR(255) NOT NULL,
+            DISPLAY_NAME VARCHAR(255),
+            DEFINED_BY VARCHAR(25) NOT NULL,
+            PRIMARY KEY (ID),
+            UNIQUE (TENANT_ID, IDP_ID, NAME),
+            FOREIGN KEY (IDP_ID) REFERENCES IDP(ID) ON DELETE CASCADE);
@@ -48,7 +48,9 @@ public class AuthenticationContextCache extends
      * Private constructor which will not allow to create objects of this class from outside.
      */
     private AuthenticationContextCache() {
-        super(AUTHENTICATION_CONTEXT_CACHE_NAME, true);
+        super(AUTHENTICATION_CONTEXT_CACHE_NAME, true, SessionDataNearCacheInvalidationListener.
+                <AuthenticationContextCacheKey, AuthenticationContextCacheEntry>getCacheListeners(
+                AUTHENTICATION_CONTEXT_CACHE_NAME, AuthenticationContextCacheKey::getContextId));
         if (IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Temporary") != null) {
             isTemporarySessionDataPersistEnabled = Boolean.parseBoolean(
                     IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Temporary"));
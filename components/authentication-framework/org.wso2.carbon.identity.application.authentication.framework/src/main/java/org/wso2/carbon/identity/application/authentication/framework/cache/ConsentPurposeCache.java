@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.utils.CarbonUtils;
+
+/**
+ * Cache of the IDs of the consent purposes and purpose categories used by SSO consent, maintained per tenant.
+ */
+public class ConsentPurposeCache extends BaseCache<ConsentPurposeCacheKey, ConsentPurposeCacheEntry> {
+
+    private static final String CACHE_NAME = "ConsentPurposeCache";
+
+    private static final ConsentPurposeCache instance = new ConsentPurposeCache();
+
+    private ConsentPurposeCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static ConsentPurposeCache getInstance() {
+
+        CarbonUtils.checkSecurity();
+        return instance;
+    }
+}
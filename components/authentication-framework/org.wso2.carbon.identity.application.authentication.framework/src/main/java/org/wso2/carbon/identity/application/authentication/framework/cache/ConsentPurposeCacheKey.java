@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key for {@link ConsentPurposeCache}.
+ */
+public class ConsentPurposeCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -1846205319937528860L;
+
+    private final String type;
+    private final String name;
+
+    /**
+     * @param type Type of the cached ID, e.g. purpose or purpose category.
+     * @param name Name of the purpose or purpose category.
+     */
+    public ConsentPurposeCacheKey(String type, String name) {
+
+        this.type = type;
+        this.name = name;
+    }
+
+    public String getType() {
+
+        return type;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (!super.equals(o)) {
+            return false;
+        }
+        ConsentPurposeCacheKey that = (ConsentPurposeCacheKey) o;
+        return Objects.equals(type, that.type) && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), type, name);
+    }
+}
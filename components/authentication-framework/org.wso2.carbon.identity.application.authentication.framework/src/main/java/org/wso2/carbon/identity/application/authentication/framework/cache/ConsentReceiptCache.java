@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.utils.CarbonUtils;
+
+/**
+ * Cache of the active SSO consent receipt of a user for a service provider, maintained in the tenant of the service
+ * provider. An entry without a receipt records that the user has no active receipt for the service provider.
+ */
+public class ConsentReceiptCache extends BaseCache<ConsentReceiptCacheKey, ConsentReceiptCacheEntry> {
+
+    private static final String CACHE_NAME = "ConsentReceiptCache";
+
+    private static final ConsentReceiptCache instance = new ConsentReceiptCache();
+
+    private ConsentReceiptCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static ConsentReceiptCache getInstance() {
+
+        CarbonUtils.checkSecurity();
+        return instance;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.consent.mgt.core.model.ConsentPurpose;
+import org.wso2.carbon.consent.mgt.core.model.PIICategoryValidity;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache entry for {@link ConsentReceiptCache}. Holds the summary of a receipt needed to resolve the claims the user
+ * has approved or denied, i.e. the PII categories of the receipt with their validity.
+ */
+public class ConsentReceiptCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -3571946210858310523L;
+
+    private final String receiptId;
+    private final String piiPrincipalId;
+    private final List<PIICategoryConsent> piiCategories = new ArrayList<>();
+
+    /**
+     * Create an entry for the given receipt.
+     *
+     * @param receipt Active receipt of the user, or null if the user has no active receipt.
+     */
+    public ConsentReceiptCacheEntry(Receipt receipt) {
+
+        if (receipt == null) {
+            receiptId = null;
+            piiPrincipalId = null;
+            return;
+        }
+        receiptId = receipt.getConsentReceiptId();
+        piiPrincipalId = receipt.getPiiPrincipalId();
+        if (receipt.getServices() != null) {
+            for (ReceiptService receiptService : receipt.getServices()) {
+                for (ConsentPurpose purpose : receiptService.getPurposes()) {
+                    for (PIICategoryValidity piiCategory : purpose.getPiiCategory()) {
+                        piiCategories.add(new PIICategoryConsent(piiCategory));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether the user has an active receipt.
+     *
+     * @return True if the entry holds a receipt.
+     */
+    public boolean hasReceipt() {
+
+        return receiptId != null;
+    }
+
+    public String getReceiptId() {
+
+        return receiptId;
+    }
+
+    public String getPiiPrincipalId() {
+
+        return piiPrincipalId;
+    }
+
+    /**
+     * Get the PII categories of the receipt. A new list is returned on each call, so that callers can modify it.
+     *
+     * @return PII categories with their validity and consent status.
+     */
+    public List<PIICategoryValidity> getPiiCategories() {
+
+        List<PIICategoryValidity> piiCategoryValidities = new ArrayList<>(piiCategories.size());
+        for (PIICategoryConsent piiCategory : piiCategories) {
+            piiCategoryValidities.add(piiCategory.toPIICategoryValidity());
+        }
+        return piiCategoryValidities;
+    }
+
+    /**
+     * Serializable copy of a {@link PIICategoryValidity}.
+     */
+    private static final class PIICategoryConsent implements Serializable {
+
+        private static final long serialVersionUID = 6103854772981307465L;
+
+        private final int id;
+        private final String name;
+        private final String displayName;
+        private final String validity;
+        private final boolean consented;
+
+        private PIICategoryConsent(PIICategoryValidity piiCategoryValidity) {
+
+            id = piiCategoryValidity.getId();
+            name = piiCategoryValidity.getName();
+            displayName = piiCategoryValidity.getDisplayName();
+            validity = piiCategoryValidity.getValidity();
+            consented = piiCategoryValidity.isConsented();
+        }
+
+        private PIICategoryValidity toPIICategoryValidity() {
+
+            PIICategoryValidity piiCategoryValidity = new PIICategoryValidity(id, validity);
+            piiCategoryValidity.setName(name);
+            piiCategoryValidity.setDisplayName(displayName);
+            piiCategoryValidity.setConsented(consented);
+            return piiCategoryValidity;
+        }
+    }
+}
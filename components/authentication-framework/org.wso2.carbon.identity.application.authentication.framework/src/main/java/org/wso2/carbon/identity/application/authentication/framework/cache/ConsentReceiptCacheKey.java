@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key for {@link ConsentReceiptCache}.
+ */
+public class ConsentReceiptCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 2978417309262515934L;
+
+    private final String subject;
+    private final String subjectTenantDomain;
+    private final String serviceProvider;
+
+    /**
+     * @param subject             Username of the user with the user store domain.
+     * @param subjectTenantDomain Tenant domain of the user.
+     * @param serviceProvider     Name of the service provider.
+     */
+    public ConsentReceiptCacheKey(String subject, String subjectTenantDomain, String serviceProvider) {
+
+        this.subject = subject;
+        this.subjectTenantDomain = subjectTenantDomain;
+        this.serviceProvider = serviceProvider;
+    }
+
+    public String getSubject() {
+
+        return subject;
+    }
+
+    public String getSubjectTenantDomain() {
+
+        return subjectTenantDomain;
+    }
+
+    public String getServiceProvider() {
+
+        return serviceProvider;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (!super.equals(o)) {
+            return false;
+        }
+        ConsentReceiptCacheKey that = (ConsentReceiptCacheKey) o;
+        return Objects.equals(subject, that.subject) && Objects.equals(subjectTenantDomain, that.subjectTenantDomain)
+                && Objects.equals(serviceProvider, that.serviceProvider);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), subject, subjectTenantDomain, serviceProvider);
+    }
+}
@@ -50,7 +50,9 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
 
     private SessionContextCache() {
 
-        super(SESSION_CONTEXT_CACHE_NAME);
+        super(SESSION_CONTEXT_CACHE_NAME, SessionDataNearCacheInvalidationListener.
+                <SessionContextCacheKey, SessionContextCacheEntry>getCacheListeners(SESSION_CONTEXT_CACHE_NAME,
+                SessionContextCacheKey::getContextId));
     }
 
     public static SessionContextCache getInstance() {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.application.authentication.framework.store.SessionDataNearCache;
+import org.wso2.carbon.identity.application.authentication.framework.store.SessionDataStore;
+import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+/**
+ * Cache listener which invalidates the session data near cache entry when a session cache entry is removed or
+ * updated. The writes of the other nodes are also sent to the near cache of this node by the session data store
+ * itself, so this listener does not depend on the cache invalidations of the other nodes notifying the listeners of
+ * this node.
+ *
+ * @param <K> cache key type.
+ * @param <V> cache value type.
+ */
+public class SessionDataNearCacheInvalidationListener<K extends Serializable, V extends Serializable>
+        extends AbstractCacheListener<K, V> implements CacheEntryRemovedListener<K, V>,
+        CacheEntryUpdatedListener<K, V> {
+
+    private final String sessionType;
+    private final Function<K, String> sessionKeyResolver;
+
+    /**
+     * Create a near cache invalidation listener.
+     *
+     * @param sessionType        Session type used by the cache in the session data store.
+     * @param sessionKeyResolver Function which resolves the session data store key from the cache key.
+     */
+    public SessionDataNearCacheInvalidationListener(String sessionType, Function<K, String> sessionKeyResolver) {
+
+        this.sessionType = sessionType;
+        this.sessionKeyResolver = sessionKeyResolver;
+    }
+
+    /**
+     * Get the cache listeners of a session cache. The listener is only needed when the near cache is enabled.
+     *
+     * @param sessionType        Session type used by the cache in the session data store.
+     * @param sessionKeyResolver Function which resolves the session data store key from the cache key.
+     * @param <K>                cache key type.
+     * @param <V>                cache value type.
+     * @return The near cache invalidation listener, or an empty list if the near cache is disabled.
+     */
+    public static <K extends Serializable, V extends Serializable> List<AbstractCacheListener<K, V>> getCacheListeners(
+            String sessionType, Function<K, String> sessionKeyResolver) {
+
+        if (!SessionDataNearCache.isEnabled()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(
+                new SessionDataNearCacheInvalidationListener<K, V>(sessionType, sessionKeyResolver));
+    }
+
+    @Override
+    public void entryRemoved(CacheEntryEvent<? extends K, ? extends V> event) throws CacheEntryListenerException {
+
+        invalidate(event);
+    }
+
+    @Override
+    public void entryUpdated(CacheEntryEvent<? extends K, ? extends V> event) throws CacheEntryListenerException {
+
+        invalidate(event);
+    }
+
+    private void invalidate(CacheEntryEvent<? extends K, ? extends V> event) {
+
+        if (event == null || event.getKey() == null) {
+            return;
+        }
+        String sessionKey = sessionKeyResolver.apply(event.getKey());
+        if (sessionKey != null) {
+            SessionDataStore.getInstance().invalidateNearCache(sessionKey, sessionType);
+        }
+    }
+}
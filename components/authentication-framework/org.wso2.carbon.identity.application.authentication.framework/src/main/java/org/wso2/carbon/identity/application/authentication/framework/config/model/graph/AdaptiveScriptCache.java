@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_SCRIPT_CACHE_ENABLE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_SCRIPT_CACHE_MAX_ENTRIES;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_SCRIPT_CACHE_MAX_ENTRIES;
+
+/**
+ * Caches the compiled form of adaptive authentication scripts, so that the script of an application is parsed once
+ * instead of on every login.
+ * Entries are kept per application together with the hash of the script they were compiled from. A changed script
+ * is recompiled on the next lookup, and entries of updated or deleted applications are dropped through
+ * {@link #invalidateApplication(String, String)}.
+ *
+ * @param <T> Compiled script type of the script engine.
+ */
+public class AdaptiveScriptCache<T> {
+
+    private static final Log LOG = LogFactory.getLog(AdaptiveScriptCache.class);
+    private static final Set<AdaptiveScriptCache<?>> CACHES =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final boolean enabled;
+    private final Map<String, CachedScript<T>> entries;
+
+    /**
+     * Creates a cache configured from the AdaptiveAuth.ScriptCache configuration.
+     */
+    public AdaptiveScriptCache() {
+
+        this(readEnabled(), readMaxEntries());
+    }
+
+    public AdaptiveScriptCache(boolean enabled, int maxEntries) {
+
+        this.enabled = enabled;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedScript<T>>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedScript<T>> eldest) {
+
+                return size() > maxEntries;
+            }
+        });
+        CACHES.add(this);
+    }
+
+    /**
+     * Returns the compiled form of the given script, compiling it if the application has no entry or the entry was
+     * compiled from a different script.
+     *
+     * @param applicationKey Key of the application the script belongs to.
+     * @param script         Script content.
+     * @param compiler       Compiles the script on a cache miss.
+     * @param <E>            Exception thrown by the compiler.
+     * @return Compiled script.
+     * @throws E If the script could not be compiled.
+     */
+    public <E extends Exception> T getOrCompile(String applicationKey, String script, ScriptCompiler<T, E> compiler)
+            throws E {
+
+        if (!enabled || applicationKey == null || script == null) {
+            return compiler.compile(script);
+        }
+        String scriptHash = DigestUtils.sha256Hex(script);
+        CachedScript<T> cachedScript = entries.get(applicationKey);
+        if (cachedScript != null && cachedScript.scriptHash.equals(scriptHash)) {
+            return cachedScript.compiledScript;
+        }
+        T compiledScript = compiler.compile(script);
+        entries.put(applicationKey, new CachedScript<>(scriptHash, compiledScript));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Compiled adaptive authentication script of application: " + applicationKey);
+        }
+        return compiledScript;
+    }
+
+    /**
+     * Removes the cached script of the given application from this cache.
+     *
+     * @param applicationKey Key of the application.
+     */
+    public void invalidate(String applicationKey) {
+
+        entries.remove(applicationKey);
+    }
+
+    public int size() {
+
+        return entries.size();
+    }
+
+    /**
+     * Removes the cached scripts of the given application from every script cache.
+     *
+     * @param tenantDomain  Tenant domain of the application.
+     * @param applicationId Resource ID or name of the application.
+     */
+    public static void invalidateApplication(String tenantDomain, String applicationId) {
+
+        String applicationKey = getApplicationKey(tenantDomain, applicationId);
+        if (applicationKey == null) {
+            return;
+        }
+        synchronized (CACHES) {
+            for (AdaptiveScriptCache<?> cache : CACHES) {
+                cache.invalidate(applicationKey);
+            }
+        }
+    }
+
+    /**
+     * Returns the cache key of the application being authenticated with the given context.
+     *
+     * @param authenticationContext Authentication context.
+     * @return Application key, or null if the application cannot be identified.
+     */
+    public static String getApplicationKey(AuthenticationContext authenticationContext) {
+
+        if (authenticationContext == null) {
+            return null;
+        }
+        String applicationId = authenticationContext.getServiceProviderResourceId();
+        if (StringUtils.isBlank(applicationId)) {
+            applicationId = authenticationContext.getServiceProviderName();
+        }
+        return getApplicationKey(authenticationContext.getTenantDomain(), applicationId);
+    }
+
+    private static String getApplicationKey(String tenantDomain, String applicationId) {
+
+        if (StringUtils.isBlank(applicationId)) {
+            return null;
+        }
+        return tenantDomain + ":" + applicationId;
+    }
+
+    private static boolean readEnabled() {
+
+        String enabled = IdentityUtil.getProperty(CONF_SCRIPT_CACHE_ENABLE);
+        return StringUtils.isBlank(enabled) || Boolean.parseBoolean(enabled);
+    }
+
+    private static int readMaxEntries() {
+
+        String maxEntries = IdentityUtil.getProperty(CONF_SCRIPT_CACHE_MAX_ENTRIES);
+        if (StringUtils.isNotBlank(maxEntries)) {
+            try {
+                int value = Integer.parseInt(maxEntries.trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid value configured for " + CONF_SCRIPT_CACHE_MAX_ENTRIES + ". Using the default " +
+                        "value: " + DEFAULT_SCRIPT_CACHE_MAX_ENTRIES);
+            }
+        }
+        return DEFAULT_SCRIPT_CACHE_MAX_ENTRIES;
+    }
+
+    /**
+     * Compiles a script into the form kept in the cache.
+     *
+     * @param <T> Compiled script type.
+     * @param <E> Exception thrown on compilation failures.
+     */
+    @FunctionalInterface
+    public interface ScriptCompiler<T, E extends Exception> {
+
+        T compile(String script) throws E;
+    }
+
+    private static class CachedScript<T> {
+
+        private final String scriptHash;
+        private final T compiledScript;
+
+        CachedScript(String scriptHash, T compiledScript) {
+
+            this.scriptHash = scriptHash;
+            this.compiledScript = compiledScript;
+        }
+    }
+}
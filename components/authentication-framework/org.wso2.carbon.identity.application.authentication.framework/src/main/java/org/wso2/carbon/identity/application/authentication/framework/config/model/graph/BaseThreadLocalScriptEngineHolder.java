@@ -21,8 +21,11 @@ package org.wso2.carbon.identity.application.authentication.framework.config.mod
 import java.util.Optional;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
+import javax.script.ScriptException;
 import javax.script.SimpleScriptContext;
 
 /**
@@ -34,6 +37,8 @@ import javax.script.SimpleScriptContext;
 public abstract class BaseThreadLocalScriptEngineHolder {
 
     private static final ThreadLocal<ScriptEngine> THREAD_LOCAL_SCRIPT_ENGINE = new ThreadLocal<>();
+    private static final ThreadLocal<AdaptiveScriptCache<CompiledScript>> THREAD_LOCAL_COMPILED_SCRIPTS =
+            ThreadLocal.withInitial(AdaptiveScriptCache::new);
     protected static final String[] NASHORN_ARGS = {"--no-java"};
 
     public BaseThreadLocalScriptEngineHolder() {
@@ -69,6 +74,27 @@ public abstract class BaseThreadLocalScriptEngineHolder {
         return Optional.empty();
     }
 
+    /**
+     * Evaluates the script with the given engine. If the engine is the script engine bound to the current thread,
+     * the script is compiled once and the compiled script is evaluated on later calls, since the engine and the
+     * compiled scripts outlive a single authentication request. Other engines evaluate the script directly.
+     *
+     * @param scriptEngine Script engine.
+     * @param cacheKey     Key of the compiled script.
+     * @param script       Script to evaluate.
+     * @return Result of the evaluation.
+     * @throws ScriptException If the script could not be compiled or evaluated.
+     */
+    public static Object eval(ScriptEngine scriptEngine, String cacheKey, String script) throws ScriptException {
+
+        if (scriptEngine != THREAD_LOCAL_SCRIPT_ENGINE.get() || !(scriptEngine instanceof Compilable)) {
+            return scriptEngine.eval(script);
+        }
+        return THREAD_LOCAL_COMPILED_SCRIPTS.get()
+                .getOrCompile(cacheKey, script, ((Compilable) scriptEngine)::compile)
+                .eval();
+    }
+
     private void setScriptEngine(ScriptEngine scriptEngine) {
 
         THREAD_LOCAL_SCRIPT_ENGINE.set(scriptEngine);
@@ -77,6 +77,8 @@ public class JsNashornGraphBuilder extends JsGraphBuilder {
     private static ThreadLocal<AuthenticationContext> contextForJs = new ThreadLocal<>();
     private static ThreadLocal<AuthGraphNode> dynamicallyBuiltBaseNode = new ThreadLocal<>();
     private static ThreadLocal<JsNashornGraphBuilder> currentBuilder = new ThreadLocal<>();
+    private static final String REQUIRE_FUNCTION_CACHE_KEY = "::require";
+    private static final String REMOVE_FUNCTIONS_CACHE_KEY = "::removeFunctions";
     private static final String REMOVE_FUNCTIONS = "var quit=function(){Log.error('quit function is restricted.')};" +
             "var exit=function(){Log.error('exit function is restricted.')};" +
             "var print=function(){Log.error('print function is restricted.')};" +
@@ -175,14 +177,16 @@ public class JsNashornGraphBuilder extends JsGraphBuilder {
                 functionMap.forEach(globalBindings::put);
             }
             Invocable invocable = (Invocable) engine;
-            engine.eval(FrameworkServiceDataHolder.getInstance().getCodeForRequireFunction());
+            BaseThreadLocalScriptEngineHolder.eval(engine, REQUIRE_FUNCTION_CACHE_KEY,
+                    FrameworkServiceDataHolder.getInstance().getCodeForRequireFunction());
             removeDefaultFunctions(engine);
 
             String identifier = UUID.randomUUID().toString();
             JSExecutionMonitorData scriptExecutionData;
             try {
                 startScriptExecutionMonitor(identifier, authenticationContext);
-                engine.eval(script);
+                BaseThreadLocalScriptEngineHolder.eval(engine,
+                        AdaptiveScriptCache.getApplicationKey(authenticationContext), script);
                 invocable.invokeFunction(FrameworkConstants.JSAttributes.JS_FUNC_ON_LOGIN_REQUEST,
                         new JsNashornAuthenticationContext(authenticationContext));
             } finally {
@@ -1013,7 +1017,7 @@ public class JsNashornGraphBuilder extends JsGraphBuilder {
 
     private void removeDefaultFunctions(ScriptEngine engine) throws ScriptException {
 
-        engine.eval(REMOVE_FUNCTIONS);
+        BaseThreadLocalScriptEngineHolder.eval(engine, REMOVE_FUNCTIONS_CACHE_KEY, REMOVE_FUNCTIONS);
     }
 
     private JSExecutionSupervisor getJSExecutionSupervisor() {
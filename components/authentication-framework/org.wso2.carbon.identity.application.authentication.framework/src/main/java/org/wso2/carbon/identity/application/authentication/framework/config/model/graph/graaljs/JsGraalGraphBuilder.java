@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.application.authentication.framework.AsyncProces
 import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDecisionEvaluator;
 import org.wso2.carbon.identity.application.authentication.framework.JsFunctionRegistry;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AdaptiveScriptCache;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthGraphNode;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthenticationGraph;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.BaseSerializableJsFunction;
@@ -83,6 +84,9 @@ public class JsGraalGraphBuilder extends JsGraphBuilder {
     private static final Log log = LogFactory.getLog(JsGraalGraphBuilder.class);
     protected Context context;
 
+    private static final String REQUIRE_FUNCTION_CACHE_KEY = "::require";
+    private static final String SECRETS_FUNCTION_CACHE_KEY = "::secrets";
+    private static final AdaptiveScriptCache<Source> SOURCE_CACHE = new AdaptiveScriptCache<>();
     private static final String REMOVE_FUNCTIONS = "var quit=function(){Log.error('quit function is restricted.')};" +
             "var exit=function(){Log.error('exit function is restricted.')};" +
             "var print=function(){Log.error('print function is restricted.')};" +
@@ -155,23 +159,20 @@ public class JsGraalGraphBuilder extends JsGraphBuilder {
                 functionMap.forEach(bindings::putMember);
             }
             currentBuilder.set(this);
-            context.eval(Source
-                    .newBuilder(POLYGLOT_LANGUAGE,
-                            FrameworkServiceDataHolder.getInstance().getCodeForRequireFunction(),
-                            POLYGLOT_SOURCE)
-                    .build());
-            context.eval(Source
-                    .newBuilder(POLYGLOT_LANGUAGE,
-                            FrameworkServiceDataHolder.getInstance().getCodeForSecretsFunction(),
-                            POLYGLOT_SOURCE)
-                    .build());
+            context.eval(SOURCE_CACHE.getOrCompile(REQUIRE_FUNCTION_CACHE_KEY,
+                    FrameworkServiceDataHolder.getInstance().getCodeForRequireFunction(),
+                    JsGraalGraphBuilder::toSource));
+            context.eval(SOURCE_CACHE.getOrCompile(SECRETS_FUNCTION_CACHE_KEY,
+                    FrameworkServiceDataHolder.getInstance().getCodeForSecretsFunction(),
+                    JsGraalGraphBuilder::toSource));
 
             String identifier = UUID.randomUUID().toString();
             Optional<JSExecutionMonitorData> optionalScriptExecutionData;
 
             try {
                 startScriptExecutionMonitor(identifier, authenticationContext);
-                context.eval(Source.newBuilder(POLYGLOT_LANGUAGE, script, POLYGLOT_SOURCE).build());
+                context.eval(SOURCE_CACHE.getOrCompile(AdaptiveScriptCache.getApplicationKey(authenticationContext),
+                        script, JsGraalGraphBuilder::toSource));
 
                 Value onLoginRequestFn = bindings.getMember(JS_FUNC_ON_LOGIN_REQUEST);
                 if (onLoginRequestFn == null) {
@@ -415,6 +416,15 @@ public class JsGraalGraphBuilder extends JsGraphBuilder {
         return new JsBasedEvaluator((GraalSerializableJsFunction) fn);
     }
 
+    /**
+     * Builds a polyglot source for the given script. Sources with the same content are evaluated from the code
+     * already parsed by the shared engine.
+     */
+    private static Source toSource(String script) throws IOException {
+
+        return Source.newBuilder(POLYGLOT_LANGUAGE, script, POLYGLOT_SOURCE).build();
+    }
+
     public static void clearCurrentBuilder(Context context) {
 
         context.close();
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.application.authentication.framework.config.mod
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.ResourceLimits;
 import org.graalvm.polyglot.Value;
@@ -62,6 +63,8 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
     private static final Log LOG = LogFactory.getLog(JsGraalGraphBuilderFactory.class);
     private static final String JS_BINDING_CURRENT_CONTEXT = "JS_BINDING_CURRENT_CONTEXT";
     private int javascriptResourceLimit = 0;
+    private volatile Engine engine;
+    private volatile ResourceLimits resourceLimits;
 
     public void init() {
 
@@ -107,9 +110,9 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
     public Context createEngine(AuthenticationContext authenticationContext) {
 
         Context context = Context.newBuilder(POLYGLOT_LANGUAGE)
+                .engine(getEngine())
                 .allowHostAccess(getHostAccess())
                 .resourceLimits(getResourceLimits())
-                .option("engine.WarnInterpreterOnly", "false")
                 .build();
 
         Value bindings = context.getBindings(POLYGLOT_LANGUAGE);
@@ -118,11 +121,43 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
         return context;
     }
 
+    /**
+     * Returns the polyglot engine shared by all the contexts created by this factory. Sharing the engine lets the
+     * contexts reuse the code parsed from the same sources, so that the require shim and the application scripts are
+     * not parsed again on every login.
+     *
+     * @return Shared polyglot engine.
+     */
+    public Engine getEngine() {
+
+        if (engine == null) {
+            synchronized (this) {
+                if (engine == null) {
+                    engine = Engine.newBuilder()
+                            .option("engine.WarnInterpreterOnly", "false")
+                            .build();
+                }
+            }
+        }
+        return engine;
+    }
+
     public ResourceLimits getResourceLimits() {
 
-        ResourceLimits.Builder resourceLimitsBuilder = ResourceLimits.newBuilder();
-        resourceLimitsBuilder.statementLimit(javascriptResourceLimit, null);
-        return resourceLimitsBuilder.build();
+        /*
+         * The statement limit is applied per context. A single instance is used since the contexts of a shared engine
+         * are expected to use the same resource limit configuration.
+         */
+        if (resourceLimits == null) {
+            synchronized (this) {
+                if (resourceLimits == null) {
+                    ResourceLimits.Builder resourceLimitsBuilder = ResourceLimits.newBuilder();
+                    resourceLimitsBuilder.statementLimit(javascriptResourceLimit, null);
+                    resourceLimits = resourceLimitsBuilder.build();
+                }
+            }
+        }
+        return resourceLimits;
     }
 
     public HostAccess getHostAccess() {
@@ -29,9 +29,11 @@ import org.wso2.carbon.identity.application.authentication.framework.Authenticat
 import org.wso2.carbon.identity.application.authentication.framework.JsFunctionRegistry;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AdaptiveScriptCache;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthGraphNode;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthenticationGraph;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.BaseSerializableJsFunction;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.BaseThreadLocalScriptEngineHolder;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.DynamicDecisionNode;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.EndStep;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.FailNode;
@@ -93,6 +95,8 @@ public class JsOpenJdkNashornGraphBuilder extends JsGraphBuilder {
     private static ThreadLocal<AuthenticationContext> contextForJs = new ThreadLocal<>();
     private static ThreadLocal<AuthGraphNode> dynamicallyBuiltBaseNode = new ThreadLocal<>();
     private static ThreadLocal<JsOpenJdkNashornGraphBuilder> currentBuilder = new ThreadLocal<>();
+    private static final String REQUIRE_FUNCTION_CACHE_KEY = "::require";
+    private static final String REMOVE_FUNCTIONS_CACHE_KEY = "::removeFunctions";
     private static final String REMOVE_FUNCTIONS = "var quit=function(){Log.error('quit function is restricted.')};" +
             "var exit=function(){Log.error('exit function is restricted.')};" +
             "var print=function(){Log.error('print function is restricted.')};" +
@@ -198,14 +202,16 @@ public class JsOpenJdkNashornGraphBuilder extends JsGraphBuilder {
                 functionMap.forEach(globalBindings::put);
             }
             Invocable invocable = (Invocable) engine;
-            engine.eval(FrameworkServiceDataHolder.getInstance().getCodeForRequireFunction());
+            BaseThreadLocalScriptEngineHolder.eval(engine, REQUIRE_FUNCTION_CACHE_KEY,
+                    FrameworkServiceDataHolder.getInstance().getCodeForRequireFunction());
             removeDefaultFunctions(engine);
 
             String identifier = UUID.randomUUID().toString();
             JSExecutionMonitorData scriptExecutionData;
             try {
                 startScriptExecutionMonitor(identifier, authenticationContext);
-                engine.eval(script);
+                BaseThreadLocalScriptEngineHolder.eval(engine,
+                        AdaptiveScriptCache.getApplicationKey(authenticationContext), script);
                 invocable.invokeFunction(FrameworkConstants.JSAttributes.JS_FUNC_ON_LOGIN_REQUEST,
                         new JsOpenJdkNashornAuthenticationContext(authenticationContext));
             } finally {
@@ -1036,7 +1042,7 @@ public class JsOpenJdkNashornGraphBuilder extends JsGraphBuilder {
 
     private void removeDefaultFunctions(ScriptEngine engine) throws ScriptException {
 
-        engine.eval(REMOVE_FUNCTIONS);
+        BaseThreadLocalScriptEngineHolder.eval(engine, REMOVE_FUNCTIONS_CACHE_KEY, REMOVE_FUNCTIONS);
     }
 
     private JSExecutionSupervisor getJSExecutionSupervisor() {
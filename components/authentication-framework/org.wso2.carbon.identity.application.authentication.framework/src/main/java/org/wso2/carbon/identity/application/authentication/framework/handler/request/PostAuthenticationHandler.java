@@ -22,6 +22,9 @@ import org.wso2.carbon.identity.application.authentication.framework.context.Aut
 import org.wso2.carbon.identity.application.authentication.framework.exception.PostAuthenticationFailedException;
 import org.wso2.carbon.identity.core.handler.IdentityHandler;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -42,4 +45,17 @@ public interface PostAuthenticationHandler extends IdentityHandler {
      */
     PostAuthnHandlerFlowStatus handle(HttpServletRequest request, HttpServletResponse response,
                                       AuthenticationContext context) throws PostAuthenticationFailedException;
+
+    /**
+     * Get the types of persisted data this handler may modify while handling the given context. Data of these types
+     * prefetched for the handlers that run after this handler is discarded. Handlers that do not override this are
+     * considered to modify any data.
+     *
+     * @param context Authentication context which has information about current authentication flow.
+     * @return Types of data the handler may modify. Empty if the handler is side effect free for the context.
+     */
+    default Set<PostAuthnDataType> getModifiedDataTypes(AuthenticationContext context) {
+
+        return EnumSet.allOf(PostAuthnDataType.class);
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.request;
+
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Implemented by post authentication handlers that can read the data they need ahead of handling a flow.
+ * <p>
+ * Before the post authentication handlers are run in order, the prefetches of the handlers are started on a shared
+ * thread pool, so the reads of independent handlers run in parallel with each other and with the handlers that run
+ * before them. A handler picks its data up with {@link PostAuthnPrefetch#getPrefetchedData}, and reads the data itself
+ * if nothing was prefetched.
+ */
+public interface PostAuthnDataPrefetcher {
+
+    /**
+     * Get the types of persisted data the prefetch reads. The prefetched data is discarded if a handler that runs
+     * before this handler modifies any of these types.
+     *
+     * @return Types of data read by the prefetch.
+     */
+    Set<PostAuthnDataType> getPrefetchedDataTypes();
+
+    /**
+     * Create the prefetch of this handler for a flow. This is called on the request thread before any handler runs.
+     * The reader of the returned prefetch runs on another thread while the handlers modify the context, hence it must
+     * be side effect free and must only use what is captured here, never the request, the response or the context.
+     *
+     * @param request Incoming HttpServletRequest.
+     * @param context Authentication context.
+     * @return Prefetch, or null if this handler has nothing to read ahead for the flow.
+     */
+    PostAuthnPrefetch createPrefetch(HttpServletRequest request, AuthenticationContext context);
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.request;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Read phase of a post authentication handler, created by a {@link PostAuthnDataPrefetcher}.
+ * <p>
+ * The dependency key identifies the inputs the data is read for, e.g. the authenticated user and the application.
+ * Handlers that run earlier may change these inputs in the context, hence the prefetched data is only given back to
+ * a handler that asks for it with an equal dependency key.
+ */
+public class PostAuthnPrefetch {
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final Object dependencyKey;
+    private final Callable<?> reader;
+    private final AtomicInteger state = new AtomicInteger(NEW);
+    private Set<PostAuthnDataType> dataTypes;
+    private Future<?> future;
+    private volatile long prefetchTimeNanos = -1;
+    private volatile boolean discarded;
+    private volatile boolean used;
+
+    /**
+     * @param dependencyKey Key of the inputs the data is read for. Compared with {@link Object#equals(Object)}.
+     * @param reader        Side effect free reader of the data.
+     */
+    public PostAuthnPrefetch(Object dependencyKey, Callable<?> reader) {
+
+        this.dependencyKey = dependencyKey;
+        this.reader = reader;
+    }
+
+    /**
+     * Get the data prefetched for a handler in the current request.
+     *
+     * @param request       Incoming HttpServletRequest.
+     * @param handlerName   Name of the post authentication handler.
+     * @param dependencyKey Key of the inputs the handler needs the data for.
+     * @return Prefetched data. Null if nothing was prefetched for the handler, the prefetch failed, or the data
+     * was read for other inputs or has been modified since.
+     */
+    public static Object getPrefetchedData(HttpServletRequest request, String handlerName, Object dependencyKey) {
+
+        return PostAuthnPrefetchExecutor.getInstance().getPrefetchedData(request, handlerName, dependencyKey);
+    }
+
+    public Object getDependencyKey() {
+
+        return dependencyKey;
+    }
+
+    /**
+     * Get the time taken to read the data.
+     *
+     * @return Prefetch time in milliseconds, or -1 if the prefetch has not completed.
+     */
+    public long getPrefetchTimeMillis() {
+
+        long timeNanos = prefetchTimeNanos;
+        return timeNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(timeNanos);
+    }
+
+    /**
+     * Whether the prefetched data was given back to the handler.
+     *
+     * @return True if the handler used the prefetched data.
+     */
+    public boolean isUsed() {
+
+        return used;
+    }
+
+    Callable<?> getReader() {
+
+        return reader;
+    }
+
+    Set<PostAuthnDataType> getDataTypes() {
+
+        return dataTypes;
+    }
+
+    void setDataTypes(Set<PostAuthnDataType> dataTypes) {
+
+        this.dataTypes = dataTypes;
+    }
+
+    Future<?> getFuture() {
+
+        return future;
+    }
+
+    void setFuture(Future<?> future) {
+
+        this.future = future;
+    }
+
+    void setPrefetchTimeNanos(long prefetchTimeNanos) {
+
+        this.prefetchTimeNanos = prefetchTimeNanos;
+    }
+
+    boolean isDiscarded() {
+
+        return discarded;
+    }
+
+    void discard() {
+
+        discarded = true;
+    }
+
+    void markUsed() {
+
+        used = true;
+    }
+
+    /**
+     * Mark the prefetch as running, unless it has been cancelled before it was picked up by a worker.
+     *
+     * @return True if the reader should run.
+     */
+    boolean start() {
+
+        return state.compareAndSet(NEW, RUNNING);
+    }
+
+    /**
+     * Cancel the prefetch if it has not been picked up by a worker yet.
+     *
+     * @return True if the prefetch was cancelled before it started.
+     */
+    boolean cancel() {
+
+        return state.compareAndSet(NEW, CANCELLED);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.request;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.ThreadLocalAwareThreadPoolExecutor;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Runs the prefetches of the post authentication handlers of a request on a bounded thread pool.
+ * <p>
+ * The prefetches of a request are kept as a request attribute, so prefetched data never outlives the request it was
+ * read for. If the pool is saturated the prefetch is skipped, and the handler reads the data itself.
+ */
+public final class PostAuthnPrefetchExecutor {
+
+    private static final Log log = LogFactory.getLog(PostAuthnPrefetchExecutor.class);
+
+    private static final String PREFETCH_ENABLE = "PostAuthentication.Prefetch.Enable";
+    private static final String PREFETCH_POOL_SIZE = "PostAuthentication.Prefetch.PoolSize";
+    private static final String PREFETCH_QUEUE_SIZE = "PostAuthentication.Prefetch.QueueSize";
+    private static final String PREFETCH_WAIT_TIMEOUT = "PostAuthentication.Prefetch.WaitTimeout";
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_QUEUE_SIZE = 100;
+    private static final long DEFAULT_WAIT_TIMEOUT_MILLIS = 2000;
+    private static final String PREFETCHES_ATTRIBUTE = PostAuthnPrefetchExecutor.class.getName() + ".prefetches";
+
+    private static volatile PostAuthnPrefetchExecutor instance;
+
+    private final boolean enabled;
+    private final long waitTimeoutMillis;
+    private final ExecutorService executorService;
+
+    PostAuthnPrefetchExecutor() {
+
+        enabled = Boolean.parseBoolean(IdentityUtil.getProperty(PREFETCH_ENABLE));
+        waitTimeoutMillis = getLongProperty(PREFETCH_WAIT_TIMEOUT, DEFAULT_WAIT_TIMEOUT_MILLIS);
+        if (enabled) {
+            int poolSize = (int) getLongProperty(PREFETCH_POOL_SIZE, DEFAULT_POOL_SIZE);
+            int queueSize = (int) getLongProperty(PREFETCH_QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+            executorService = new ThreadLocalAwareThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize));
+        } else {
+            executorService = null;
+        }
+    }
+
+    public static PostAuthnPrefetchExecutor getInstance() {
+
+        if (instance == null) {
+            synchronized (PostAuthnPrefetchExecutor.class) {
+                if (instance == null) {
+                    instance = new PostAuthnPrefetchExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Start the prefetches of the enabled handlers that will run for the request.
+     *
+     * @param request   Incoming HttpServletRequest.
+     * @param context   Authentication context.
+     * @param handlers  Post authentication handlers in the order they run.
+     * @param fromIndex Index of the first handler that will run for the request.
+     */
+    public void startPrefetches(HttpServletRequest request, AuthenticationContext context,
+                                List<PostAuthenticationHandler> handlers, int fromIndex) {
+
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, PostAuthnPrefetch> prefetches = new HashMap<>();
+        String tenantDomain = context.getTenantDomain();
+        for (int i = fromIndex; i < handlers.size(); i++) {
+            PostAuthenticationHandler handler = handlers.get(i);
+            if (!(handler instanceof PostAuthnDataPrefetcher) || !handler.isEnabled()) {
+                continue;
+            }
+            PostAuthnDataPrefetcher prefetcher = (PostAuthnDataPrefetcher) handler;
+            PostAuthnPrefetch prefetch = prefetcher.createPrefetch(request, context);
+            if (prefetch == null) {
+                continue;
+            }
+            prefetch.setDataTypes(prefetcher.getPrefetchedDataTypes());
+            try {
+                prefetch.setFuture(executorService.submit(() -> read(prefetch, tenantDomain)));
+                prefetches.put(handler.getName(), prefetch);
+            } catch (RejectedExecutionException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Post authentication prefetch pool is saturated. Skipping the prefetch of handler: " +
+                            handler.getName() + " for context: " + context.getContextIdentifier());
+                }
+            }
+        }
+        if (!prefetches.isEmpty()) {
+            request.setAttribute(PREFETCHES_ATTRIBUTE, prefetches);
+        }
+    }
+
+    /**
+     * Discard the prefetched data that may have been modified by a handler that has completed.
+     *
+     * @param request           Incoming HttpServletRequest.
+     * @param modifiedDataTypes Types of data the completed handler may have modified.
+     */
+    public void discardPrefetches(HttpServletRequest request, Set<PostAuthnDataType> modifiedDataTypes) {
+
+        if (modifiedDataTypes == null || modifiedDataTypes.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, PostAuthnPrefetch> entry : getPrefetches(request).entrySet()) {
+            PostAuthnPrefetch prefetch = entry.getValue();
+            if (!prefetch.isDiscarded() && !Collections.disjoint(prefetch.getDataTypes(), modifiedDataTypes)) {
+                prefetch.discard();
+                prefetch.cancel();
+                if (log.isDebugEnabled()) {
+                    log.debug("Discarding the prefetched data of handler: " + entry.getKey() + " as it may have " +
+                            "been modified by a previous handler.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancel the prefetches of the request that have not started yet.
+     *
+     * @param request Incoming HttpServletRequest.
+     */
+    public void cancelPrefetches(HttpServletRequest request) {
+
+        for (PostAuthnPrefetch prefetch : getPrefetches(request).values()) {
+            prefetch.cancel();
+        }
+        request.removeAttribute(PREFETCHES_ATTRIBUTE);
+    }
+
+    /**
+     * Get the prefetch of a handler in the request.
+     *
+     * @param request     Incoming HttpServletRequest.
+     * @param handlerName Name of the post authentication handler.
+     * @return Prefetch of the handler, or null if there is none.
+     */
+    public PostAuthnPrefetch getPrefetch(HttpServletRequest request, String handlerName) {
+
+        return getPrefetches(request).get(handlerName);
+    }
+
+    /**
+     * Shut down the prefetch pool.
+     */
+    public void shutdown() {
+
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    Object getPrefetchedData(HttpServletRequest request, String handlerName, Object dependencyKey) {
+
+        PostAuthnPrefetch prefetch = getPrefetch(request, handlerName);
+        if (prefetch == null || prefetch.isDiscarded()) {
+            return null;
+        }
+        if (!Objects.equals(prefetch.getDependencyKey(), dependencyKey)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Inputs of handler: " + handlerName + " have changed since its data was prefetched. " +
+                        "Hence ignoring the prefetched data.");
+            }
+            return null;
+        }
+        if (prefetch.cancel()) {
+            // Still queued. The handler reads the data itself rather than waiting for a worker.
+            return null;
+        }
+        try {
+            Object data = prefetch.getFuture().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            prefetch.markUsed();
+            return data;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Prefetch of handler: " + handlerName + " failed. The handler reads the data itself.",
+                        e.getCause());
+            }
+        } catch (TimeoutException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Prefetch of handler: " + handlerName + " did not complete within " + waitTimeoutMillis +
+                        " ms. The handler reads the data itself.");
+            }
+        }
+        return null;
+    }
+
+    private Object read(PostAuthnPrefetch prefetch, String tenantDomain) throws Exception {
+
+        if (!prefetch.start()) {
+            return null;
+        }
+        long startTime = System.nanoTime();
+        try {
+            FrameworkUtils.startTenantFlow(tenantDomain);
+            return prefetch.getReader().call();
+        } finally {
+            FrameworkUtils.endTenantFlow();
+            prefetch.setPrefetchTimeNanos(System.nanoTime() - startTime);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, PostAuthnPrefetch> getPrefetches(HttpServletRequest request) {
+
+        Object prefetches = request.getAttribute(PREFETCHES_ATTRIBUTE);
+        if (prefetches instanceof Map) {
+            return (Map<String, PostAuthnPrefetch>) prefetches;
+        }
+        return Collections.emptyMap();
+    }
+
+    private static long getLongProperty(String propertyName, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + value + " for " + propertyName + ". Using the default value: " +
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -45,6 +45,7 @@ import org.wso2.carbon.identity.application.authentication.framework.exception.F
 import org.wso2.carbon.identity.application.authentication.framework.exception.PostAuthenticationFailedException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.AbstractPostAuthnHandler;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnDataType;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnHandlerFlowStatus;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceComponent;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
@@ -83,9 +84,12 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
@@ -143,6 +147,38 @@ public class JITProvisioningPostAuthenticationHandler extends AbstractPostAuthnH
         return "JITProvisionHandler";
     }
 
+    /**
+     * JIT provisioning adds or updates the local user and its federated association only when a federated step is
+     * authenticated through an identity provider with provisioning enabled.
+     *
+     * @param context Authentication context.
+     * @return Types of data modified by the handler.
+     */
+    @Override
+    public Set<PostAuthnDataType> getModifiedDataTypes(AuthenticationContext context) {
+
+        if (!FrameworkUtils.isStepBasedSequenceHandlerExecuted(context)) {
+            return Collections.emptySet();
+        }
+        for (StepConfig stepConfig : context.getSequenceConfig().getStepMap().values()) {
+            AuthenticatorConfig authenticatorConfig = stepConfig.getAuthenticatedAutenticator();
+            if (authenticatorConfig == null ||
+                    !(authenticatorConfig.getApplicationAuthenticator() instanceof FederatedApplicationAuthenticator)) {
+                continue;
+            }
+            try {
+                ExternalIdPConfig externalIdPConfig = ConfigurationFacade.getInstance()
+                        .getIdPConfigByName(stepConfig.getAuthenticatedIdP(), context.getTenantDomain());
+                if (externalIdPConfig != null && externalIdPConfig.isProvisioningEnabled()) {
+                    return EnumSet.of(PostAuthnDataType.USER_ATTRIBUTES, PostAuthnDataType.FEDERATED_ASSOCIATIONS);
+                }
+            } catch (IdentityProviderManagementException e) {
+                return EnumSet.allOf(PostAuthnDataType.class);
+            }
+        }
+        return Collections.emptySet();
+    }
+
     @Override
     public PostAuthnHandlerFlowStatus handle(HttpServletRequest request, HttpServletResponse response,
                                              AuthenticationContext context) throws PostAuthenticationFailedException {
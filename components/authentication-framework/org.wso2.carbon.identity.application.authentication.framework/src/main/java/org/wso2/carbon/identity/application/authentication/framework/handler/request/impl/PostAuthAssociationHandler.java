@@ -32,7 +32,10 @@ import org.wso2.carbon.identity.application.authentication.framework.context.Aut
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.PostAuthenticationFailedException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.AbstractPostAuthnHandler;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnDataPrefetcher;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnDataType;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnHandlerFlowStatus;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnPrefetch;
 import org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl.DefaultSequenceHandlerUtils;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
@@ -45,9 +48,14 @@ import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -58,7 +66,7 @@ import static org.wso2.carbon.identity.application.authentication.framework.util
 /**
  * This PostAuthentication Handler is responsible for handling the association of user accounts with local users.
  */
-public class PostAuthAssociationHandler extends AbstractPostAuthnHandler {
+public class PostAuthAssociationHandler extends AbstractPostAuthnHandler implements PostAuthnDataPrefetcher {
 
     private static final Log log = LogFactory.getLog(PostAuthAssociationHandler.class);
     private static PostAuthAssociationHandler instance = new PostAuthAssociationHandler();
@@ -95,6 +103,50 @@ public class PostAuthAssociationHandler extends AbstractPostAuthnHandler {
         return "PostAuthAssociationHandler";
     }
 
+    @Override
+    public Set<PostAuthnDataType> getPrefetchedDataTypes() {
+
+        return EnumSet.of(PostAuthnDataType.FEDERATED_ASSOCIATIONS);
+    }
+
+    @Override
+    public Set<PostAuthnDataType> getModifiedDataTypes(AuthenticationContext context) {
+
+        return Collections.emptySet();
+    }
+
+    /**
+     * Prefetch the local users associated with the federated subject identifiers, when the mapped local subject
+     * identifier should always be sent to the service provider.
+     *
+     * @param request Incoming HttpServletRequest.
+     * @param context Authentication context.
+     * @return Prefetch of the associated local user names, or null if there is nothing to look up.
+     */
+    @Override
+    public PostAuthnPrefetch createPrefetch(HttpServletRequest request, AuthenticationContext context) {
+
+        if (!FrameworkUtils.isStepBasedSequenceHandlerExecuted(context) ||
+                !context.getSequenceConfig().getApplicationConfig().isAlwaysSendMappedLocalSubjectId()) {
+            return null;
+        }
+        List<List<String>> associationKeys = getAssociationKeys(context);
+        if (associationKeys.isEmpty()) {
+            return null;
+        }
+        return new PostAuthnPrefetch(associationKeys, () -> {
+            FederatedAssociationManager federatedAssociationManager = FrameworkUtils.getFederatedAssociationManager();
+            Map<List<String>, String> associatedUserNames = new HashMap<>();
+            for (List<String> associationKey : associationKeys) {
+                String associatedUserName = federatedAssociationManager.getUserForFederatedAssociation(
+                        associationKey.get(0), associationKey.get(1), associationKey.get(2));
+                // An empty name records that there is no association, as null means the lookup was not done.
+                associatedUserNames.put(associationKey, StringUtils.defaultString(associatedUserName));
+            }
+            return associatedUserNames;
+        });
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public PostAuthnHandlerFlowStatus handle(HttpServletRequest request, HttpServletResponse response,
@@ -104,6 +156,11 @@ public class PostAuthAssociationHandler extends AbstractPostAuthnHandler {
             return SUCCESS_COMPLETED;
         }
         SequenceConfig sequenceConfig = context.getSequenceConfig();
+        Map<List<String>, String> prefetchedUserNames = null;
+        if (sequenceConfig.getApplicationConfig().isAlwaysSendMappedLocalSubjectId()) {
+            prefetchedUserNames = (Map<List<String>, String>) PostAuthnPrefetch.getPrefetchedData(request, getName(),
+                    getAssociationKeys(context));
+        }
         for (Map.Entry<Integer, StepConfig> entry : sequenceConfig.getStepMap().entrySet()) {
             StepConfig stepConfig = entry.getValue();
             AuthenticatorConfig authenticatorConfig = stepConfig.getAuthenticatedAutenticator();
@@ -125,7 +182,8 @@ public class PostAuthAssociationHandler extends AbstractPostAuthnHandler {
                      */
                     String associatedLocalUserName = null;
                     if (sequenceConfig.getApplicationConfig().isAlwaysSendMappedLocalSubjectId()) {
-                        associatedLocalUserName = getUserNameAssociatedWith(context, stepConfig);
+                        associatedLocalUserName = getUserNameAssociatedWith(context, stepConfig,
+                                prefetchedUserNames);
                     }
                     if (StringUtils.isNotEmpty(associatedLocalUserName)) {
                         if (log.isDebugEnabled()) {
@@ -186,15 +244,45 @@ public class PostAuthAssociationHandler extends AbstractPostAuthnHandler {
             log.debug("Authenticated User Tenant Domain: " + tenantDomain);
         }
     }
+
+    /**
+     * To get the keys of the federated association lookups of the subject identifier steps.
+     *
+     * @param context Authentication context.
+     * @return List of tenant domain, identity provider and subject identifier of each lookup.
+     */
+    private List<List<String>> getAssociationKeys(AuthenticationContext context) {
+
+        List<List<String>> associationKeys = new ArrayList<>();
+        for (StepConfig stepConfig : context.getSequenceConfig().getStepMap().values()) {
+            AuthenticatorConfig authenticatorConfig = stepConfig.getAuthenticatedAutenticator();
+            if (authenticatorConfig == null || !stepConfig.isSubjectIdentifierStep() ||
+                    stepConfig.getAuthenticatedUser() == null ||
+                    !(authenticatorConfig.getApplicationAuthenticator() instanceof FederatedApplicationAuthenticator)) {
+                continue;
+            }
+            associationKeys.add(getAssociationKey(context, stepConfig));
+        }
+        return associationKeys;
+    }
+
+    private List<String> getAssociationKey(AuthenticationContext context, StepConfig stepConfig) {
+
+        return Arrays.asList(context.getTenantDomain(), stepConfig.getAuthenticatedIdP(),
+                stepConfig.getAuthenticatedUser().getAuthenticatedSubjectIdentifier());
+    }
+
     /**
      * To get the local user name associated with the given federated IDP and the subject identifier.
      *
-     * @param context    Authentication context.
-     * @param stepConfig Step config.
+     * @param context             Authentication context.
+     * @param stepConfig          Step config.
+     * @param prefetchedUserNames Prefetched associated user names, or null if they were not prefetched.
      * @return user name associated with.
      * @throws PostAuthenticationFailedException Post Authentication Failed Exception.
      */
-    private String getUserNameAssociatedWith(AuthenticationContext context, StepConfig stepConfig)
+    private String getUserNameAssociatedWith(AuthenticationContext context, StepConfig stepConfig,
+                                             Map<List<String>, String> prefetchedUserNames)
             throws PostAuthenticationFailedException {
 
         String associatesUserName;
@@ -202,9 +290,16 @@ public class PostAuthAssociationHandler extends AbstractPostAuthnHandler {
                 .getAuthenticatedSubjectIdentifier();
         try {
             FrameworkUtils.startTenantFlow(context.getTenantDomain());
-            FederatedAssociationManager federatedAssociationManager = FrameworkUtils.getFederatedAssociationManager();
-            associatesUserName = federatedAssociationManager.getUserForFederatedAssociation(context.getTenantDomain()
-                    , stepConfig.getAuthenticatedIdP(), originalExternalIdpSubjectValueForThisStep);
+            if (prefetchedUserNames != null && prefetchedUserNames.containsKey(getAssociationKey(context,
+                    stepConfig))) {
+                associatesUserName = prefetchedUserNames.get(getAssociationKey(context, stepConfig));
+            } else {
+                FederatedAssociationManager federatedAssociationManager =
+                        FrameworkUtils.getFederatedAssociationManager();
+                associatesUserName = federatedAssociationManager.getUserForFederatedAssociation(
+                        context.getTenantDomain(), stepConfig.getAuthenticatedIdP(),
+                        originalExternalIdpSubjectValueForThisStep);
+            }
             if (StringUtils.isNotBlank(associatesUserName)) {
                 if (log.isDebugEnabled()) {
                     log.debug("User : " + stepConfig.getAuthenticatedUser() + " has an associated account as "
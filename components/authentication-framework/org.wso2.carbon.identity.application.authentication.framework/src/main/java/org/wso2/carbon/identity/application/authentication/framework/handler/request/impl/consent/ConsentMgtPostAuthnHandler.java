@@ -25,7 +25,10 @@ import org.wso2.carbon.identity.application.authentication.framework.config.mode
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.PostAuthenticationFailedException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.AbstractPostAuthnHandler;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnDataPrefetcher;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnDataType;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnHandlerFlowStatus;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnPrefetch;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.constant.SSOConsentConstants;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.exception.SSOConsentDisabledException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.exception.SSOConsentServiceException;
@@ -45,10 +48,13 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
@@ -66,7 +72,7 @@ import static org.apache.commons.lang.StringUtils.isNotBlank;
  * This is an extension of {@link AbstractPostAuthnHandler} which handles user consent management upon successful
  * user authentication.
  */
-public class ConsentMgtPostAuthnHandler extends AbstractPostAuthnHandler {
+public class ConsentMgtPostAuthnHandler extends AbstractPostAuthnHandler implements PostAuthnDataPrefetcher {
 
     private static final String HTTP_WSO2_ORG_OIDC_CLAIM = "http://wso2.org/oidc/claim";
     private static final String HTTP_SCHEMAS_XMLSOAP_ORG_WS_2005_05_IDENTITY
@@ -117,6 +123,45 @@ public class ConsentMgtPostAuthnHandler extends AbstractPostAuthnHandler {
         }
     }
 
+    @Override
+    public Set<PostAuthnDataType> getPrefetchedDataTypes() {
+
+        return EnumSet.of(PostAuthnDataType.CONSENT_RECEIPTS, PostAuthnDataType.USER_ATTRIBUTES);
+    }
+
+    @Override
+    public Set<PostAuthnDataType> getModifiedDataTypes(AuthenticationContext context) {
+
+        return EnumSet.of(PostAuthnDataType.CONSENT_RECEIPTS);
+    }
+
+    /**
+     * Prefetch the consent required claims of the user when the consent page may have to be prompted.
+     *
+     * @param request Incoming HttpServletRequest.
+     * @param context Authentication context.
+     * @return Prefetch of the consent required claims, or null if consent is not handled for the flow.
+     */
+    @Override
+    public PostAuthnPrefetch createPrefetch(HttpServletRequest request, AuthenticationContext context) {
+
+        AuthenticatedUser authenticatedUser = getAuthenticatedUser(context);
+        if (authenticatedUser == null || isOAuthFlow(context) || isOpenIDFlow(context) || isConsentPrompted(context)
+                || SP_NAME_DEFAULT.equalsIgnoreCase(
+                        context.getSequenceConfig().getApplicationConfig().getApplicationName())) {
+            return null;
+        }
+        ServiceProvider serviceProvider = getServiceProvider(context);
+        if (FrameworkUtils.isConsentPageSkippedForSP(serviceProvider)) {
+            return null;
+        }
+        // The reader works on a copy, as the handlers that run before this handler may update the user.
+        AuthenticatedUser userSnapshot = new AuthenticatedUser(authenticatedUser);
+        return new PostAuthnPrefetch(getConsentDependencyKey(serviceProvider, userSnapshot),
+                () -> getSSOConsentService().getConsentRequiredClaimsWithExistingConsents(serviceProvider,
+                        userSnapshot));
+    }
+
     private boolean isOAuthFlow(AuthenticationContext context) {
 
         return FrameworkConstants.RequestType.CLAIM_TYPE_OIDC.equals(context.getRequestType()) || REQUEST_TYPE_OAUTH2
@@ -154,8 +199,12 @@ public class ConsentMgtPostAuthnHandler extends AbstractPostAuthnHandler {
         AuthenticatedUser authenticatedUser = getAuthenticatedUser(context);
         ServiceProvider serviceProvider = getServiceProvider(context);
         try {
-            ConsentClaimsData consentClaimsData = getSSOConsentService().getConsentRequiredClaimsWithExistingConsents
-                    (serviceProvider, authenticatedUser);
+            ConsentClaimsData consentClaimsData = (ConsentClaimsData) PostAuthnPrefetch.getPrefetchedData(request,
+                    getName(), getConsentDependencyKey(serviceProvider, authenticatedUser));
+            if (consentClaimsData == null) {
+                consentClaimsData = getSSOConsentService().getConsentRequiredClaimsWithExistingConsents(
+                        serviceProvider, authenticatedUser);
+            }
 
             if (isDebugEnabled()) {
                 String message = String.format("Retrieving required consent data of user: %s for service " +
@@ -700,6 +749,16 @@ public class ConsentMgtPostAuthnHandler extends AbstractPostAuthnHandler {
         return authenticationContext.getSequenceConfig().getAuthenticatedUser();
     }
 
+    private Object getConsentDependencyKey(ServiceProvider serviceProvider, AuthenticatedUser authenticatedUser) {
+
+        Map<ClaimMapping, String> userAttributes = authenticatedUser.getUserAttributes() != null ?
+                new HashMap<>(authenticatedUser.getUserAttributes()) : Collections.emptyMap();
+        return Arrays.asList(serviceProvider.getApplicationName(), getSPTenantDomain(serviceProvider),
+                authenticatedUser.getAuthenticatedSubjectIdentifier(), authenticatedUser.getUserName(),
+                authenticatedUser.getUserStoreDomain(), authenticatedUser.getTenantDomain(),
+                authenticatedUser.isFederatedUser(), authenticatedUser.getFederatedIdPName(), userAttributes);
+    }
+
     private void setConsentPoppedUpState(AuthenticationContext authenticationContext) {
 
         authenticationContext.addParameter(CONSENT_PROMPTED, true);
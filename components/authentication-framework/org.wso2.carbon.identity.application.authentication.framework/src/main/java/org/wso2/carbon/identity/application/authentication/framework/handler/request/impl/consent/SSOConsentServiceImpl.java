@@ -26,7 +26,6 @@ import org.wso2.carbon.consent.mgt.core.ConsentManager;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementClientException;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
 import org.wso2.carbon.consent.mgt.core.model.AddReceiptResponse;
-import org.wso2.carbon.consent.mgt.core.model.ConsentPurpose;
 import org.wso2.carbon.consent.mgt.core.model.PIICategory;
 import org.wso2.carbon.consent.mgt.core.model.PIICategoryValidity;
 import org.wso2.carbon.consent.mgt.core.model.Purpose;
@@ -35,9 +34,14 @@ import org.wso2.carbon.consent.mgt.core.model.Receipt;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptInput;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptPurposeInput;
-import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptServiceInput;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentPurposeCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentPurposeCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentPurposeCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheKey;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.constant.SSOConsentConstants;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.exception.SSOConsentDisabledException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.exception.SSOConsentServiceException;
@@ -116,6 +120,8 @@ public class SSOConsentServiceImpl implements SSOConsentService {
     private static final String DEFAULT_PURPOSE_CATEGORY = "DEFAULT";
     private static final String DEFAULT_PURPOSE_GROUP = "DEFAULT";
     private static final String DEFAULT_PURPOSE_GROUP_TYPE = "SP";
+    private static final String PURPOSE_CACHE_TYPE = "PURPOSE";
+    private static final String PURPOSE_CATEGORY_CACHE_TYPE = "PURPOSE_CATEGORY";
     private boolean ssoConsentEnabled = true;
 
     public SSOConsentServiceImpl() {
@@ -313,7 +319,8 @@ public class SSOConsentServiceImpl implements SSOConsentService {
 
         List<ClaimMetaData> receiptConsentMetaData = new ArrayList<>();
         List<ClaimMetaData> receiptConsentDeniedMetaData;
-        Receipt receipt = getConsentReceiptOfUser(serviceProvider, authenticatedUser, spName, spTenantDomain, subject);
+        ConsentReceiptCacheEntry receipt =
+                getConsentReceiptOfUser(serviceProvider, authenticatedUser, spName, spTenantDomain, subject);
         if (useExistingConsents && receipt != null) {
             DiagnosticLog.DiagnosticLogBuilder diagnosticLogBuilder = new DiagnosticLog.DiagnosticLogBuilder(
                     FrameworkConstants.LogConstants.AUTHENTICATION_FRAMEWORK,
@@ -457,7 +464,7 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         if (!overrideExistingConsent) {
             String spName = serviceProvider.getApplicationName();
             String spTenantDomain = getSPTenantDomain(serviceProvider);
-            Receipt receipt =
+            ConsentReceiptCacheEntry receipt =
                     getConsentReceiptOfUser(serviceProvider, authenticatedUser, spName, spTenantDomain, subject);
             claimsWithConsent =
                     getUserRequestedClaims(receipt, userConsent, true);
@@ -524,7 +531,8 @@ public class SSOConsentServiceImpl implements SSOConsentService {
 
         String subject = buildSubjectWithUserStoreDomain(authenticatedUser);
 
-        Receipt receipt = getConsentReceiptOfUser(serviceProvider, authenticatedUser, spName, spTenantDomain, subject);
+        ConsentReceiptCacheEntry receipt =
+                getConsentReceiptOfUser(serviceProvider, authenticatedUser, spName, spTenantDomain, subject);
         if (receipt == null) {
             return receiptConsentMetaData;
         } else {
@@ -545,9 +553,35 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         return ssoConsentEnabled;
     }
 
-    private Receipt getConsentReceiptOfUser(ServiceProvider serviceProvider, AuthenticatedUser authenticatedUser,
-                                            String spName, String spTenantDomain,
-                                            String subject) throws SSOConsentServiceException {
+    /**
+     * Get the active consent receipt of a user for a service provider. The receipt is cached in the tenant of the
+     * service provider until the user gives consent again or the receipt is deleted.
+     *
+     * @return Summary of the active receipt, or null if the user has no active receipt for the service provider.
+     */
+    private ConsentReceiptCacheEntry getConsentReceiptOfUser(ServiceProvider serviceProvider,
+                                                             AuthenticatedUser authenticatedUser, String spName,
+                                                             String spTenantDomain, String subject)
+            throws SSOConsentServiceException {
+
+        ConsentReceiptCacheKey cacheKey =
+                new ConsentReceiptCacheKey(subject, authenticatedUser.getTenantDomain(), spName);
+        ConsentReceiptCacheEntry cacheEntry =
+                ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, spTenantDomain);
+        if (cacheEntry == null) {
+            cacheEntry = new ConsentReceiptCacheEntry(
+                    getActiveReceiptOfUser(serviceProvider, authenticatedUser, spName, spTenantDomain, subject));
+            ConsentReceiptCache.getInstance().addToCache(cacheKey, cacheEntry, spTenantDomain);
+        } else if (isDebugEnabled()) {
+            logDebug(String.format("Consent receipt of user: %s, service provider: %s in tenant domain %s is " +
+                    "retrieved from the cache.", subject, spName, spTenantDomain));
+        }
+        return cacheEntry.hasReceipt() ? cacheEntry : null;
+    }
+
+    private Receipt getActiveReceiptOfUser(ServiceProvider serviceProvider, AuthenticatedUser authenticatedUser,
+                                           String spName, String spTenantDomain,
+                                           String subject) throws SSOConsentServiceException {
 
         int receiptListLimit = 2;
         List<ReceiptListResponse> receiptListResponses;
@@ -591,6 +625,9 @@ public class SSOConsentServiceImpl implements SSOConsentService {
                     "receipt", e);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
+            // Adding a receipt revokes the previous receipt of the user for the service provider.
+            ConsentReceiptCache.getInstance().clearCacheEntry(new ConsentReceiptCacheKey(subject,
+                    subjectTenantDomain, serviceProvider.getApplicationName()), spTenantDomain);
         }
         if (isDebugEnabled()) {
             logDebug("Successfully added consent receipt: " + receiptResponse.getConsentReceiptId());
@@ -610,8 +647,8 @@ public class SSOConsentServiceImpl implements SSOConsentService {
                 CONSENT_VALIDITY_TYPE_VALID_UNTIL_INDEFINITE;
         String policyUrl = "NONE";
 
-        Purpose purpose = getDefaultPurpose();
-        PurposeCategory purposeCategory = getDefaultPurposeCategory();
+        int purposeId = getDefaultPurposeId();
+        int purposeCategoryId = getDefaultPurposeCategoryId();
         List<PIICategoryValidity> piiCategoryIds =
                 getPiiCategoryValidityForClaims(claimsWithConsent, claimsDeniedConsent, termination);
         List<ReceiptServiceInput> serviceInputs = new ArrayList<>();
@@ -619,9 +656,9 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         List<Integer> purposeCategoryIds = new ArrayList<>();
         Map<String, String> properties = new HashMap<>();
 
-        purposeCategoryIds.add(purposeCategory.getId());
+        purposeCategoryIds.add(purposeCategoryId);
 
-        ReceiptPurposeInput purposeInput = getReceiptPurposeInput(consentType, termination, purpose, piiCategoryIds,
+        ReceiptPurposeInput purposeInput = getReceiptPurposeInput(consentType, termination, purposeId, piiCategoryIds,
                 purposeCategoryIds);
         purposeInputs.add(purposeInput);
 
@@ -667,7 +704,7 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         return serviceInput;
     }
 
-    private ReceiptPurposeInput getReceiptPurposeInput(String consentType, String termination, Purpose purpose,
+    private ReceiptPurposeInput getReceiptPurposeInput(String consentType, String termination, int purposeId,
                                                        List<PIICategoryValidity> piiCategoryIds,
                                                        List<Integer> purposeCategoryIds) {
 
@@ -676,7 +713,7 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         purposeInput.setTermination(termination);
         purposeInput.setConsentType(consentType);
         purposeInput.setThirdPartyDisclosure(false);
-        purposeInput.setPurposeId(purpose.getId());
+        purposeInput.setPurposeId(purposeId);
         purposeInput.setPurposeCategoryId(purposeCategoryIds);
         purposeInput.setPiiCategory(piiCategoryIds);
         return purposeInput;
@@ -754,6 +791,19 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         return ERROR_CODE_PII_CAT_NAME_INVALID.getCode().equals(e.getErrorCode());
     }
 
+    private int getDefaultPurposeCategoryId() throws SSOConsentServiceException {
+
+        ConsentPurposeCacheKey cacheKey = new ConsentPurposeCacheKey(PURPOSE_CATEGORY_CACHE_TYPE,
+                DEFAULT_PURPOSE_CATEGORY);
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        ConsentPurposeCacheEntry cacheEntry = ConsentPurposeCache.getInstance().getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry == null) {
+            cacheEntry = new ConsentPurposeCacheEntry(getDefaultPurposeCategory().getId());
+            ConsentPurposeCache.getInstance().addToCache(cacheKey, cacheEntry, tenantId);
+        }
+        return cacheEntry.getId();
+    }
+
     private PurposeCategory getDefaultPurposeCategory() throws SSOConsentServiceException {
 
         PurposeCategory purposeCategory;
@@ -793,6 +843,18 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         return ERROR_CODE_PURPOSE_CAT_NAME_INVALID.getCode().equals(e.getErrorCode());
     }
 
+    private int getDefaultPurposeId() throws SSOConsentServiceException {
+
+        ConsentPurposeCacheKey cacheKey = new ConsentPurposeCacheKey(PURPOSE_CACHE_TYPE, DEFAULT_PURPOSE);
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        ConsentPurposeCacheEntry cacheEntry = ConsentPurposeCache.getInstance().getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry == null) {
+            cacheEntry = new ConsentPurposeCacheEntry(getDefaultPurpose().getId());
+            ConsentPurposeCache.getInstance().addToCache(cacheKey, cacheEntry, tenantId);
+        }
+        return cacheEntry.getId();
+    }
+
     private Purpose getDefaultPurpose() throws SSOConsentServiceException {
 
         Purpose purpose;
@@ -855,7 +917,7 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         return userConsent;
     }
 
-    private List<ClaimMetaData> getUserRequestedClaims(Receipt receipt,
+    private List<ClaimMetaData> getUserRequestedClaims(ConsentReceiptCacheEntry receipt,
                                                        UserConsent userConsent, boolean isConsented) {
 
         List<ClaimMetaData> requestedClaims = new ArrayList<>();
@@ -868,7 +930,7 @@ public class SSOConsentServiceImpl implements SSOConsentService {
             return requestedClaims;
         }
 
-        List<PIICategoryValidity> piiCategoriesFromServices = getPIICategoriesFromServices(receipt.getServices());
+        List<PIICategoryValidity> piiCategoriesFromServices = receipt.getPiiCategories();
         if (isConsented) {
             piiCategoriesFromServices.removeIf(piiCategoryValidity -> !piiCategoryValidity.isConsented());
         } else {
@@ -986,24 +1048,9 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         return receiptListResponses;
     }
 
-    private List<PIICategoryValidity> getPIICategoriesFromServices(List<ReceiptService> receiptServices) {
-
-        List<PIICategoryValidity> piiCategoryValidityMap = new ArrayList<>();
-        for (ReceiptService receiptService : receiptServices) {
-
-            List<ConsentPurpose> purposes = receiptService.getPurposes();
-
-            for (ConsentPurpose purpose : purposes) {
-                piiCategoryValidityMap.addAll(piiCategoryValidityMap.size(), purpose.getPiiCategory());
-            }
-        }
-        return piiCategoryValidityMap;
-    }
-
-    private List<ClaimMetaData> getRequestedClaimsFromReceipt(Receipt receipt, boolean isConsented) {
+    private List<ClaimMetaData> getRequestedClaimsFromReceipt(ConsentReceiptCacheEntry receipt, boolean isConsented) {
 
-        List<ReceiptService> services = receipt.getServices();
-        List<PIICategoryValidity> piiCategories = getPIICategoriesFromServices(services);
+        List<PIICategoryValidity> piiCategories = receipt.getPiiCategories();
         if (isConsented) {
             piiCategories.removeIf(piiCategoryValidity -> !piiCategoryValidity.isConsented());
         } else {
@@ -1013,7 +1060,7 @@ public class SSOConsentServiceImpl implements SSOConsentService {
         if (isDebugEnabled()) {
             String message = String.format("User: %s has provided consent in receipt: %s for claims: " +
                             claimsFromPIICategoryValidity, receipt.getPiiPrincipalId(),
-                    receipt.getConsentReceiptId());
+                    receipt.getReceiptId());
             logDebug(message);
         }
         return claimsFromPIICategoryValidity;
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceComponent;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.util.IdentityConfigKey;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.ADAPTIVE_AUTH_SUSPEND_ON_LONG_WAIT;
+
+/**
+ * Suspends requests that wait on an adaptive authentication long wait using servlet async processing, so that the
+ * container thread is released while the external call is in progress.
+ * Only requests to the common authentication endpoint are suspended. The suspended request is dispatched again to
+ * the common authentication endpoint with its session data key when the external call returns or the long wait times
+ * out, and the long wait is continued from the dispatched request in the same way as a request returning from the
+ * wait page.
+ */
+public class AsyncLongWaitHandler {
+
+    private static final Log log = LogFactory.getLog(AsyncLongWaitHandler.class);
+    private static final String RESUMED_AT = "AdaptiveAuthLongWaitResumedAt";
+    private static final IdentityConfigKey<Boolean> SUSPEND_ON_LONG_WAIT =
+            IdentityConfigKey.booleanKey(ADAPTIVE_AUTH_SUSPEND_ON_LONG_WAIT, false);
+    private static final AsyncLongWaitHandler INSTANCE = new AsyncLongWaitHandler();
+
+    private final AtomicInteger suspendedRequests = new AtomicInteger();
+    private final LongAdder totalSuspendedRequests = new LongAdder();
+    private final LongAdder resumedRequests = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+    private final LongAdder resumeLatencyTotalNanos = new LongAdder();
+    private final LongAdder resumeLatencyCount = new LongAdder();
+    private final AtomicLong maxResumeLatencyNanos = new AtomicLong();
+
+    public static AsyncLongWaitHandler getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether suspending long wait requests is enabled and the wait page prompt is disabled.
+     *
+     * @return true if long wait requests are suspended when possible.
+     */
+    public boolean isSuspendEnabled() {
+
+        return SUSPEND_ON_LONG_WAIT.getValue() && !FrameworkUtils.promptOnLongWait();
+    }
+
+    /**
+     * Checks whether the given request can be suspended during a long wait. Suspending is used only when it is
+     * enabled, the request was sent to the common authentication endpoint, and the container supports async
+     * processing for the request.
+     *
+     * @param request Http servlet request.
+     * @return true if the request can be suspended.
+     */
+    public boolean canSuspend(HttpServletRequest request) {
+
+        return isSuspendEnabled() && isCommonAuthRequest(request) && request.isAsyncSupported()
+                && !request.isAsyncStarted();
+    }
+
+    /**
+     * Suspends the request until the returned handle is resumed or the timeout elapses.
+     *
+     * @param request     Http servlet request.
+     * @param context     Authentication context of the request.
+     * @param waitTimeout Long wait timeout in milliseconds.
+     * @return Handle to resume the suspended request.
+     */
+    public SuspendedRequest suspend(HttpServletRequest request, AuthenticationContext context, long waitTimeout) {
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(waitTimeout);
+        SuspendedRequest suspendedRequest = new SuspendedRequest(asyncContext, context.getContextIdentifier());
+        asyncContext.addListener(new AsyncListener() {
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+
+                suspendedRequest.release();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Long wait timed out for session data key: " + suspendedRequest.contextIdentifier);
+                }
+                suspendedRequest.resume(true);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+
+                log.error("Error while the long wait request was suspended for session data key: " +
+                        suspendedRequest.contextIdentifier, event.getThrowable());
+                suspendedRequest.release();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+
+            }
+        });
+        suspendedRequests.incrementAndGet();
+        totalSuspendedRequests.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Suspended the long wait request for session data key: " + context.getContextIdentifier());
+        }
+        return suspendedRequest;
+    }
+
+    /**
+     * Records the resume latency of a request dispatched after a long wait.
+     *
+     * @param request Http servlet request.
+     */
+    public void recordResumed(HttpServletRequest request) {
+
+        Object resumedAt = request.getAttribute(RESUMED_AT);
+        if (!(resumedAt instanceof Long)) {
+            return;
+        }
+        request.removeAttribute(RESUMED_AT);
+        long latency = System.nanoTime() - (Long) resumedAt;
+        resumeLatencyTotalNanos.add(latency);
+        resumeLatencyCount.increment();
+        maxResumeLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Returns the number of requests currently suspended on a long wait.
+     *
+     * @return Suspended request count.
+     */
+    public int getSuspendedRequestCount() {
+
+        return suspendedRequests.get();
+    }
+
+    public long getTotalSuspendedRequestCount() {
+
+        return totalSuspendedRequests.sum();
+    }
+
+    public long getResumedRequestCount() {
+
+        return resumedRequests.sum();
+    }
+
+    public long getTimedOutRequestCount() {
+
+        return timedOutRequests.sum();
+    }
+
+    /**
+     * Returns the average time between the long wait returning and the dispatched request reaching the framework.
+     *
+     * @return Average resume latency in milliseconds.
+     */
+    public double getAverageResumeLatencyMillis() {
+
+        long count = resumeLatencyCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(resumeLatencyTotalNanos.sum()) / count / 1000;
+    }
+
+    public long getMaxResumeLatencyMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxResumeLatencyNanos.get());
+    }
+
+    private static boolean isCommonAuthRequest(HttpServletRequest request) {
+
+        String requestURI = request.getRequestURI();
+        return requestURI != null && requestURI.endsWith(FrameworkServiceComponent.COMMON_SERVLET_URL);
+    }
+
+    /**
+     * A request suspended on a long wait.
+     */
+    public class SuspendedRequest {
+
+        private final AsyncContext asyncContext;
+        private final String contextIdentifier;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SuspendedRequest(AsyncContext asyncContext, String contextIdentifier) {
+
+            this.asyncContext = asyncContext;
+            this.contextIdentifier = contextIdentifier;
+        }
+
+        /**
+         * Dispatches the suspended request to continue the long wait. Only the first call has an effect.
+         */
+        public void resume() {
+
+            resume(false);
+        }
+
+        /**
+         * Completes the suspended request without continuing the long wait. Used when the long wait could not be
+         * started, so that the response written by the current request is sent.
+         */
+        public void cancel() {
+
+            if (release()) {
+                asyncContext.complete();
+            }
+        }
+
+        private void resume(boolean timedOut) {
+
+            if (!release()) {
+                return;
+            }
+            resumedRequests.increment();
+            if (timedOut) {
+                timedOutRequests.increment();
+            }
+            try {
+                asyncContext.getRequest().setAttribute(RESUMED_AT, System.nanoTime());
+                asyncContext.dispatch(FrameworkUtils.buildURLWithQueryParams(
+                        FrameworkServiceComponent.COMMON_SERVLET_URL,
+                        Collections.singletonMap(FrameworkConstants.SESSION_DATA_KEY, contextIdentifier)));
+            } catch (IllegalStateException | UnsupportedEncodingException e) {
+                log.error("Error while resuming the long wait request for session data key: " +
+                        contextIdentifier, e);
+            }
+        }
+
+        private boolean release() {
+
+            if (released.compareAndSet(false, true)) {
+                suspendedRequests.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.application.common.model.ClaimConfig;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataHandler;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.core.util.IdentityConfigKey;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
@@ -50,7 +51,8 @@ import static org.wso2.carbon.identity.core.util.IdentityUtil.getLocalGroupsClai
 public class DefaultSequenceHandlerUtils {
 
     private static Log log = LogFactory.getLog(DefaultSequenceHandlerUtils.class);
-    private static final String SEND_ONLY_SP_MAPPED_ROLES = "SPRoleManagement.ReturnOnlyMappedLocalRoles";
+    private static final IdentityConfigKey<Boolean> SEND_ONLY_SP_MAPPED_ROLES =
+            IdentityConfigKey.booleanKey("SPRoleManagement.ReturnOnlyMappedLocalRoles", false);
     private DefaultSequenceHandlerUtils() {
     }
 
@@ -64,7 +66,7 @@ public class DefaultSequenceHandlerUtils {
         }
 
         // SP role mapped role values joined by Multi Attribute Separator.
-        boolean returnOnlyMappedLocalRoles = Boolean.parseBoolean(IdentityUtil.getProperty(SEND_ONLY_SP_MAPPED_ROLES));
+        boolean returnOnlyMappedLocalRoles = SEND_ONLY_SP_MAPPED_ROLES.getValue();
 
         String spMappedRoles = null;
         if (CollectionUtils.isNotEmpty(locallyMappedUserRoles)) {
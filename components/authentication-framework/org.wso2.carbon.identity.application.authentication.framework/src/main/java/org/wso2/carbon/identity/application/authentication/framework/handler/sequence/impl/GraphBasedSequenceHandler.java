@@ -55,8 +55,8 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.application.mgt.ApplicationConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LogConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.identity.core.util.IdentityConfigKey;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.io.IOException;
@@ -91,6 +91,8 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
     private static final String PROMPT_DEFAULT_ACTION = "Success";
     private static final String PROMPT_ACTION_PREFIX = "action.";
     private static final String RESPONSE_HANDLED_BY_FRAMEWORK = "hasResponseHandledByFramework";
+    private static final IdentityConfigKey<Integer> LONG_WAIT_TIMEOUT =
+            IdentityConfigKey.intKey(ADAPTIVE_AUTH_LONG_WAIT_TIMEOUT, 10000);
     public static final String SKIPPED_CALLBACK_NAME = "onSkip";
     public static final String STEP_IDENTIFIER_PARAM = "step";
 
@@ -618,6 +620,7 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
             }
         } else {
             context.setReturning(false);
+            AsyncLongWaitHandler.getInstance().recordResumed(request);
             // This is a continuation of long wait
             isWaiting = LongWaitStatus.Status.COMPLETED != longWaitStatus.getStatus();
             log.info("This is a continuation of long wait process: " + context.getContextIdentifier() +
@@ -686,6 +689,13 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
         }
         AsyncCaller caller = asyncProcess.getAsyncCaller();
 
+        // Release the container thread instead of blocking it, when the request can be suspended.
+        AsyncLongWaitHandler.SuspendedRequest suspendedRequest = null;
+        if (caller != null && AsyncLongWaitHandler.getInstance().canSuspend(request)) {
+            suspendedRequest = AsyncLongWaitHandler.getInstance().suspend(request, context, getLongWaitTimeout());
+        }
+        AsyncLongWaitHandler.SuspendedRequest suspended = suspendedRequest;
+
         AsyncReturn asyncReturn = rethrowTriConsumer((authenticationContext, data, result) -> {
             log.info("For session data key: " + context.getContextIdentifier() + " asyncReturn.accept() has been" +
                     " set by the async process flow of the custom function.");
@@ -694,7 +704,9 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
             authenticationContext.setProperty(
                     FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_DATA, data);
 
-            if (!promptOnLongWait()) {
+            if (suspended != null) {
+                suspended.resume();
+            } else if (!promptOnLongWait()) {
                 synchronized (context) {
                     context.notify();
                 }
@@ -702,7 +714,19 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
         });
 
         if (caller != null) {
-            FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor().exec(caller, asyncReturn, context);
+            try {
+                FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor().exec(caller, asyncReturn,
+                        context);
+            } catch (FrameworkException e) {
+                if (suspended != null) {
+                    suspended.cancel();
+                }
+                throw e;
+            }
+            if (suspended != null) {
+                request.setAttribute(FrameworkConstants.RequestParams.FLOW_STATUS, AuthenticatorFlowStatus.INCOMPLETE);
+                return true;
+            }
             if (!promptOnLongWait()) {
                 int waitTimeout = getLongWaitTimeout();
                 synchronized (context) {
@@ -723,17 +747,7 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
 
     private int getLongWaitTimeout() {
 
-        String waitTimeoutPropValue = IdentityUtil.getProperty(ADAPTIVE_AUTH_LONG_WAIT_TIMEOUT);
-        int waitTimeout = 10000;
-        try {
-            if (waitTimeoutPropValue != null) {
-                waitTimeout = Integer.parseInt(waitTimeoutPropValue);
-            }
-        } catch (NumberFormatException e) {
-            //ignore. Default value will be used.
-            log.warn("Error while reading the wait timeout. Default value of 10 seconds will be used. ", e);
-        }
-        return waitTimeout;
+        return LONG_WAIT_TIMEOUT.getValue();
     }
 
     private void handleDecisionPoint(HttpServletRequest request, HttpServletResponse response,
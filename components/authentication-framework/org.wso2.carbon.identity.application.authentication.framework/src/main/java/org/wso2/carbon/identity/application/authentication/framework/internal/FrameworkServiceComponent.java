@@ -60,6 +60,7 @@ import org.wso2.carbon.identity.application.authentication.framework.handler.cla
 import org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl.DefaultClaimFilter;
 import org.wso2.carbon.identity.application.authentication.framework.handler.provisioning.listener.JITProvisioningIdentityProviderMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthenticationHandler;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnPrefetchExecutor;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.JITProvisioningPostAuthenticationHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.PostAuthAssociationHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.PostAuthenticatedSubjectIdentifierHandler;
@@ -67,6 +68,7 @@ import org.wso2.carbon.identity.application.authentication.framework.handler.req
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.ConsentMgtPostAuthnHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.SSOConsentService;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.SSOConsentServiceImpl;
+import org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl.AsyncLongWaitHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl.AsyncSequenceExecutor;
 import org.wso2.carbon.identity.application.authentication.framework.inbound.FrameworkLoginResponseFactory;
 import org.wso2.carbon.identity.application.authentication.framework.inbound.FrameworkLogoutResponseFactory;
@@ -77,6 +79,7 @@ import org.wso2.carbon.identity.application.authentication.framework.inbound.Ide
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.AuthenticationMethodNameTranslatorImpl;
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.ServerSessionManagementServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.UserSessionManagementServiceImpl;
+import org.wso2.carbon.identity.application.authentication.framework.listener.AdaptiveScriptCacheAppMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.listener.AuthenticationEndpointTenantActivityListener;
 import org.wso2.carbon.identity.application.authentication.framework.listener.SessionContextMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.services.PostAuthenticationMgtService;
@@ -86,6 +89,7 @@ import org.wso2.carbon.identity.application.authentication.framework.servlet.Lon
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.processor.SessionExtenderProcessor;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.request.SessionExtenderRequestFactory;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.response.SessionExtenderResponseFactory;
+import org.wso2.carbon.identity.application.authentication.framework.store.CompactSessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.store.JavaSessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
 import org.wso2.carbon.identity.application.authentication.framework.store.PushedAuthDataStore;
@@ -99,6 +103,7 @@ import org.wso2.carbon.identity.application.common.model.LocalAuthenticatorConfi
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticatorConfig;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.base.AuthenticatorPropertyConstants.DefinedByType;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
@@ -122,7 +127,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.List;
 
 import javax.servlet.Servlet;
@@ -145,6 +152,9 @@ public class FrameworkServiceComponent {
     private static final String IDENTITY_SERVLET_URL = "/identity";
     private static final String LOGIN_CONTEXT_SERVLET_URL = "/logincontext";
     private static final String LONGWAITSTATUS_SERVLET_URL = "/longwaitstatus";
+    private static final String HTTP_SERVICE_RUNTIME = "org.osgi.service.http.runtime.HttpServiceRuntime";
+    private static final String HTTP_WHITEBOARD_SERVLET_PATTERN = "osgi.http.whiteboard.servlet.pattern";
+    private static final String HTTP_WHITEBOARD_SERVLET_ASYNC_SUPPORTED = "osgi.http.whiteboard.servlet.asyncSupported";
     private static final Log log = LogFactory.getLog(FrameworkServiceComponent.class);
     private static final String API_AUTH = "APIAuth";
 
@@ -251,7 +261,7 @@ public class FrameworkServiceComponent {
         Servlet loginContextServlet = new ContextPathServletAdaptor(new LoginContextServlet(),
                 LOGIN_CONTEXT_SERVLET_URL);
         try {
-            httpService.registerServlet(COMMON_SERVLET_URL, commonAuthServlet, null, null);
+            registerCommonAuthServlet(bundleContext, commonAuthServlet);
             httpService.registerServlet(IDENTITY_SERVLET_URL, identityServlet, null, null);
             httpService.registerServlet(LOGIN_CONTEXT_SERVLET_URL, loginContextServlet, null, null);
         } catch (Exception e) {
@@ -307,6 +317,8 @@ public class FrameworkServiceComponent {
         bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
                 jitProvisioningIDPMgtListener, null);
         bundleContext.registerService(ClaimFilter.class.getName(), new DefaultClaimFilter(), null);
+        bundleContext.registerService(ApplicationMgtListener.class.getName(),
+                new AdaptiveScriptCacheAppMgtListener(), null);
 
         // This is done to load SessionDataStore and PushedAuthDataStore classes and start the cleanup tasks.
         SessionDataStore.getInstance();
@@ -362,7 +374,7 @@ public class FrameworkServiceComponent {
         FrameworkServiceDataHolder.getInstance().setUserSessionMappingEnabled(FrameworkUtils
                 .isUserSessionMappingEnabled());
         if (FrameworkServiceDataHolder.getInstance().getSessionSerializer() == null) {
-            FrameworkServiceDataHolder.getInstance().setSessionSerializer(new JavaSessionSerializer());
+            FrameworkServiceDataHolder.getInstance().setSessionSerializer(getDefaultSessionSerializer());
         }
 
         // Set skip local user search for authentication flow handlers enabled.
@@ -375,6 +387,26 @@ public class FrameworkServiceComponent {
         // to make sure the server doesn't start up if any activation failures
     }
 
+    private SessionSerializer getDefaultSessionSerializer() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(
+                "JDBCPersistenceManager.SessionDataPersist.CompactSerializer.Enable"))) {
+            return new JavaSessionSerializer();
+        }
+
+        String compressionThresholdString = IdentityUtil.getProperty(
+                "JDBCPersistenceManager.SessionDataPersist.CompactSerializer.CompressionThreshold");
+        if (StringUtils.isNotBlank(compressionThresholdString)) {
+            try {
+                return new CompactSessionSerializer(Integer.parseInt(compressionThresholdString));
+            } catch (NumberFormatException e) {
+                log.error("Error while parsing compact session serializer compression threshold config: "
+                        + compressionThresholdString + ", using the default value.", e);
+            }
+        }
+        return new CompactSessionSerializer();
+    }
+
     private void setAdaptiveAuthExecutionSupervisor() {
 
         String isEnabled = IdentityUtil.getProperty(
@@ -426,6 +458,27 @@ public class FrameworkServiceComponent {
                 .setJsExecutionSupervisor(new JSExecutionSupervisor(threadCount, timeoutInMillis, memoryLimitInBytes));
     }
 
+    /**
+     * Register the common authentication servlet. When long wait requests are suspended, the servlet is registered
+     * through the HTTP whiteboard with async support, as servlets registered through the HttpService cannot start
+     * async processing.
+     */
+    private void registerCommonAuthServlet(BundleContext bundleContext, Servlet commonAuthServlet) throws Exception {
+
+        if (AsyncLongWaitHandler.getInstance().isSuspendEnabled()) {
+            if (bundleContext.getServiceReference(HTTP_SERVICE_RUNTIME) != null) {
+                Dictionary<String, Object> properties = new Hashtable<>();
+                properties.put(HTTP_WHITEBOARD_SERVLET_PATTERN, COMMON_SERVLET_URL);
+                properties.put(HTTP_WHITEBOARD_SERVLET_ASYNC_SUPPORTED, Boolean.TRUE);
+                bundleContext.registerService(Servlet.class, commonAuthServlet, properties);
+                return;
+            }
+            log.warn("HTTP whiteboard is not available to register " + COMMON_SERVLET_URL + " with async support. " +
+                    "Long wait requests will wait in the container thread.");
+        }
+        httpService.registerServlet(COMMON_SERVLET_URL, commonAuthServlet, null, null);
+    }
+
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
 
@@ -438,6 +491,7 @@ public class FrameworkServiceComponent {
         if (FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor() != null) {
             FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor().shutdown();
         }
+        PostAuthnPrefetchExecutor.getInstance().shutdown();
     }
 
     @Reference(
@@ -572,7 +626,7 @@ public class FrameworkServiceComponent {
 
     protected void unsetSessionSerializer(SessionSerializer sessionSerializer) {
 
-        FrameworkServiceDataHolder.getInstance().setSessionSerializer(new JavaSessionSerializer());
+        FrameworkServiceDataHolder.getInstance().setSessionSerializer(getDefaultSessionSerializer());
 
         if (log.isDebugEnabled()) {
             log.debug("Removed session serializer.");
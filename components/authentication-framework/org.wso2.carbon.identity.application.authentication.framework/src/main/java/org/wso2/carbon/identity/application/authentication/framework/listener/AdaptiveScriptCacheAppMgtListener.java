@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.listener;
+
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AdaptiveScriptCache;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
+
+/**
+ * Drops the compiled adaptive authentication scripts of an application when the application is updated or deleted.
+ */
+public class AdaptiveScriptCacheAppMgtListener extends AbstractApplicationMgtListener {
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 20;
+    }
+
+    @Override
+    public boolean doPostUpdateApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        invalidate(serviceProvider, tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        invalidate(serviceProvider, tenantDomain);
+        return true;
+    }
+
+    private void invalidate(ServiceProvider serviceProvider, String tenantDomain) {
+
+        if (serviceProvider == null) {
+            return;
+        }
+        AdaptiveScriptCache.invalidateApplication(tenantDomain, serviceProvider.getApplicationResourceId());
+        AdaptiveScriptCache.invalidateApplication(tenantDomain, serviceProvider.getApplicationName());
+    }
+}
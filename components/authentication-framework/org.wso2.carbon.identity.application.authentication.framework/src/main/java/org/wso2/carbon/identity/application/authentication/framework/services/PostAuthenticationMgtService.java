@@ -27,13 +27,18 @@ import org.wso2.carbon.identity.application.authentication.framework.exception.F
 import org.wso2.carbon.identity.application.authentication.framework.exception.PostAuthenticationFailedException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthenticationHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnHandlerFlowStatus;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnPrefetch;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.PostAuthnPrefetchExecutor;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.application.authentication.framework.util.LoginContextManagementUtil;
+import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
@@ -78,13 +83,24 @@ public class PostAuthenticationMgtService {
             // Need to set this before a handler does redirect. If a handler redirects there is no point in setting
             // cookie afterwards because the response is committed.
             setPASTRCookie(authenticationContext, request, response);
-            for (; currentPostHandlerIndex < postAuthenticationHandlers.size(); currentPostHandlerIndex++) {
-                PostAuthenticationHandler currentHandler = postAuthenticationHandlers.get(currentPostHandlerIndex);
-                if (executePostAuthnHandler(request, response, authenticationContext, currentHandler)) {
-                    request.setAttribute(FrameworkConstants.RequestParams.FLOW_STATUS,
-                            AuthenticatorFlowStatus.INCOMPLETE);
-                    return;
+            PostAuthnPrefetchExecutor prefetchExecutor = PostAuthnPrefetchExecutor.getInstance();
+            prefetchExecutor.startPrefetches(request, authenticationContext, postAuthenticationHandlers,
+                    currentPostHandlerIndex);
+            try {
+                for (; currentPostHandlerIndex < postAuthenticationHandlers.size(); currentPostHandlerIndex++) {
+                    PostAuthenticationHandler currentHandler = postAuthenticationHandlers.get(currentPostHandlerIndex);
+                    if (executePostAuthnHandler(request, response, authenticationContext, currentHandler)) {
+                        request.setAttribute(FrameworkConstants.RequestParams.FLOW_STATUS,
+                                AuthenticatorFlowStatus.INCOMPLETE);
+                        return;
+                    }
+                    if (currentHandler.isEnabled()) {
+                        prefetchExecutor.discardPrefetches(request,
+                                currentHandler.getModifiedDataTypes(authenticationContext));
+                    }
                 }
+            } finally {
+                prefetchExecutor.cancelPrefetches(request);
             }
 
             endPostAuthenticationHandlerFlow(authenticationContext, request, response);
@@ -114,7 +130,10 @@ public class PostAuthenticationMgtService {
                         currentHandler.getName() + " is enabled. Hence executing for context : " + authenticationContext
                                 .getContextIdentifier());
             }
+            long startTime = System.nanoTime();
             PostAuthnHandlerFlowStatus flowStatus = currentHandler.handle(request, response, authenticationContext);
+            logPostAuthnHandlerExecution(request, authenticationContext, currentHandler, flowStatus,
+                    System.nanoTime() - startTime);
             if (log.isDebugEnabled()) {
                 log.debug("Post authentication handler " + currentHandler.getName() + " returned with status : "
                         + flowStatus + " for context identifier : " + authenticationContext.getContextIdentifier());
@@ -147,6 +166,38 @@ public class PostAuthenticationMgtService {
         return false;
     }
 
+    private void logPostAuthnHandlerExecution(HttpServletRequest request, AuthenticationContext authenticationContext,
+                                              PostAuthenticationHandler handler, PostAuthnHandlerFlowStatus flowStatus,
+                                              long handlingTimeNanos) {
+
+        long handlingTimeMillis = TimeUnit.NANOSECONDS.toMillis(handlingTimeNanos);
+        PostAuthnPrefetch prefetch = PostAuthnPrefetchExecutor.getInstance().getPrefetch(request, handler.getName());
+        if (log.isDebugEnabled()) {
+            log.debug("Post authentication handler " + handler.getName() + " took " + handlingTimeMillis + " ms" +
+                    (prefetch != null ? ", with a prefetch of " + prefetch.getPrefetchTimeMillis() + " ms" +
+                            (prefetch.isUsed() ? "" : " that was not used") : "") +
+                    " for context : " + authenticationContext.getContextIdentifier());
+        }
+        if (LoggerUtils.isDiagnosticLogsEnabled()) {
+            DiagnosticLog.DiagnosticLogBuilder diagnosticLogBuilder = new DiagnosticLog.DiagnosticLogBuilder(
+                    FrameworkConstants.LogConstants.AUTHENTICATION_FRAMEWORK,
+                    FrameworkConstants.LogConstants.ActionIDs.EXECUTE_POST_AUTHN_HANDLER);
+            diagnosticLogBuilder.inputParam(FrameworkConstants.LogConstants.POST_AUTHN_HANDLER, handler.getName())
+                    .inputParam(FrameworkConstants.LogConstants.HANDLING_TIME, handlingTimeMillis)
+                    .inputParam(FrameworkConstants.LogConstants.CONTEXT_ID,
+                            authenticationContext.getContextIdentifier())
+                    .resultMessage("Post authentication handler returned with status: " + flowStatus)
+                    .resultStatus(DiagnosticLog.ResultStatus.SUCCESS)
+                    .logDetailLevel(DiagnosticLog.LogDetailLevel.INTERNAL_SYSTEM);
+            if (prefetch != null) {
+                diagnosticLogBuilder.inputParam(FrameworkConstants.LogConstants.PREFETCH_TIME,
+                                prefetch.getPrefetchTimeMillis())
+                        .inputParam(FrameworkConstants.LogConstants.PREFETCHED_DATA_USED, prefetch.isUsed());
+            }
+            LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+        }
+    }
+
     private boolean isExecutionFinished(PostAuthnHandlerFlowStatus flowStatus) {
 
         return PostAuthnHandlerFlowStatus.SUCCESS_COMPLETED.equals(flowStatus)
@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationRequestCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ExternalIdPConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthHistory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionAuthHistory;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticationRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Session serializer which writes a compact binary format and compresses large payloads.
+ * <p>
+ * The object graph is written with Java serialization, but the class descriptors of registered classes are written
+ * with a fixed size class identifier in place of the class name, and the type names of their fields are written once
+ * per stream. Class descriptors make up a large part of a serialized authentication context, so this reduces both the
+ * size of the stored blob and the time spent on decoding it. Classes which are not registered are written with their
+ * full class descriptor.
+ * <p>
+ * The field layout of a registered class is still part of the stream. When it matches the local class, the local
+ * class descriptor is used as is. Otherwise the value is read with the usual rules of Java serialization for
+ * compatible class changes, so values written before a field was added to a class, or by a node which runs another
+ * version of the class, are still read.
+ * <p>
+ * Each serialized value starts with a header byte which identifies the format. Values written by
+ * {@link JavaSessionSerializer} start with the Java serialization stream magic and are still read, so the serializer
+ * can be enabled on a node with existing session data. The reverse is not true: values written by this serializer
+ * cannot be read by {@link JavaSessionSerializer}.
+ * <p>
+ * All the nodes sharing a session data store must register the same set of classes.
+ */
+public class CompactSessionSerializer implements SessionSerializer {
+
+    private static final Log log = LogFactory.getLog(CompactSessionSerializer.class);
+
+    static final byte HEADER_COMPACT = 0x01;
+    static final byte HEADER_COMPACT_DEFLATED = 0x02;
+    private static final int JAVA_STREAM_MAGIC_FIRST_BYTE = 0xAC;
+    private static final byte REGISTERED_CLASS = 0x01;
+    private static final byte UNREGISTERED_CLASS = 0x00;
+    private static final byte NEW_TYPE_NAME = 0x00;
+    private static final byte TYPE_NAME_REFERENCE = 0x01;
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 4096;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private final Map<Integer, RegisteredClass> registeredClassesById = new ConcurrentHashMap<>();
+    private final Map<Class<?>, RegisteredClass> registeredClasses = new ConcurrentHashMap<>();
+    private final int compressionThreshold;
+
+    public CompactSessionSerializer() {
+
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * Create a compact session serializer.
+     *
+     * @param compressionThreshold Serialized size in bytes above which the payload is compressed. A negative value
+     *                             disables compression.
+     */
+    public CompactSessionSerializer(int compressionThreshold) {
+
+        this.compressionThreshold = compressionThreshold;
+        registerDefaultClasses();
+    }
+
+    /**
+     * Register a class, so that it is written with a class identifier instead of its full class descriptor.
+     * The identifier is derived from the class name, so the registration order does not matter.
+     *
+     * @param clazz Serializable class.
+     */
+    public void registerClass(Class<?> clazz) {
+
+        if (!Serializable.class.isAssignableFrom(clazz)) {
+            throw new IllegalArgumentException("Class: " + clazz.getName() + " is not serializable.");
+        }
+        RegisteredClass registeredClass = new RegisteredClass(clazz);
+        RegisteredClass existingClass = registeredClassesById.putIfAbsent(registeredClass.classId, registeredClass);
+        if (existingClass != null && existingClass.clazz != clazz) {
+            throw new IllegalArgumentException("Class: " + clazz.getName() + " has the same identifier as the " +
+                    "registered class: " + existingClass.clazz.getName());
+        }
+        if (existingClass == null) {
+            registeredClasses.put(clazz, registeredClass);
+        }
+    }
+
+    @Override
+    public InputStream serializeSessionObject(Object value) throws SessionSerializerException {
+
+        try {
+            ExposedByteArrayOutputStream serialized = new ExposedByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+            serialized.write(HEADER_COMPACT);
+            try (ObjectOutputStream oos = new CompactObjectOutputStream(serialized)) {
+                oos.writeObject(value);
+            }
+            if (compressionThreshold < 0 || serialized.size() <= compressionThreshold) {
+                return serialized.toInputStream();
+            }
+
+            ExposedByteArrayOutputStream compressed = new ExposedByteArrayOutputStream(serialized.size() / 2);
+            compressed.write(HEADER_COMPACT_DEFLATED);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream dos = new DeflaterOutputStream(compressed, deflater)) {
+                serialized.writeTo(dos, 1);
+            } finally {
+                deflater.end();
+            }
+            return compressed.toInputStream();
+        } catch (IOException e) {
+            throw new SessionSerializerException("Error while serializing the session object", e);
+        }
+    }
+
+    @Override
+    public Object deSerializeSessionObject(InputStream inputStream) throws SessionSerializerException {
+
+        try {
+            PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 1);
+            int header = pushbackInputStream.read();
+            if (header == HEADER_COMPACT) {
+                return new CompactObjectInputStream(pushbackInputStream).readObject();
+            } else if (header == HEADER_COMPACT_DEFLATED) {
+                try (InflaterInputStream iis = new InflaterInputStream(pushbackInputStream)) {
+                    return new CompactObjectInputStream(iis).readObject();
+                }
+            } else if (header == JAVA_STREAM_MAGIC_FIRST_BYTE) {
+                // Value written by the JavaSessionSerializer.
+                pushbackInputStream.unread(header);
+                return new ObjectInputStream(pushbackInputStream).readObject();
+            }
+            throw new SessionSerializerException("Unknown session object format header: " + header, null);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SessionSerializerException("Error while de serializing the session object", e);
+        }
+    }
+
+    private void registerDefaultClasses() {
+
+        registerClass(AuthenticationContextCacheEntry.class);
+        registerClass(AuthenticationRequestCacheEntry.class);
+        registerClass(SessionContextCacheEntry.class);
+        registerClass(AuthenticationContext.class);
+        registerClass(SessionContext.class);
+        registerClass(SessionAuthHistory.class);
+        registerClass(AuthHistory.class);
+        registerClass(SequenceConfig.class);
+        registerClass(StepConfig.class);
+        registerClass(AuthenticatorConfig.class);
+        registerClass(ApplicationConfig.class);
+        registerClass(ExternalIdPConfig.class);
+        registerClass(AuthenticatedUser.class);
+        registerClass(AuthenticatedIdPData.class);
+        registerClass(AuthenticationRequest.class);
+        registerClass(String.class);
+        registerClass(String[].class);
+        registerClass(Boolean.class);
+        registerClass(Integer.class);
+        registerClass(Long.class);
+        registerClass(HashMap.class);
+        registerClass(LinkedHashMap.class);
+        registerClass(ConcurrentHashMap.class);
+        registerClass(ArrayList.class);
+        registerClass(HashSet.class);
+        registerClass(LinkedHashSet.class);
+    }
+
+    /**
+     * Object output stream which writes registered class descriptors as class identifiers.
+     */
+    private class CompactObjectOutputStream extends ObjectOutputStream {
+
+        private final Map<String, Integer> typeNames = new HashMap<>();
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() {
+
+            // The format is identified by the header byte written before the stream.
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+
+            Class<?> clazz = desc.forClass();
+            RegisteredClass registeredClass = clazz == null ? null : registeredClasses.get(clazz);
+            if (registeredClass == null) {
+                writeByte(UNREGISTERED_CLASS);
+                super.writeClassDescriptor(desc);
+                return;
+            }
+            writeByte(REGISTERED_CLASS);
+            writeInt(registeredClass.classId);
+            writeLong(registeredClass.descriptor.getSerialVersionUID());
+            writeByte(registeredClass.flags);
+            writeShort(registeredClass.fields.length);
+            for (ObjectStreamField field : registeredClass.fields) {
+                writeByte(field.getTypeCode());
+                writeUTF(field.getName());
+                if (!field.isPrimitive()) {
+                    writeTypeName(field.getTypeString());
+                }
+            }
+        }
+
+        private void writeTypeName(String typeName) throws IOException {
+
+            Integer reference = typeNames.get(typeName);
+            if (reference != null) {
+                writeByte(TYPE_NAME_REFERENCE);
+                writeInt(reference);
+                return;
+            }
+            writeByte(NEW_TYPE_NAME);
+            writeUTF(typeName);
+            typeNames.put(typeName, typeNames.size());
+        }
+    }
+
+    /**
+     * Object input stream which resolves class identifiers written by {@link CompactObjectOutputStream}.
+     */
+    private class CompactObjectInputStream extends ObjectInputStream {
+
+        private final List<String> typeNames = new ArrayList<>();
+
+        CompactObjectInputStream(InputStream in) throws IOException {
+
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() {
+
+            // The format is identified by the header byte read before the stream.
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+
+            if (readByte() == UNREGISTERED_CLASS) {
+                return super.readClassDescriptor();
+            }
+            int classId = readInt();
+            RegisteredClass registeredClass = registeredClassesById.get(classId);
+            if (registeredClass == null) {
+                throw new InvalidClassException("No registered class found for the class identifier: " + classId);
+            }
+            long serialVersionUID = readLong();
+            byte flags = readByte();
+            StreamField[] fields = new StreamField[readUnsignedShort()];
+            for (int i = 0; i < fields.length; i++) {
+                char typeCode = (char) readUnsignedByte();
+                String name = readUTF();
+                String typeName = typeCode == '[' || typeCode == 'L' ? readTypeName() : null;
+                fields[i] = new StreamField(typeCode, name, typeName);
+            }
+            if (registeredClass.hasLayout(serialVersionUID, flags, fields)) {
+                return registeredClass.descriptor;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Field layout of the class: " + registeredClass.clazz.getName() + " in the stream differs " +
+                        "from the local class. Reading it as a compatible class change.");
+            }
+            return registeredClass.readStreamDescriptor(serialVersionUID, flags, fields);
+        }
+
+        private String readTypeName() throws IOException {
+
+            byte kind = readByte();
+            if (kind == TYPE_NAME_REFERENCE) {
+                int reference = readInt();
+                if (reference < 0 || reference >= typeNames.size()) {
+                    throw new InvalidClassException("Invalid field type name reference: " + reference);
+                }
+                return typeNames.get(reference);
+            }
+            String typeName = readUTF();
+            typeNames.add(typeName);
+            return typeName;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+
+            Class<?> clazz = desc.forClass();
+            if (clazz != null) {
+                return clazz;
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    /**
+     * Registered class with its identifier and local class descriptor.
+     */
+    private static final class RegisteredClass {
+
+        private final Class<?> clazz;
+        private final int classId;
+        private final ObjectStreamClass descriptor;
+        private final ObjectStreamField[] fields;
+        private final byte flags;
+
+        RegisteredClass(Class<?> clazz) {
+
+            this.clazz = clazz;
+            this.classId = clazz.getName().hashCode();
+            this.descriptor = ObjectStreamClass.lookup(clazz);
+            this.fields = descriptor.getFields();
+            this.flags = readFlags(descriptor);
+        }
+
+        boolean hasLayout(long serialVersionUID, byte streamFlags, StreamField[] streamFields) {
+
+            if (serialVersionUID != descriptor.getSerialVersionUID() || streamFlags != flags ||
+                    streamFields.length != fields.length) {
+                return false;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                if (!streamFields[i].matches(fields[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Build the class descriptor of the field layout in the stream, the same way Java serialization reads a
+         * class descriptor, so that the fields are matched with the local class by name.
+         */
+        ObjectStreamClass readStreamDescriptor(long serialVersionUID, byte streamFlags, StreamField[] streamFields)
+                throws IOException, ClassNotFoundException {
+
+            ByteArrayOutputStream descriptorBytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(descriptorBytes)) {
+                out.writeShort(ObjectStreamConstants.STREAM_MAGIC);
+                out.writeShort(ObjectStreamConstants.STREAM_VERSION);
+                out.writeByte(ObjectStreamConstants.TC_CLASSDESC);
+                out.writeUTF(clazz.getName());
+                out.writeLong(serialVersionUID);
+                out.writeByte(streamFlags);
+                out.writeShort(streamFields.length);
+                for (StreamField field : streamFields) {
+                    out.writeByte(field.typeCode);
+                    out.writeUTF(field.name);
+                    if (field.typeName != null) {
+                        out.writeByte(ObjectStreamConstants.TC_STRING);
+                        out.writeUTF(field.typeName);
+                    }
+                }
+                out.writeByte(ObjectStreamConstants.TC_ENDBLOCKDATA);
+                out.writeByte(ObjectStreamConstants.TC_NULL);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(
+                    new ByteArrayInputStream(descriptorBytes.toByteArray())) {
+
+                @Override
+                protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+
+                    return clazz.getName().equals(desc.getName()) ? clazz : super.resolveClass(desc);
+                }
+            }) {
+                return (ObjectStreamClass) in.readObject();
+            }
+        }
+
+        private static byte readFlags(ObjectStreamClass descriptor) {
+
+            // The flags are not exposed by ObjectStreamClass, hence they are read from its serialized form.
+            try {
+                ByteArrayOutputStream descriptorBytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(descriptorBytes)) {
+                    out.writeObject(descriptor);
+                }
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(descriptorBytes.toByteArray()));
+                in.readInt();
+                in.readByte();
+                in.readUTF();
+                in.readLong();
+                return in.readByte();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Error while reading the class descriptor of the class: " +
+                        descriptor.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Field of a registered class as written in the stream.
+     */
+    private static final class StreamField {
+
+        private final char typeCode;
+        private final String name;
+        private final String typeName;
+
+        StreamField(char typeCode, String name, String typeName) {
+
+            this.typeCode = typeCode;
+            this.name = name;
+            this.typeName = typeName;
+        }
+
+        boolean matches(ObjectStreamField field) {
+
+            return typeCode == field.getTypeCode() && name.equals(field.getName()) &&
+                    (typeName == null ? field.isPrimitive() : typeName.equals(field.getTypeString()));
+        }
+    }
+
+    /**
+     * Byte array output stream which hands over its buffer without copying it.
+     */
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream(int size) {
+
+            super(Math.max(size, 32));
+        }
+
+        InputStream toInputStream() {
+
+            if (log.isDebugEnabled()) {
+                log.debug("Serialized session object size: " + count + " bytes.");
+            }
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+
+        void writeTo(OutputStream out, int offset) throws IOException {
+
+            out.write(buf, offset, count - offset);
+        }
+    }
+}
@@ -63,6 +63,17 @@ public class SQLQueries {
             "SELECT SESSION_ID FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = '" + SESSION_CONTEXT_CACHE_NAME
                     + "' AND EXPIRY_TIME < ?";
 
+    /**
+     * Queries to page through the expired session IDs in the order of the session ID.
+     */
+    public static final String SQL_SELECT_EXPIRED_SESSION_IDS =
+            "SELECT DISTINCT SESSION_ID FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = '" +
+                    SESSION_CONTEXT_CACHE_NAME + "' AND EXPIRY_TIME < ? ORDER BY SESSION_ID";
+
+    public static final String SQL_SELECT_EXPIRED_SESSION_IDS_AFTER_SESSION_ID =
+            "SELECT DISTINCT SESSION_ID FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = '" +
+                    SESSION_CONTEXT_CACHE_NAME + "' AND EXPIRY_TIME < ? AND SESSION_ID > ? ORDER BY SESSION_ID";
+
     /**
      * Query to retrieve user session mapping.
      */
@@ -166,6 +177,18 @@ public class SQLQueries {
     public static final String SQL_DELETE_TERMINATED_SESSION_DATA =
             "DELETE FROM IDN_AUTH_USER_SESSION_MAPPING WHERE SESSION_ID = ?";
 
+    /**
+     * Queries to remove the records of a set of sessions.
+     */
+    public static final String SQL_DELETE_USER_SESSION_MAPPING_OF_SESSIONS =
+            "DELETE FROM IDN_AUTH_USER_SESSION_MAPPING WHERE SESSION_ID IN (" + SCOPE_LIST_PLACEHOLDER + ")";
+
+    public static final String SQL_DELETE_SESSION_APP_INFO_OF_SESSIONS =
+            "DELETE FROM IDN_AUTH_SESSION_APP_INFO WHERE SESSION_ID IN (" + SCOPE_LIST_PLACEHOLDER + ")";
+
+    public static final String SQL_DELETE_SESSION_META_DATA_OF_SESSIONS =
+            "DELETE FROM IDN_AUTH_SESSION_META_DATA WHERE SESSION_ID IN (" + SCOPE_LIST_PLACEHOLDER + ")";
+
     // Retrieve data for the Application model.
     public static final String SQL_GET_APPS_FOR_SESSION_ID = "SELECT SUBJECT, APP_ID FROM IDN_AUTH_SESSION_APP_INFO " +
             "WHERE SESSION_ID = ?";
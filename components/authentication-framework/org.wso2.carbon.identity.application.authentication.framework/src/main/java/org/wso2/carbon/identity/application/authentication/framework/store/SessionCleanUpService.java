@@ -68,8 +68,13 @@ public final class SessionCleanUpService {
         public void run() {
 
             log.debug("Start running the Session Data cleanup task.");
-            if (FrameworkServiceDataHolder.getInstance().isUserSessionMappingEnabled()) {
-                UserSessionStore.getInstance().removeExpiredSessionRecords();
+            if (FrameworkServiceDataHolder.getInstance().isUserSessionMappingEnabled() &&
+                    !UserSessionStore.getInstance().cleanUpExpiredSessionRecords()) {
+                // The expired session records drive the user session record cleanup. Keep them, so that the next
+                // run can remove the user session records that this run could not remove.
+                log.warn("Skipping the removal of expired session data as the user session records of the " +
+                        "expired sessions could not be removed. The removal is retried in the next run.");
+                return;
             }
 
             SessionDataStore.getInstance().removeExpiredSessionData();
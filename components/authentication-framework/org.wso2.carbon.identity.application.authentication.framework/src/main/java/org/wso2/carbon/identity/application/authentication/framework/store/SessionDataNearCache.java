@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per node, size bounded cache of serialized session data, placed in front of the {@link SessionDataStore}.
+ * <p>
+ * Entries are keyed by the session key and type and hold the serialized session object as read from the session
+ * store, so each hit still returns a fresh copy of the object. The cache is bounded by the total number of bytes it
+ * holds and evicts the least recently used entries first.
+ * <p>
+ * When this node writes a STORE or DELETE operation, the entry is replaced by a fence carrying the operation time.
+ * Rows read from the store which are older than the fence are not cached, so an operation which is still waiting in
+ * the persistence queue is never hidden by an older cached value. The writes of the other nodes reach this node as
+ * invalidations, which place the same fence.
+ */
+public class SessionDataNearCache {
+
+    /**
+     * Name under which the near caches of the cluster exchange invalidations.
+     */
+    public static final String CLUSTER_STORE_NAME = "SessionDataNearCache";
+
+    private static final Log log = LogFactory.getLog(SessionDataNearCache.class);
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final long maxSizeInBytes;
+    private final long timeToLiveNanos;
+    private final LinkedHashMap<String, NearCacheEntry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private long sizeInBytes;
+
+    /**
+     * Check whether the session data near cache is enabled in the configuration.
+     *
+     * @return True if the near cache is enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(
+                IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.NearCache.Enable"));
+    }
+
+    /**
+     * Create a session data near cache.
+     *
+     * @param maxSizeInBytes    Maximum number of bytes held by the cache.
+     * @param timeToLiveSeconds Time an entry is served before it is read from the session store again.
+     */
+    public SessionDataNearCache(long maxSizeInBytes, long timeToLiveSeconds) {
+
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveSeconds);
+    }
+
+    /**
+     * Get the cached entry of the given session key and type.
+     *
+     * @param key  Session key.
+     * @param type Session type.
+     * @return Cached entry, or null if there is no usable entry.
+     */
+    public NearCacheEntry get(String key, String type) {
+
+        NearCacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(getEntryKey(key, type));
+            if (entry != null && System.nanoTime() - entry.cachedTime > timeToLiveNanos) {
+                removeEntry(getEntryKey(key, type), entry);
+                entry = null;
+            }
+        }
+        if (entry == null || entry.isFence()) {
+            getStatistics(type).misses.increment();
+            return null;
+        }
+        getStatistics(type).hits.increment();
+        return entry;
+    }
+
+    /**
+     * Cache a STORE operation read from the session store.
+     *
+     * @param key      Session key.
+     * @param type     Session type.
+     * @param nanoTime Creation time of the operation.
+     * @param data     Serialized session object.
+     */
+    public void putStored(String key, String type, long nanoTime, byte[] data) {
+
+        put(key, type, new NearCacheEntry(nanoTime, data, false));
+    }
+
+    /**
+     * Cache a DELETE operation read from the session store.
+     *
+     * @param key      Session key.
+     * @param type     Session type.
+     * @param nanoTime Creation time of the operation.
+     */
+    public void putDeleted(String key, String type, long nanoTime) {
+
+        put(key, type, new NearCacheEntry(nanoTime, null, true));
+    }
+
+    /**
+     * Invalidate the entry because this node wrote an operation for the given session key and type.
+     * Rows older than the operation are not cached afterwards.
+     *
+     * @param key      Session key.
+     * @param type     Session type.
+     * @param nanoTime Time of the written operation.
+     */
+    public void invalidate(String key, String type, long nanoTime) {
+
+        String entryKey = getEntryKey(key, type);
+        NearCacheEntry fence = new NearCacheEntry(nanoTime, null, false);
+        synchronized (this) {
+            NearCacheEntry existing = entries.get(entryKey);
+            if (existing != null) {
+                if (existing.nanoTime > nanoTime) {
+                    return;
+                }
+                removeEntry(entryKey, existing);
+            }
+            addEntry(entryKey, type, fence);
+        }
+    }
+
+    /**
+     * Invalidate the cached value of the given session key and type, regardless of its operation time. This is meant
+     * for invalidations received from other nodes. A fence left by an operation of this node is kept, as the
+     * operation may not have reached the session store yet.
+     *
+     * @param key  Session key.
+     * @param type Session type.
+     */
+    public void invalidate(String key, String type) {
+
+        String entryKey = getEntryKey(key, type);
+        synchronized (this) {
+            NearCacheEntry existing = entries.get(entryKey);
+            if (existing != null && !existing.isFence()) {
+                removeEntry(entryKey, existing);
+            }
+        }
+    }
+
+    /**
+     * Get the statistics of the cache per session type.
+     *
+     * @return Statistics per session type.
+     */
+    public Map<String, Statistics> getStatistics() {
+
+        return Collections.unmodifiableMap(new HashMap<>(statistics));
+    }
+
+    /**
+     * Get the total number of bytes held by the cache.
+     *
+     * @return Size of the cache in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+
+        return sizeInBytes;
+    }
+
+    private void put(String key, String type, NearCacheEntry entry) {
+
+        if (entry.size > maxSizeInBytes) {
+            return;
+        }
+        String entryKey = getEntryKey(key, type);
+        synchronized (this) {
+            NearCacheEntry existing = entries.get(entryKey);
+            if (existing != null) {
+                if (existing.nanoTime > entry.nanoTime) {
+                    // A newer operation was written by this node, or a newer row is already cached.
+                    return;
+                }
+                removeEntry(entryKey, existing);
+            }
+            addEntry(entryKey, type, entry);
+        }
+    }
+
+    private void addEntry(String entryKey, String type, NearCacheEntry entry) {
+
+        entry.type = type;
+        entries.put(entryKey, entry);
+        sizeInBytes += entry.size;
+        getStatistics(type).bytesHeld.addAndGet(entry.size);
+
+        Iterator<Map.Entry<String, NearCacheEntry>> iterator = entries.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            NearCacheEntry eldest = iterator.next().getValue();
+            iterator.remove();
+            sizeInBytes -= eldest.size;
+            Statistics eldestStatistics = getStatistics(eldest.type);
+            eldestStatistics.bytesHeld.addAndGet(-eldest.size);
+            eldestStatistics.evictions.increment();
+        }
+        if (log.isDebugEnabled() && sizeInBytes > maxSizeInBytes) {
+            log.debug("Session data near cache is full. Size: " + sizeInBytes + " bytes.");
+        }
+    }
+
+    private void removeEntry(String entryKey, NearCacheEntry entry) {
+
+        entries.remove(entryKey);
+        sizeInBytes -= entry.size;
+        getStatistics(entry.type).bytesHeld.addAndGet(-entry.size);
+    }
+
+    private Statistics getStatistics(String type) {
+
+        return statistics.computeIfAbsent(type, k -> new Statistics());
+    }
+
+    private static String getEntryKey(String key, String type) {
+
+        return type + ":" + key;
+    }
+
+    /**
+     * Entry of the session data near cache.
+     */
+    public static class NearCacheEntry {
+
+        private final long nanoTime;
+        private final byte[] data;
+        private final boolean deleted;
+        private final long cachedTime = System.nanoTime();
+        private final int size;
+        private String type;
+
+        NearCacheEntry(long nanoTime, byte[] data, boolean deleted) {
+
+            this.nanoTime = nanoTime;
+            this.data = data;
+            this.deleted = deleted;
+            this.size = ENTRY_OVERHEAD_BYTES + (data != null ? data.length : 0);
+        }
+
+        public long getNanoTime() {
+
+            return nanoTime;
+        }
+
+        public byte[] getData() {
+
+            return data;
+        }
+
+        /**
+         * Whether the latest operation of the session key and type is a DELETE operation.
+         *
+         * @return True if the session data is deleted.
+         */
+        public boolean isDeleted() {
+
+            return deleted;
+        }
+
+        private boolean isFence() {
+
+            return data == null && !deleted;
+        }
+    }
+
+    /**
+     * Hit, miss, eviction and size statistics of a session type.
+     */
+    public static class Statistics {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final AtomicLong bytesHeld = new AtomicLong();
+
+        public long getHitCount() {
+
+            return hits.sum();
+        }
+
+        public long getMissCount() {
+
+            return misses.sum();
+        }
+
+        public double getHitRate() {
+
+            long hitCount = hits.sum();
+            long requestCount = hitCount + misses.sum();
+            return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        }
+
+        public long getEvictionCount() {
+
+            return evictions.sum();
+        }
+
+        public long getBytesHeld() {
+
+            return bytesHeld.get();
+        }
+
+        @Override
+        public String toString() {
+
+            return "Statistics{" +
+                    "hits=" + getHitCount() +
+                    ", misses=" + getMissCount() +
+                    ", hitRate=" + getHitRate() +
+                    ", evictions=" + getEvictionCount() +
+                    ", bytesHeld=" + getBytesHeld() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task to persist and remove session data in batches.
+ * Drains up to the configured batch size or waits up to the configured time from the session context queue, merges
+ * repeated operations on the same session key and type, and flushes the remaining operations in a single JDBC batch.
+ */
+public class SessionDataPersistBatchTask implements Runnable {
+
+    private static final Log log = LogFactory.getLog(SessionDataPersistBatchTask.class);
+    private static volatile boolean running;
+    private final BlockingDeque<SessionContextDO> sessionContextQueue;
+    private final int batchSize;
+    private final long maxWaitTimeNanos;
+
+    public SessionDataPersistBatchTask(BlockingDeque<SessionContextDO> sessionContextQueue, int batchSize,
+                                       long maxWaitTimeMillis) {
+
+        this.sessionContextQueue = sessionContextQueue;
+        this.batchSize = batchSize;
+        this.maxWaitTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitTimeMillis);
+    }
+
+    @Override
+    public void run() {
+
+        log.debug("Session Context batch persist consumer is started");
+
+        running = true;
+        List<SessionContextDO> drainedOperations = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                drainedOperations.add(sessionContextQueue.take());
+                long deadline = System.nanoTime() + maxWaitTimeNanos;
+                while (drainedOperations.size() < batchSize) {
+                    sessionContextQueue.drainTo(drainedOperations, batchSize - drainedOperations.size());
+                    long remainingTime = deadline - System.nanoTime();
+                    if (drainedOperations.size() >= batchSize || remainingTime <= 0) {
+                        break;
+                    }
+                    SessionContextDO sessionContextDO = sessionContextQueue.poll(remainingTime,
+                            TimeUnit.NANOSECONDS);
+                    if (sessionContextDO == null) {
+                        break;
+                    }
+                    drainedOperations.add(sessionContextDO);
+                }
+            } catch (InterruptedException e) {
+                //ignore
+                log.error(e);
+            } finally {
+                if (!drainedOperations.isEmpty()) {
+                    flush(drainedOperations);
+                    drainedOperations.clear();
+                }
+            }
+        }
+    }
+
+    private void flush(List<SessionContextDO> drainedOperations) {
+
+        List<SessionContextDO> mergedOperations = mergeOperations(drainedOperations);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Session Data batch persisting Task is started to run. Drained operations: %d, " +
+                    "merged operations: %d", drainedOperations.size(), mergedOperations.size()));
+        }
+        try {
+            SessionDataStore.getInstance().persistSessionDataBatch(mergedOperations,
+                    drainedOperations.size() - mergedOperations.size());
+        } catch (RuntimeException e) {
+            log.error("Error while persisting a batch of session data operations.", e);
+        }
+    }
+
+    /**
+     * Merges the operations on the same session key and type, keeping only the latest one. Since session data is read
+     * back as the latest operation for a given key and type, the superseded operations never need to reach the DB.
+     *
+     * @param operations Operations drained from the queue.
+     * @return Latest operation for each session key and type, in the order they were first seen.
+     */
+    static List<SessionContextDO> mergeOperations(List<SessionContextDO> operations) {
+
+        Map<String, SessionContextDO> latestOperations = new LinkedHashMap<>();
+        for (SessionContextDO operation : operations) {
+            String operationKey = operation.getKey() + ":" + operation.getType();
+            SessionContextDO existingOperation = latestOperations.get(operationKey);
+            if (existingOperation == null || existingOperation.getNanoTime() <= operation.getNanoTime()) {
+                latestOperations.put(operationKey, operation);
+            }
+        }
+        return new ArrayList<>(latestOperations.values());
+    }
+
+    public static void shutdown() {
+        running = false;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the runtime metrics of the asynchronous session data persistence.
+ */
+public class SessionDataPersistMetrics {
+
+    private final BlockingQueue<SessionContextDO> sessionContextQueue;
+    private final LongAdder flushedBatchCount = new LongAdder();
+    private final LongAdder persistedOperationCount = new LongAdder();
+    private final LongAdder mergedOperationCount = new LongAdder();
+    private final LongAdder failedBatchCount = new LongAdder();
+    private final LongAdder callerPersistedOperationCount = new LongAdder();
+    private final LongAdder totalFlushTimeNanos = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator maxFlushTimeNanos = new LongAccumulator(Long::max, 0);
+
+    SessionDataPersistMetrics(BlockingQueue<SessionContextDO> sessionContextQueue) {
+
+        this.sessionContextQueue = sessionContextQueue;
+    }
+
+    void recordFlush(int batchSize, int mergedOperations, long flushTimeNanos, boolean failed) {
+
+        flushedBatchCount.increment();
+        persistedOperationCount.add(batchSize);
+        mergedOperationCount.add(mergedOperations);
+        totalFlushTimeNanos.add(flushTimeNanos);
+        maxBatchSize.accumulate(batchSize);
+        maxFlushTimeNanos.accumulate(flushTimeNanos);
+        if (failed) {
+            failedBatchCount.increment();
+        }
+    }
+
+    void recordCallerPersistedOperation() {
+
+        callerPersistedOperationCount.increment();
+    }
+
+    /**
+     * Get the number of session data operations waiting in the queue.
+     *
+     * @return Current queue depth.
+     */
+    public int getQueueDepth() {
+
+        return sessionContextQueue.size();
+    }
+
+    /**
+     * Get the number of session data operations that can be queued before the caller persists them directly.
+     *
+     * @return Remaining queue capacity. {@link Integer#MAX_VALUE} if the queue is unbounded.
+     */
+    public int getRemainingQueueCapacity() {
+
+        return sessionContextQueue.remainingCapacity();
+    }
+
+    public long getFlushedBatchCount() {
+
+        return flushedBatchCount.sum();
+    }
+
+    public long getPersistedOperationCount() {
+
+        return persistedOperationCount.sum();
+    }
+
+    public long getMergedOperationCount() {
+
+        return mergedOperationCount.sum();
+    }
+
+    public long getFailedBatchCount() {
+
+        return failedBatchCount.sum();
+    }
+
+    /**
+     * Get the number of operations persisted on the caller thread because the queue was full.
+     *
+     * @return Number of operations persisted by the caller.
+     */
+    public long getCallerPersistedOperationCount() {
+
+        return callerPersistedOperationCount.sum();
+    }
+
+    public double getAverageBatchSize() {
+
+        long batches = flushedBatchCount.sum();
+        return batches == 0 ? 0 : (double) persistedOperationCount.sum() / batches;
+    }
+
+    public long getMaxBatchSize() {
+
+        return maxBatchSize.get();
+    }
+
+    public double getAverageFlushLatencyMillis() {
+
+        long batches = flushedBatchCount.sum();
+        return batches == 0 ? 0 : (double) totalFlushTimeNanos.sum() / batches / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getMaxFlushLatencyMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+
+        return "SessionDataPersistMetrics{" +
+                "queueDepth=" + getQueueDepth() +
+                ", flushedBatchCount=" + getFlushedBatchCount() +
+                ", persistedOperationCount=" + getPersistedOperationCount() +
+                ", mergedOperationCount=" + getMergedOperationCount() +
+                ", failedBatchCount=" + getFailedBatchCount() +
+                ", callerPersistedOperationCount=" + getCallerPersistedOperationCount() +
+                ", averageBatchSize=" + getAverageBatchSize() +
+                ", maxBatchSize=" + getMaxBatchSize() +
+                ", averageFlushLatencyMillis=" + getAverageFlushLatencyMillis() +
+                ", maxFlushLatencyMillis=" + getMaxFlushLatencyMillis() +
+                '}';
+    }
+}
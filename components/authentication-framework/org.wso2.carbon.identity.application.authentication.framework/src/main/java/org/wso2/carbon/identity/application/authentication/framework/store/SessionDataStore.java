@@ -29,12 +29,15 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.cache.CacheEntry;
+import org.wso2.carbon.identity.core.cache.ClusterKeyInvalidation;
 import org.wso2.carbon.identity.core.model.IdentityCacheConfig;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
@@ -42,6 +45,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -132,7 +140,16 @@ public class SessionDataStore {
     public static final String DEFAULT_TEMP_SESSION_STORE_TABLE_NAME = "IDN_AUTH_TEMP_SESSION_STORE";
     private static int maxSessionDataPoolSize = 100;
     private static int maxTempDataPoolSize = 50;
-    private static BlockingDeque<SessionContextDO> sessionContextQueue = new LinkedBlockingDeque();
+    private static final int DEFAULT_BATCH_PERSIST_SIZE = 100;
+    private static final long DEFAULT_BATCH_PERSIST_MAX_WAIT_TIME = 100L;
+    private static boolean batchPersistEnabled = false;
+    private static int batchPersistSize = DEFAULT_BATCH_PERSIST_SIZE;
+    private static long batchPersistMaxWaitTime = DEFAULT_BATCH_PERSIST_MAX_WAIT_TIME;
+    private static int sessionDataQueueCapacity = 0;
+    private static BlockingDeque<SessionContextDO> sessionContextQueue;
+    private static SessionDataPersistMetrics sessionDataPersistMetrics;
+    private static final long DEFAULT_NEAR_CACHE_MAX_SIZE = 64L * 1024 * 1024;
+    private static final long DEFAULT_NEAR_CACHE_TIMEOUT = 60L;
     private static BlockingDeque<SessionContextDO> tempAuthnContextDataDeleteQueue = new LinkedBlockingDeque();
     private static volatile SessionDataStore instance;
     private boolean enablePersist;
@@ -144,6 +161,7 @@ public class SessionDataStore {
     private String sqlSelect;
     private String sqlDeleteExpiredDataTask;
     private int deleteChunkSize = DEFAULT_DELETE_LIMIT;
+    private SessionDataNearCache nearCache;
     private boolean sessionDataCleanupEnabled = true;
     private boolean operationDataCleanupEnabled = false;
     private static boolean tempDataCleanupEnabled = false;
@@ -184,17 +202,53 @@ public class SessionDataStore {
                 maxTempDataPoolSize = Integer.parseInt(maxTempDataPoolSizeValue);
             }
 
+            String queueCapacityValue = IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.QueueCapacity");
+            if (StringUtils.isNotBlank(queueCapacityValue)) {
+                sessionDataQueueCapacity = Integer.parseInt(queueCapacityValue);
+            }
+
+            batchPersistEnabled = Boolean.parseBoolean(IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.BatchPersist.Enable"));
+
+            String batchPersistSizeValue = IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.BatchPersist.BatchSize");
+            if (StringUtils.isNotBlank(batchPersistSizeValue)) {
+                batchPersistSize = Integer.parseInt(batchPersistSizeValue);
+            }
+
+            String batchPersistMaxWaitTimeValue = IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.BatchPersist.MaxWaitTime");
+            if (StringUtils.isNotBlank(batchPersistMaxWaitTimeValue)) {
+                batchPersistMaxWaitTime = Long.parseLong(batchPersistMaxWaitTimeValue);
+            }
+
         } catch (NumberFormatException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Exception ignored : ", e);
             }
             log.warn("One or more pool size configurations cause NumberFormatException. Default values would be used");
         }
+        if (sessionDataQueueCapacity > 0) {
+            sessionContextQueue = new LinkedBlockingDeque<>(sessionDataQueueCapacity);
+        } else {
+            sessionContextQueue = new LinkedBlockingDeque<>();
+        }
+        sessionDataPersistMetrics = new SessionDataPersistMetrics(sessionContextQueue);
         if (maxSessionDataPoolSize > 0) {
             log.info("Thread pool size for session persistent consumer : " + maxSessionDataPoolSize);
             ExecutorService threadPool = Executors.newFixedThreadPool(maxSessionDataPoolSize);
-            for (int i = 0; i < maxSessionDataPoolSize; i++) {
-                threadPool.execute(new SessionDataPersistTask(sessionContextQueue));
+            if (batchPersistEnabled && batchPersistSize > 1) {
+                log.info(String.format("Session data batch persistence is enabled with batch size: %d and max wait " +
+                        "time: %d ms", batchPersistSize, batchPersistMaxWaitTime));
+                for (int i = 0; i < maxSessionDataPoolSize; i++) {
+                    threadPool.execute(new SessionDataPersistBatchTask(sessionContextQueue, batchPersistSize,
+                            batchPersistMaxWaitTime));
+                }
+            } else {
+                for (int i = 0; i < maxSessionDataPoolSize; i++) {
+                    threadPool.execute(new SessionDataPersistTask(sessionContextQueue));
+                }
             }
         }
         if (tempDataCleanupEnabled && maxTempDataPoolSize > 0) {
@@ -266,6 +320,29 @@ public class SessionDataStore {
 
         if (!enablePersist) {
             log.info("Session Data Persistence of Authentication framework is not enabled.");
+        } else if (SessionDataNearCache.isEnabled()) {
+            long nearCacheMaxSize = DEFAULT_NEAR_CACHE_MAX_SIZE;
+            long nearCacheTimeout = DEFAULT_NEAR_CACHE_TIMEOUT;
+            String nearCacheMaxSizeString = IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.NearCache.MaxSize");
+            String nearCacheTimeoutString = IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.NearCache.Timeout");
+            try {
+                if (StringUtils.isNotBlank(nearCacheMaxSizeString)) {
+                    nearCacheMaxSize = Long.parseLong(nearCacheMaxSizeString);
+                }
+                if (StringUtils.isNotBlank(nearCacheTimeoutString)) {
+                    nearCacheTimeout = Long.parseLong(nearCacheTimeoutString);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Invalid session data near cache configuration. Default values would be used.", e);
+            }
+            nearCache = new SessionDataNearCache(nearCacheMaxSize, nearCacheTimeout);
+            // Session data written by the other nodes is fenced the same way as the writes of this node.
+            ClusterKeyInvalidation.registerHandler(SessionDataNearCache.CLUSTER_STORE_NAME,
+                    (type, key, nanoTime) -> nearCache.invalidate(key, type, nanoTime));
+            log.info(String.format("Session data near cache is enabled with max size: %d bytes and timeout: %d s",
+                    nearCacheMaxSize, nearCacheTimeout));
         }
         String isCleanUpEnabledVal
                 = IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.SessionDataCleanUp.Enable");
@@ -312,9 +389,71 @@ public class SessionDataStore {
 
     public SessionContextDO getSessionContextData(String key, String type) {
 
+        if (nearCache != null && enablePersist) {
+            SessionDataNearCache.NearCacheEntry nearCacheEntry = nearCache.get(key, type);
+            if (nearCacheEntry != null) {
+                if (nearCacheEntry.isDeleted()) {
+                    return null;
+                }
+                try {
+                    return new SessionContextDO(key, type,
+                            getBlobObject(new ByteArrayInputStream(nearCacheEntry.getData())),
+                            nearCacheEntry.getNanoTime());
+                } catch (ClassNotFoundException | IOException | SessionSerializerException |
+                        IdentityApplicationManagementException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Error while reading session data from the near cache. key : " + key +
+                                " type : " + type, e);
+                    }
+                    nearCache.invalidate(key, type);
+                }
+            }
+        }
         return getSessionContextDataByOperation(key, type, OPERATION_STORE);
     }
 
+    /**
+     * Invalidate the near cache entry of the given session key and type. This is meant to be called when another node
+     * writes session data for the key and type.
+     *
+     * @param key  Session key.
+     * @param type Session type.
+     */
+    public void invalidateNearCache(String key, String type) {
+
+        if (nearCache != null) {
+            nearCache.invalidate(key, type);
+        }
+    }
+
+    /**
+     * Fence the near cache entry of a key written by this node, on this node and on the other nodes of the cluster.
+     *
+     * @param key      Session key.
+     * @param type     Session type.
+     * @param nanoTime Time of the write.
+     */
+    private void invalidateNearCache(String key, String type, long nanoTime) {
+
+        if (nearCache != null) {
+            nearCache.invalidate(key, type, nanoTime);
+            ClusterKeyInvalidation.send(SessionDataNearCache.CLUSTER_STORE_NAME, type, key, nanoTime);
+        }
+    }
+
+    /**
+     * Get the near cache statistics per session type.
+     *
+     * @return Near cache statistics per session type. Empty if the near cache is not enabled.
+     */
+    public Map<String, SessionDataNearCache.Statistics> getNearCacheStatistics() {
+
+        if (nearCache == null) {
+            return Collections.emptyMap();
+        }
+        return nearCache.getStatistics();
+    }
+
     private SessionContextDO getSessionContextDataByOperation(String key, String type, String requiredOperation) {
 
         if (log.isDebugEnabled()) {
@@ -359,6 +498,19 @@ public class SessionDataStore {
             if (resultSet.next()) {
                 String operation = resultSet.getString(1);
                 long nanoTime = resultSet.getLong(3);
+                if (nearCache != null) {
+                    if (OPERATION_DELETE.equalsIgnoreCase(operation)) {
+                        nearCache.putDeleted(key, type, nanoTime);
+                    } else if (StringUtils.equalsIgnoreCase(requiredOperation, operation)) {
+                        byte[] data = readBlobBytes(resultSet.getBinaryStream(2));
+                        if (data != null) {
+                            nearCache.putStored(key, type, nanoTime, data);
+                            return new SessionContextDO(key, type, getBlobObject(new ByteArrayInputStream(data)),
+                                    nanoTime);
+                        }
+                        return new SessionContextDO(key, type, null, nanoTime);
+                    }
+                }
                 if (StringUtils.equalsIgnoreCase(requiredOperation, operation)) {
                     return new SessionContextDO(key, type, getBlobObject(resultSet.getBinaryStream(2)), nanoTime);
                 }
@@ -384,8 +536,13 @@ public class SessionDataStore {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
+        invalidateNearCache(key, type, nanoTime);
         if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
-            sessionContextQueue.push(new SessionContextDO(key, type, entry, nanoTime, tenantId));
+            if (!sessionContextQueue.offerFirst(new SessionContextDO(key, type, entry, nanoTime, tenantId))) {
+                // The queue is full. Persist on the caller thread to apply back-pressure.
+                sessionDataPersistMetrics.recordCallerPersistedOperation();
+                persistSessionData(key, type, entry, nanoTime, tenantId);
+            }
         } else {
             persistSessionData(key, type, entry, nanoTime, tenantId);
         }
@@ -396,8 +553,13 @@ public class SessionDataStore {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
+        invalidateNearCache(key, type, nanoTime);
         if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
-            sessionContextQueue.push(new SessionContextDO(key, type, null, nanoTime));
+            if (!sessionContextQueue.offerFirst(new SessionContextDO(key, type, null, nanoTime))) {
+                // The queue is full. Persist on the caller thread to apply back-pressure.
+                sessionDataPersistMetrics.recordCallerPersistedOperation();
+                removeSessionData(key, type, nanoTime);
+            }
         } else {
             removeSessionData(key, type, nanoTime);
         }
@@ -410,6 +572,17 @@ public class SessionDataStore {
 
         TempAuthContextDataDeleteTask.shutdown();
         SessionDataPersistTask.shutdown();
+        SessionDataPersistBatchTask.shutdown();
+    }
+
+    /**
+     * Get the runtime metrics of the asynchronous session data persistence.
+     *
+     * @return Session data persistence metrics.
+     */
+    public SessionDataPersistMetrics getSessionDataPersistMetrics() {
+
+        return sessionDataPersistMetrics;
     }
 
     /**
@@ -563,16 +736,122 @@ public class SessionDataStore {
         }
     }
 
-    public void removeSessionData(String key, String type, long nanoTime) {
-        if (!enablePersist) {
+    /**
+     * Persists a batch of STORE and DELETE operations using a single connection and JDBC batch updates.
+     * If the batch fails, the operations are persisted one by one so that a single bad record does not drop the
+     * others.
+     *
+     * @param sessionContextDOs Operations to persist. An operation without an entry is a DELETE operation.
+     * @param mergedOperations  Number of operations that were merged away before this batch was formed.
+     */
+    public void persistSessionDataBatch(List<SessionContextDO> sessionContextDOs, int mergedOperations) {
+
+        if (!enablePersist || sessionContextDOs.isEmpty()) {
+            return;
+        }
+        long flushStartTime = System.nanoTime();
+        Connection connection;
+        try {
+            connection = IdentityDatabaseUtil.getSessionDBConnection(true);
+        } catch (IdentityRuntimeException e) {
+            log.error(e.getMessage(), e);
             return;
         }
 
-        if (tempDataCleanupEnabled && maxTempDataPoolSize > 0 && isTempCache(type)) {
-            tempAuthnContextDataDeleteQueue.push(new SessionContextDO(key, type, null, nanoTime));
+        boolean batchFailed = false;
+        List<SessionContextDO> batchedOperations = new ArrayList<>(sessionContextDOs.size());
+        Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+        try {
+            for (SessionContextDO sessionContextDO : sessionContextDOs) {
+                String type = sessionContextDO.getType();
+                if (sessionContextDO.getEntry() == null) {
+                    if (isDeleteOperationHandled(sessionContextDO.getKey(), type, sessionContextDO.getNanoTime())) {
+                        continue;
+                    }
+                    PreparedStatement preparedStatement = getBatchStatement(connection, preparedStatements,
+                            getSessionStoreDBQuery(sqlInsertDELETE, type));
+                    preparedStatement.setString(1, sessionContextDO.getKey());
+                    preparedStatement.setString(2, type);
+                    preparedStatement.setString(3, OPERATION_DELETE);
+                    preparedStatement.setLong(4, sessionContextDO.getNanoTime());
+                    preparedStatement.setLong(5, sessionContextDO.getNanoTime() +
+                            getCleanupTimeout(type, MultitenantConstants.INVALID_TENANT_ID));
+                    preparedStatement.addBatch();
+                } else {
+                    PreparedStatement preparedStatement = getBatchStatement(connection, preparedStatements,
+                            getSessionStoreDBQuery(sqlInsertSTORE, type));
+                    long validityPeriodNano = 0L;
+                    if (sessionContextDO.getEntry() instanceof CacheEntry) {
+                        validityPeriodNano = ((CacheEntry) sessionContextDO.getEntry()).getValidityPeriod();
+                    }
+                    if (validityPeriodNano == 0L) {
+                        validityPeriodNano = getCleanupTimeout(type, sessionContextDO.getTenantId());
+                    }
+                    preparedStatement.setString(1, sessionContextDO.getKey());
+                    preparedStatement.setString(2, type);
+                    preparedStatement.setString(3, OPERATION_STORE);
+                    setBlobObject(preparedStatement, sessionContextDO.getEntry(), 4);
+                    preparedStatement.setLong(5, sessionContextDO.getNanoTime());
+                    preparedStatement.setLong(6, sessionContextDO.getNanoTime() + validityPeriodNano);
+                    preparedStatement.setInt(7, sessionContextDO.getTenantId());
+                    preparedStatement.addBatch();
+                }
+                batchedOperations.add(sessionContextDO);
+            }
+            for (PreparedStatement preparedStatement : preparedStatements.values()) {
+                preparedStatement.executeBatch();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException | IOException | SessionSerializerException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            log.warn("Error while persisting a batch of " + sessionContextDOs.size() + " session data operations. " +
+                    "Operations will be persisted individually.", e);
+            batchFailed = true;
+        } finally {
+            for (PreparedStatement preparedStatement : preparedStatements.values()) {
+                IdentityDatabaseUtil.closeStatement(preparedStatement);
+            }
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+
+        if (batchFailed) {
+            for (SessionContextDO sessionContextDO : batchedOperations) {
+                if (sessionContextDO.getEntry() == null) {
+                    removeSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                            sessionContextDO.getNanoTime());
+                } else {
+                    persistSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                            sessionContextDO.getEntry(), sessionContextDO.getNanoTime(),
+                            sessionContextDO.getTenantId());
+                }
+            }
+        }
+        sessionDataPersistMetrics.recordFlush(sessionContextDOs.size(), mergedOperations,
+                System.nanoTime() - flushStartTime, batchFailed);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Persisted a batch of " + sessionContextDOs.size() + " SessionContextData operations to DB. " +
+                    sessionDataPersistMetrics);
+        }
+    }
+
+    private PreparedStatement getBatchStatement(Connection connection, Map<String, PreparedStatement> statements,
+                                                String sqlQuery) throws SQLException {
+
+        PreparedStatement preparedStatement = statements.get(sqlQuery);
+        if (preparedStatement == null) {
+            preparedStatement = connection.prepareStatement(sqlQuery);
+            statements.put(sqlQuery, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
+    public void removeSessionData(String key, String type, long nanoTime) {
+        if (!enablePersist) {
             return;
         }
-        if (getSessionContextDataByOperation(key, type, OPERATION_DELETE) != null) {
+
+        if (isDeleteOperationHandled(key, type, nanoTime)) {
             return;
         }
 
@@ -607,6 +886,24 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Checks whether a DELETE operation needs no DELETE row. Temporary authn context data is handed over to the
+     * temporary data cleanup instead, and a DELETE row is not added again for data which is already deleted.
+     *
+     * @param key      Session data key.
+     * @param type     Session data type.
+     * @param nanoTime Time of the DELETE operation.
+     * @return True if no DELETE row should be added for the operation.
+     */
+    private boolean isDeleteOperationHandled(String key, String type, long nanoTime) {
+
+        if (tempDataCleanupEnabled && maxTempDataPoolSize > 0 && isTempCache(type)) {
+            tempAuthnContextDataDeleteQueue.push(new SessionContextDO(key, type, null, nanoTime));
+            return true;
+        }
+        return getSessionContextDataByOperation(key, type, OPERATION_DELETE) != null;
+    }
+
     /**
      * Removes temporary authn context data from the table if temporary data cleanup is enabled.
      *
@@ -618,6 +915,7 @@ public class SessionDataStore {
         if (!enablePersist) {
             return;
         }
+        invalidateNearCache(key, type);
         Connection connection = null;
         try {
             connection = IdentityDatabaseUtil.getSessionDBConnection(true);
@@ -651,6 +949,22 @@ public class SessionDataStore {
         }
     }
 
+    private byte[] readBlobBytes(InputStream is) throws IOException {
+
+        if (is == null) {
+            return null;
+        }
+        try (InputStream inputStream = is) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
     private Object getBlobObject(InputStream is)
             throws IdentityApplicationManagementException, IOException, ClassNotFoundException,
             SessionSerializerException {
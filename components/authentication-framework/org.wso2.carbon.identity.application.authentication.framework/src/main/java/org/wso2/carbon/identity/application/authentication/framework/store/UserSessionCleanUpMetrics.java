@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Holds the runtime metrics of the expired user session cleanup.
+ */
+public class UserSessionCleanUpMetrics {
+
+    private final IntSupplier chunkSize;
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder failedRunCount = new LongAdder();
+    private final LongAdder cleanedSessionCount = new LongAdder();
+    private final LongAdder deletedRowCount = new LongAdder();
+    private final LongAdder slowChunkCount = new LongAdder();
+    private final LongAdder lockFailureCount = new LongAdder();
+    private volatile long lastRunCleanedSessionCount;
+    private volatile long lastRunDeletedRowCount;
+    private volatile long lastRunTimeNanos;
+
+    UserSessionCleanUpMetrics(IntSupplier chunkSize) {
+
+        this.chunkSize = chunkSize;
+    }
+
+    void recordRun(long cleanedSessions, long deletedRows, long runTimeNanos, boolean failed) {
+
+        runCount.increment();
+        cleanedSessionCount.add(cleanedSessions);
+        deletedRowCount.add(deletedRows);
+        lastRunCleanedSessionCount = cleanedSessions;
+        lastRunDeletedRowCount = deletedRows;
+        lastRunTimeNanos = runTimeNanos;
+        if (failed) {
+            failedRunCount.increment();
+        }
+    }
+
+    void recordSlowChunk() {
+
+        slowChunkCount.increment();
+    }
+
+    void recordLockFailure() {
+
+        lockFailureCount.increment();
+    }
+
+    /**
+     * Get the number of sessions the cleanup currently removes in one chunk.
+     *
+     * @return Current chunk size.
+     */
+    public int getChunkSize() {
+
+        return chunkSize.getAsInt();
+    }
+
+    public long getRunCount() {
+
+        return runCount.sum();
+    }
+
+    public long getFailedRunCount() {
+
+        return failedRunCount.sum();
+    }
+
+    public long getCleanedSessionCount() {
+
+        return cleanedSessionCount.sum();
+    }
+
+    /**
+     * Get the number of rows deleted from all the session tables.
+     *
+     * @return Number of deleted rows.
+     */
+    public long getDeletedRowCount() {
+
+        return deletedRowCount.sum();
+    }
+
+    /**
+     * Get the number of chunks that took longer than the lock wait threshold, which shrinks the chunk size.
+     *
+     * @return Number of slow chunks.
+     */
+    public long getSlowChunkCount() {
+
+        return slowChunkCount.sum();
+    }
+
+    /**
+     * Get the number of chunks that were rolled back because of a lock timeout or a deadlock.
+     *
+     * @return Number of chunks that failed on locks.
+     */
+    public long getLockFailureCount() {
+
+        return lockFailureCount.sum();
+    }
+
+    public long getLastRunCleanedSessionCount() {
+
+        return lastRunCleanedSessionCount;
+    }
+
+    public long getLastRunDeletedRowCount() {
+
+        return lastRunDeletedRowCount;
+    }
+
+    public long getLastRunTimeMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(lastRunTimeNanos);
+    }
+
+    @Override
+    public String toString() {
+
+        return "UserSessionCleanUpMetrics{" +
+                "chunkSize=" + getChunkSize() +
+                ", runCount=" + getRunCount() +
+                ", failedRunCount=" + getFailedRunCount() +
+                ", cleanedSessionCount=" + getCleanedSessionCount() +
+                ", deletedRowCount=" + getDeletedRowCount() +
+                ", slowChunkCount=" + getSlowChunkCount() +
+                ", lockFailureCount=" + getLockFailureCount() +
+                ", lastRunCleanedSessionCount=" + getLastRunCleanedSessionCount() +
+                ", lastRunDeletedRowCount=" + getLastRunDeletedRowCount() +
+                ", lastRunTimeMillis=" + getLastRunTimeMillis() +
+                '}';
+    }
+}
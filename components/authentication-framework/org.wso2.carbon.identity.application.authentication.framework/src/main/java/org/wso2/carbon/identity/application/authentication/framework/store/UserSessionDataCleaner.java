@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.identity.application.authentication.framework.dao.impl.UserSessionDAOImpl.SCOPE_LIST_PLACEHOLDER;
+
+/**
+ * Removes the user session mapping, session app info and session metadata records of sessions.
+ * <p>
+ * The records of a set of sessions are deleted with one statement per table for every
+ * {@link #MAX_IN_CLAUSE_SIZE} sessions. Expired sessions are cleaned in chunks that are committed separately, so a
+ * run never holds the locks of more than one chunk. A run goes through all the expired sessions, as the expired
+ * session store records that drive it are removed right after the run, see {@link SessionCleanUpService}. The chunk
+ * size adapts to the contention on the session tables:
+ * it is halved when a chunk takes longer than the lock wait threshold, or is rolled back because of a lock timeout or
+ * a deadlock, and it grows back towards the configured chunk size while the chunks are fast.
+ */
+class UserSessionDataCleaner {
+
+    private static final Log log = LogFactory.getLog(UserSessionDataCleaner.class);
+
+    private static final String USER_SESSION_MAPPING_CONFIG_PREFIX =
+            "JDBCPersistenceManager.SessionDataPersist.UserSessionMapping.";
+    private static final String DELETE_CHUNK_SIZE_PROPERTY = USER_SESSION_MAPPING_CONFIG_PREFIX + "DeleteChunkSize";
+    private static final String MIN_DELETE_CHUNK_SIZE_PROPERTY =
+            USER_SESSION_MAPPING_CONFIG_PREFIX + "MinDeleteChunkSize";
+    private static final String LOCK_WAIT_THRESHOLD_PROPERTY =
+            USER_SESSION_MAPPING_CONFIG_PREFIX + "LockWaitThreshold";
+
+    private static final int DEFAULT_DELETE_CHUNK_SIZE = 10000;
+    private static final int DEFAULT_MIN_DELETE_CHUNK_SIZE = 100;
+    private static final long DEFAULT_LOCK_WAIT_THRESHOLD_MILLIS = 1000;
+    // Oracle does not accept more than 1000 expressions in an IN list.
+    static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+    private static final String[] DELETE_QUERIES = {
+            SQLQueries.SQL_DELETE_USER_SESSION_MAPPING_OF_SESSIONS,
+            SQLQueries.SQL_DELETE_SESSION_APP_INFO_OF_SESSIONS,
+            SQLQueries.SQL_DELETE_SESSION_META_DATA_OF_SESSIONS
+    };
+
+    private final int maxChunkSize;
+    private final int minChunkSize;
+    private final long lockWaitThresholdNanos;
+    private final UserSessionCleanUpMetrics metrics;
+    private volatile int chunkSize;
+
+    UserSessionDataCleaner() {
+
+        maxChunkSize = Math.max(1, getIntProperty(DELETE_CHUNK_SIZE_PROPERTY, DEFAULT_DELETE_CHUNK_SIZE));
+        minChunkSize = Math.max(1, Math.min(maxChunkSize,
+                getIntProperty(MIN_DELETE_CHUNK_SIZE_PROPERTY, DEFAULT_MIN_DELETE_CHUNK_SIZE)));
+        lockWaitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+                getLongProperty(LOCK_WAIT_THRESHOLD_PROPERTY, DEFAULT_LOCK_WAIT_THRESHOLD_MILLIS));
+        chunkSize = maxChunkSize;
+        metrics = new UserSessionCleanUpMetrics(() -> chunkSize);
+    }
+
+    UserSessionCleanUpMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Remove the records of the sessions which have expired in the session store.
+     *
+     * @return True if the records of all the expired sessions were removed, false if the run failed.
+     */
+    boolean removeExpiredSessionRecords() {
+
+        long startTime = System.nanoTime();
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        long cleanedSessions = 0;
+        long deletedRows = 0;
+        boolean failed = false;
+        String lastSessionId = null;
+
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
+            while (true) {
+                int currentChunkSize = chunkSize;
+                List<String> sessionIds = getExpiredSessionIds(connection, currentTime, lastSessionId,
+                        currentChunkSize);
+                if (sessionIds.isEmpty()) {
+                    break;
+                }
+
+                long chunkStartTime = System.nanoTime();
+                int deletedChunkRows;
+                try {
+                    deletedChunkRows = deleteSessionRecords(connection, sessionIds);
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                } catch (SQLTransientException e) {
+                    // Lock timeouts and deadlocks roll back the chunk. Retry it with a smaller chunk.
+                    IdentityDatabaseUtil.rollbackTransaction(connection);
+                    metrics.recordLockFailure();
+                    if (currentChunkSize <= minChunkSize) {
+                        throw e;
+                    }
+                    shrinkChunkSize(currentChunkSize);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Removing the records of " + sessionIds.size() + " expired sessions failed on " +
+                                "locks. Retrying with a chunk size of " + chunkSize + ".", e);
+                    }
+                    continue;
+                }
+                adaptChunkSize(currentChunkSize, System.nanoTime() - chunkStartTime);
+
+                cleanedSessions += sessionIds.size();
+                deletedRows += deletedChunkRows;
+                lastSessionId = sessionIds.get(sessionIds.size() - 1);
+                if (log.isDebugEnabled()) {
+                    log.debug("Removed " + deletedChunkRows + " records of " + sessionIds.size() +
+                            " expired sessions.");
+                }
+
+                if (sessionIds.size() < currentChunkSize) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            failed = true;
+            log.error("Error while removing expired session information from the database.", e);
+        }
+
+        long runTime = System.nanoTime() - startTime;
+        metrics.recordRun(cleanedSessions, deletedRows, runTime, failed);
+        if (log.isDebugEnabled()) {
+            log.debug("Removed " + deletedRows + " records of " + cleanedSessions + " expired sessions in " +
+                    TimeUnit.NANOSECONDS.toMillis(runTime) + " ms.");
+        }
+        return !failed;
+    }
+
+    /**
+     * Remove the records of the given sessions from the session tables.
+     *
+     * @param connection DB connection.
+     * @param sessionIds Session IDs.
+     * @return Number of rows deleted from all the tables.
+     * @throws SQLException If the DB execution fails.
+     */
+    int deleteSessionRecords(Connection connection, List<String> sessionIds) throws SQLException {
+
+        int deletedRows = 0;
+        for (String deleteQuery : DELETE_QUERIES) {
+            deletedRows += deleteInChunks(connection, deleteQuery, sessionIds);
+        }
+        return deletedRows;
+    }
+
+    private int deleteInChunks(Connection connection, String deleteQuery, List<String> sessionIds)
+            throws SQLException {
+
+        int deletedRows = 0;
+        PreparedStatement fullChunkStatement = null;
+        try {
+            for (int start = 0; start < sessionIds.size(); start += MAX_IN_CLAUSE_SIZE) {
+                List<String> chunk = sessionIds.subList(start, Math.min(start + MAX_IN_CLAUSE_SIZE,
+                        sessionIds.size()));
+                if (chunk.size() == MAX_IN_CLAUSE_SIZE) {
+                    // Full chunks share the same statement.
+                    if (fullChunkStatement == null) {
+                        fullChunkStatement = connection.prepareStatement(getInClauseQuery(deleteQuery,
+                                MAX_IN_CLAUSE_SIZE));
+                    }
+                    deletedRows += executeDelete(fullChunkStatement, chunk);
+                } else {
+                    try (PreparedStatement statement = connection.prepareStatement(getInClauseQuery(deleteQuery,
+                            chunk.size()))) {
+                        deletedRows += executeDelete(statement, chunk);
+                    }
+                }
+            }
+        } finally {
+            if (fullChunkStatement != null) {
+                fullChunkStatement.close();
+            }
+        }
+        return deletedRows;
+    }
+
+    private int executeDelete(PreparedStatement statement, List<String> sessionIds) throws SQLException {
+
+        int index = 1;
+        for (String sessionId : sessionIds) {
+            statement.setString(index++, sessionId);
+        }
+        return statement.executeUpdate();
+    }
+
+    private String getInClauseQuery(String query, int size) {
+
+        return query.replace(SCOPE_LIST_PLACEHOLDER, String.join(", ", Collections.nCopies(size, "?")));
+    }
+
+    private List<String> getExpiredSessionIds(Connection connection, long currentTime, String lastSessionId,
+                                              int limit) throws SQLException {
+
+        List<String> sessionIds = new ArrayList<>();
+        String query = lastSessionId == null ? SQLQueries.SQL_SELECT_EXPIRED_SESSION_IDS :
+                SQLQueries.SQL_SELECT_EXPIRED_SESSION_IDS_AFTER_SESSION_ID;
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setMaxRows(limit);
+            statement.setLong(1, currentTime);
+            if (lastSessionId != null) {
+                statement.setString(2, lastSessionId);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next() && sessionIds.size() < limit) {
+                    sessionIds.add(resultSet.getString(1));
+                }
+            }
+        }
+        return sessionIds;
+    }
+
+    private void adaptChunkSize(int currentChunkSize, long chunkTimeNanos) {
+
+        if (chunkTimeNanos > lockWaitThresholdNanos) {
+            metrics.recordSlowChunk();
+            shrinkChunkSize(currentChunkSize);
+        } else if (chunkTimeNanos < lockWaitThresholdNanos / 2 && currentChunkSize < maxChunkSize) {
+            chunkSize = Math.min(maxChunkSize, currentChunkSize + Math.max(1, currentChunkSize / 2));
+        }
+    }
+
+    private void shrinkChunkSize(int currentChunkSize) {
+
+        chunkSize = Math.max(minChunkSize, currentChunkSize / 2);
+    }
+
+    private static int getIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + value + " for " + propertyName + ". Using the default value: " +
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static long getLongProperty(String propertyName, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + value + " for " + propertyName + ". Using the default value: " +
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -26,12 +26,10 @@ import org.wso2.carbon.database.utils.jdbc.exceptions.TransactionException;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthHistory;
 import org.wso2.carbon.identity.application.authentication.framework.exception.DuplicatedAuthUserException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
-import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.application.authentication.framework.util.SessionMgtConstants;
 import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
@@ -41,10 +39,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.LOCAL_IDP_NAME;
@@ -58,20 +54,13 @@ public class UserSessionStore {
 
     private static final UserSessionStore instance = new UserSessionStore();
     private static final String FEDERATED_USER_DOMAIN = "FEDERATED";
-    private static final String DELETE_CHUNK_SIZE_PROPERTY = "JDBCPersistenceManager.SessionDataPersist" +
-            ".UserSessionMapping.DeleteChunkSize";
-    private static final String IDN_AUTH_USER_SESSION_MAPPING_TABLE = "IDN_AUTH_USER_SESSION_MAPPING";
-    private static final String IDN_AUTH_SESSION_APP_INFO_TABLE = "IDN_AUTH_SESSION_APP_INFO_TABLE";
     private static final String IDN_AUTH_SESSION_META_DATA_TABLE = "IDN_AUTH_SESSION_META_DATA";
 
-    private int deleteChunkSize = 10000;
+    private final UserSessionDataCleaner userSessionDataCleaner;
 
     private UserSessionStore() {
 
-        String deleteChunkSizeString = IdentityUtil.getProperty(DELETE_CHUNK_SIZE_PROPERTY);
-        if (StringUtils.isNotBlank(deleteChunkSizeString)) {
-            deleteChunkSize = Integer.parseInt(deleteChunkSizeString);
-        }
+        userSessionDataCleaner = new UserSessionDataCleaner();
     }
 
     public static UserSessionStore getInstance() {
@@ -430,38 +419,20 @@ public class UserSessionStore {
      */
     public void removeExpiredSessionRecords() {
 
-        if (log.isDebugEnabled()) {
-            log.debug("Removing information of expired and deleted sessions.");
-        }
-
-        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
-            Set<String> terminatedAuthSessionIds = getSessionsTerminated(connection);
-            String[] sessionsToRemove = new String[terminatedAuthSessionIds.size()];
-            terminatedAuthSessionIds.toArray(sessionsToRemove);
-
-            if (!terminatedAuthSessionIds.isEmpty()) {
-
-                if (log.isDebugEnabled()) {
-                    log.debug(terminatedAuthSessionIds.size() + " number of sessions should be removed from the " +
-                            "database. Removing in " + deleteChunkSize + " size batches.");
-                }
+        cleanUpExpiredSessionRecords();
+    }
 
-                deleteSessionDataFromTable(sessionsToRemove, connection, IDN_AUTH_USER_SESSION_MAPPING_TABLE,
-                        SQLQueries.SQL_DELETE_TERMINATED_SESSION_DATA);
-                deleteSessionDataFromTable(sessionsToRemove, connection, IDN_AUTH_SESSION_APP_INFO_TABLE,
-                        SQLQueries.SQL_DELETE_IDN_AUTH_SESSION_APP_INFO);
-                deleteSessionDataFromTable(sessionsToRemove, connection, IDN_AUTH_SESSION_META_DATA_TABLE,
-                        SQLQueries.SQL_DELETE_IDN_AUTH_SESSION_META_DATA);
+    /**
+     * Removes all the expired session records from relevant tables.
+     *
+     * @return True if the records of all the expired sessions were removed, false if the cleanup failed.
+     */
+    boolean cleanUpExpiredSessionRecords() {
 
-                IdentityDatabaseUtil.commitTransaction(connection);
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("No expired sessions found to remove.");
-                }
-            }
-        } catch (SQLException e) {
-            log.error("Error while removing expired session information from the database.", e);
+        if (log.isDebugEnabled()) {
+            log.debug("Removing information of expired and deleted sessions.");
         }
+        return userSessionDataCleaner.removeExpiredSessionRecords();
     }
 
     /**
@@ -471,21 +442,18 @@ public class UserSessionStore {
      */
     public void removeTerminatedSessionRecords(List<String> sessionIdList) {
 
-        String[] sessionsToRemove = sessionIdList.toArray(new String[0]);
-
         if (log.isDebugEnabled()) {
             log.debug("Removing meta information of the deleted sessions.");
         }
 
         try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
             try {
-                deleteSessionDataFromTable(sessionsToRemove, connection, IDN_AUTH_USER_SESSION_MAPPING_TABLE,
-                        SQLQueries.SQL_DELETE_TERMINATED_SESSION_DATA);
-                deleteSessionDataFromTable(sessionsToRemove, connection, IDN_AUTH_SESSION_APP_INFO_TABLE,
-                        SQLQueries.SQL_DELETE_IDN_AUTH_SESSION_APP_INFO);
-                deleteSessionDataFromTable(sessionsToRemove, connection, IDN_AUTH_SESSION_META_DATA_TABLE,
-                        SQLQueries.SQL_DELETE_IDN_AUTH_SESSION_META_DATA);
+                int deletedRows = userSessionDataCleaner.deleteSessionRecords(connection, sessionIdList);
                 IdentityDatabaseUtil.commitTransaction(connection);
+                if (log.isDebugEnabled()) {
+                    log.debug("Removed " + deletedRows + " records of " + sessionIdList.size() +
+                            " terminated sessions.");
+                }
             } catch (SQLException e1) {
                 IdentityDatabaseUtil.rollbackTransaction(connection);
                 log.error("Error while removing the terminated session information from the database.", e1);
@@ -495,71 +463,14 @@ public class UserSessionStore {
         }
     }
 
-    private Set<String> getSessionsTerminated(Connection connection) throws SQLException {
-
-        Set<String> terminatedSessionIds = new HashSet<>();
-
-        /**
-         * Retrieve only sessions which have an expiry time less than the current time.
-         * As the session cleanup task deletes only entries matching the same condition, in case sessions that are
-         * being marked as deleted are also retrieved that might load a huge amount of entries to the memory all the
-         * time. Yet those entries will be removed from the IDN_AUTH_USER_SESSION_MAPPING_TABLE table on the first
-         * execution, and there after every time the loop will be executed and the table will be scanned for a non
-         * existing entry.
-         */
-        try (PreparedStatement preparedStatement = connection.prepareStatement(SQLQueries
-                .SQL_SELECT_TERMINATED_SESSION_IDS)) {
-            preparedStatement.setLong(1, FrameworkUtils.getCurrentStandardNano());
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                while (resultSet.next()) {
-                    terminatedSessionIds.add(resultSet.getString(1));
-                }
-            }
-        }
-
-        return terminatedSessionIds;
-    }
-
     /**
-     * This method is used to chunk-wise deletion of records of a given table.
+     * Get the runtime metrics of the expired session cleanup.
      *
-     * @param sessionsToRemove array of session ids which should be removed
-     * @param connection       db connection
-     * @param tableName        table name from which the records are removed
-     * @param deleteQuery      delete query for the relevant table
-     * @throws SQLException if the DB execution fails
+     * @return Expired session cleanup metrics.
      */
-    private void deleteSessionDataFromTable(String[] sessionsToRemove, Connection connection, String tableName,
-                                            String deleteQuery) throws SQLException {
-
-        int totalSessionsToRemove = sessionsToRemove.length;
-        int iterations = (totalSessionsToRemove / deleteChunkSize) + 1;
-        int startCount = 0;
-        for (int i = 0; i < iterations; i++) {
-
-            int endCount = (i + 1) * deleteChunkSize;
-            if (totalSessionsToRemove < endCount) {
-                endCount = totalSessionsToRemove;
-            }
-
-            try (PreparedStatement preparedStatementForDelete = connection.prepareStatement(deleteQuery)) {
-
-                for (int j = startCount; j < endCount; j++) {
-                    preparedStatementForDelete.setString(1, sessionsToRemove[j]);
-                    preparedStatementForDelete.addBatch();
-                }
-                preparedStatementForDelete.executeBatch();
+    public UserSessionCleanUpMetrics getUserSessionCleanUpMetrics() {
 
-                if (log.isDebugEnabled()) {
-                    log.debug("Removed  " + (endCount - startCount) + " records from " + tableName + ".");
-                }
-            }
-            startCount = endCount;
-        }
-
-        if (log.isDebugEnabled()) {
-            log.debug("Removed total " + totalSessionsToRemove + " records from " + tableName + ".");
-        }
+        return userSessionDataCleaner.getMetrics();
     }
 
     /**
@@ -664,6 +664,7 @@ public abstract class FrameworkConstants {
     public static class AdaptiveAuthentication {
 
         public static final String ADAPTIVE_AUTH_LONG_WAIT_TIMEOUT = "AdaptiveAuth.LongWaitTimeout";
+        public static final String ADAPTIVE_AUTH_SUSPEND_ON_LONG_WAIT = "AdaptiveAuth.SuspendOnLongWait";
         public static final String CONF_EXECUTION_SUPERVISOR_ENABLE =
                 "AdaptiveAuth.ExecutionSupervisor.Enable";
         public static final String CONF_EXECUTION_SUPERVISOR_THREAD_COUNT =
@@ -682,6 +683,9 @@ public abstract class FrameworkConstants {
         public static final String GRAALJS_SCRIPT_STATEMENTS_LIMIT
                 = "AdaptiveAuth.GraalJS.ScriptStatementsLimit";
         public static final int DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT = 0;
+        public static final String CONF_SCRIPT_CACHE_ENABLE = "AdaptiveAuth.ScriptCache.Enable";
+        public static final String CONF_SCRIPT_CACHE_MAX_ENTRIES = "AdaptiveAuth.ScriptCache.MaxEntries";
+        public static final int DEFAULT_SCRIPT_CACHE_MAX_ENTRIES = 1000;
     }
 
     /**
@@ -766,6 +770,10 @@ public abstract class FrameworkConstants {
         public static final String AUTHENTICATED_IDPS = "authenticated idps";
         public static final String IDP = "idp";
         public static final String SESSION_CONTEXT_KEY = "session context key";
+        public static final String POST_AUTHN_HANDLER = "post authentication handler";
+        public static final String HANDLING_TIME = "handling time";
+        public static final String PREFETCH_TIME = "prefetch time";
+        public static final String PREFETCHED_DATA_USED = "prefetched data used";
 
         /**
          * Define action IDs for diagnostic logs in the framework component.
@@ -783,6 +791,7 @@ public abstract class FrameworkConstants {
             public static final String PROCESS_CLAIM_CONSENT = "process-claim-consent";
             public static final String AUTHENTICATION_STEP_EXECUTION = "authentication-step-execution";
             public static final String EXECUTE_ADAPTIVE_SCRIPT = "execute-adaptive-script";
+            public static final String EXECUTE_POST_AUTHN_HANDLER = "execute-post-authentication-handler";
         }
     }
 
@@ -127,6 +127,7 @@ import org.wso2.carbon.identity.core.ServiceURLBuilder;
 import org.wso2.carbon.identity.core.URLBuilderException;
 import org.wso2.carbon.identity.core.model.CookieBuilder;
 import org.wso2.carbon.identity.core.model.IdentityCookieConfig;
+import org.wso2.carbon.identity.core.util.IdentityConfigKey;
 import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
@@ -242,6 +243,10 @@ public class FrameworkUtils {
     private static final String ALREADY_WRITTEN_PROPERTY = "AlreadyWritten";
 
     private static final String CONTINUE_ON_CLAIM_HANDLING_ERROR = "ContinueOnClaimHandlingError";
+    private static final IdentityConfigKey<Boolean> PROMPT_ON_LONG_WAIT =
+            IdentityConfigKey.booleanKey("AdaptiveAuth.PromptOnLongWait", false);
+    private static final IdentityConfigKey<Boolean> AUTHENTICATION_CONTEXT_EXPIRY_VALIDATION_ENABLED =
+            IdentityConfigKey.booleanKey(AUTHENTICATION_CONTEXT_EXPIRY_VALIDATION, false);
     public static final String CORRELATION_ID_MDC = "Correlation-ID";
 
     private static boolean isTenantIdColumnAvailableInFedAuthTable = false;
@@ -2975,12 +2980,7 @@ public class FrameworkUtils {
 
     public static boolean promptOnLongWait() {
 
-        boolean promptOnLongWait = false;
-        String promptOnLongWaitString = IdentityUtil.getProperty("AdaptiveAuth.PromptOnLongWait");
-        if (promptOnLongWaitString != null) {
-            promptOnLongWait = Boolean.parseBoolean(promptOnLongWaitString);
-        }
-        return promptOnLongWait;
+        return PROMPT_ON_LONG_WAIT.getValue();
     }
 
     /**
@@ -3964,7 +3964,7 @@ public class FrameworkUtils {
      */
     public static boolean isAuthenticationContextExpiryEnabled() {
 
-        return Boolean.parseBoolean(IdentityUtil.getProperty(AUTHENTICATION_CONTEXT_EXPIRY_VALIDATION));
+        return AUTHENTICATION_CONTEXT_EXPIRY_VALIDATION_ENABLED.getValue();
     }
 
     /**
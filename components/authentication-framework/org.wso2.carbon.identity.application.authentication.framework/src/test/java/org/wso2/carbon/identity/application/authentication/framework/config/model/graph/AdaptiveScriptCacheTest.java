@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test class for AdaptiveScriptCache.
+ */
+public class AdaptiveScriptCacheTest {
+
+    private static final String APP_KEY = "carbon.super:app-id";
+
+    @Test
+    public void testCompiledScriptIsReusedForSameScript() {
+
+        AdaptiveScriptCache<Object> cache = new AdaptiveScriptCache<>(true, 10);
+        AtomicInteger compilations = new AtomicInteger();
+
+        Object first = cache.getOrCompile(APP_KEY, "var onLoginRequest = function() {};",
+                script -> compile(compilations));
+        Object second = cache.getOrCompile(APP_KEY, "var onLoginRequest = function() {};",
+                script -> compile(compilations));
+
+        assertSame(first, second);
+        assertEquals(compilations.get(), 1);
+    }
+
+    @Test
+    public void testChangedScriptIsRecompiled() {
+
+        AdaptiveScriptCache<Object> cache = new AdaptiveScriptCache<>(true, 10);
+        AtomicInteger compilations = new AtomicInteger();
+
+        Object first = cache.getOrCompile(APP_KEY, "var a = 1;", script -> compile(compilations));
+        Object second = cache.getOrCompile(APP_KEY, "var a = 2;", script -> compile(compilations));
+
+        assertNotSame(first, second);
+        assertEquals(compilations.get(), 2);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testInvalidateApplication() {
+
+        AdaptiveScriptCache<Object> cache = new AdaptiveScriptCache<>(true, 10);
+        AtomicInteger compilations = new AtomicInteger();
+        cache.getOrCompile(APP_KEY, "var a = 1;", script -> compile(compilations));
+
+        AdaptiveScriptCache.invalidateApplication("carbon.super", "app-id");
+        cache.getOrCompile(APP_KEY, "var a = 1;", script -> compile(compilations));
+
+        assertEquals(compilations.get(), 2);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+
+        AdaptiveScriptCache<Object> cache = new AdaptiveScriptCache<>(true, 2);
+        AtomicInteger compilations = new AtomicInteger();
+        cache.getOrCompile("app-1", "var a = 1;", script -> compile(compilations));
+        cache.getOrCompile("app-2", "var a = 1;", script -> compile(compilations));
+        cache.getOrCompile("app-1", "var a = 1;", script -> compile(compilations));
+        cache.getOrCompile("app-3", "var a = 1;", script -> compile(compilations));
+
+        assertEquals(cache.size(), 2);
+        cache.getOrCompile("app-1", "var a = 1;", script -> compile(compilations));
+        assertEquals(compilations.get(), 3);
+        cache.getOrCompile("app-2", "var a = 1;", script -> compile(compilations));
+        assertEquals(compilations.get(), 4);
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysCompiles() {
+
+        AdaptiveScriptCache<Object> cache = new AdaptiveScriptCache<>(false, 10);
+        AtomicInteger compilations = new AtomicInteger();
+        cache.getOrCompile(APP_KEY, "var a = 1;", script -> compile(compilations));
+        cache.getOrCompile(APP_KEY, "var a = 1;", script -> compile(compilations));
+
+        assertEquals(compilations.get(), 2);
+        assertEquals(cache.size(), 0);
+    }
+
+    private Object compile(AtomicInteger compilations) {
+
+        compilations.incrementAndGet();
+        return new Object();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.request;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PostAuthnPrefetchExecutor}.
+ */
+public class PostAuthnPrefetchExecutorTest {
+
+    private static final String HANDLER_NAME = "TestPrefetchHandler";
+    private static final String DEPENDENCY_KEY = "user@carbon.super";
+    private static final String PREFETCHED_DATA = "prefetched-data";
+
+    private MockedStatic<IdentityUtil> identityUtil;
+    private PostAuthnPrefetchExecutor prefetchExecutor;
+    private HttpServletRequest request;
+    private AuthenticationContext context;
+
+    @BeforeMethod
+    public void setUp() {
+
+        identityUtil = mockStatic(IdentityUtil.class);
+        identityUtil.when(() -> IdentityUtil.getProperty("PostAuthentication.Prefetch.Enable")).thenReturn("true");
+        prefetchExecutor = new PostAuthnPrefetchExecutor();
+
+        Map<String, Object> attributes = new HashMap<>();
+        request = mock(HttpServletRequest.class);
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.getArgument(0)))
+                .when(request).removeAttribute(anyString());
+        context = mock(AuthenticationContext.class);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        prefetchExecutor.shutdown();
+        identityUtil.close();
+    }
+
+    @Test
+    public void testGetPrefetchedData() throws Exception {
+
+        prefetchExecutor.startPrefetches(request, context, Collections.singletonList(new TestPrefetchHandler()), 0);
+        PostAuthnPrefetch prefetch = prefetchExecutor.getPrefetch(request, HANDLER_NAME);
+        prefetch.getFuture().get();
+
+        assertEquals(prefetchExecutor.getPrefetchedData(request, HANDLER_NAME, DEPENDENCY_KEY), PREFETCHED_DATA);
+        assertTrue(prefetch.isUsed());
+        assertTrue(prefetch.getPrefetchTimeMillis() >= 0);
+    }
+
+    @Test
+    public void testGetPrefetchedDataWithChangedDependency() {
+
+        prefetchExecutor.startPrefetches(request, context, Collections.singletonList(new TestPrefetchHandler()), 0);
+
+        assertNull(prefetchExecutor.getPrefetchedData(request, HANDLER_NAME, "another-user@carbon.super"));
+        assertFalse(prefetchExecutor.getPrefetch(request, HANDLER_NAME).isUsed());
+    }
+
+    @Test
+    public void testDiscardPrefetches() throws Exception {
+
+        prefetchExecutor.startPrefetches(request, context, Collections.singletonList(new TestPrefetchHandler()), 0);
+        prefetchExecutor.getPrefetch(request, HANDLER_NAME).getFuture().get();
+
+        prefetchExecutor.discardPrefetches(request, EnumSet.of(PostAuthnDataType.FEDERATED_ASSOCIATIONS));
+        assertEquals(prefetchExecutor.getPrefetchedData(request, HANDLER_NAME, DEPENDENCY_KEY), PREFETCHED_DATA);
+
+        prefetchExecutor.discardPrefetches(request, EnumSet.of(PostAuthnDataType.CONSENT_RECEIPTS));
+        assertNull(prefetchExecutor.getPrefetchedData(request, HANDLER_NAME, DEPENDENCY_KEY));
+    }
+
+    @Test
+    public void testCancelPrefetches() {
+
+        prefetchExecutor.startPrefetches(request, context, Collections.singletonList(new TestPrefetchHandler()), 0);
+
+        prefetchExecutor.cancelPrefetches(request);
+        assertNull(prefetchExecutor.getPrefetch(request, HANDLER_NAME));
+        assertNull(prefetchExecutor.getPrefetchedData(request, HANDLER_NAME, DEPENDENCY_KEY));
+    }
+
+    @Test
+    public void testStartPrefetchesWhenDisabled() {
+
+        identityUtil.when(() -> IdentityUtil.getProperty("PostAuthentication.Prefetch.Enable")).thenReturn("false");
+        PostAuthnPrefetchExecutor disabledExecutor = new PostAuthnPrefetchExecutor();
+
+        assertFalse(disabledExecutor.isEnabled());
+        disabledExecutor.startPrefetches(request, context, Collections.singletonList(new TestPrefetchHandler()), 0);
+        assertNull(disabledExecutor.getPrefetch(request, HANDLER_NAME));
+    }
+
+    private static class TestPrefetchHandler extends AbstractPostAuthnHandler implements PostAuthnDataPrefetcher {
+
+        @Override
+        public String getName() {
+
+            return HANDLER_NAME;
+        }
+
+        @Override
+        public boolean isEnabled() {
+
+            return true;
+        }
+
+        @Override
+        public PostAuthnHandlerFlowStatus handle(HttpServletRequest request, HttpServletResponse response,
+                                                 AuthenticationContext context) {
+
+            return PostAuthnHandlerFlowStatus.SUCCESS_COMPLETED;
+        }
+
+        @Override
+        public Set<PostAuthnDataType> getPrefetchedDataTypes() {
+
+            return EnumSet.of(PostAuthnDataType.CONSENT_RECEIPTS);
+        }
+
+        @Override
+        public PostAuthnPrefetch createPrefetch(HttpServletRequest request, AuthenticationContext context) {
+
+            return new PostAuthnPrefetch(DEPENDENCY_KEY, () -> PREFETCHED_DATA);
+        }
+    }
+}
@@ -38,6 +38,9 @@ import org.wso2.carbon.consent.mgt.core.internal.ConsentManagerComponentDataHold
 import org.wso2.carbon.consent.mgt.core.model.ConsentManagerConfigurationHolder;
 import org.wso2.carbon.consent.mgt.core.util.ConsentUtils;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheKey;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.model.Claim;
@@ -53,6 +56,7 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.user.api.UserRealm;
 import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.tenant.TenantManager;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.nio.file.Paths;
 import java.sql.Connection;
@@ -73,6 +77,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_ID;
@@ -288,6 +293,14 @@ public class SSOConsentServiceImplTest {
             mockRealmService(realmService);
 
             assertNotNull(ssoConsentService.getClaimsWithConsents(serviceProvider, authenticatedUser));
+
+            ConsentReceiptCacheKey cacheKey = new ConsentReceiptCacheKey(UserCoreUtil.addDomainToName(
+                    authenticatedUser.getUserName(), authenticatedUser.getUserStoreDomain()),
+                    authenticatedUser.getTenantDomain(), "Travelocity.com");
+            ConsentReceiptCacheEntry cacheEntry =
+                    ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, SUPER_TENANT_DOMAIN_NAME);
+            assertNotNull(cacheEntry, "Consent receipt lookup is not cached.");
+            assertFalse(cacheEntry.hasReceipt());
         }
     }
 
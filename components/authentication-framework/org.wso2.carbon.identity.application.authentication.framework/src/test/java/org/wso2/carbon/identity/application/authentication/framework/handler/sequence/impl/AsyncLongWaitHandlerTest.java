@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link AsyncLongWaitHandler}.
+ */
+public class AsyncLongWaitHandlerTest {
+
+    private static final String RESUMED_AT = "AdaptiveAuthLongWaitResumedAt";
+    private static final String RESUME_PATH = "/commonauth?sessionDataKey=session-data-key";
+
+    private MockedStatic<IdentityUtil> identityUtil;
+    private HttpServletRequest request;
+    private AsyncContext asyncContext;
+    private AuthenticationContext context;
+
+    @BeforeMethod
+    public void setUp() {
+
+        identityUtil = mockStatic(IdentityUtil.class);
+        request = mock(HttpServletRequest.class);
+        asyncContext = mock(AsyncContext.class);
+        when(request.startAsync()).thenReturn(asyncContext);
+        when(asyncContext.getRequest()).thenReturn(request);
+        when(request.getRequestURI()).thenReturn("/commonauth");
+        context = new AuthenticationContext();
+        context.setContextIdentifier("session-data-key");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        identityUtil.close();
+    }
+
+    @Test
+    public void testCanSuspend() {
+
+        when(request.isAsyncSupported()).thenReturn(true);
+        assertFalse(AsyncLongWaitHandler.getInstance().canSuspend(request));
+
+        identityUtil.when(() -> IdentityUtil.getProperty(
+                FrameworkConstants.AdaptiveAuthentication.ADAPTIVE_AUTH_SUSPEND_ON_LONG_WAIT)).thenReturn("true");
+        assertTrue(AsyncLongWaitHandler.getInstance().canSuspend(request));
+
+        // Requests to other endpoints are not suspended, as the request is resumed at the commonauth endpoint.
+        when(request.getRequestURI()).thenReturn("/oauth2/authorize");
+        assertFalse(AsyncLongWaitHandler.getInstance().canSuspend(request));
+        when(request.getRequestURI()).thenReturn("/commonauth");
+
+        identityUtil.when(() -> IdentityUtil.getProperty("AdaptiveAuth.PromptOnLongWait")).thenReturn("true");
+        assertFalse(AsyncLongWaitHandler.getInstance().canSuspend(request));
+
+        identityUtil.when(() -> IdentityUtil.getProperty("AdaptiveAuth.PromptOnLongWait")).thenReturn("false");
+        when(request.isAsyncSupported()).thenReturn(false);
+        assertFalse(AsyncLongWaitHandler.getInstance().canSuspend(request));
+    }
+
+    @Test
+    public void testSuspendAndResume() {
+
+        AsyncLongWaitHandler handler = AsyncLongWaitHandler.getInstance();
+        int suspended = handler.getSuspendedRequestCount();
+        long resumed = handler.getResumedRequestCount();
+
+        AsyncLongWaitHandler.SuspendedRequest suspendedRequest = handler.suspend(request, context, 5000);
+        verify(asyncContext).setTimeout(5000);
+        assertEquals(handler.getSuspendedRequestCount(), suspended + 1);
+
+        suspendedRequest.resume();
+        suspendedRequest.resume();
+        verify(asyncContext, times(1)).dispatch(RESUME_PATH);
+        verify(request).setAttribute(eq(RESUMED_AT), any(Long.class));
+        assertEquals(handler.getSuspendedRequestCount(), suspended);
+        assertEquals(handler.getResumedRequestCount(), resumed + 1);
+    }
+
+    @Test
+    public void testCancel() {
+
+        AsyncLongWaitHandler handler = AsyncLongWaitHandler.getInstance();
+        int suspended = handler.getSuspendedRequestCount();
+
+        AsyncLongWaitHandler.SuspendedRequest suspendedRequest = handler.suspend(request, context, 5000);
+        suspendedRequest.cancel();
+        suspendedRequest.resume();
+        verify(asyncContext).complete();
+        verify(asyncContext, never()).dispatch(anyString());
+        assertEquals(handler.getSuspendedRequestCount(), suspended);
+    }
+
+    @Test
+    public void testResumeOnTimeout() throws Exception {
+
+        AsyncLongWaitHandler handler = AsyncLongWaitHandler.getInstance();
+        long timedOut = handler.getTimedOutRequestCount();
+
+        AsyncLongWaitHandler.SuspendedRequest suspendedRequest = handler.suspend(request, context, 5000);
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        listener.getValue().onTimeout(new AsyncEvent(asyncContext));
+
+        verify(asyncContext).dispatch(RESUME_PATH);
+        assertEquals(handler.getTimedOutRequestCount(), timedOut + 1);
+
+        // The external call returning after the timeout must not dispatch the request again.
+        suspendedRequest.resume();
+        verify(asyncContext, times(1)).dispatch(RESUME_PATH);
+    }
+
+    @Test
+    public void testRecordResumed() {
+
+        AsyncLongWaitHandler handler = AsyncLongWaitHandler.getInstance();
+        when(request.getAttribute(RESUMED_AT)).thenReturn(System.nanoTime());
+
+        handler.recordResumed(request);
+        verify(request).removeAttribute(RESUMED_AT);
+        assertTrue(handler.getAverageResumeLatencyMillis() >= 0);
+
+        HttpServletRequest notSuspended = mock(HttpServletRequest.class);
+        handler.recordResumed(notSuspended);
+        verify(notSuspended, never()).removeAttribute(RESUMED_AT);
+    }
+}
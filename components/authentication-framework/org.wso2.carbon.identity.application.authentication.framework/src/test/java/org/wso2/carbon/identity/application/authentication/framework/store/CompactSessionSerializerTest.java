@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CompactSessionSerializer}.
+ */
+public class CompactSessionSerializerTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        CompactSessionSerializer serializer = new CompactSessionSerializer(-1);
+        byte[] serialized = toByteArray(serializer.serializeSessionObject(getAuthenticationContext()));
+        assertEquals(serialized[0], CompactSessionSerializer.HEADER_COMPACT);
+
+        AuthenticationContext context = (AuthenticationContext) serializer.deSerializeSessionObject(
+                new ByteArrayInputStream(serialized));
+        assertAuthenticationContext(context);
+    }
+
+    @Test
+    public void testRoundTripWithCompression() throws Exception {
+
+        CompactSessionSerializer serializer = new CompactSessionSerializer(0);
+        byte[] serialized = toByteArray(serializer.serializeSessionObject(getAuthenticationContext()));
+        assertEquals(serialized[0], CompactSessionSerializer.HEADER_COMPACT_DEFLATED);
+
+        AuthenticationContext context = (AuthenticationContext) serializer.deSerializeSessionObject(
+                new ByteArrayInputStream(serialized));
+        assertAuthenticationContext(context);
+    }
+
+    @Test
+    public void testReadJavaSerializedObject() throws Exception {
+
+        byte[] serialized = toByteArray(
+                new JavaSessionSerializer().serializeSessionObject(getAuthenticationContext()));
+
+        AuthenticationContext context = (AuthenticationContext) new CompactSessionSerializer()
+                .deSerializeSessionObject(new ByteArrayInputStream(serialized));
+        assertAuthenticationContext(context);
+    }
+
+    @Test
+    public void testSerializedSizeIsSmallerThanJavaSerialization() throws Exception {
+
+        AuthenticationContext context = getAuthenticationContext();
+        byte[] javaSerialized = toByteArray(new JavaSessionSerializer().serializeSessionObject(context));
+        byte[] compactSerialized = toByteArray(
+                new CompactSessionSerializer(-1).serializeSessionObject(context));
+        assertTrue(compactSerialized.length < javaSerialized.length);
+    }
+
+    @Test
+    public void testReadValueWrittenWithOlderFieldLayout() throws Exception {
+
+        // A node which runs the older version of the class, without the count field, writes the value.
+        CompactSessionSerializer olderSerializer = new CompactSessionSerializer(-1);
+        olderSerializer.registerClass(OlderValue.class);
+        byte[] serialized = toByteArray(olderSerializer.serializeSessionObject(new OlderValue("session-value")));
+        replaceClassId(serialized, OlderValue.class.getName().hashCode(), NewerValue.class.getName().hashCode());
+
+        CompactSessionSerializer newerSerializer = new CompactSessionSerializer(-1);
+        newerSerializer.registerClass(NewerValue.class);
+        NewerValue value = (NewerValue) newerSerializer.deSerializeSessionObject(new ByteArrayInputStream(serialized));
+        assertEquals(value.name, "session-value");
+        assertEquals(value.count, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRegisterNonSerializableClass() {
+
+        new CompactSessionSerializer().registerClass(Object.class);
+    }
+
+    private AuthenticationContext getAuthenticationContext() {
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setContextIdentifier("a3b2c1d0-1111-2222-3333-444455556666");
+        context.setTenantDomain("carbon.super");
+        context.setRelyingParty("travelocity.com");
+        context.setSequenceConfig(new SequenceConfig());
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("http://wso2.org/claims/emailaddress", "user@example.com");
+        context.setProperty("attributes", attributes);
+        return context;
+    }
+
+    private void assertAuthenticationContext(AuthenticationContext context) {
+
+        assertEquals(context.getContextIdentifier(), "a3b2c1d0-1111-2222-3333-444455556666");
+        assertEquals(context.getTenantDomain(), "carbon.super");
+        assertEquals(context.getRelyingParty(), "travelocity.com");
+        assertEquals(((Map) context.getProperty("attributes")).get("http://wso2.org/claims/emailaddress"),
+                "user@example.com");
+    }
+
+    /**
+     * Rewrite the class identifier in a serialized value, so that the value reads as written by another version of
+     * the class. The class name of a registered class is not written, so the identifier is the only change needed.
+     */
+    private void replaceClassId(byte[] serialized, int classId, int newClassId) {
+
+        byte[] classIdBytes = ByteBuffer.allocate(4).putInt(classId).array();
+        byte[] newClassIdBytes = ByteBuffer.allocate(4).putInt(newClassId).array();
+        int replaced = 0;
+        for (int i = 0; i <= serialized.length - classIdBytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(serialized, i, i + classIdBytes.length), classIdBytes)) {
+                System.arraycopy(newClassIdBytes, 0, serialized, i, newClassIdBytes.length);
+                replaced++;
+            }
+        }
+        assertEquals(replaced, 1);
+    }
+
+    private byte[] toByteArray(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Older version of a session value.
+     */
+    private static class OlderValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        OlderValue(String name) {
+
+            this.name = name;
+        }
+    }
+
+    /**
+     * Newer version of the session value, with an added field.
+     */
+    private static class NewerValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int count;
+        private String name;
+    }
+}
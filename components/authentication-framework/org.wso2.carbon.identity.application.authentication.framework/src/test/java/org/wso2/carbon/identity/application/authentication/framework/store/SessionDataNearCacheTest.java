@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionDataNearCacheInvalidationListener;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link SessionDataNearCache}.
+ */
+public class SessionDataNearCacheTest {
+
+    private static final String SESSION_TYPE = "AppAuthFrameworkSessionContextCache";
+
+    @Test
+    public void testPutAndGet() {
+
+        SessionDataNearCache nearCache = new SessionDataNearCache(1024 * 1024, 60);
+        assertNull(nearCache.get("key1", SESSION_TYPE));
+
+        nearCache.putStored("key1", SESSION_TYPE, 10L, new byte[]{1, 2, 3});
+        SessionDataNearCache.NearCacheEntry entry = nearCache.get("key1", SESSION_TYPE);
+        assertNotNull(entry);
+        assertEquals(entry.getData(), new byte[]{1, 2, 3});
+        assertEquals(entry.getNanoTime(), 10L);
+
+        SessionDataNearCache.Statistics statistics = nearCache.getStatistics().get(SESSION_TYPE);
+        assertEquals(statistics.getHitCount(), 1);
+        assertEquals(statistics.getMissCount(), 1);
+        assertTrue(statistics.getBytesHeld() > 3);
+    }
+
+    @Test
+    public void testInvalidationListenerOnlyWhenEnabled() {
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.NearCache.Enable")).thenReturn("false");
+            assertTrue(SessionDataNearCacheInvalidationListener.<SessionContextCacheKey, SessionContextCacheEntry>
+                    getCacheListeners(SESSION_TYPE, SessionContextCacheKey::getContextId).isEmpty());
+
+            identityUtil.when(() -> IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.NearCache.Enable")).thenReturn("true");
+            assertEquals(SessionDataNearCacheInvalidationListener.<SessionContextCacheKey, SessionContextCacheEntry>
+                    getCacheListeners(SESSION_TYPE, SessionContextCacheKey::getContextId).size(), 1);
+        }
+    }
+
+    @Test
+    public void testDeletedEntry() {
+
+        SessionDataNearCache nearCache = new SessionDataNearCache(1024 * 1024, 60);
+        nearCache.putDeleted("key1", SESSION_TYPE, 10L);
+        assertTrue(nearCache.get("key1", SESSION_TYPE).isDeleted());
+    }
+
+    @Test
+    public void testOlderRowIsNotCachedAfterLocalWrite() {
+
+        SessionDataNearCache nearCache = new SessionDataNearCache(1024 * 1024, 60);
+        nearCache.putStored("key1", SESSION_TYPE, 10L, new byte[]{1});
+
+        // This node wrote a newer operation which has not reached the session store yet.
+        nearCache.invalidate("key1", SESSION_TYPE, 20L);
+        assertNull(nearCache.get("key1", SESSION_TYPE));
+
+        nearCache.putStored("key1", SESSION_TYPE, 10L, new byte[]{1});
+        assertNull(nearCache.get("key1", SESSION_TYPE));
+
+        // An invalidation from another node keeps the fence.
+        nearCache.invalidate("key1", SESSION_TYPE);
+        nearCache.putStored("key1", SESSION_TYPE, 10L, new byte[]{1});
+        assertNull(nearCache.get("key1", SESSION_TYPE));
+
+        nearCache.putStored("key1", SESSION_TYPE, 20L, new byte[]{2});
+        assertEquals(nearCache.get("key1", SESSION_TYPE).getData(), new byte[]{2});
+
+        nearCache.invalidate("key1", SESSION_TYPE);
+        assertNull(nearCache.get("key1", SESSION_TYPE));
+    }
+
+    @Test
+    public void testEviction() {
+
+        SessionDataNearCache nearCache = new SessionDataNearCache(300, 60);
+        nearCache.putStored("key1", SESSION_TYPE, 10L, new byte[100]);
+        nearCache.putStored("key2", SESSION_TYPE, 10L, new byte[100]);
+        nearCache.putStored("key3", SESSION_TYPE, 10L, new byte[100]);
+
+        assertNull(nearCache.get("key1", SESSION_TYPE));
+        assertNotNull(nearCache.get("key3", SESSION_TYPE));
+        assertTrue(nearCache.getSizeInBytes() <= 300);
+        assertEquals(nearCache.getStatistics().get(SESSION_TYPE).getEvictionCount(), 2);
+    }
+}
@@ -33,7 +33,11 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -44,6 +48,8 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 /**
  * Test class that includes unit tests of Session Data Store.
@@ -113,6 +119,83 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         }
     }
 
+    @Test(dependsOnMethods = "testRemoveExpiredSessionData")
+    public void testPersistSessionDataBatch() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = getConnection(DB_NAME);
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            mockIdentityDataBaseUtilConnection(connection, false, identityDatabaseUtil);
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+
+            long nanoTime = System.nanoTime();
+            List<SessionContextDO> operations = new ArrayList<>();
+            operations.add(new SessionContextDO("batch-00001", "sessionType", "value-1", nanoTime, 1));
+            operations.add(new SessionContextDO("batch-00002", "sessionType", "value-2", nanoTime, 1));
+            operations.add(new SessionContextDO("batch-00001", "sessionType", "value-3", nanoTime + 1, 1));
+            operations.add(new SessionContextDO("batch-00002", "sessionType", null, nanoTime + 1));
+
+            List<SessionContextDO> mergedOperations = SessionDataPersistBatchTask.mergeOperations(operations);
+            assertEquals(mergedOperations.size(), 2);
+
+            SessionDataStore sessionDataStore = SessionDataStore.getInstance();
+            long flushedBatches = sessionDataStore.getSessionDataPersistMetrics().getFlushedBatchCount();
+            sessionDataStore.persistSessionDataBatch(mergedOperations,
+                    operations.size() - mergedOperations.size());
+
+            assertEquals(sessionDataStore.getSessionData("batch-00001", "sessionType"), "value-3");
+            assertNull(sessionDataStore.getSessionData("batch-00002", "sessionType"));
+            assertEquals(sessionDataStore.getSessionDataPersistMetrics().getFlushedBatchCount(), flushedBatches + 1);
+        }
+    }
+
+    @Test(dependsOnMethods = "testPersistSessionDataBatch")
+    public void testPersistSessionDataBatchSkipsDuplicateDelete() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = getConnection(DB_NAME);
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            mockIdentityDataBaseUtilConnection(connection, false, identityDatabaseUtil);
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+
+            // The DELETE operation of batch-00002 was persisted by the previous batch.
+            assertEquals(getDeleteRowCount(connection, "batch-00002"), 1);
+            List<SessionContextDO> operations = new ArrayList<>();
+            operations.add(new SessionContextDO("batch-00002", "sessionType", null, System.nanoTime()));
+            SessionDataStore.getInstance().persistSessionDataBatch(operations, 0);
+
+            assertEquals(getDeleteRowCount(connection, "batch-00002"), 1);
+        }
+    }
+
+    private int getDeleteRowCount(Connection connection, String key) throws SQLException {
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM " +
+                "IDN_AUTH_SESSION_STORE WHERE SESSION_ID = ? AND OPERATION = 'DELETE'")) {
+            preparedStatement.setString(1, key);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
     private void mockCarbonContext(MockedStatic<CarbonContext> carbonContext) {
 
         CarbonContext mockCarbonContext = mock(CarbonContext.class);
@@ -24,15 +24,22 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.DuplicatedAuthUserException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -40,9 +47,14 @@ import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 /**
@@ -51,6 +63,8 @@ import static org.mockito.MockitoAnnotations.initMocks;
 public class UserSessionStoreTest extends DataStoreBaseTest {
 
     private static final String DB_NAME = "USER_SESSION_STORE";
+    private static final String USER_SESSION_MAPPING_CONFIG_PREFIX =
+            "JDBCPersistenceManager.SessionDataPersist.UserSessionMapping.";
 
     @BeforeClass
     public void setUp() throws Exception {
@@ -294,6 +308,180 @@ public class UserSessionStoreTest extends DataStoreBaseTest {
         }
     }
 
+    @Test(dependsOnMethods = {"testStoreUserData"})
+    public void testRemoveTerminatedSessionRecords() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            UserSessionStore.getInstance().storeUserSessionData("00000001", "00000010");
+            UserSessionStore.getInstance().storeUserSessionData("00000002", "00000011");
+            insertSessionAppInfo(connection, "00000010");
+
+            UserSessionStore.getInstance().removeTerminatedSessionRecords(Collections.singletonList("00000010"));
+
+            Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_USER_SESSION_MAPPING", "00000010"), 0);
+            Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_USER_SESSION_MAPPING", "00000011"), 1);
+            Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_SESSION_APP_INFO", "00000010"), 0);
+        }
+    }
+
+    @Test(dependsOnMethods = {"testStoreUserData"})
+    public void testRemoveExpiredSessionRecords() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            UserSessionStore.getInstance().storeUserSessionData("00000001", "00000020");
+            UserSessionStore.getInstance().storeUserSessionData("00000001", "00000021");
+            insertSessionAppInfo(connection, "00000020");
+            insertSessionStoreEntry(connection, "00000020", "STORE", Long.MIN_VALUE);
+            insertSessionStoreEntry(connection, "00000020", "DELETE", Long.MIN_VALUE + 1);
+            insertSessionStoreEntry(connection, "00000021", "STORE", Long.MAX_VALUE);
+
+            UserSessionStore.getInstance().removeExpiredSessionRecords();
+
+            Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_USER_SESSION_MAPPING", "00000020"), 0);
+            Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_USER_SESSION_MAPPING", "00000021"), 1);
+            Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_SESSION_APP_INFO", "00000020"), 0);
+
+            UserSessionCleanUpMetrics metrics = UserSessionStore.getInstance().getUserSessionCleanUpMetrics();
+            Assert.assertEquals(metrics.getLastRunCleanedSessionCount(), 1);
+            Assert.assertEquals(metrics.getLastRunDeletedRowCount(), 2);
+            Assert.assertEquals(metrics.getFailedRunCount(), 0);
+        }
+    }
+
+    @Test(dependsOnMethods = {"testStoreUserData"})
+    public void testRemoveExpiredSessionDataAfterChunkedCleanUp() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME);
+             MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            CarbonContext mockCarbonContext = mock(CarbonContext.class);
+            carbonContext.when(CarbonContext::getThreadLocalCarbonContext).thenReturn(mockCarbonContext);
+            when(mockCarbonContext.getTenantDomain()).thenReturn("carbon.super");
+            identityUtil.when(() -> IdentityUtil.getCleanUpPeriod(anyString())).thenReturn(11111111L);
+            // Every chunk takes longer than the lock wait threshold, so the run shrinks to single session chunks.
+            identityUtil.when(() -> IdentityUtil.getProperty(USER_SESSION_MAPPING_CONFIG_PREFIX + "DeleteChunkSize"))
+                    .thenReturn("4");
+            identityUtil.when(() -> IdentityUtil.getProperty(USER_SESSION_MAPPING_CONFIG_PREFIX +
+                    "MinDeleteChunkSize")).thenReturn("1");
+            identityUtil.when(() -> IdentityUtil.getProperty(USER_SESSION_MAPPING_CONFIG_PREFIX +
+                    "LockWaitThreshold")).thenReturn("0");
+
+            List<String> sessionIds = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                String sessionId = "0000003" + i;
+                sessionIds.add(sessionId);
+                insertUserSessionMapping(connection, "00000001", sessionId);
+                insertSessionAppInfo(connection, sessionId);
+                insertSessionStoreEntry(connection, sessionId, "STORE", Long.MIN_VALUE);
+            }
+
+            UserSessionDataCleaner userSessionDataCleaner = new UserSessionDataCleaner();
+            Assert.assertTrue(userSessionDataCleaner.removeExpiredSessionRecords());
+            SessionDataStore.getInstance().removeExpiredSessionData();
+
+            for (String sessionId : sessionIds) {
+                Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_SESSION_STORE", sessionId), 0);
+                Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_USER_SESSION_MAPPING", sessionId), 0);
+                Assert.assertEquals(countSessionRecords(connection, "IDN_AUTH_SESSION_APP_INFO", sessionId), 0);
+            }
+            UserSessionCleanUpMetrics metrics = userSessionDataCleaner.getMetrics();
+            Assert.assertTrue(metrics.getLastRunCleanedSessionCount() >= sessionIds.size());
+            Assert.assertEquals(metrics.getChunkSize(), 1);
+        }
+    }
+
+    @Test(dependsOnMethods = {"testStoreUserData"})
+    public void testRemoveExpiredSessionRecordsFailure() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection failingConnection = spy(connection);
+            doNothing().when(failingConnection).close();
+            doThrow(new SQLTransientException("Lock wait timeout exceeded.")).when(failingConnection)
+                    .prepareStatement(startsWith("DELETE FROM IDN_AUTH_SESSION_META_DATA"));
+            identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getSessionDBConnection(true))
+                    .thenReturn(failingConnection);
+            insertUserSessionMapping(connection, "00000001", "00000040");
+            insertSessionStoreEntry(connection, "00000040", "STORE", Long.MIN_VALUE);
+
+            UserSessionDataCleaner userSessionDataCleaner = new UserSessionDataCleaner();
+            try {
+                // A failed run has to be reported, so that the expired session data that drives the cleanup is kept.
+                Assert.assertFalse(userSessionDataCleaner.removeExpiredSessionRecords());
+                Assert.assertEquals(userSessionDataCleaner.getMetrics().getFailedRunCount(), 1);
+                Assert.assertTrue(userSessionDataCleaner.getMetrics().getLockFailureCount() > 0);
+            } finally {
+                deleteSessionRecords(connection, "IDN_AUTH_SESSION_STORE", "00000040");
+                deleteSessionRecords(connection, "IDN_AUTH_USER_SESSION_MAPPING", "00000040");
+            }
+        }
+    }
+
+    private void insertUserSessionMapping(Connection connection, String userId, String sessionId)
+            throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO IDN_AUTH_USER_SESSION_MAPPING " +
+                "(USER_ID, SESSION_ID) VALUES (?, ?)")) {
+            statement.setString(1, userId);
+            statement.setString(2, sessionId);
+            statement.executeUpdate();
+        }
+    }
+
+    private void deleteSessionRecords(Connection connection, String tableName, String sessionId)
+            throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + tableName + " WHERE SESSION_ID = ?")) {
+            statement.setString(1, sessionId);
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertSessionStoreEntry(Connection connection, String sessionId, String operation, long expiryTime)
+            throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO IDN_AUTH_SESSION_STORE " +
+                "(SESSION_ID, SESSION_TYPE, OPERATION, TIME_CREATED, EXPIRY_TIME) VALUES (?, ?, ?, ?, ?)")) {
+            statement.setString(1, sessionId);
+            statement.setString(2, "AppAuthFrameworkSessionContextCache");
+            statement.setString(3, operation);
+            statement.setLong(4, System.nanoTime());
+            statement.setLong(5, expiryTime);
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertSessionAppInfo(Connection connection, String sessionId) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO IDN_AUTH_SESSION_APP_INFO " +
+                "(SESSION_ID, SUBJECT, APP_ID, INBOUND_AUTH_TYPE) VALUES (?, ?, ?, ?)")) {
+            statement.setString(1, sessionId);
+            statement.setString(2, "testuser1");
+            statement.setInt(3, 1);
+            statement.setString(4, "authtype");
+            statement.executeUpdate();
+        }
+    }
+
+    private int countSessionRecords(Connection connection, String tableName, String sessionId) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM " + tableName + " WHERE SESSION_ID = ?")) {
+            statement.setString(1, sessionId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
     private void mockIdentityDataBaseUtilConnection(Connection connection, Boolean shouldApplyTransaction,
                                                     MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil)
             throws SQLException {
@@ -34,3 +34,16 @@ CREATE TABLE IF NOT EXISTS IDN_AUTH_SESSION_APP_INFO (
 
 CREATE INDEX IDX_AUTH_SAI_UN_AID_SID ON IDN_AUTH_SESSION_APP_INFO (SUBJECT, APP_ID, SESSION_ID);
 CREATE INDEX IDX_AUTH_SAI_AID ON IDN_AUTH_SESSION_APP_INFO (APP_ID);
+
+CREATE TABLE IF NOT EXISTS IDN_AUTH_SESSION_STORE (
+    SESSION_ID VARCHAR (100) NOT NULL,
+    SESSION_TYPE VARCHAR(100) NOT NULL,
+    OPERATION VARCHAR(10) NOT NULL,
+    SESSION_OBJECT BLOB,
+    TIME_CREATED BIGINT,
+    TENANT_ID INTEGER DEFAULT -1,
+    EXPIRY_TIME BIGINT,
+    PRIMARY KEY (SESSION_ID, SESSION_TYPE, TIME_CREATED, OPERATION)
+);
+
+CREATE INDEX IDX_IDN_AUTH_SSTR_ET_ID ON IDN_AUTH_SESSION_STORE (EXPIRY_TIME, SESSION_ID);
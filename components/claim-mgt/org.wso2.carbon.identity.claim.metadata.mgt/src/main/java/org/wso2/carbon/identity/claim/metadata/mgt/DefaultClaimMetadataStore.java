@@ -19,6 +19,8 @@ package org.wso2.carbon.identity.claim.metadata.mgt;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimIndex;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimIndexCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
 import org.wso2.carbon.identity.claim.metadata.mgt.internal.IdentityClaimManagementServiceDataHolder;
 import org.wso2.carbon.identity.claim.metadata.mgt.internal.ReadOnlyClaimMetadataManager;
@@ -50,6 +52,7 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
     private static final Log log = LogFactory.getLog(DefaultClaimMetadataStore.class);
 
     private final UnifiedClaimMetadataManager unifiedClaimMetadataManager = new UnifiedClaimMetadataManager();
+    private final ClaimIndexCache claimIndexCache = ClaimIndexCache.getInstance();
 
     private int tenantId;
 
@@ -125,45 +128,14 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
         }
 
         try {
-            // Add listener
-
-            List<LocalClaim> localClaimList = this.unifiedClaimMetadataManager.getLocalClaims(tenantId);
-
-            // Add listener
-
-            for (LocalClaim localClaim : localClaimList) {
-                if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-                    return getMappedAttribute(domainName, localClaim, tenantId);
-                }
-            }
-
-
-            // For backward compatibility
-            List<ClaimDialect> claimDialects = unifiedClaimMetadataManager.getClaimDialects(tenantId);
-
-            for (ClaimDialect claimDialect : claimDialects) {
-                if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
-                    continue;
-                }
-
-                List<ExternalClaim> externalClaims = unifiedClaimMetadataManager.getExternalClaims(claimDialect
-                        .getClaimDialectURI(), tenantId);
-
-                for (ExternalClaim externalClaim : externalClaims) {
-                    if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-
-                        for (LocalClaim localClaim : localClaimList) {
-                            if (localClaim.getClaimURI().equalsIgnoreCase(externalClaim.getMappedLocalClaim())) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Picking mapped attribute for external claim : " + externalClaim
-                                            .getClaimURI() + " using mapped local claim : " + localClaim.getClaimURI());
-                                }
-                                return getMappedAttribute(domainName, localClaim, tenantId);
-                            }
-                        }
-
-                    }
+            ClaimIndex claimIndex = getClaimIndex();
+            LocalClaim localClaim = claimIndex.resolveLocalClaim(claimURI);
+            if (localClaim != null) {
+                if (log.isDebugEnabled() && !localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
+                    log.debug("Picking mapped attribute for external claim : " + claimURI + " using mapped local " +
+                            "claim : " + localClaim.getClaimURI());
                 }
+                return getMappedAttribute(domainName, localClaim, claimIndex);
             }
 
             if (log.isDebugEnabled()) {
@@ -178,10 +150,10 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
         }
     }
 
-    private String getMappedAttribute(String domainName, LocalClaim localClaim, int tenantId) throws
+    private String getMappedAttribute(String domainName, LocalClaim localClaim, ClaimIndex claimIndex) throws
             UserStoreException {
 
-        String mappedAttribute = localClaim.getMappedAttribute(domainName);
+        String mappedAttribute = claimIndex.getMappedAttribute(localClaim, domainName);
 
         if (StringUtils.isNotBlank(mappedAttribute)) {
             if (log.isDebugEnabled()) {
@@ -208,7 +180,7 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
                 .getTenantUserRealm(tenantId);
         String primaryDomainName = realm.getRealmConfiguration().getUserStoreProperty
                 (UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME);
-        mappedAttribute = localClaim.getMappedAttribute(primaryDomainName);
+        mappedAttribute = claimIndex.getMappedAttribute(localClaim, primaryDomainName);
 
         if (StringUtils.isNotBlank(mappedAttribute)) {
             if (log.isDebugEnabled()) {
@@ -237,88 +209,26 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
     @Override
     @Deprecated
     public Claim getClaim(String claimURI) throws UserStoreException {
-        try {
-            List<LocalClaim> localClaims = unifiedClaimMetadataManager.getLocalClaims(this.tenantId);
-
-            for (LocalClaim localClaim : localClaims) {
-                if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-                    ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping(localClaim, this
-                            .tenantId);
-                    return claimMapping.getClaim();
-                }
-            }
-
-            // For backward compatibility
-            List<ClaimDialect> claimDialects = unifiedClaimMetadataManager.getClaimDialects(tenantId);
-
-            for (ClaimDialect claimDialect : claimDialects) {
-                if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
-                    continue;
-                }
-
-                List<ExternalClaim> externalClaims = unifiedClaimMetadataManager.getExternalClaims(claimDialect
-                        .getClaimDialectURI(), tenantId);
-
-                for (ExternalClaim externalClaim : externalClaims) {
-                    if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-
-                        for (LocalClaim localClaim : localClaims) {
-                            ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping
-                                    (localClaim, this.tenantId);
-                            return claimMapping.getClaim();
-                        }
-
-                    }
-                }
-            }
 
+        ClaimMapping claimMapping = getClaimMapping(claimURI);
+        if (claimMapping == null) {
             if (log.isDebugEnabled()) {
                 log.debug("Returning NULL for getClaim() for claim URI : " + claimURI);
             }
             return null;
-        } catch (ClaimMetadataException e) {
-            throw new UserStoreException(e.getMessage(), e);
         }
+        return claimMapping.getClaim();
     }
 
     @Override
     @Deprecated
     public ClaimMapping getClaimMapping(String claimURI) throws UserStoreException {
-        try {
-            List<LocalClaim> localClaims = unifiedClaimMetadataManager.getLocalClaims(this.tenantId);
 
-            for (LocalClaim localClaim : localClaims) {
-                if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-                    ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping(localClaim, this
-                            .tenantId);
-                    return claimMapping;
-                }
-            }
-
-            // For backward compatibility
-            List<ClaimDialect> claimDialects = unifiedClaimMetadataManager.getClaimDialects(tenantId);
-
-            for (ClaimDialect claimDialect : claimDialects) {
-                if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
-                    continue;
-                }
-
-                List<ExternalClaim> externalClaims = unifiedClaimMetadataManager.getExternalClaims(claimDialect
-                        .getClaimDialectURI(), tenantId);
-
-                for (ExternalClaim externalClaim : externalClaims) {
-                    if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-
-                        for (LocalClaim localClaim : localClaims) {
-                            if (localClaim.getClaimURI().equalsIgnoreCase(externalClaim.getMappedLocalClaim())) {
-                                ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping
-                                        (localClaim, this.tenantId);
-                                return claimMapping;
-                            }
-                        }
-
-                    }
-                }
+        try {
+            ClaimIndex claimIndex = getClaimIndex();
+            LocalClaim localClaim = claimIndex.resolveLocalClaim(claimURI);
+            if (localClaim != null) {
+                return claimIndex.getClaimMapping(localClaim);
             }
 
             if (log.isDebugEnabled()) {
@@ -453,6 +363,34 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
         }
     }
 
+    /**
+     * Get the claim index of the tenant, building it from the claim metadata on a cache miss. The index is
+     * invalidated together with the claim metadata caches, when claims or claim dialects of the tenant change.
+     */
+    private ClaimIndex getClaimIndex() throws ClaimMetadataException {
+
+        ClaimIndex claimIndex = claimIndexCache.getValueFromCache(tenantId, tenantId);
+        if (claimIndex != null) {
+            return claimIndex;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss for claim index of tenant: " + tenantId);
+        }
+        List<LocalClaim> localClaims = unifiedClaimMetadataManager.getLocalClaims(tenantId);
+        List<ExternalClaim> externalClaims = new ArrayList<>();
+        for (ClaimDialect claimDialect : unifiedClaimMetadataManager.getClaimDialects(tenantId)) {
+            if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
+                continue;
+            }
+            externalClaims.addAll(unifiedClaimMetadataManager.getExternalClaims(claimDialect.getClaimDialectURI(),
+                    tenantId));
+        }
+        claimIndex = new ClaimIndex(tenantId, localClaims, externalClaims);
+        claimIndexCache.addToCache(tenantId, claimIndex, tenantId);
+        return claimIndex;
+    }
+
     private boolean isFilterableClaim(LocalClaim localClaim) {
 
         // Filter the local claim `role` when groups vs roles separation is enabled. This claim is
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.wso2.carbon.identity.claim.metadata.mgt.model.AttributeMapping;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.util.ClaimMetadataUtils;
+import org.wso2.carbon.user.api.ClaimMapping;
+import org.wso2.carbon.user.api.UserStoreException;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, hash indexed view of the claim metadata of a tenant.
+ * <p>
+ * Claim URIs are matched case insensitively. An external claim URI resolves to its mapped local claim, and the
+ * first match wins, in the same order as a scan over the local claims followed by the external claim dialects.
+ * {@link ClaimMapping}s are mutable, hence they are not kept in the index. Each caller gets its own claim mapping.
+ */
+public class ClaimIndex implements Serializable {
+
+    private static final long serialVersionUID = -3598016479130271346L;
+
+    private final int tenantId;
+    private final Map<String, LocalClaim> localClaims;
+    private final Map<String, LocalClaim> externalClaimMappings;
+    private final Map<String, Map<String, String>> mappedAttributes;
+
+    /**
+     * @param tenantId       Tenant ID.
+     * @param localClaims    Local claims of the tenant.
+     * @param externalClaims External claims of the tenant, in the order of their claim dialects.
+     */
+    public ClaimIndex(int tenantId, List<LocalClaim> localClaims, List<ExternalClaim> externalClaims) {
+
+        this.tenantId = tenantId;
+        Map<String, LocalClaim> localClaimMap = new HashMap<>(localClaims.size() * 2);
+        Map<String, Map<String, String>> mappedAttributeMap = new HashMap<>(localClaims.size() * 2);
+        for (LocalClaim localClaim : localClaims) {
+            String key = toKey(localClaim.getClaimURI());
+            if (localClaimMap.containsKey(key)) {
+                continue;
+            }
+            localClaimMap.put(key, localClaim);
+            mappedAttributeMap.put(key, getMappedAttributes(localClaim));
+        }
+
+        Map<String, LocalClaim> externalClaimMap = new HashMap<>(externalClaims.size() * 2);
+        for (ExternalClaim externalClaim : externalClaims) {
+            String key = toKey(externalClaim.getClaimURI());
+            if (externalClaimMap.containsKey(key)) {
+                continue;
+            }
+            LocalClaim mappedLocalClaim = localClaimMap.get(toKey(externalClaim.getMappedLocalClaim()));
+            if (mappedLocalClaim != null) {
+                externalClaimMap.put(key, mappedLocalClaim);
+            }
+        }
+
+        this.localClaims = Collections.unmodifiableMap(localClaimMap);
+        this.externalClaimMappings = Collections.unmodifiableMap(externalClaimMap);
+        this.mappedAttributes = Collections.unmodifiableMap(mappedAttributeMap);
+    }
+
+    /**
+     * Get the local claim of a local claim URI.
+     *
+     * @param claimURI Local claim URI.
+     * @return Local claim, or null if there is no such local claim.
+     */
+    public LocalClaim getLocalClaim(String claimURI) {
+
+        return localClaims.get(toKey(claimURI));
+    }
+
+    /**
+     * Get the local claim of a local claim URI, or the local claim mapped to an external claim URI.
+     *
+     * @param claimURI Local or external claim URI.
+     * @return Local claim, or null if the claim URI is not known.
+     */
+    public LocalClaim resolveLocalClaim(String claimURI) {
+
+        String key = toKey(claimURI);
+        LocalClaim localClaim = localClaims.get(key);
+        if (localClaim == null) {
+            localClaim = externalClaimMappings.get(key);
+        }
+        return localClaim;
+    }
+
+    /**
+     * Get the attribute mapped to a local claim in a user store domain.
+     *
+     * @param localClaim      Local claim of this index.
+     * @param userStoreDomain User store domain name.
+     * @return Mapped attribute name, or null if the claim has no attribute mapped in the user store domain.
+     */
+    public String getMappedAttribute(LocalClaim localClaim, String userStoreDomain) {
+
+        Map<String, String> attributes = mappedAttributes.get(toKey(localClaim.getClaimURI()));
+        if (attributes == null) {
+            return localClaim.getMappedAttribute(userStoreDomain);
+        }
+        return attributes.get(userStoreDomain.toUpperCase());
+    }
+
+    /**
+     * Get the claim mapping of a local claim.
+     *
+     * @param localClaim Local claim of this index.
+     * @return New claim mapping, which the caller may modify.
+     * @throws UserStoreException If an error occurs while converting the local claim.
+     */
+    public ClaimMapping getClaimMapping(LocalClaim localClaim) throws UserStoreException {
+
+        return ClaimMetadataUtils.convertLocalClaimToClaimMapping(localClaim, tenantId);
+    }
+
+    private static Map<String, String> getMappedAttributes(LocalClaim localClaim) {
+
+        List<AttributeMapping> attributeMappings = localClaim.getMappedAttributes();
+        Map<String, String> attributes = new HashMap<>(attributeMappings.size() * 2);
+        for (AttributeMapping attributeMapping : attributeMappings) {
+            // Keep the first mapping of a domain, as LocalClaim#getMappedAttribute does.
+            if (!attributes.containsKey(attributeMapping.getUserStoreDomain())) {
+                attributes.put(attributeMapping.getUserStoreDomain(), attributeMapping.getAttributeName());
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    private static String toKey(String claimURI) {
+
+        return claimURI == null ? null : claimURI.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.internal;
+
+import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ClaimDialect;
+import org.wso2.carbon.identity.claim.metadata.mgt.util.ClaimConstants;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpTask;
+
+import java.util.List;
+
+/**
+ * Cache warm-up task that preloads the local claims, the claim dialects and the external claims of a tenant into the
+ * claim metadata caches. The claims of a tenant are cached as a whole, hence the task does not use hot keys.
+ */
+public class ClaimMetadataCacheWarmUpTask implements CacheWarmUpTask {
+
+    public static final String TASK_NAME = "ClaimMetadata";
+
+    @Override
+    public String getName() {
+
+        return TASK_NAME;
+    }
+
+    @Override
+    public int warmUp(String tenantDomain, List<String> hotKeys, int maxEntries) throws IdentityException {
+
+        ClaimMetadataManagementService claimMetadataManagementService =
+                IdentityClaimManagementServiceDataHolder.getInstance().getClaimManagementService();
+        int preloadedEntries = claimMetadataManagementService.getLocalClaims(tenantDomain).size();
+        for (ClaimDialect claimDialect : claimMetadataManagementService.getClaimDialects(tenantDomain)) {
+            if (!ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equals(claimDialect.getClaimDialectURI())) {
+                preloadedEntries += claimMetadataManagementService.getExternalClaims(
+                        claimDialect.getClaimDialectURI(), tenantDomain).size();
+            }
+        }
+        return preloadedEntries;
+    }
+}
@@ -35,6 +35,7 @@ import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimConfigListener;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataManagementAuditLogger;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataMgtListener;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataTenantMgtListener;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpTask;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
@@ -74,6 +75,7 @@ public class IdentityClaimManagementServiceComponent {
 
             bundleCtx.registerService(TenantMgtListener.class.getName(),
                     new ClaimMetadataTenantMgtListener(), null);
+            bundleCtx.registerService(CacheWarmUpTask.class, new ClaimMetadataCacheWarmUpTask(), null);
 
             registerClaimConfigListener(bundleCtx);
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.AttributeMapping;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.user.api.ClaimMapping;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Unit tests for ClaimIndex.
+ */
+public class ClaimIndexTest {
+
+    private static final int TENANT_ID = -1234;
+    private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
+    private static final String USERNAME_CLAIM_URI = "http://wso2.org/claims/username";
+    private static final String OIDC_EMAIL_CLAIM_URI = "email";
+    private static final String SCIM_EMAIL_CLAIM_URI = "urn:ietf:params:scim:schemas:core:2.0:User:emails";
+
+    private LocalClaim emailClaim;
+    private LocalClaim usernameClaim;
+    private ClaimIndex claimIndex;
+
+    @BeforeClass
+    public void setUp() {
+
+        emailClaim = new LocalClaim(EMAIL_CLAIM_URI, Arrays.asList(new AttributeMapping("PRIMARY", "mail"),
+                new AttributeMapping("SECONDARY", "email"), new AttributeMapping("PRIMARY", "otherMail")),
+                new HashMap<>());
+        usernameClaim = new LocalClaim(USERNAME_CLAIM_URI, Arrays.asList(new AttributeMapping("PRIMARY", "uid")),
+                new HashMap<>());
+        LocalClaim duplicateEmailClaim = new LocalClaim(EMAIL_CLAIM_URI.toUpperCase());
+
+        claimIndex = new ClaimIndex(TENANT_ID, Arrays.asList(emailClaim, usernameClaim, duplicateEmailClaim),
+                Arrays.asList(new ExternalClaim("http://wso2.org/oidc/claim", OIDC_EMAIL_CLAIM_URI, EMAIL_CLAIM_URI),
+                        new ExternalClaim("http://wso2.org/other", OIDC_EMAIL_CLAIM_URI, USERNAME_CLAIM_URI),
+                        new ExternalClaim("urn:ietf:params:scim:schemas:core:2.0:User", SCIM_EMAIL_CLAIM_URI,
+                                "http://wso2.org/claims/unknown")));
+    }
+
+    @Test
+    public void testGetLocalClaim() {
+
+        Assert.assertSame(claimIndex.getLocalClaim(EMAIL_CLAIM_URI), emailClaim);
+        Assert.assertSame(claimIndex.getLocalClaim(EMAIL_CLAIM_URI.toUpperCase()), emailClaim);
+        Assert.assertNull(claimIndex.getLocalClaim(OIDC_EMAIL_CLAIM_URI));
+        Assert.assertNull(claimIndex.getLocalClaim(null));
+    }
+
+    @Test
+    public void testResolveLocalClaim() {
+
+        Assert.assertSame(claimIndex.resolveLocalClaim(USERNAME_CLAIM_URI), usernameClaim);
+        // The first external claim with a known mapped local claim wins.
+        Assert.assertSame(claimIndex.resolveLocalClaim(OIDC_EMAIL_CLAIM_URI.toUpperCase()), emailClaim);
+        Assert.assertNull(claimIndex.resolveLocalClaim(SCIM_EMAIL_CLAIM_URI));
+        Assert.assertNull(claimIndex.resolveLocalClaim("http://wso2.org/claims/unknown"));
+    }
+
+    @Test
+    public void testGetMappedAttribute() {
+
+        Assert.assertEquals(claimIndex.getMappedAttribute(emailClaim, "PRIMARY"), "mail");
+        Assert.assertEquals(claimIndex.getMappedAttribute(emailClaim, "secondary"), "email");
+        Assert.assertNull(claimIndex.getMappedAttribute(usernameClaim, "SECONDARY"));
+    }
+
+    @Test
+    public void testGetClaimMapping() throws Exception {
+
+        ClaimMapping claimMapping = claimIndex.getClaimMapping(emailClaim);
+        Assert.assertEquals(claimMapping.getClaim().getClaimUri(), EMAIL_CLAIM_URI);
+        Assert.assertEquals(claimMapping.getMappedAttribute("SECONDARY"), "email");
+
+        // Each caller gets its own claim mapping, so a change made by one caller is not seen by the others.
+        claimMapping.getClaim().setDisplayTag("Modified");
+        claimMapping.setMappedAttribute("SECONDARY", "modified");
+        ClaimMapping otherClaimMapping = claimIndex.getClaimMapping(emailClaim);
+        Assert.assertNotSame(otherClaimMapping, claimMapping);
+        Assert.assertNotSame(otherClaimMapping.getClaim(), claimMapping.getClaim());
+        Assert.assertNotEquals(otherClaimMapping.getClaim().getDisplayTag(), "Modified");
+        Assert.assertEquals(otherClaimMapping.getMappedAttribute("SECONDARY"), "email");
+    }
+}
@@ -22,7 +22,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.consent.mgt.core.ConsentManager;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheKey;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.consent.mgt.IdentityConsentMgtUtils;
 import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
@@ -37,6 +41,7 @@ import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.UserStoreManager;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -128,6 +133,7 @@ public class ConsentDeletionUserEventHandler extends AbstractEventHandler {
                     usernameWithUserStoreDomain, tenantDomain));
         }
         ConsentManager consentManager = IdentityConsentDataHolder.getInstance().getPrivilegedConsentManager();
+        List<ReceiptService> receiptServices = new ArrayList<>();
         try {
             List<ReceiptListResponse> receiptListResponses = consentManager.searchReceipts(consentSearchLimit, 0,
                     usernameWithUserStoreDomain, null, "*", null);
@@ -140,10 +146,38 @@ public class ConsentDeletionUserEventHandler extends AbstractEventHandler {
                     log.debug(String.format("Deleting receipt with ID : %s, issued for application %s",
                             receiptListResponse.getConsentReceiptId(), receiptListResponse.getSpDisplayName()));
                 }
+                Receipt receipt = consentManager.getReceipt(receiptListResponse.getConsentReceiptId());
+                if (receipt != null && receipt.getServices() != null) {
+                    receiptServices.addAll(receipt.getServices());
+                }
                 consentManager.deleteReceipt(receiptListResponse.getConsentReceiptId());
             }));
         } catch (ConsentManagementException e) {
             throw new IdentityEventException("Error while deleting consents for user " + userName, e);
+        } finally {
+            clearConsentReceiptCache(usernameWithUserStoreDomain, tenantDomain, receiptServices);
+        }
+    }
+
+    /**
+     * Clear the cached receipts of the deleted user. A receipt is cached in the tenant of the service provider, which
+     * differs from the tenant of the user for shared applications, hence the entries of the service providers of the
+     * deleted receipts are cleared in their tenants as well.
+     *
+     * @param subject         Username of the user with the user store domain.
+     * @param tenantDomain    Tenant domain of the user.
+     * @param receiptServices Service providers of the deleted receipts.
+     */
+    private void clearConsentReceiptCache(String subject, String tenantDomain, List<ReceiptService> receiptServices) {
+
+        // The cache cannot be enumerated per subject, hence the receipts of the tenant of the user are cleared.
+        ConsentReceiptCache.getInstance().clear(tenantDomain);
+        for (ReceiptService receiptService : receiptServices) {
+            if (receiptService.getTenantDomain() == null || receiptService.getTenantDomain().equals(tenantDomain)) {
+                continue;
+            }
+            ConsentReceiptCache.getInstance().clearCacheEntry(new ConsentReceiptCacheKey(subject, tenantDomain,
+                    receiptService.getService()), receiptService.getTenantDomain());
         }
     }
 
@@ -23,6 +23,7 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.consent.mgt.core.ConsentManager;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
@@ -166,6 +167,9 @@ public class ConsentDeletionAppMgtListener extends AbstractApplicationMgtListene
         } catch (ConsentManagementException e) {
             throw new IdentityApplicationManagementException("Error while deleting user consents for application "
                     + applicationName, e);
+        } finally {
+            // Cached receipts are keyed per user, hence the receipts of the tenant are cleared.
+            ConsentReceiptCache.getInstance().clear(tenantDomain);
         }
         return true;
     }
@@ -23,6 +23,8 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.consent.mgt.core.PrivilegedConsentManager;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
 import org.wso2.carbon.consent.mgt.core.model.PurposeCategory;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentPurposeCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
 import org.wso2.carbon.identity.core.AbstractIdentityTenantMgtListener;
@@ -77,6 +79,9 @@ public class TenantConsentMgtListener extends AbstractIdentityTenantMgtListener
             privilegedConsentManager.deleteReceipts(tenantId);
         } catch (ConsentManagementException e) {
             throw new StratosException("Error in deleting consents of tenant:" + tenantId, e);
+        } finally {
+            ConsentPurposeCache.getInstance().clear(tenantId);
+            ConsentReceiptCache.getInstance().clear(tenantId);
         }
     }
 
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.consent.mgt.handler;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.consent.mgt.core.ConsentManager;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheKey;
+import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.config.RealmConfiguration;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ConsentDeletionUserEventHandler}.
+ */
+public class ConsentDeletionUserEventHandlerTest {
+
+    private static final int USER_TENANT_ID = 1;
+    private static final String USER_TENANT_DOMAIN = "testorg.com";
+    private static final int SP_TENANT_ID = 2;
+    private static final String SP_TENANT_DOMAIN = "sporg.com";
+    private static final String USER_NAME = "testuser";
+    private static final String SUBJECT = "PRIMARY/testuser";
+    private static final String APPLICATION_NAME = "testServiceProvider";
+    private static final String RECEIPT_ID = "receipt-id";
+
+    @BeforeMethod
+    public void setUp() {
+
+        String carbonHome = Paths.get(System.getProperty("user.dir"), "target", "test-classes").toString();
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, carbonHome);
+        System.setProperty(CarbonBaseConstants.CARBON_CONFIG_DIR_PATH, Paths.get(carbonHome, "conf").toString());
+    }
+
+    @Test
+    public void testCachedReceiptsAreClearedInServiceProviderTenant() throws Exception {
+
+        try (MockedStatic<IdentityConsentDataHolder> identityConsentDataHolder =
+                     mockStatic(IdentityConsentDataHolder.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class)) {
+
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(USER_TENANT_DOMAIN))
+                    .thenReturn(USER_TENANT_ID);
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(USER_TENANT_ID))
+                    .thenReturn(USER_TENANT_DOMAIN);
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(SP_TENANT_DOMAIN)).thenReturn(SP_TENANT_ID);
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(SP_TENANT_ID))
+                    .thenReturn(SP_TENANT_DOMAIN);
+
+            ConsentManager consentManager = mock(ConsentManager.class);
+            IdentityConsentDataHolder dataHolder = mock(IdentityConsentDataHolder.class);
+            identityConsentDataHolder.when(IdentityConsentDataHolder::getInstance).thenReturn(dataHolder);
+            when(dataHolder.getPrivilegedConsentManager()).thenReturn(consentManager);
+
+            ReceiptListResponse receiptListResponse = mock(ReceiptListResponse.class);
+            when(receiptListResponse.getConsentReceiptId()).thenReturn(RECEIPT_ID);
+            when(consentManager.searchReceipts(100, 0, SUBJECT, null, "*", null))
+                    .thenReturn(Collections.singletonList(receiptListResponse));
+            ReceiptService receiptService = mock(ReceiptService.class);
+            when(receiptService.getService()).thenReturn(APPLICATION_NAME);
+            when(receiptService.getTenantDomain()).thenReturn(SP_TENANT_DOMAIN);
+            Receipt receipt = mock(Receipt.class);
+            when(receipt.getServices()).thenReturn(Collections.singletonList(receiptService));
+            when(consentManager.getReceipt(RECEIPT_ID)).thenReturn(receipt);
+
+            ConsentReceiptCacheKey cacheKey = new ConsentReceiptCacheKey(SUBJECT, USER_TENANT_DOMAIN,
+                    APPLICATION_NAME);
+            ConsentReceiptCache.getInstance().addToCache(cacheKey, new ConsentReceiptCacheEntry(null),
+                    SP_TENANT_DOMAIN);
+            ConsentReceiptCache.getInstance().addToCache(cacheKey, new ConsentReceiptCacheEntry(null),
+                    USER_TENANT_DOMAIN);
+            // Assert to ensure the receipts are cached to proceed with the test.
+            Assert.assertNotNull(ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, SP_TENANT_DOMAIN),
+                    "Consent receipt is not cached in the tenant of the service provider to proceed with the test.");
+            Assert.assertNotNull(ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, USER_TENANT_DOMAIN),
+                    "Consent receipt is not cached in the tenant of the user to proceed with the test.");
+
+            ConsentDeletionUserEventHandler handler = spy(new ConsentDeletionUserEventHandler());
+            doReturn(true).when(handler).isEnabled(any());
+            handler.handleEvent(buildPostDeleteUserEvent());
+
+            verify(consentManager).deleteReceipt(RECEIPT_ID);
+            Assert.assertNull(ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, SP_TENANT_DOMAIN),
+                    "Cached consent receipt is not cleared in the tenant of the service provider.");
+            Assert.assertNull(ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, USER_TENANT_DOMAIN),
+                    "Cached consent receipt is not cleared in the tenant of the user.");
+        }
+    }
+
+    private Event buildPostDeleteUserEvent() throws Exception {
+
+        RealmConfiguration realmConfiguration = mock(RealmConfiguration.class);
+        when(realmConfiguration.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn("PRIMARY");
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        when(userStoreManager.getRealmConfiguration()).thenReturn(realmConfiguration);
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_NAME, USER_NAME);
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_STORE_MANAGER, userStoreManager);
+        eventProperties.put(IdentityEventConstants.EventProperty.TENANT_DOMAIN, USER_TENANT_DOMAIN);
+        return new Event(IdentityEventConstants.Event.POST_DELETE_USER, eventProperties);
+    }
+}
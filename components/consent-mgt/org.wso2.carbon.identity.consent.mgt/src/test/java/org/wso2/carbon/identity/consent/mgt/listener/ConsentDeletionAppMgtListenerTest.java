@@ -44,6 +44,9 @@ import org.wso2.carbon.consent.mgt.core.internal.ConsentManagerComponentDataHold
 import org.wso2.carbon.consent.mgt.core.model.ConsentManagerConfigurationHolder;
 import org.wso2.carbon.consent.mgt.core.util.ConsentConfigParser;
 import org.wso2.carbon.consent.mgt.core.util.ConsentUtils;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.ConsentReceiptCacheKey;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.model.Claim;
@@ -51,6 +54,7 @@ import org.wso2.carbon.identity.application.common.model.ClaimMapping;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
 import org.wso2.carbon.identity.core.util.IdentityConfigParser;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.user.api.UserRealm;
 import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.tenant.TenantManager;
@@ -177,7 +181,11 @@ public class ConsentDeletionAppMgtListenerTest {
                      mockStatic(FrameworkServiceDataHolder.class);
              MockedStatic<ConsentUtils> consentUtils = mockStatic(ConsentUtils.class);
              MockedStatic<IdentityConsentDataHolder> identityConsentDataHolder =
-                     mockStatic(IdentityConsentDataHolder.class)) {
+                     mockStatic(IdentityConsentDataHolder.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class)) {
+
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(TENANT_ID)).thenReturn(TENANT_DOMAIN);
 
             frameworkServiceDataHolder.when(
                     FrameworkServiceDataHolder::getInstance).thenReturn(this.mockFrameworkServiceDataHolder);
@@ -202,9 +210,15 @@ public class ConsentDeletionAppMgtListenerTest {
                     thenReturn(mockIdentityConsentDataHolder);
             when(mockIdentityConsentDataHolder.getConsentManager()).thenReturn(consentManager);
 
+            ConsentReceiptCacheKey cacheKey = new ConsentReceiptCacheKey(USER_NAME, TENANT_DOMAIN, APPLICATION_NAME);
+            ConsentReceiptCache.getInstance().addToCache(cacheKey, new ConsentReceiptCacheEntry(null), TENANT_DOMAIN);
+
             consentDeletionAppMgtListener.doPostUpdateApplication(getServiceProvider(), TENANT_DOMAIN,
                     getAuthenticatedUser().getUserName());
 
+            Assert.assertNull("Cached consent receipt is not cleared when application is disabled",
+                    ConsentReceiptCache.getInstance().getValueFromCache(cacheKey, TENANT_DOMAIN));
+
             Assert.assertEquals("Consent receipt is not removed when application is disabled",
                     consentManager.searchReceipts(100, 0, CONSENT_SEARCH_PII_PRINCIPAL_ID,
                             TENANT_DOMAIN, APPLICATION_NAME, null).size(), 0);
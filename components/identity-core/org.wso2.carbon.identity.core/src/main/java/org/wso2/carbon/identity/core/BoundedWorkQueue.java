@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of work items processed on a worker pool shared with other queues.
+ * <p>
+ * The items are spread over lanes. Each lane is served by at most the configured number of workers at a time. Priority
+ * items are taken before the other queued items of a lane, unless the lanes are ordered: an ordered lane hands out
+ * its items in the order they were added, priority items included, so an ordered lane served by a single worker
+ * processes its items one by one in that order. A worker processes a few items of a lane and then yields to the other
+ * queues of the pool, so a busy queue cannot starve the others.
+ * <p>
+ * All lanes share the capacity of the queue. When the queue is full, the publisher waits up to the offer timeout for
+ * space and then applies the {@link OverflowPolicy}.
+ *
+ * @param <T> Type of the work items.
+ */
+public abstract class BoundedWorkQueue<T> {
+
+    private static final Log log = LogFactory.getLog(BoundedWorkQueue.class);
+
+    private final Executor workerPool;
+    private final int capacity;
+    private final long offerTimeoutNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxItemsPerDrain;
+    private final List<Lane<T>> lanes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+    private int size;
+    private boolean running = true;
+
+    /**
+     * Policy applied when an item is offered to a full queue and the offer timeout has passed.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Wait until the queue has space, ignoring the offer timeout.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued item of the lane to make space for the new item.
+         */
+        DROP_OLDEST,
+        /**
+         * Process the item in the publisher thread.
+         */
+        CALLER_RUNS
+    }
+
+    /**
+     * @param workerPool        Worker pool which processes the queued items.
+     * @param capacity          Maximum number of queued items over all the lanes.
+     * @param laneCount         Number of lanes.
+     * @param maxWorkersPerLane Maximum number of workers serving a lane at a time.
+     * @param orderedLanes      True to hand out the items of a lane in the order they were added, ignoring priority.
+     * @param offerTimeout      Maximum time in milliseconds a publisher waits for space before applying the
+     *                          overflow policy.
+     * @param overflowPolicy    Policy applied when the queue is full.
+     * @param maxItemsPerDrain  Number of items a worker processes from a lane before yielding to the other queues.
+     */
+    protected BoundedWorkQueue(Executor workerPool, int capacity, int laneCount, int maxWorkersPerLane,
+                               boolean orderedLanes, long offerTimeout, OverflowPolicy overflowPolicy,
+                               int maxItemsPerDrain) {
+
+        if (capacity <= 0 || laneCount <= 0 || maxWorkersPerLane <= 0 || maxItemsPerDrain <= 0) {
+            throw new IllegalArgumentException("Capacity, lanes, workers and items per drain of a work queue should " +
+                    "be positive.");
+        }
+        this.workerPool = workerPool;
+        this.capacity = capacity;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(offerTimeout, 0));
+        this.overflowPolicy = overflowPolicy;
+        this.maxItemsPerDrain = maxItemsPerDrain;
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new Lane<T>(maxWorkersPerLane, orderedLanes));
+        }
+    }
+
+    /**
+     * Process an item.
+     *
+     * @param item           Work item.
+     * @param inCallerThread True if the item is processed in the publisher thread as the queue was full.
+     */
+    protected abstract void process(T item, boolean inCallerThread);
+
+    /**
+     * Called when a queued item is dropped to make space for a new item.
+     *
+     * @param item Dropped item.
+     */
+    protected void onDropped(T item) {
+
+    }
+
+    /**
+     * Called with the number of queued items whenever it changes, while holding the lock of the queue.
+     *
+     * @param queueDepth Number of queued items.
+     */
+    protected void onQueueDepthChanged(int queueDepth) {
+
+    }
+
+    /**
+     * Get the number of lanes of the queue.
+     *
+     * @return Number of lanes.
+     */
+    public int getLaneCount() {
+
+        return lanes.size();
+    }
+
+    /**
+     * Queue an item in a lane, or process it in the calling thread if the queue is full and the overflow policy is
+     * {@link OverflowPolicy#CALLER_RUNS}, or the calling thread is interrupted while waiting for space.
+     *
+     * @param laneIndex Index of the lane.
+     * @param item      Work item.
+     * @param priority  True to take the item before the other queued items of the lane, unless the lanes are
+     *                  ordered.
+     * @return False if the item was not accepted, as the queue is shut down or the lane has no queued item to drop
+     * for it.
+     */
+    public boolean offer(int laneIndex, T item, boolean priority) {
+
+        return offer(laneIndex, item, priority, overflowPolicy);
+    }
+
+    /**
+     * Queue an item in a lane, applying the given overflow policy instead of the policy of the queue if the queue is
+     * full.
+     *
+     * @param laneIndex      Index of the lane.
+     * @param item           Work item.
+     * @param priority       True to take the item before the other queued items of the lane, unless the lanes are
+     *                       ordered.
+     * @param overflowPolicy Policy applied if the queue is full.
+     * @return False if the item was not accepted, as the queue is shut down or the lane has no queued item to drop
+     * for it.
+     * @see #offer(int, Object, boolean)
+     */
+    public boolean offer(int laneIndex, T item, boolean priority, OverflowPolicy overflowPolicy) {
+
+        Lane<T> lane = lanes.get(laneIndex);
+        List<T> droppedItems = null;
+        boolean accepted = true;
+        boolean runInCaller = false;
+        boolean schedule = false;
+
+        lock.lock();
+        try {
+            long remainingNanos = offerTimeoutNanos;
+            while (running && size >= capacity) {
+                if (overflowPolicy == OverflowPolicy.BLOCK || remainingNanos > 0) {
+                    try {
+                        if (overflowPolicy == OverflowPolicy.BLOCK) {
+                            notFull.await();
+                        } else {
+                            remainingNanos = notFull.awaitNanos(remainingNanos);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        runInCaller = true;
+                        break;
+                    }
+                } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    T oldest = lane.pollOldest();
+                    if (oldest == null) {
+                        // The other lanes hold the queued items; keep their order intact.
+                        accepted = false;
+                        break;
+                    }
+                    size--;
+                    if (droppedItems == null) {
+                        droppedItems = new ArrayList<>();
+                    }
+                    droppedItems.add(oldest);
+                } else {
+                    runInCaller = true;
+                    break;
+                }
+            }
+            if (!running) {
+                accepted = false;
+            } else if (accepted && !runInCaller) {
+                lane.add(item, priority);
+                size++;
+                onQueueDepthChanged(size);
+                if (lane.activeWorkers < lane.maxWorkers) {
+                    lane.activeWorkers++;
+                    schedule = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (droppedItems != null) {
+            for (T droppedItem : droppedItems) {
+                onDropped(droppedItem);
+            }
+        }
+        if (!accepted) {
+            return false;
+        }
+        if (runInCaller) {
+            process(item, true);
+        } else if (schedule) {
+            schedule(lane);
+        }
+        return true;
+    }
+
+    /**
+     * Wait until all the queued items are processed and no worker is serving the queue.
+     *
+     * @param timeout Maximum time to wait in milliseconds.
+     * @return True if the queue became idle within the timeout.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitIdle(long timeout) throws InterruptedException {
+
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!isIdle()) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = idle.awaitNanos(remainingNanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop accepting items and stop the workers after their current item.
+     *
+     * @return Items which were still queued, in lane order.
+     */
+    public List<T> shutdown() {
+
+        lock.lock();
+        try {
+            running = false;
+            List<T> queuedItems = new ArrayList<>(size);
+            for (Lane<T> lane : lanes) {
+                lane.drainTo(queuedItems);
+            }
+            size = 0;
+            onQueueDepthChanged(size);
+            notFull.signalAll();
+            return queuedItems;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void schedule(final Lane<T> lane) {
+
+        try {
+            workerPool.execute(new Runnable() {
+                @Override
+                public void run() {
+
+                    drain(lane, this);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The worker pool is shut down. The owner of the queue collects the queued items on shutdown.
+            releaseWorker(lane);
+        }
+    }
+
+    private void drain(Lane<T> lane, Runnable drainTask) {
+
+        for (int i = 0; i < maxItemsPerDrain; i++) {
+            T item;
+            lock.lock();
+            try {
+                item = running ? lane.poll() : null;
+                if (item == null) {
+                    lane.activeWorkers--;
+                    idle.signalAll();
+                    return;
+                }
+                size--;
+                onQueueDepthChanged(size);
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                process(item, false);
+            } catch (RuntimeException e) {
+                log.error("Error while processing a queued work item.", e);
+            }
+        }
+        // Give the other queues a chance before continuing with this lane.
+        try {
+            workerPool.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+            releaseWorker(lane);
+        }
+    }
+
+    private void releaseWorker(Lane<T> lane) {
+
+        lock.lock();
+        try {
+            lane.activeWorkers--;
+            idle.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isIdle() {
+
+        if (size > 0) {
+            return false;
+        }
+        for (Lane<T> lane : lanes) {
+            if (lane.activeWorkers > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Items of a lane, guarded by the lock of the owning queue.
+     */
+    private static final class Lane<T> {
+
+        private final ArrayDeque<T> priorityItems = new ArrayDeque<>();
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private final int maxWorkers;
+        private final boolean ordered;
+        private int activeWorkers;
+
+        Lane(int maxWorkers, boolean ordered) {
+
+            this.maxWorkers = maxWorkers;
+            this.ordered = ordered;
+        }
+
+        void add(T item, boolean priority) {
+
+            if (priority && !ordered) {
+                priorityItems.addLast(item);
+            } else {
+                items.addLast(item);
+            }
+        }
+
+        T poll() {
+
+            T item = priorityItems.pollFirst();
+            return item != null ? item : items.pollFirst();
+        }
+
+        T pollOldest() {
+
+            T item = items.pollFirst();
+            return item != null ? item : priorityItems.pollFirst();
+        }
+
+        void drainTo(List<T> target) {
+
+            target.addAll(priorityItems);
+            target.addAll(items);
+            priorityItems.clear();
+            items.clear();
+        }
+    }
+}
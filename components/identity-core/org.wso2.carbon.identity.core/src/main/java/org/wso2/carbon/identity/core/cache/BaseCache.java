@@ -18,25 +18,46 @@
 
 package org.wso2.carbon.identity.core.cache;
 
+import org.apache.axis2.clustering.ClusteringAgent;
+import org.apache.axis2.clustering.ClusteringFault;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.caching.impl.CacheImpl;
 import org.wso2.carbon.caching.impl.CachingConstants;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.ThreadLocalAwareThreadPoolExecutor;
+import org.wso2.carbon.identity.core.internal.IdentityCoreServiceComponent;
 import org.wso2.carbon.identity.core.model.IdentityCacheConfig;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.cache.Cache;
 import javax.cache.CacheBuilder;
 import javax.cache.CacheConfiguration;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.Status;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListenerException;
 
 /**
  * A base class for all cache implementations in Identity modules. This maintains  caches in the tenanted space.
@@ -49,10 +70,24 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
 
     private static final Log log = LogFactory.getLog(BaseCache.class);
     private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
+    private static final int DEFAULT_LOAD_STATE_CAPACITY = 10000;
+    private static final int REFRESH_POOL_SIZE = 2;
+    private static final int REFRESH_QUEUE_SIZE = 1000;
+    private static volatile ExecutorService refreshExecutor;
+    private static final ConcurrentMap<String, BaseCache<?, ?>> batchableCaches = new ConcurrentHashMap<>();
+    // All the caches, to release the resolved caches of unloaded tenants. Weak, so unused caches can be collected.
+    private static final Set<BaseCache<?, ?>> instances =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     private CacheBuilder<K, V> cacheBuilder;
     private final List<AbstractCacheListener<K, V>> cacheListeners;
     private String cacheName;
+    private final String metricsName;
     private final IdentityCacheConfig identityCacheConfig;
+    private final ConcurrentMap<LoadKey, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LoadKey, Long> negativeEntryExpiryTimes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LoadKey, Long> entryLoadTimes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Cache<K, V>> tenantCaches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, CacheMetrics> tenantMetrics = new ConcurrentHashMap<>();
 
     public BaseCache(String cacheName) {
 
@@ -73,6 +108,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
                      List<AbstractCacheListener<K, V>> cacheListeners) {
 
         this.cacheName = CachingConstants.LOCAL_CACHE_PREFIX + cacheName;
+        this.metricsName = cacheName;
         identityCacheConfig = IdentityUtil.getIdentityCacheConfig(CACHE_MANAGER_NAME, cacheName);
         if (identityCacheConfig != null) {
             if (identityCacheConfig.isDistributed()) {
@@ -85,12 +121,280 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         } else {
             this.cacheListeners = Collections.emptyList();
         }
+        if (isBatchable()) {
+            batchableCaches.put(this.cacheName, this);
+        }
+        instances.add(this);
         if (log.isDebugEnabled()) {
             String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
             log.debug("Cache : " + cacheName + "  is initialized for tenant domain : " + tenantDomain);
         }
     }
 
+    /**
+     * Get the cache of the tenant of the current carbon context. The cache is resolved through the cache manager once
+     * per tenant, and resolved again only if it has been stopped or released with {@link #releaseTenantCaches(int)}.
+     *
+     * @return Cache of the current tenant.
+     */
+    private Cache<K, V> getTenantCache() {
+
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        Cache<K, V> cache = tenantCaches.get(tenantId);
+        if (cache != null) {
+            if (cache.getStatus() == Status.STARTED) {
+                return cache;
+            }
+            tenantCaches.remove(tenantId, cache);
+        }
+        cache = getBaseCache();
+        if (cache != null) {
+            CacheMetrics metrics = getCacheMetrics(tenantId);
+            if (metrics != null) {
+                cache.registerCacheEntryListener(new CacheMetricsListener<>(metrics));
+            }
+            tenantCaches.put(tenantId, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Release the caches of a tenant resolved by all the identity caches. Called when the tenant is unloaded, so that
+     * its stopped caches are not held until the tenant is loaded again.
+     *
+     * @param tenantId Id of the tenant.
+     */
+    public static void releaseTenantCaches(int tenantId) {
+
+        List<BaseCache<?, ?>> caches;
+        synchronized (instances) {
+            caches = new ArrayList<>(instances);
+        }
+        for (BaseCache<?, ?> cache : caches) {
+            cache.tenantCaches.remove(tenantId);
+        }
+    }
+
+    private V getValueFromTenantCache(K key, boolean recordMetrics) {
+
+        Cache<K, V> cache = getTenantCache();
+        V value = cache != null ? cache.get(key) : null;
+        if (recordMetrics) {
+            CacheMetrics metrics = getCurrentTenantCacheMetrics();
+            if (metrics != null) {
+                if (value != null) {
+                    metrics.recordHit();
+                } else {
+                    metrics.recordMiss();
+                }
+            }
+        }
+        return value;
+    }
+
+    private void addToTenantCache(K key, V entry) {
+
+        Cache<K, V> cache = getTenantCache();
+        if (cache != null) {
+            cache.put(key, entry);
+            CacheMetrics metrics = getCurrentTenantCacheMetrics();
+            if (metrics != null) {
+                metrics.recordPut();
+            }
+        }
+    }
+
+    private void clearTenantCacheEntry(K key) {
+
+        Cache<K, V> cache = getTenantCache();
+        if (cache != null) {
+            CacheInvalidationBatch batch = CacheInvalidationBatch.getCurrentBatch();
+            if (batch != null && cache instanceof CacheImpl && isBatchable()) {
+                // Only this node is cleared now, the other nodes are cleared when the batch is closed.
+                ((CacheImpl<K, V>) cache).removeLocal(key);
+                batch.addKey(this, PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(), key);
+            } else {
+                cache.remove(key);
+            }
+            CacheMetrics metrics = getCurrentTenantCacheMetrics();
+            if (metrics != null) {
+                metrics.recordRemoval();
+            }
+        }
+    }
+
+    private void clearTenantCache() {
+
+        Cache<K, V> cache = getTenantCache();
+        if (cache != null) {
+            CacheInvalidationBatch batch = CacheInvalidationBatch.getCurrentBatch();
+            if (batch != null && cache instanceof CacheImpl && isBatchable()) {
+                ((CacheImpl<K, V>) cache).removeAllLocal();
+                batch.addClear(this, PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
+            } else {
+                cache.removeAll();
+            }
+        }
+    }
+
+    /**
+     * Check whether the invalidations of this cache can be collected by a {@link CacheInvalidationBatch}. Only local
+     * caches without cache listeners qualify, since the listeners are notified per entry and the distributed caches
+     * are not invalidated through cluster messages.
+     *
+     * @return True if the invalidations of this cache can be batched.
+     */
+    private boolean isBatchable() {
+
+        return cacheName.startsWith(CachingConstants.LOCAL_CACHE_PREFIX) && cacheListeners.isEmpty() &&
+                (identityCacheConfig == null || !identityCacheConfig.isTemporary());
+    }
+
+    /**
+     * Send the invalidations of this cache in a tenant to the other nodes of the cluster.
+     *
+     * @param tenantId The tenant Id where the cache is maintained.
+     * @param clearAll Whether all the entries of the tenant are invalidated.
+     * @param keys     Keys of the invalidated entries, if not all the entries are invalidated.
+     */
+    void sendInvalidation(int tenantId, boolean clearAll, Set<Serializable> keys) {
+
+        ClusteringAgent clusteringAgent = getClusteringAgent();
+        if (clusteringAgent == null) {
+            return;
+        }
+        CacheInvalidationMessage message = new CacheInvalidationMessage(cacheName, tenantId, clearAll, keys);
+        try {
+            clusteringAgent.sendMessage(message, true);
+            CacheMetrics metrics = getCacheMetrics(tenantId);
+            if (metrics != null) {
+                metrics.recordInvalidationMessageSent();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Sent cache invalidation message: " + message);
+            }
+        } catch (ClusteringFault e) {
+            log.error("Error while sending the invalidation message of cache: " + cacheName + " in tenant: " +
+                    tenantId, e);
+        }
+    }
+
+    /**
+     * Apply the invalidations sent by another node of the cluster to the cache of this node.
+     *
+     * @param message Cache invalidation message.
+     */
+    static void applyInvalidation(CacheInvalidationMessage message) {
+
+        BaseCache<?, ?> baseCache = batchableCaches.get(message.getCacheName());
+        if (baseCache == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache: " + message.getCacheName() + " is not initialized in this node. Ignoring " +
+                        message);
+            }
+            return;
+        }
+        baseCache.applyInvalidation(message.getTenantId(), message.isClearAll(), message.getKeys(),
+                message.getSentTime());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyInvalidation(int tenantId, boolean clearAll, List<Serializable> keys, long sentTime) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            startTenantFlow(tenantId);
+            Cache<K, V> cache = getTenantCache();
+            if (cache instanceof CacheImpl) {
+                CacheImpl<K, V> cacheImpl = (CacheImpl<K, V>) cache;
+                if (clearAll) {
+                    cacheImpl.removeAllLocal();
+                } else {
+                    for (Serializable key : keys) {
+                        cacheImpl.removeLocal((K) key);
+                    }
+                }
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+        if (clearAll) {
+            forgetLoadState(tenantId);
+        } else {
+            for (Serializable key : keys) {
+                forgetLoadState((K) key, tenantId);
+            }
+        }
+        CacheMetrics metrics = getCacheMetrics(tenantId);
+        if (metrics != null) {
+            metrics.recordInvalidationMessageReceived(Math.max(0, System.currentTimeMillis() - sentTime));
+        }
+    }
+
+    static ClusteringAgent getClusteringAgent() {
+
+        if (IdentityCoreServiceComponent.getConfigurationContextService() == null) {
+            return null;
+        }
+        return IdentityCoreServiceComponent.getConfigurationContextService().getServerConfigContext()
+                .getAxisConfiguration().getClusteringAgent();
+    }
+
+    /**
+     * Get the metrics of this cache in a tenant.
+     *
+     * @param tenantId The tenant Id where the cache is maintained.
+     * @return Cache metrics, or null if the cache metrics are disabled.
+     */
+    private CacheMetrics getCacheMetrics(int tenantId) {
+
+        if (!isMetricsEnabled()) {
+            return null;
+        }
+        CacheMetrics metrics = tenantMetrics.get(tenantId);
+        if (metrics == null) {
+            metrics = tenantMetrics.computeIfAbsent(tenantId, id -> CacheMetricsService.getInstance()
+                    .getOrCreateCacheMetrics(metricsName, id, () -> getSize(id)));
+        }
+        return metrics;
+    }
+
+    private CacheMetrics getCurrentTenantCacheMetrics() {
+
+        if (!isMetricsEnabled()) {
+            return null;
+        }
+        return getCacheMetrics(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
+    }
+
+    /**
+     * Get the number of entries of this cache in a tenant, by iterating the cache.
+     *
+     * @param tenantId The tenant Id where the cache is maintained.
+     * @return Number of entries.
+     */
+    private int getSize(int tenantId) {
+
+        if (!isEnabled()) {
+            return 0;
+        }
+        try {
+            startTenantFlow(tenantId);
+            Cache<K, V> cache = getTenantCache();
+            int size = 0;
+            if (cache != null) {
+                for (Cache.Entry<K, V> ignored : cache) {
+                    size++;
+                }
+            }
+            return size;
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
     private Cache<K, V> getBaseCache() {
 
         Cache<K, V> cache;
@@ -147,15 +451,17 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.put(key, entry);
+        if (isInTenantFlow(tenantDomain)) {
+            addToTenantCache(key, entry);
+        } else {
+            try {
+                startTenantFlow(tenantDomain);
+                addToTenantCache(key, entry);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
             }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
         }
+        forgetLoadState(key, tenantDomain);
     }
 
     /**
@@ -171,15 +477,17 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.put(key, entry);
+        if (isInTenantFlow(tenantId)) {
+            addToTenantCache(key, entry);
+        } else {
+            try {
+                startTenantFlow(tenantId);
+                addToTenantCache(key, entry);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
             }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
         }
+        forgetLoadState(key, tenantId);
     }
 
     /**
@@ -199,13 +507,12 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return null;
         }
 
+        if (isInTenantFlow(tenantDomain)) {
+            return getValueFromTenantCache(key, true);
+        }
         try {
             startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
-                return cache.get(key);
-            }
-            return null;
+            return getValueFromTenantCache(key, true);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -220,6 +527,11 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
      */
     public V getValueFromCache(K key, int tenantId) {
 
+        return getValueFromCache(key, tenantId, true);
+    }
+
+    private V getValueFromCache(K key, int tenantId, boolean recordMetrics) {
+
         if (!isEnabled()) {
             return null;
         }
@@ -228,13 +540,12 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return null;
         }
 
+        if (isInTenantFlow(tenantId)) {
+            return getValueFromTenantCache(key, recordMetrics);
+        }
         try {
             startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
-                return cache.get(key);
-            }
-            return null;
+            return getValueFromTenantCache(key, recordMetrics);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -252,15 +563,17 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.remove(key);
+        if (isInTenantFlow(tenantDomain)) {
+            clearTenantCacheEntry(key);
+        } else {
+            try {
+                startTenantFlow(tenantDomain);
+                clearTenantCacheEntry(key);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
             }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
         }
+        forgetLoadState(key, tenantDomain);
     }
 
     /**
@@ -275,15 +588,17 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.remove(key);
+        if (isInTenantFlow(tenantId)) {
+            clearTenantCacheEntry(key);
+        } else {
+            try {
+                startTenantFlow(tenantId);
+                clearTenantCacheEntry(key);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
             }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
         }
+        forgetLoadState(key, tenantId);
     }
 
     /**
@@ -299,10 +614,8 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
 
         try {
             startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.removeAll();
-            }
+            clearTenantCache();
+            forgetLoadState(IdentityTenantUtil.getTenantId(tenantDomain));
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -321,15 +634,92 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
 
         try {
             startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.removeAll();
-            }
+            clearTenantCache();
+            forgetLoadState(tenantId);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
     }
 
+    /**
+     * Retrieves a cache entry, loading it with the given loader on a cache miss.
+     *
+     * @param key          CacheKey
+     * @param loader       Loader of the entry from the underlying store.
+     * @param tenantDomain The tenant domain where the cache is maintained.
+     * @param <E>          Type of the exception thrown by the loader.
+     * @return Cached or loaded entry. Null if the loader did not find an entry.
+     * @throws E If an error occurs while loading the entry.
+     * @see #getOrLoad(Serializable, CacheEntryLoader, int)
+     */
+    public <E extends Exception> V getOrLoad(K key, CacheEntryLoader<K, V, E> loader, String tenantDomain)
+            throws E {
+
+        if (!isEnabled() || key == null) {
+            return loader.load(key);
+        }
+        return getOrLoad(key, loader, IdentityTenantUtil.getTenantId(tenantDomain));
+    }
+
+    /**
+     * Retrieves a cache entry, loading it with the given loader on a cache miss.
+     * <p>
+     * Concurrent misses of a key are coalesced into a single loader call on this node, and the other callers get the
+     * entry loaded by that call. If the load fails, each waiting caller loads the entry itself. A loaded entry is put
+     * into the cache. If the cache config defines a {@code negativeCacheTimeout}, a key the loader did not find an
+     * entry for is remembered locally for that many seconds, and the loader is not called for the key meanwhile.
+     * If the cache config defines a {@code refreshAheadTime}, an entry loaded through this method that is read within
+     * that many seconds of its expiry is reloaded in the background.
+     *
+     * @param key      CacheKey
+     * @param loader   Loader of the entry from the underlying store.
+     * @param tenantId The tenant Id where the cache is maintained.
+     * @param <E>      Type of the exception thrown by the loader.
+     * @return Cached or loaded entry. Null if the loader did not find an entry.
+     * @throws E If an error occurs while loading the entry.
+     */
+    public <E extends Exception> V getOrLoad(K key, CacheEntryLoader<K, V, E> loader, int tenantId) throws E {
+
+        if (!isEnabled() || key == null) {
+            return loader.load(key);
+        }
+
+        LoadKey loadKey = new LoadKey(tenantId, key);
+        V value = getValueFromCache(key, tenantId);
+        if (value != null) {
+            refreshAheadIfRequired(loadKey, key, loader, tenantId);
+            return value;
+        }
+        if (isNegativelyCached(loadKey)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache : " + cacheName + " has recently not found an entry for the key. Hence not " +
+                        "loading it again for tenant id : " + tenantId);
+            }
+            return null;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlightLoad = inFlightLoads.putIfAbsent(loadKey, load);
+        if (inFlightLoad != null) {
+            return awaitLoad(inFlightLoad, key, loader, tenantId);
+        }
+        try {
+            // Another caller may have loaded the entry between the cache miss and registering this load.
+            value = getValueFromCache(key, tenantId, false);
+            if (value == null) {
+                value = loadEntry(key, loader, tenantId);
+                onEntryLoaded(loadKey, key, value, tenantId);
+            }
+            load.complete(value);
+            return value;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(loadKey, load);
+        }
+    }
+
     public boolean isEnabled() {
 
         if (identityCacheConfig != null) {
@@ -338,6 +728,16 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         return true;
     }
 
+    /**
+     * Check whether this cache records metrics, see {@link CacheMetricsService}.
+     *
+     * @return True if the cache metrics are enabled.
+     */
+    public boolean isMetricsEnabled() {
+
+        return CacheMetricsService.isEnabled();
+    }
+
     public int getCacheTimeout() {
 
         if (identityCacheConfig != null && identityCacheConfig.getTimeout() > 0) {
@@ -354,6 +754,33 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         return -1;
     }
 
+    /**
+     * Get the time a not found key is remembered by {@link #getOrLoad(Serializable, CacheEntryLoader, int)}.
+     *
+     * @return Negative cache timeout in seconds, or -1 if not found keys are not cached.
+     */
+    public int getNegativeCacheTimeout() {
+
+        if (identityCacheConfig != null && identityCacheConfig.getNegativeCacheTimeout() > 0) {
+            return identityCacheConfig.getNegativeCacheTimeout();
+        }
+        return -1;
+    }
+
+    /**
+     * Get the time before the expiry of an entry within which a read reloads the entry in the background.
+     *
+     * @return Refresh ahead time in seconds, or -1 if entries are not refreshed ahead of expiry.
+     */
+    public int getRefreshAheadTime() {
+
+        if (identityCacheConfig != null && identityCacheConfig.getRefreshAheadTime() > 0 &&
+                identityCacheConfig.getRefreshAheadTime() < getCacheTimeout()) {
+            return identityCacheConfig.getRefreshAheadTime();
+        }
+        return -1;
+    }
+
     public void setCapacity(CacheImpl<K, V> cache) {
 
         if (getCapacity() > 0) {
@@ -361,6 +788,27 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         }
     }
 
+    /**
+     * Check whether the current carbon context is already in the given tenant, in which case the cache can be
+     * accessed without starting a tenant flow.
+     *
+     * @param tenantDomain The tenant domain where the cache is maintained.
+     * @return True if the carbon context is in the given tenant.
+     */
+    private boolean isInTenantFlow(String tenantDomain) {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        return tenantDomain != null && tenantDomain.equals(carbonContext.getTenantDomain()) &&
+                carbonContext.getTenantId() != MultitenantConstants.INVALID_TENANT_ID;
+    }
+
+    private boolean isInTenantFlow(int tenantId) {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        return tenantId != MultitenantConstants.INVALID_TENANT_ID && tenantId == carbonContext.getTenantId() &&
+                carbonContext.getTenantDomain() != null;
+    }
+
     private void startTenantFlow(String tenantDomain) {
 
         PrivilegedCarbonContext.startTenantFlow();
@@ -376,4 +824,214 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         PrivilegedCarbonContext.getThreadLocalCarbonContext()
                 .setTenantDomain(IdentityTenantUtil.getTenantDomain(tenantId));
     }
+
+    private <E extends Exception> V awaitLoad(CompletableFuture<V> inFlightLoad, K key,
+                                              CacheEntryLoader<K, V, E> loader, int tenantId) throws E {
+
+        try {
+            return inFlightLoad.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Concurrent load of an entry failed in cache : " + cacheName + ". Hence loading it again.",
+                        e.getCause());
+            }
+        }
+        return loadEntry(key, loader, tenantId);
+    }
+
+    private <E extends Exception> V loadEntry(K key, CacheEntryLoader<K, V, E> loader, int tenantId) throws E {
+
+        CacheMetrics metrics = getCacheMetrics(tenantId);
+        if (metrics == null) {
+            return loader.load(key);
+        }
+        long startTime = System.nanoTime();
+        try {
+            V value = loader.load(key);
+            metrics.recordLoad(System.nanoTime() - startTime);
+            return value;
+        } catch (Throwable e) {
+            metrics.recordLoadFailure(System.nanoTime() - startTime);
+            throw e;
+        }
+    }
+
+    private void onEntryLoaded(LoadKey loadKey, K key, V value, int tenantId) {
+
+        if (value != null) {
+            addToCache(key, value, tenantId);
+            if (getRefreshAheadTime() > 0) {
+                putLoadState(entryLoadTimes, loadKey, System.nanoTime());
+            }
+        } else if (getNegativeCacheTimeout() > 0) {
+            putLoadState(negativeEntryExpiryTimes, loadKey,
+                    System.nanoTime() + TimeUnit.SECONDS.toNanos(getNegativeCacheTimeout()));
+        }
+    }
+
+    private boolean isNegativelyCached(LoadKey loadKey) {
+
+        Long expiryTime = negativeEntryExpiryTimes.get(loadKey);
+        if (expiryTime == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiryTime >= 0) {
+            negativeEntryExpiryTimes.remove(loadKey, expiryTime);
+            return false;
+        }
+        return true;
+    }
+
+    private <E extends Exception> void refreshAheadIfRequired(LoadKey loadKey, K key,
+                                                              CacheEntryLoader<K, V, E> loader, int tenantId) {
+
+        Long loadTime = entryLoadTimes.get(loadKey);
+        if (loadTime == null || getRefreshAheadTime() <= 0 || System.nanoTime() - loadTime <
+                TimeUnit.SECONDS.toNanos(getCacheTimeout() - getRefreshAheadTime())) {
+            return;
+        }
+        CompletableFuture<V> refresh = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(loadKey, refresh) != null) {
+            return;
+        }
+        try {
+            getRefreshExecutor().execute(() -> {
+                try {
+                    startTenantFlow(tenantId);
+                    V value = loadEntry(key, loader, tenantId);
+                    if (value != null) {
+                        onEntryLoaded(loadKey, key, value, tenantId);
+                    } else {
+                        clearCacheEntry(key, tenantId);
+                    }
+                    refresh.complete(value);
+                } catch (Throwable e) {
+                    refresh.completeExceptionally(e);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Error while refreshing an entry of cache : " + cacheName, e);
+                    }
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                    inFlightLoads.remove(loadKey, refresh);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightLoads.remove(loadKey, refresh);
+            refresh.completeExceptionally(e);
+        }
+    }
+
+    private void putLoadState(ConcurrentMap<LoadKey, Long> loadState, LoadKey loadKey, long time) {
+
+        int maxSize = getCapacity() > 0 ? getCapacity() : DEFAULT_LOAD_STATE_CAPACITY;
+        if (loadState.size() >= maxSize) {
+            loadState.clear();
+        }
+        loadState.put(loadKey, time);
+    }
+
+    private void forgetLoadState(K key, String tenantDomain) {
+
+        if (!negativeEntryExpiryTimes.isEmpty() || !entryLoadTimes.isEmpty()) {
+            forgetLoadState(key, IdentityTenantUtil.getTenantId(tenantDomain));
+        }
+    }
+
+    private void forgetLoadState(K key, int tenantId) {
+
+        if (!negativeEntryExpiryTimes.isEmpty() || !entryLoadTimes.isEmpty()) {
+            LoadKey loadKey = new LoadKey(tenantId, key);
+            negativeEntryExpiryTimes.remove(loadKey);
+            entryLoadTimes.remove(loadKey);
+        }
+    }
+
+    private void forgetLoadState(int tenantId) {
+
+        negativeEntryExpiryTimes.keySet().removeIf(loadKey -> loadKey.tenantId == tenantId);
+        entryLoadTimes.keySet().removeIf(loadKey -> loadKey.tenantId == tenantId);
+    }
+
+    private static ExecutorService getRefreshExecutor() {
+
+        if (refreshExecutor == null) {
+            synchronized (BaseCache.class) {
+                if (refreshExecutor == null) {
+                    ThreadPoolExecutor executor = new ThreadLocalAwareThreadPoolExecutor(REFRESH_POOL_SIZE,
+                            REFRESH_POOL_SIZE, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE));
+                    executor.allowCoreThreadTimeOut(true);
+                    refreshExecutor = executor;
+                }
+            }
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * Counts the entries expired or evicted by the cache.
+     */
+    private static final class CacheMetricsListener<K, V> implements CacheEntryExpiredListener<K, V> {
+
+        private final CacheMetrics metrics;
+
+        private CacheMetricsListener(CacheMetrics metrics) {
+
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void entryExpired(CacheEntryEvent<? extends K, ? extends V> event) throws CacheEntryListenerException {
+
+            metrics.recordEviction();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            // Listeners of the same metrics are equal, so that a cache counts an expiry once per metrics.
+            return o instanceof CacheMetricsListener && metrics == ((CacheMetricsListener<?, ?>) o).metrics;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return System.identityHashCode(metrics);
+        }
+    }
+
+    /**
+     * Key of the load state of a cache entry in a tenant.
+     */
+    private static final class LoadKey {
+
+        private final int tenantId;
+        private final Object key;
+
+        private LoadKey(int tenantId, Object key) {
+
+            this.tenantId = tenantId;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoadKey)) {
+                return false;
+            }
+            LoadKey loadKey = (LoadKey) o;
+            return tenantId == loadKey.tenantId && key.equals(loadKey.key);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(tenantId, key);
+        }
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.cache;
+
+/**
+ * Loads the value of a cache entry from the underlying store on a cache miss.
+ *
+ * @param <K> cache key type.
+ * @param <V> cache value type.
+ * @param <E> type of the exception thrown by the store.
+ */
+@FunctionalInterface
+public interface CacheEntryLoader<K, V, E extends Exception> {
+
+    /**
+     * Load the value of the given key.
+     *
+     * @param key Cache key.
+     * @return Loaded value, or null if there is no value for the key.
+     * @throws E If an error occurs while loading the value.
+     */
+    V load(K key) throws E;
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.cache;
+
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the cache invalidations of the current thread, so that they are sent to the other nodes of the cluster as
+ * one message per cache and tenant instead of one message per entry.
+ * <p>
+ * While a batch is open, {@link BaseCache#clearCacheEntry} and {@link BaseCache#clear} remove the entries of this node
+ * right away, and the removed keys are deduplicated into the batch. The messages are sent when the batch is closed.
+ * Batches started while another batch is open join that batch, and the messages are sent when the outermost batch is
+ * closed.
+ * <pre>
+ * try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
+ *     // Clear the cache entries.
+ * }
+ * </pre>
+ */
+public final class CacheInvalidationBatch implements AutoCloseable {
+
+    private static final ThreadLocal<CacheInvalidationBatch> currentBatch = new ThreadLocal<>();
+
+    private final Map<BaseCache<?, ?>, Map<Integer, Invalidation>> invalidations = new IdentityHashMap<>();
+    private int depth;
+
+    private CacheInvalidationBatch() {
+
+    }
+
+    /**
+     * Start a batch, or join the batch already open in the current thread.
+     *
+     * @return Cache invalidation batch.
+     */
+    public static CacheInvalidationBatch start() {
+
+        CacheInvalidationBatch batch = currentBatch.get();
+        if (batch == null) {
+            batch = new CacheInvalidationBatch();
+            currentBatch.set(batch);
+        }
+        batch.depth++;
+        return batch;
+    }
+
+    /**
+     * Close the batch. Closing the outermost batch sends the collected invalidations to the other nodes.
+     */
+    @Override
+    public void close() {
+
+        if (--depth > 0) {
+            return;
+        }
+        currentBatch.remove();
+        for (Map.Entry<BaseCache<?, ?>, Map<Integer, Invalidation>> cacheInvalidations : invalidations.entrySet()) {
+            for (Map.Entry<Integer, Invalidation> invalidation : cacheInvalidations.getValue().entrySet()) {
+                cacheInvalidations.getKey().sendInvalidation(invalidation.getKey(), invalidation.getValue().clearAll,
+                        invalidation.getValue().keys);
+            }
+        }
+        invalidations.clear();
+    }
+
+    static CacheInvalidationBatch getCurrentBatch() {
+
+        return currentBatch.get();
+    }
+
+    void addKey(BaseCache<?, ?> cache, int tenantId, Serializable key) {
+
+        Invalidation invalidation = getInvalidation(cache, tenantId);
+        if (!invalidation.clearAll) {
+            invalidation.keys.add(key);
+        }
+    }
+
+    void addClear(BaseCache<?, ?> cache, int tenantId) {
+
+        Invalidation invalidation = getInvalidation(cache, tenantId);
+        invalidation.clearAll = true;
+        invalidation.keys.clear();
+    }
+
+    private Invalidation getInvalidation(BaseCache<?, ?> cache, int tenantId) {
+
+        return invalidations.computeIfAbsent(cache, c -> new LinkedHashMap<>())
+                .computeIfAbsent(tenantId, id -> new Invalidation());
+    }
+
+    /**
+     * Invalidations of a cache in a tenant.
+     */
+    private static final class Invalidation {
+
+        private final Set<Serializable> keys = new LinkedHashSet<>();
+        private boolean clearAll;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.apache.axis2.clustering.ClusteringCommand;
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.axis2.clustering.ClusteringMessage;
+import org.apache.axis2.context.ConfigurationContext;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cluster message which invalidates the entries of a cache in a tenant, sent when a {@link CacheInvalidationBatch}
+ * is closed. The receiving node removes all the entries of the message in one pass, without sending any further
+ * invalidations.
+ */
+public class CacheInvalidationMessage extends ClusteringMessage {
+
+    private static final long serialVersionUID = 4820136587743160721L;
+
+    private final String cacheName;
+    private final int tenantId;
+    private final boolean clearAll;
+    private final List<Serializable> keys;
+    private final long sentTime;
+
+    CacheInvalidationMessage(String cacheName, int tenantId, boolean clearAll,
+                             Collection<? extends Serializable> keys) {
+
+        this.cacheName = cacheName;
+        this.tenantId = tenantId;
+        this.clearAll = clearAll;
+        this.keys = new ArrayList<>(keys);
+        this.sentTime = System.currentTimeMillis();
+    }
+
+    public String getCacheName() {
+
+        return cacheName;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public boolean isClearAll() {
+
+        return clearAll;
+    }
+
+    public List<Serializable> getKeys() {
+
+        return keys;
+    }
+
+    /**
+     * Get the time the message was sent, on the clock of the sending node.
+     *
+     * @return Sent time in milliseconds since the epoch.
+     */
+    public long getSentTime() {
+
+        return sentTime;
+    }
+
+    @Override
+    public void execute(ConfigurationContext configurationContext) throws ClusteringFault {
+
+        BaseCache.applyInvalidation(this);
+    }
+
+    @Override
+    public ClusteringCommand getResponse() {
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+
+        return "CacheInvalidationMessage{cacheName=" + cacheName + ", tenantId=" + tenantId + ", clearAll=" +
+                clearAll + ", keys=" + keys.size() + "}";
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Metrics of a cache in a tenant. The counters are {@link LongAdder}s, so that recording does not contend between
+ * the threads using the cache.
+ */
+public class CacheMetrics implements CacheMetricsMXBean {
+
+    private final String cacheName;
+    private final int tenantId;
+    private final IntSupplier sizeSupplier;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder removals = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder invalidationMessagesSent = new LongAdder();
+    private final LongAdder invalidationMessagesReceived = new LongAdder();
+    private final LongAdder totalInvalidationLag = new LongAdder();
+
+    CacheMetrics(String cacheName, int tenantId, IntSupplier sizeSupplier) {
+
+        this.cacheName = cacheName;
+        this.tenantId = tenantId;
+        this.sizeSupplier = sizeSupplier;
+    }
+
+    @Override
+    public String getCacheName() {
+
+        return cacheName;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    @Override
+    public long getHitCount() {
+
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+
+        return calculateHitRatio(getHitCount(), getMissCount());
+    }
+
+    @Override
+    public long getPutCount() {
+
+        return puts.sum();
+    }
+
+    @Override
+    public long getRemovalCount() {
+
+        return removals.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+
+        return evictions.sum();
+    }
+
+    @Override
+    public long getLoadCount() {
+
+        return loads.sum();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+
+        return loadFailures.sum();
+    }
+
+    /**
+     * Get the total time taken by the loads, including the failed loads.
+     *
+     * @return Total load time in nanoseconds.
+     */
+    public long getTotalLoadTime() {
+
+        return totalLoadTime.sum();
+    }
+
+    @Override
+    public double getAverageLoadTime() {
+
+        return calculateAverageLoadTime(getTotalLoadTime(), getLoadCount() + getLoadFailureCount());
+    }
+
+    @Override
+    public long getSize() {
+
+        return sizeSupplier.getAsInt();
+    }
+
+    @Override
+    public long getInvalidationMessagesSentCount() {
+
+        return invalidationMessagesSent.sum();
+    }
+
+    @Override
+    public long getInvalidationMessagesReceivedCount() {
+
+        return invalidationMessagesReceived.sum();
+    }
+
+    /**
+     * Get the total time between sending and applying the received invalidation messages.
+     *
+     * @return Total invalidation lag in milliseconds.
+     */
+    public long getTotalInvalidationLag() {
+
+        return totalInvalidationLag.sum();
+    }
+
+    @Override
+    public double getAverageInvalidationLag() {
+
+        return calculateAverageInvalidationLag(getTotalInvalidationLag(), getInvalidationMessagesReceivedCount());
+    }
+
+    void recordHit() {
+
+        hits.increment();
+    }
+
+    void recordMiss() {
+
+        misses.increment();
+    }
+
+    void recordPut() {
+
+        puts.increment();
+    }
+
+    void recordRemoval() {
+
+        removals.increment();
+    }
+
+    void recordEviction() {
+
+        evictions.increment();
+    }
+
+    void recordLoad(long loadTime) {
+
+        loads.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    void recordLoadFailure(long loadTime) {
+
+        loadFailures.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    void recordInvalidationMessageSent() {
+
+        invalidationMessagesSent.increment();
+    }
+
+    void recordInvalidationMessageReceived(long lag) {
+
+        invalidationMessagesReceived.increment();
+        totalInvalidationLag.add(lag);
+    }
+
+    static double calculateHitRatio(long hitCount, long missCount) {
+
+        long lookupCount = hitCount + missCount;
+        return lookupCount > 0 ? (double) hitCount / lookupCount : 0;
+    }
+
+    static double calculateAverageLoadTime(long totalLoadTime, long loadCount) {
+
+        return loadCount > 0 ? (double) totalLoadTime / loadCount / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    static double calculateAverageInvalidationLag(long totalInvalidationLag, long receivedCount) {
+
+        return receivedCount > 0 ? (double) totalInvalidationLag / receivedCount : 0;
+    }
+}
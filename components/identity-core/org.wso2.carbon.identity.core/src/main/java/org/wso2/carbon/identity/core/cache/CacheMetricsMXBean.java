@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.cache;
+
+/**
+ * Metrics of a cache, exposed through JMX. The counts are aggregated over all tenants.
+ */
+public interface CacheMetricsMXBean {
+
+    /**
+     * Get the name of the cache.
+     *
+     * @return Cache name.
+     */
+    String getCacheName();
+
+    /**
+     * Get the number of lookups that found an entry.
+     *
+     * @return Hit count.
+     */
+    long getHitCount();
+
+    /**
+     * Get the number of lookups that did not find an entry.
+     *
+     * @return Miss count.
+     */
+    long getMissCount();
+
+    /**
+     * Get the ratio of the lookups that found an entry.
+     *
+     * @return Hit ratio between 0 and 1, or 0 if there were no lookups.
+     */
+    double getHitRatio();
+
+    /**
+     * Get the number of entries added to the cache.
+     *
+     * @return Put count.
+     */
+    long getPutCount();
+
+    /**
+     * Get the number of entries removed from the cache through the cache API.
+     *
+     * @return Removal count.
+     */
+    long getRemovalCount();
+
+    /**
+     * Get the number of entries expired or evicted by the cache, as reported through its expiry events.
+     *
+     * @return Eviction count.
+     */
+    long getEvictionCount();
+
+    /**
+     * Get the number of entries loaded from the underlying store on a cache miss.
+     *
+     * @return Load count.
+     */
+    long getLoadCount();
+
+    /**
+     * Get the number of loads that failed.
+     *
+     * @return Load failure count.
+     */
+    long getLoadFailureCount();
+
+    /**
+     * Get the average time taken by a load, including the failed loads.
+     *
+     * @return Average load time in milliseconds, or 0 if there were no loads.
+     */
+    double getAverageLoadTime();
+
+    /**
+     * Get the number of entries in the cache of this node. This iterates the cache, hence it is computed on demand.
+     *
+     * @return Cache size.
+     */
+    long getSize();
+
+    /**
+     * Get the number of invalidation messages sent to the other nodes of the cluster by closing a
+     * {@link CacheInvalidationBatch}.
+     *
+     * @return Sent invalidation message count.
+     */
+    long getInvalidationMessagesSentCount();
+
+    /**
+     * Get the number of invalidation messages received from the other nodes of the cluster.
+     *
+     * @return Received invalidation message count.
+     */
+    long getInvalidationMessagesReceivedCount();
+
+    /**
+     * Get the average time between sending and applying the received invalidation messages. This is measured with
+     * the clocks of the sending and the receiving nodes, hence it is only as accurate as their synchronization.
+     *
+     * @return Average invalidation lag in milliseconds, or 0 if no messages were received.
+     */
+    double getAverageInvalidationLag();
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Holds the metrics of the {@link BaseCache}s per cache name and tenant, so that they can be pulled through
+ * {@link #getCacheMetrics()}. Unless disabled, the metrics of each cache, aggregated over the tenants, are also
+ * registered as an MXBean named {@code org.wso2.carbon.identity:type=Cache,name=<cache name>}.
+ */
+public class CacheMetricsService {
+
+    private static final Log log = LogFactory.getLog(CacheMetricsService.class);
+    private static final CacheMetricsService instance = new CacheMetricsService();
+    private static final String MBEAN_NAME_PREFIX = "org.wso2.carbon.identity:type=Cache,name=";
+    private static volatile Boolean enabled;
+
+    private final Map<String, Map<Integer, CacheMetrics>> cacheMetrics = new ConcurrentHashMap<>();
+    private final Map<String, ObjectName> registeredMBeans = new ConcurrentHashMap<>();
+
+    CacheMetricsService() {
+
+    }
+
+    public static CacheMetricsService getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the caches should record metrics.
+     *
+     * @return True if the cache metrics are enabled.
+     */
+    public static boolean isEnabled() {
+
+        if (enabled == null) {
+            enabled = Boolean.parseBoolean(IdentityUtil.getProperty(IdentityCoreConstants.CACHE_METRICS_ENABLE));
+        }
+        return enabled;
+    }
+
+    /**
+     * Get the metrics of all caches, one per cache and tenant.
+     *
+     * @return Cache metrics.
+     */
+    public List<CacheMetrics> getCacheMetrics() {
+
+        List<CacheMetrics> metrics = new ArrayList<>();
+        for (Map<Integer, CacheMetrics> tenantMetrics : cacheMetrics.values()) {
+            metrics.addAll(tenantMetrics.values());
+        }
+        return metrics;
+    }
+
+    /**
+     * Get the metrics of a cache, one per tenant.
+     *
+     * @param cacheName Name of the cache.
+     * @return Cache metrics, or an empty list if the cache has not recorded any metrics.
+     */
+    public List<CacheMetrics> getCacheMetrics(String cacheName) {
+
+        Map<Integer, CacheMetrics> tenantMetrics = cacheMetrics.get(cacheName);
+        if (tenantMetrics == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(tenantMetrics.values());
+    }
+
+    /**
+     * Get the metrics of a cache in a tenant.
+     *
+     * @param cacheName Name of the cache.
+     * @param tenantId  Tenant id.
+     * @return Cache metrics, or null if the cache has not recorded any metrics for the tenant.
+     */
+    public CacheMetrics getCacheMetrics(String cacheName, int tenantId) {
+
+        Map<Integer, CacheMetrics> tenantMetrics = cacheMetrics.get(cacheName);
+        return tenantMetrics != null ? tenantMetrics.get(tenantId) : null;
+    }
+
+    /**
+     * Unregister the MXBeans of the cache metrics.
+     */
+    public void unregisterMBeans() {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : registeredMBeans.values()) {
+            try {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (JMException e) {
+                log.warn("Error while unregistering the cache metrics MXBean: " + objectName, e);
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    CacheMetrics getOrCreateCacheMetrics(String cacheName, int tenantId, IntSupplier sizeSupplier) {
+
+        Map<Integer, CacheMetrics> tenantMetrics = cacheMetrics.computeIfAbsent(cacheName, name -> {
+            Map<Integer, CacheMetrics> metrics = new ConcurrentHashMap<>();
+            registerMBean(name, metrics.values());
+            return metrics;
+        });
+        return tenantMetrics.computeIfAbsent(tenantId, id -> new CacheMetrics(cacheName, id, sizeSupplier));
+    }
+
+    private void registerMBean(String cacheName, Collection<CacheMetrics> tenantMetrics) {
+
+        if (Boolean.FALSE.toString().equalsIgnoreCase(
+                IdentityUtil.getProperty(IdentityCoreConstants.CACHE_METRICS_JMX_ENABLE))) {
+            return;
+        }
+        try {
+            ObjectName objectName = new ObjectName(MBEAN_NAME_PREFIX + ObjectName.quote(cacheName));
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(new AggregatedCacheMetrics(cacheName, tenantMetrics), objectName);
+                registeredMBeans.put(cacheName, objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while registering the metrics MXBean of cache: " + cacheName, e);
+        }
+    }
+
+    /**
+     * Metrics of a cache aggregated over the tenants.
+     */
+    private static class AggregatedCacheMetrics implements CacheMetricsMXBean {
+
+        private final String cacheName;
+        private final Collection<CacheMetrics> tenantMetrics;
+
+        AggregatedCacheMetrics(String cacheName, Collection<CacheMetrics> tenantMetrics) {
+
+            this.cacheName = cacheName;
+            this.tenantMetrics = tenantMetrics;
+        }
+
+        @Override
+        public String getCacheName() {
+
+            return cacheName;
+        }
+
+        @Override
+        public long getHitCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getHitCount).sum();
+        }
+
+        @Override
+        public long getMissCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getMissCount).sum();
+        }
+
+        @Override
+        public double getHitRatio() {
+
+            return CacheMetrics.calculateHitRatio(getHitCount(), getMissCount());
+        }
+
+        @Override
+        public long getPutCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getPutCount).sum();
+        }
+
+        @Override
+        public long getRemovalCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getRemovalCount).sum();
+        }
+
+        @Override
+        public long getEvictionCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getEvictionCount).sum();
+        }
+
+        @Override
+        public long getLoadCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getLoadCount).sum();
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getLoadFailureCount).sum();
+        }
+
+        @Override
+        public double getAverageLoadTime() {
+
+            return CacheMetrics.calculateAverageLoadTime(
+                    tenantMetrics.stream().mapToLong(CacheMetrics::getTotalLoadTime).sum(),
+                    getLoadCount() + getLoadFailureCount());
+        }
+
+        @Override
+        public long getSize() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getSize).sum();
+        }
+
+        @Override
+        public long getInvalidationMessagesSentCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getInvalidationMessagesSentCount).sum();
+        }
+
+        @Override
+        public long getInvalidationMessagesReceivedCount() {
+
+            return tenantMetrics.stream().mapToLong(CacheMetrics::getInvalidationMessagesReceivedCount).sum();
+        }
+
+        @Override
+        public double getAverageInvalidationLag() {
+
+            return CacheMetrics.calculateAverageInvalidationLag(
+                    tenantMetrics.stream().mapToLong(CacheMetrics::getTotalInvalidationLag).sum(),
+                    getInvalidationMessagesReceivedCount());
+        }
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
+import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.utils.CarbonUtils;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the registered {@link CacheWarmUpTask}s for the configured tenants at server startup, so that the caches of
+ * the node are warm before it takes traffic. The tasks run in parallel on a fixed size pool, which bounds the number
+ * of database connections used by the warm-up.
+ * <p>
+ * When hot key recording is enabled, components record the keys they serve with
+ * {@link #recordHotKey(String, String, String)}. The most used keys are persisted at shutdown and are given to the
+ * tasks on the next startup.
+ */
+public class CacheWarmUpService {
+
+    private static final Log log = LogFactory.getLog(CacheWarmUpService.class);
+    private static final CacheWarmUpService instance = new CacheWarmUpService();
+
+    private static final String HOT_KEY_SEPARATOR = "\t";
+    private static final String DEFAULT_HOT_KEYS_FILE = Paths.get("repository", "data",
+            "cache-warm-up-hot-keys.txt").toString();
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    // Number of distinct keys recorded per task and tenant, relative to the number of entries preloaded.
+    private static final int HOT_KEY_RECORDING_FACTOR = 10;
+
+    private final List<CacheWarmUpTask> tasks = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<String, LongAdder>> hotKeys = new ConcurrentHashMap<>();
+    private final CountDownLatch completion = new CountDownLatch(1);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicInteger completedTasks = new AtomicInteger();
+    private final AtomicInteger failedTasks = new AtomicInteger();
+    private final AtomicLong preloadedEntries = new AtomicLong();
+    // Read once, as hot keys are recorded on the hot paths of the components.
+    private final boolean hotKeyRecordingEnabled;
+    private final int maxEntries;
+    private volatile int totalTasks;
+    private volatile long startTime;
+    private volatile long endTime;
+
+    CacheWarmUpService() {
+
+        hotKeyRecordingEnabled = Boolean.parseBoolean(
+                IdentityUtil.getProperty(IdentityCoreConstants.CACHE_WARM_UP_HOT_KEYS_ENABLE));
+        maxEntries = getIntProperty(IdentityCoreConstants.CACHE_WARM_UP_MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+    }
+
+    public static CacheWarmUpService getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the caches should be warmed up at server startup.
+     *
+     * @return True if the cache warm-up is enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(IdentityCoreConstants.CACHE_WARM_UP_ENABLE));
+    }
+
+    /**
+     * Check whether the most used cache keys should be recorded and preloaded on the next startup.
+     *
+     * @return True if hot key recording is enabled.
+     */
+    public boolean isHotKeyRecordingEnabled() {
+
+        return hotKeyRecordingEnabled;
+    }
+
+    /**
+     * Register a task to run at the cache warm-up. A task registered after the cache warm-up started would not be
+     * run, so it is rejected.
+     *
+     * @param task Cache warm-up task.
+     * @return False if the cache warm-up already started and the task was not registered.
+     */
+    public synchronized boolean addTask(CacheWarmUpTask task) {
+
+        if (started.get()) {
+            log.warn("The cache warm-up task: " + task.getName() + " was registered after the cache warm-up " +
+                    "started. It will not be run.");
+            return false;
+        }
+        tasks.add(task);
+        return true;
+    }
+
+    public void removeTask(CacheWarmUpTask task) {
+
+        tasks.remove(task);
+    }
+
+    /**
+     * Record a use of a cache key, so that the key can be preloaded by the task on the next startup.
+     *
+     * @param taskName     Name of the task that preloads the key.
+     * @param tenantDomain Tenant domain of the key.
+     * @param key          Key.
+     */
+    public void recordHotKey(String taskName, String tenantDomain, String key) {
+
+        if (!hotKeyRecordingEnabled || StringUtils.isEmpty(tenantDomain) || StringUtils.isEmpty(key)) {
+            return;
+        }
+        Map<String, LongAdder> taskHotKeys = hotKeys.computeIfAbsent(buildHotKeyGroup(taskName, tenantDomain),
+                group -> new ConcurrentHashMap<>());
+        LongAdder counter = taskHotKeys.get(key);
+        if (counter == null) {
+            // Bound the memory used for recording, and skip keys that cannot be persisted as a line.
+            if (taskHotKeys.size() >= maxEntries * HOT_KEY_RECORDING_FACTOR ||
+                    StringUtils.containsAny(key, "\t\r\n")) {
+                return;
+            }
+            counter = taskHotKeys.computeIfAbsent(key, hotKey -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Start warming up the caches. The tasks are run asynchronously, use {@link #awaitCompletion(long, TimeUnit)} to
+     * wait for them to complete. Calling this more than once has no effect.
+     */
+    public void warmUp() {
+
+        List<CacheWarmUpTask> warmUpTasks;
+        synchronized (this) {
+            // Tasks registered from here on are rejected, instead of being left out silently.
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            warmUpTasks = new ArrayList<>(tasks);
+        }
+        startTime = System.currentTimeMillis();
+        Map<String, List<String>> persistedHotKeys = loadHotKeys();
+        Map<String, Integer> tenantIds = resolveTenantIds(getTenantDomains(persistedHotKeys));
+        totalTasks = warmUpTasks.size() * tenantIds.size();
+        if (totalTasks == 0) {
+            complete();
+            return;
+        }
+
+        log.info("Warming up the caches with " + warmUpTasks.size() + " tasks for " + tenantIds.size() +
+                " tenants.");
+        ExecutorService executorService = ThreadLocalAwareExecutors.newFixedThreadPool(getPoolSize());
+        for (Map.Entry<String, Integer> tenant : tenantIds.entrySet()) {
+            for (CacheWarmUpTask task : warmUpTasks) {
+                List<String> taskHotKeys = persistedHotKeys.getOrDefault(
+                        buildHotKeyGroup(task.getName(), tenant.getKey()), Collections.emptyList());
+                executorService.execute(() -> runTask(task, tenant.getKey(), tenant.getValue(), taskHotKeys));
+            }
+        }
+        executorService.shutdown();
+    }
+
+    /**
+     * Wait for the cache warm-up to complete.
+     *
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     * @return True if the cache warm-up completed, false if the timeout elapsed before that.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+
+        return completion.await(timeout, unit);
+    }
+
+    /**
+     * Check whether the cache warm-up completed. A load balancer health check can use this to hold the node out of
+     * rotation until its caches are warm.
+     *
+     * @return True if the cache warm-up completed.
+     */
+    public boolean isCompleted() {
+
+        return completion.getCount() == 0;
+    }
+
+    public int getTotalTasks() {
+
+        return totalTasks;
+    }
+
+    public int getCompletedTasks() {
+
+        return completedTasks.get();
+    }
+
+    public int getFailedTasks() {
+
+        return failedTasks.get();
+    }
+
+    public long getPreloadedEntries() {
+
+        return preloadedEntries.get();
+    }
+
+    /**
+     * Get the time taken by the cache warm-up so far, or in total once it has completed.
+     *
+     * @return Duration of the cache warm-up in milliseconds.
+     */
+    public long getDuration() {
+
+        if (!started.get()) {
+            return 0;
+        }
+        return (isCompleted() ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    /**
+     * Persist the most used keys recorded during this run, to be preloaded on the next startup.
+     */
+    public void persistHotKeys() {
+
+        if (!hotKeyRecordingEnabled || hotKeys.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Map<String, LongAdder>> group : hotKeys.entrySet()) {
+            group.getValue().entrySet().stream()
+                    .sorted(Comparator.comparingLong(
+                            (Map.Entry<String, LongAdder> hotKey) -> hotKey.getValue().sum()).reversed())
+                    .limit(maxEntries)
+                    .forEach(hotKey -> lines.add(group.getKey() + HOT_KEY_SEPARATOR + hotKey.getKey()));
+        }
+
+        Path hotKeysFile = getHotKeysFile();
+        try {
+            if (hotKeysFile.getParent() != null) {
+                Files.createDirectories(hotKeysFile.getParent());
+            }
+            Files.write(hotKeysFile, lines, StandardCharsets.UTF_8);
+            if (log.isDebugEnabled()) {
+                log.debug("Persisted " + lines.size() + " cache warm-up hot keys to: " + hotKeysFile);
+            }
+        } catch (IOException e) {
+            log.error("Error while persisting the cache warm-up hot keys to: " + hotKeysFile, e);
+        }
+    }
+
+    private void runTask(CacheWarmUpTask task, String tenantDomain, int tenantId, List<String> taskHotKeys) {
+
+        long taskStartTime = System.currentTimeMillis();
+        int entries = 0;
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(tenantDomain);
+            carbonContext.setTenantId(tenantId);
+            entries = task.warmUp(tenantDomain, taskHotKeys, maxEntries);
+            preloadedEntries.addAndGet(entries);
+        } catch (IdentityException | RuntimeException e) {
+            failedTasks.incrementAndGet();
+            log.error("Error while running the cache warm-up task: " + task.getName() + " for the tenant: " +
+                    tenantDomain, e);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            int completed = completedTasks.incrementAndGet();
+            log.info(String.format("Cache warm-up task: %s preloaded %d entries of the tenant: %s in %d ms. " +
+                            "Completed %d of %d tasks.", task.getName(), entries, tenantDomain,
+                    System.currentTimeMillis() - taskStartTime, completed, totalTasks));
+            if (completed == totalTasks) {
+                complete();
+            }
+        }
+    }
+
+    private void complete() {
+
+        endTime = System.currentTimeMillis();
+        completion.countDown();
+        log.info(String.format("Cache warm-up completed in %d ms. Preloaded %d entries with %d failed tasks.",
+                endTime - startTime, preloadedEntries.get(), failedTasks.get()));
+    }
+
+    private Map<String, List<String>> loadHotKeys() {
+
+        Map<String, List<String>> persistedHotKeys = new HashMap<>();
+        if (!hotKeyRecordingEnabled) {
+            return persistedHotKeys;
+        }
+        Path hotKeysFile = getHotKeysFile();
+        if (!Files.exists(hotKeysFile)) {
+            return persistedHotKeys;
+        }
+        try {
+            for (String line : Files.readAllLines(hotKeysFile, StandardCharsets.UTF_8)) {
+                // Task name, tenant domain and key.
+                String[] parts = line.split(HOT_KEY_SEPARATOR, 3);
+                if (parts.length == 3) {
+                    persistedHotKeys.computeIfAbsent(buildHotKeyGroup(parts[0], parts[1]),
+                            group -> new ArrayList<>()).add(parts[2]);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error while reading the cache warm-up hot keys from: " + hotKeysFile, e);
+        }
+        return persistedHotKeys;
+    }
+
+    private Set<String> getTenantDomains(Map<String, List<String>> persistedHotKeys) {
+
+        Set<String> tenantDomains = new LinkedHashSet<>();
+        String configuredTenantDomains = IdentityUtil.getProperty(IdentityCoreConstants.CACHE_WARM_UP_TENANTS);
+        if (StringUtils.isBlank(configuredTenantDomains)) {
+            tenantDomains.add(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        } else {
+            for (String tenantDomain : configuredTenantDomains.split(",")) {
+                if (StringUtils.isNotBlank(tenantDomain)) {
+                    tenantDomains.add(tenantDomain.trim());
+                }
+            }
+        }
+        // Tenants that had hot keys in the previous run are warmed up as well.
+        for (String group : persistedHotKeys.keySet()) {
+            tenantDomains.add(group.substring(group.indexOf(HOT_KEY_SEPARATOR) + 1));
+        }
+        return tenantDomains;
+    }
+
+    private Map<String, Integer> resolveTenantIds(Set<String> tenantDomains) {
+
+        Map<String, Integer> tenantIds = new LinkedHashMap<>();
+        for (String tenantDomain : tenantDomains) {
+            try {
+                int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+                if (tenantId == MultitenantConstants.INVALID_TENANT_ID) {
+                    log.warn("Skipping the cache warm-up of the non existing tenant: " + tenantDomain);
+                    continue;
+                }
+                tenantIds.put(tenantDomain, tenantId);
+            } catch (IdentityRuntimeException e) {
+                log.error("Skipping the cache warm-up of the tenant: " + tenantDomain, e);
+            }
+        }
+        return tenantIds;
+    }
+
+    private String buildHotKeyGroup(String taskName, String tenantDomain) {
+
+        return taskName + HOT_KEY_SEPARATOR + tenantDomain;
+    }
+
+    private Path getHotKeysFile() {
+
+        String hotKeysFile = IdentityUtil.getProperty(IdentityCoreConstants.CACHE_WARM_UP_HOT_KEYS_FILE);
+        if (StringUtils.isBlank(hotKeysFile)) {
+            return Paths.get(CarbonUtils.getCarbonHome(), DEFAULT_HOT_KEYS_FILE);
+        }
+        return Paths.get(hotKeysFile);
+    }
+
+    private int getPoolSize() {
+
+        return getIntProperty(IdentityCoreConstants.CACHE_WARM_UP_POOL_SIZE, DEFAULT_POOL_SIZE);
+    }
+
+    private int getIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            return intValue > 0 ? intValue : defaultValue;
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " for the property: " + propertyName + ". Using the default value: "
+                    + defaultValue);
+            return defaultValue;
+        }
+    }
+}
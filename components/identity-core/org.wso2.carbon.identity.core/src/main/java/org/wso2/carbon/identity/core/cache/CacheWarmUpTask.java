@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.wso2.carbon.identity.base.IdentityException;
+
+import java.util.List;
+
+/**
+ * Task that preloads the caches of a component for a tenant during the cache warm-up stage of the server startup.
+ * Tasks are registered as OSGi services and are run by the {@link CacheWarmUpService}.
+ */
+public interface CacheWarmUpTask {
+
+    /**
+     * Get the name of the task. The hot keys of the task are recorded and persisted against this name.
+     *
+     * @return Name of the task.
+     */
+    String getName();
+
+    /**
+     * Preload the caches of the tenant. The task is run inside a tenant flow of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param hotKeys      Keys recorded as the most used ones during the previous run, most used first. Empty if no
+     *                     keys were recorded, in which case the task chooses the entries to preload.
+     * @param maxEntries   Maximum number of entries to preload.
+     * @return Number of entries preloaded.
+     * @throws IdentityException If an error occurs while preloading the caches.
+     */
+    int warmUp(String tenantDomain, List<String> hotKeys, int maxEntries) throws IdentityException;
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.apache.axis2.clustering.ClusteringAgent;
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidates the keys of node local stores, which are not identity caches, on the other nodes of the cluster. A
+ * store registers a {@link Handler} under its name on each node. When a node sends an invalidation, the handler of the
+ * store on each of the other nodes is called with the invalidated key.
+ */
+public final class ClusterKeyInvalidation {
+
+    private static final Log log = LogFactory.getLog(ClusterKeyInvalidation.class);
+
+    private static final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+
+    private ClusterKeyInvalidation() {
+
+    }
+
+    /**
+     * Handler of the invalidations of a store.
+     */
+    public interface Handler {
+
+        /**
+         * Invalidate a key of the store, invalidated by another node.
+         *
+         * @param scope            Scope of the key in the store.
+         * @param key              Invalidated key.
+         * @param invalidationTime Time of the change which invalidated the key, as given by the sending node.
+         */
+        void invalidate(String scope, String key, long invalidationTime);
+    }
+
+    /**
+     * Register the invalidation handler of a store on this node.
+     *
+     * @param storeName Name of the store.
+     * @param handler   Invalidation handler.
+     */
+    public static void registerHandler(String storeName, Handler handler) {
+
+        handlers.put(storeName, handler);
+    }
+
+    /**
+     * Remove the invalidation handler of a store on this node.
+     *
+     * @param storeName Name of the store.
+     */
+    public static void unregisterHandler(String storeName) {
+
+        handlers.remove(storeName);
+    }
+
+    /**
+     * Send the invalidation of a key of a store to the other nodes of the cluster. Nothing is sent if clustering is
+     * not enabled.
+     *
+     * @param storeName        Name of the store.
+     * @param scope            Scope of the key in the store.
+     * @param key              Invalidated key.
+     * @param invalidationTime Time of the change which invalidated the key.
+     */
+    public static void send(String storeName, String scope, String key, long invalidationTime) {
+
+        ClusteringAgent clusteringAgent = BaseCache.getClusteringAgent();
+        if (clusteringAgent == null) {
+            return;
+        }
+        KeyInvalidationMessage message = new KeyInvalidationMessage(storeName, scope, key, invalidationTime);
+        try {
+            clusteringAgent.sendMessage(message, true);
+            if (log.isDebugEnabled()) {
+                log.debug("Sent key invalidation message: " + message);
+            }
+        } catch (ClusteringFault e) {
+            log.error("Error while sending the invalidation of a key of store: " + storeName, e);
+        }
+    }
+
+    /**
+     * Apply an invalidation sent by another node of the cluster.
+     *
+     * @param message Key invalidation message.
+     */
+    static void apply(KeyInvalidationMessage message) {
+
+        Handler handler = handlers.get(message.getStoreName());
+        if (handler == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("No invalidation handler is registered in this node. Ignoring " + message);
+            }
+            return;
+        }
+        handler.invalidate(message.getScope(), message.getKey(), message.getInvalidationTime());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.apache.axis2.clustering.ClusteringCommand;
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.axis2.clustering.ClusteringMessage;
+import org.apache.axis2.context.ConfigurationContext;
+
+/**
+ * Cluster message which invalidates a key of a node local store, sent through {@link ClusterKeyInvalidation}.
+ */
+public class KeyInvalidationMessage extends ClusteringMessage {
+
+    private static final long serialVersionUID = -2659307154811870386L;
+
+    private final String storeName;
+    private final String scope;
+    private final String key;
+    private final long invalidationTime;
+
+    KeyInvalidationMessage(String storeName, String scope, String key, long invalidationTime) {
+
+        this.storeName = storeName;
+        this.scope = scope;
+        this.key = key;
+        this.invalidationTime = invalidationTime;
+    }
+
+    public String getStoreName() {
+
+        return storeName;
+    }
+
+    public String getScope() {
+
+        return scope;
+    }
+
+    public String getKey() {
+
+        return key;
+    }
+
+    public long getInvalidationTime() {
+
+        return invalidationTime;
+    }
+
+    @Override
+    public void execute(ConfigurationContext configurationContext) throws ClusteringFault {
+
+        ClusterKeyInvalidation.apply(this);
+    }
+
+    @Override
+    public ClusteringCommand getResponse() {
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+
+        return "KeyInvalidationMessage{storeName=" + storeName + ", scope=" + scope + "}";
+    }
+}
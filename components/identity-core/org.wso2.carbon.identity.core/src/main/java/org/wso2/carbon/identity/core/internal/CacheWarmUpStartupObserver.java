@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.internal;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.core.ServerStartupObserver;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpService;
+import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the cache warm-up at server startup. If the startup is configured to be held until the caches are warm, the
+ * warm-up is started while the startup is being completed and is waited for up to the configured timeout.
+ */
+public class CacheWarmUpStartupObserver implements ServerStartupObserver {
+
+    private static final Log log = LogFactory.getLog(CacheWarmUpStartupObserver.class);
+    private static final long DEFAULT_TIMEOUT = 300;
+
+    @Override
+    public void completingServerStartup() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(IdentityCoreConstants.CACHE_WARM_UP_BLOCK_STARTUP))) {
+            return;
+        }
+        CacheWarmUpService cacheWarmUpService = CacheWarmUpService.getInstance();
+        cacheWarmUpService.warmUp();
+        long timeout = getTimeout();
+        try {
+            if (!cacheWarmUpService.awaitCompletion(timeout, TimeUnit.SECONDS)) {
+                log.warn("Cache warm-up did not complete within " + timeout + " seconds. Completed " +
+                        cacheWarmUpService.getCompletedTasks() + " of " + cacheWarmUpService.getTotalTasks() +
+                        " tasks. Continuing the server startup.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for the cache warm-up. Continuing the server startup.");
+        }
+    }
+
+    @Override
+    public void completedServerStartup() {
+
+        // Has no effect if the warm-up was already started while completing the startup.
+        CacheWarmUpService.getInstance().warmUp();
+    }
+
+    private long getTimeout() {
+
+        String timeout = IdentityUtil.getProperty(IdentityCoreConstants.CACHE_WARM_UP_TIMEOUT);
+        if (StringUtils.isNumeric(timeout) && StringUtils.isNotEmpty(timeout)) {
+            return Long.parseLong(timeout);
+        }
+        return DEFAULT_TIMEOUT;
+    }
+}
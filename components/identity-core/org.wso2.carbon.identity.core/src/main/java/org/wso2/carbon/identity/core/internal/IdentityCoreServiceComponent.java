@@ -38,6 +38,9 @@ import org.wso2.carbon.identity.core.KeyProviderService;
 import org.wso2.carbon.identity.core.KeyStoreManagerExtension;
 import org.wso2.carbon.identity.core.SAMLSSOServiceProviderManager;
 import org.wso2.carbon.identity.core.ServiceURLBuilderFactory;
+import org.wso2.carbon.identity.core.cache.CacheMetricsService;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpService;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpTask;
 import org.wso2.carbon.identity.core.migrate.MigrationClient;
 import org.wso2.carbon.identity.core.migrate.MigrationClientException;
 import org.wso2.carbon.identity.core.migrate.MigrationClientStartupObserver;
@@ -54,6 +57,7 @@ import org.wso2.carbon.identity.organization.management.service.OrganizationUser
 import org.wso2.carbon.registry.core.service.RegistryService;
 import org.wso2.carbon.registry.core.service.TenantRegistryLoader;
 import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.Axis2ConfigurationContextObserver;
 import org.wso2.carbon.utils.ConfigurationContextService;
 
 @Component(
@@ -191,6 +195,13 @@ public class IdentityCoreServiceComponent {
                     .setTenantedSessionsEnabled(Boolean.parseBoolean(IdentityUtil.getProperty(
                             IdentityCoreConstants.ENABLE_TENANTED_SESSIONS)));
 
+            if (CacheWarmUpService.isEnabled()) {
+                ctxt.getBundleContext().registerService(ServerStartupObserver.class.getName(),
+                        new CacheWarmUpStartupObserver(), null);
+            }
+            ctxt.getBundleContext().registerService(Axis2ConfigurationContextObserver.class.getName(),
+                    new TenantCacheReleaseObserver(), null);
+
             // Register initialize service To guarantee the activation order. Component which is referring this
             // service will wait until this component activated.
             ctxt.getBundleContext().registerService(IdentityCoreInitializedEvent.class.getName(),
@@ -211,6 +222,8 @@ public class IdentityCoreServiceComponent {
      */
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
+        CacheWarmUpService.getInstance().persistHotKeys();
+        CacheMetricsService.getInstance().unregisterMBeans();
         defaultKeystoreManagerServiceRef.unregister();
         IdentityTenantUtil.setBundleContext(null);
         if (log.isDebugEnabled()) {
@@ -370,6 +383,29 @@ public class IdentityCoreServiceComponent {
 
         return serviceURLBuilderFactory;
     }
+
+    @Reference(
+            name = "identity.core.cache.warm.up.task",
+            service = CacheWarmUpTask.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetCacheWarmUpTask"
+    )
+    protected void setCacheWarmUpTask(CacheWarmUpTask cacheWarmUpTask) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Setting the cache warm-up task: " + cacheWarmUpTask.getName());
+        }
+        CacheWarmUpService.getInstance().addTask(cacheWarmUpTask);
+    }
+
+    protected void unsetCacheWarmUpTask(CacheWarmUpTask cacheWarmUpTask) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Unsetting the cache warm-up task: " + cacheWarmUpTask.getName());
+        }
+        CacheWarmUpService.getInstance().removeTask(cacheWarmUpTask);
+    }
     
     @Reference(
             name = "identity.organization.management.component.resident.resolver",
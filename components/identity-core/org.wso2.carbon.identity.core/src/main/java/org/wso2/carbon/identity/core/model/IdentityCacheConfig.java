@@ -25,6 +25,8 @@ public class IdentityCacheConfig {
     private int capacity;
     private boolean isDistributed = true;
     private boolean isTemporary = false;
+    private int negativeCacheTimeout;
+    private int refreshAheadTime;
 
     public IdentityCacheConfig(IdentityCacheConfigKey identityCacheConfigKey) {
         this.identityCacheConfigKey = identityCacheConfigKey;
@@ -73,4 +75,20 @@ public class IdentityCacheConfig {
     public void setDistributed(boolean isDistributed) {
         this.isDistributed = isDistributed;
     }
+
+    public int getNegativeCacheTimeout() {
+        return negativeCacheTimeout;
+    }
+
+    public void setNegativeCacheTimeout(int negativeCacheTimeout) {
+        this.negativeCacheTimeout = negativeCacheTimeout;
+    }
+
+    public int getRefreshAheadTime() {
+        return refreshAheadTime;
+    }
+
+    public void setRefreshAheadTime(int refreshAheadTime) {
+        this.refreshAheadTime = refreshAheadTime;
+    }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Typed key of an identity.xml property. Components declare the keys they read on hot paths as constants, and the
+ * values are parsed once per {@link IdentityConfigSnapshot} instead of on every call.
+ * <p>
+ * Keys register themselves when they are created. Keys registered before the snapshot is built are parsed while
+ * building it, and keys registered later are parsed on first use.
+ *
+ * @param <T> Type of the property value.
+ */
+public final class IdentityConfigKey<T> {
+
+    private static final Log log = LogFactory.getLog(IdentityConfigKey.class);
+    private static final Set<IdentityConfigKey<?>> registeredKeys = ConcurrentHashMap.newKeySet();
+
+    private final String name;
+    private final T defaultValue;
+    private final Function<String, T> parser;
+
+    private IdentityConfigKey(String name, T defaultValue, Function<String, T> parser) {
+
+        this.name = name;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+    }
+
+    /**
+     * Declare an integer property.
+     *
+     * @param name         Property name, e.g. "AdaptiveAuth.LongWaitTimeout".
+     * @param defaultValue Value used when the property is not set or is not a valid integer.
+     * @return Registered key.
+     */
+    public static IdentityConfigKey<Integer> intKey(String name, int defaultValue) {
+
+        return register(newIntKey(name, defaultValue));
+    }
+
+    /**
+     * Declare a boolean property.
+     *
+     * @param name         Property name.
+     * @param defaultValue Value used when the property is not set.
+     * @return Registered key.
+     */
+    public static IdentityConfigKey<Boolean> booleanKey(String name, boolean defaultValue) {
+
+        return register(newBooleanKey(name, defaultValue));
+    }
+
+    /**
+     * Declare a duration property, configured as a number in the given unit.
+     *
+     * @param name         Property name.
+     * @param unit         Unit of the configured value.
+     * @param defaultValue Value used when the property is not set or is not a valid number.
+     * @return Registered key.
+     */
+    public static IdentityConfigKey<Duration> durationKey(String name, TimeUnit unit, Duration defaultValue) {
+
+        return register(newDurationKey(name, unit, defaultValue));
+    }
+
+    /**
+     * Declare a URL property. Relative URLs are allowed.
+     *
+     * @param name         Property name.
+     * @param defaultValue Value used when the property is not set or is not a valid URL.
+     * @return Registered key.
+     */
+    public static IdentityConfigKey<URI> urlKey(String name, URI defaultValue) {
+
+        return register(newUrlKey(name, defaultValue));
+    }
+
+    /**
+     * Declare a string property.
+     *
+     * @param name         Property name.
+     * @param defaultValue Value used when the property is not set.
+     * @return Registered key.
+     */
+    public static IdentityConfigKey<String> stringKey(String name, String defaultValue) {
+
+        return register(new IdentityConfigKey<>(name, defaultValue, Function.identity()));
+    }
+
+    /**
+     * Get the keys declared so far.
+     *
+     * @return Unmodifiable set of the registered keys.
+     */
+    public static Set<IdentityConfigKey<?>> getRegisteredKeys() {
+
+        return Collections.unmodifiableSet(new HashSet<>(registeredKeys));
+    }
+
+    // The following create keys without registering them, for one-off reads that should not be parsed up front.
+
+    static IdentityConfigKey<Integer> newIntKey(String name, int defaultValue) {
+
+        return new IdentityConfigKey<>(name, defaultValue, Integer::parseInt);
+    }
+
+    static IdentityConfigKey<Boolean> newBooleanKey(String name, boolean defaultValue) {
+
+        return new IdentityConfigKey<>(name, defaultValue, Boolean::parseBoolean);
+    }
+
+    static IdentityConfigKey<Duration> newDurationKey(String name, TimeUnit unit, Duration defaultValue) {
+
+        return new IdentityConfigKey<>(name, defaultValue,
+                value -> Duration.ofNanos(unit.toNanos(Long.parseLong(value))));
+    }
+
+    static IdentityConfigKey<URI> newUrlKey(String name, URI defaultValue) {
+
+        return new IdentityConfigKey<>(name, defaultValue, URI::create);
+    }
+
+    private static <T> IdentityConfigKey<T> register(IdentityConfigKey<T> key) {
+
+        registeredKeys.add(key);
+        return key;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public T getDefaultValue() {
+
+        return defaultValue;
+    }
+
+    /**
+     * Get the value of the property from the current configuration snapshot. Before the snapshot is built, the
+     * property is read through {@link IdentityUtil#getProperty(String)}.
+     *
+     * @return Property value, or the default value if the property is not set or is invalid.
+     */
+    public T getValue() {
+
+        IdentityConfigSnapshot snapshot = IdentityUtil.getConfigSnapshot();
+        if (snapshot == null) {
+            return parse(IdentityUtil.getProperty(name));
+        }
+        return snapshot.get(this);
+    }
+
+    /**
+     * Parse the given property value.
+     *
+     * @param value Resolved property value.
+     * @return Parsed value, or the default value if the value is blank or invalid.
+     */
+    T parse(String value) {
+
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid value: " + value + " configured for the property: " + name + ". Default value: "
+                    + defaultValue + " will be used.");
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return name;
+    }
+}
@@ -63,6 +63,8 @@ public class IdentityConfigParser {
     private static Map<String, Boolean> storeProcedureBasedDAOConfigurationHolder = new HashMap<>();
     public final static String IS_DISTRIBUTED_CACHE = "isDistributed";
     public static final String IS_TEMPORARY = "isTemporary";
+    public static final String NEGATIVE_CACHE_TIMEOUT = "negativeCacheTimeout";
+    public static final String REFRESH_AHEAD_TIME = "refreshAheadTime";
     private static final String SERVICE_PROVIDER_CACHE = "ServiceProviderCache";
     private static final String SERVICE_PROVIDER_AUTH_KEY_CACHE = "ServiceProvideCache.InboundAuth";
     private static final String SERVICE_PROVIDER_ID_CACHE = "ServiceProviderCache.ID";
@@ -364,6 +366,16 @@ public class IdentityConfigParser {
                                 identityCacheConfig.setTemporary(Boolean.parseBoolean(isTemporaryCache));
                             }
 
+                            String negativeCacheTimeout = cache.getAttributeValue(new QName(NEGATIVE_CACHE_TIMEOUT));
+                            if (StringUtils.isNotBlank(negativeCacheTimeout)) {
+                                identityCacheConfig.setNegativeCacheTimeout(Integer.parseInt(negativeCacheTimeout));
+                            }
+
+                            String refreshAheadTime = cache.getAttributeValue(new QName(REFRESH_AHEAD_TIME));
+                            if (StringUtils.isNotBlank(refreshAheadTime)) {
+                                identityCacheConfig.setRefreshAheadTime(Integer.parseInt(refreshAheadTime));
+                            }
+
                             // Add the config to container
                             identityCacheConfigurationHolder.put(identityCacheConfigKey, identityCacheConfig);
                         }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable view of the identity.xml properties, built once from {@link IdentityConfigParser}. Placeholders are
+ * resolved while building the snapshot, and the values of the registered {@link IdentityConfigKey}s are parsed
+ * up front, so reading a property does not repeat the placeholder resolution and parsing on every call.
+ * <p>
+ * A property whose placeholders cannot be resolved yet, e.g. a port placeholder read before the transports are
+ * available, is kept as it is and resolved on each read.
+ */
+public final class IdentityConfigSnapshot {
+
+    private static final Log log = LogFactory.getLog(IdentityConfigSnapshot.class);
+    // Marks keys whose property is not set, since the value map cannot hold nulls.
+    private static final Object NULL_VALUE = new Object();
+
+    private final Map<String, String> properties;
+    private final Set<String> unresolvedProperties;
+    private final ConcurrentMap<IdentityConfigKey<?>, Object> values = new ConcurrentHashMap<>();
+
+    private IdentityConfigSnapshot(Map<String, String> properties, Set<String> unresolvedProperties) {
+
+        this.properties = properties;
+        this.unresolvedProperties = unresolvedProperties;
+    }
+
+    /**
+     * Build a snapshot of the given configuration.
+     *
+     * @param configuration Configuration read by {@link IdentityConfigParser}.
+     * @return Configuration snapshot.
+     */
+    public static IdentityConfigSnapshot build(Map<String, Object> configuration) {
+
+        Map<String, String> properties = new HashMap<>();
+        Set<String> unresolvedProperties = new HashSet<>();
+        if (configuration != null) {
+            for (Map.Entry<String, Object> entry : configuration.entrySet()) {
+                String value = toString(entry.getValue());
+                if (value == null) {
+                    continue;
+                }
+                try {
+                    properties.put(entry.getKey(), IdentityUtil.fillURLPlaceholders(value));
+                } catch (RuntimeException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Placeholders of the property: " + entry.getKey() + " cannot be resolved yet. "
+                                + "The property will be resolved when it is read.", e);
+                    }
+                    properties.put(entry.getKey(), value);
+                    unresolvedProperties.add(entry.getKey());
+                }
+            }
+        }
+
+        IdentityConfigSnapshot snapshot = new IdentityConfigSnapshot(Collections.unmodifiableMap(properties),
+                Collections.unmodifiableSet(unresolvedProperties));
+        for (IdentityConfigKey<?> key : IdentityConfigKey.getRegisteredKeys()) {
+            snapshot.get(key);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the resolved value of a property. Same as {@link IdentityUtil#getProperty(String)}.
+     *
+     * @param key Property name.
+     * @return Property value, or null if the property is not set.
+     */
+    public String getProperty(String key) {
+
+        String value = properties.get(key);
+        if (value != null && unresolvedProperties.contains(key)) {
+            return IdentityUtil.fillURLPlaceholders(value);
+        }
+        return value;
+    }
+
+    /**
+     * Get the parsed value of a property.
+     *
+     * @param key Property key.
+     * @param <T> Type of the property value.
+     * @return Property value, or the default value of the key if the property is not set or is invalid.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(IdentityConfigKey<T> key) {
+
+        if (unresolvedProperties.contains(key.getName())) {
+            return key.parse(getProperty(key.getName()));
+        }
+        Object value = values.get(key);
+        if (value == null) {
+            T parsedValue = key.parse(properties.get(key.getName()));
+            value = parsedValue == null ? NULL_VALUE : parsedValue;
+            values.putIfAbsent(key, value);
+        }
+        return value == NULL_VALUE ? null : (T) value;
+    }
+
+    /**
+     * Read an integer property that has no declared key. The value is parsed on each call, hence hot paths should
+     * declare an {@link IdentityConfigKey} instead.
+     *
+     * @param key          Property name.
+     * @param defaultValue Value used when the property is not set or is not a valid integer.
+     * @return Property value.
+     */
+    public int getInt(String key, int defaultValue) {
+
+        return IdentityConfigKey.newIntKey(key, defaultValue).parse(getProperty(key));
+    }
+
+    /**
+     * Read a boolean property that has no declared key. The value is parsed on each call.
+     *
+     * @param key          Property name.
+     * @param defaultValue Value used when the property is not set.
+     * @return Property value.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+
+        return IdentityConfigKey.newBooleanKey(key, defaultValue).parse(getProperty(key));
+    }
+
+    /**
+     * Read a duration property that has no declared key. The value is parsed on each call.
+     *
+     * @param key          Property name.
+     * @param unit         Unit of the configured value.
+     * @param defaultValue Value used when the property is not set or is not a valid number.
+     * @return Property value.
+     */
+    public Duration getDuration(String key, TimeUnit unit, Duration defaultValue) {
+
+        return IdentityConfigKey.newDurationKey(key, unit, defaultValue).parse(getProperty(key));
+    }
+
+    /**
+     * Read a URL property that has no declared key. The value is parsed on each call.
+     *
+     * @param key          Property name.
+     * @param defaultValue Value used when the property is not set or is not a valid URL.
+     * @return Property value.
+     */
+    public URI getURL(String key, URI defaultValue) {
+
+        return IdentityConfigKey.newUrlKey(key, defaultValue).parse(getProperty(key));
+    }
+
+    private static String toString(Object value) {
+
+        if (value instanceof List) {
+            List<?> values = (List<?>) value;
+            value = values.isEmpty() ? null : values.get(0);
+        }
+        return value == null ? null : String.valueOf(value);
+    }
+}
@@ -114,6 +114,20 @@ public class IdentityCoreConstants {
     
     public static final int DEFAULT_MAXIMUM_ACTIONS_PER_TYPE = 1;
 
+    // Cache warm-up constants.
+    public static final String CACHE_WARM_UP_ENABLE = "CacheWarmUp.Enable";
+    public static final String CACHE_WARM_UP_TENANTS = "CacheWarmUp.Tenants";
+    public static final String CACHE_WARM_UP_POOL_SIZE = "CacheWarmUp.PoolSize";
+    public static final String CACHE_WARM_UP_MAX_ENTRIES = "CacheWarmUp.MaxEntriesPerTenant";
+    public static final String CACHE_WARM_UP_BLOCK_STARTUP = "CacheWarmUp.BlockStartup";
+    public static final String CACHE_WARM_UP_TIMEOUT = "CacheWarmUp.Timeout";
+    public static final String CACHE_WARM_UP_HOT_KEYS_ENABLE = "CacheWarmUp.HotKeys.Enable";
+    public static final String CACHE_WARM_UP_HOT_KEYS_FILE = "CacheWarmUp.HotKeys.File";
+
+    // Cache metrics constants.
+    public static final String CACHE_METRICS_ENABLE = "CacheMetrics.Enable";
+    public static final String CACHE_METRICS_JMX_ENABLE = "CacheMetrics.JMX.Enable";
+
     public static class Filter {
 
         public static final String AND = "and";
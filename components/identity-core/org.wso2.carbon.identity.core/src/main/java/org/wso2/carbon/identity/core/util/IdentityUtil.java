@@ -96,6 +96,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -141,6 +142,7 @@ public class IdentityUtil {
     private static final String DISABLE_EMAIL_USERNAME_VALIDATION = "DisableEmailUserNameValidation";
     private static Log log = LogFactory.getLog(IdentityUtil.class);
     private static Map<String, Object> configuration = new HashMap<>();
+    private static final AtomicReference<IdentityConfigSnapshot> configSnapshot = new AtomicReference<>();
     private static Map<IdentityEventListenerConfigKey, IdentityEventListenerConfig> eventListenerConfiguration = new
             HashMap<>();
     private static Map<IdentityCacheConfigKey, IdentityCacheConfig> identityCacheConfigurationHolder = new HashMap<>();
@@ -216,6 +218,17 @@ public class IdentityUtil {
         return strValue;
     }
 
+    /**
+     * Get the typed snapshot of the identity.xml properties. Hot paths should read their properties through an
+     * {@link IdentityConfigKey} instead of calling {@link #getProperty(String)}.
+     *
+     * @return Current configuration snapshot, or null if the configuration is not populated yet.
+     */
+    public static IdentityConfigSnapshot getConfigSnapshot() {
+
+        return configSnapshot.get();
+    }
+
     public static IdentityEventListenerConfig readEventListenerProperty(String type, String name) {
         IdentityEventListenerConfigKey identityEventListenerConfigKey = new IdentityEventListenerConfigKey(type, name);
         IdentityEventListenerConfig identityEventListenerConfig = eventListenerConfiguration.get(identityEventListenerConfigKey);
@@ -326,6 +339,7 @@ public class IdentityUtil {
 
     public static void populateProperties() {
         configuration = IdentityConfigParser.getInstance().getConfiguration();
+        configSnapshot.set(IdentityConfigSnapshot.build(configuration));
         eventListenerConfiguration = IdentityConfigParser.getInstance().getEventListenerConfiguration();
         identityCacheConfigurationHolder = IdentityConfigParser.getInstance().getIdentityCacheConfigurationHolder();
         identityCookiesConfigurationHolder = IdentityConfigParser.getIdentityCookieConfigurationHolder();
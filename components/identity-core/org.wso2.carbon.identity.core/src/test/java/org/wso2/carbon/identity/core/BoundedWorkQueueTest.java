@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test cases for {@link BoundedWorkQueue}.
+ */
+public class BoundedWorkQueueTest {
+
+    private static final String BLOCKING_ITEM = "BLOCKING";
+
+    private ExecutorService workerPool;
+
+    @BeforeMethod
+    public void setUp() {
+
+        workerPool = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        workerPool.shutdownNow();
+    }
+
+    @Test
+    public void testPriorityItemsAreTakenFirst() throws Exception {
+
+        RecordingQueue queue = new RecordingQueue(10, false, BoundedWorkQueue.OverflowPolicy.BLOCK);
+        queue.offer(0, BLOCKING_ITEM, false);
+        assertTrue(queue.blocked.await(5, TimeUnit.SECONDS));
+        queue.offer(0, "NORMAL", false);
+        queue.offer(0, "PRIORITY", true);
+        queue.release.countDown();
+
+        queue.awaitProcessed(3);
+        assertEquals(queue.processedItems, Arrays.asList(BLOCKING_ITEM, "PRIORITY", "NORMAL"));
+    }
+
+    @Test
+    public void testOrderedLaneKeepsTheOrderOfPriorityItems() throws Exception {
+
+        RecordingQueue queue = new RecordingQueue(10, true, BoundedWorkQueue.OverflowPolicy.BLOCK);
+        queue.offer(0, BLOCKING_ITEM, false);
+        assertTrue(queue.blocked.await(5, TimeUnit.SECONDS));
+        queue.offer(0, "NORMAL", false);
+        queue.offer(0, "PRIORITY", true);
+        queue.release.countDown();
+
+        queue.awaitProcessed(3);
+        assertEquals(queue.processedItems, Arrays.asList(BLOCKING_ITEM, "NORMAL", "PRIORITY"));
+    }
+
+    @Test
+    public void testDropOldestWhenFull() throws Exception {
+
+        RecordingQueue queue = new RecordingQueue(1, true, BoundedWorkQueue.OverflowPolicy.DROP_OLDEST);
+        queue.offer(0, BLOCKING_ITEM, false);
+        assertTrue(queue.blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.offer(0, "FIRST", false));
+        assertTrue(queue.offer(0, "SECOND", false));
+        queue.release.countDown();
+
+        queue.awaitProcessed(2);
+        assertEquals(queue.processedItems, Arrays.asList(BLOCKING_ITEM, "SECOND"));
+        assertEquals(queue.droppedItems, Collections.singletonList("FIRST"));
+    }
+
+    @Test
+    public void testCallerRunsWhenFull() throws Exception {
+
+        RecordingQueue queue = new RecordingQueue(1, true, BoundedWorkQueue.OverflowPolicy.CALLER_RUNS);
+        queue.offer(0, BLOCKING_ITEM, false);
+        assertTrue(queue.blocked.await(5, TimeUnit.SECONDS));
+        queue.offer(0, "QUEUED", false);
+        queue.offer(0, "CALLER", false);
+
+        assertEquals(queue.callerRunsItems, Collections.singletonList("CALLER"));
+        queue.release.countDown();
+        queue.awaitProcessed(3);
+    }
+
+    @Test
+    public void testShutdownReturnsQueuedItems() throws Exception {
+
+        RecordingQueue queue = new RecordingQueue(10, true, BoundedWorkQueue.OverflowPolicy.BLOCK);
+        queue.offer(0, BLOCKING_ITEM, false);
+        assertTrue(queue.blocked.await(5, TimeUnit.SECONDS));
+        queue.offer(0, "FIRST", false);
+        queue.offer(0, "SECOND", false);
+
+        assertEquals(queue.shutdown(), Arrays.asList("FIRST", "SECOND"));
+        assertFalse(queue.offer(0, "THIRD", false));
+        queue.release.countDown();
+        queue.awaitProcessed(1);
+        Thread.sleep(100);
+        assertEquals(queue.processedItems, Collections.singletonList(BLOCKING_ITEM));
+    }
+
+    @Test
+    public void testAwaitIdle() throws Exception {
+
+        RecordingQueue queue = new RecordingQueue(10, true, BoundedWorkQueue.OverflowPolicy.BLOCK);
+        queue.offer(0, BLOCKING_ITEM, false);
+        assertTrue(queue.blocked.await(5, TimeUnit.SECONDS));
+        queue.offer(0, "QUEUED", false);
+        assertFalse(queue.awaitIdle(50));
+
+        queue.release.countDown();
+        assertTrue(queue.awaitIdle(5000));
+        assertEquals(queue.processedItems, Arrays.asList(BLOCKING_ITEM, "QUEUED"));
+    }
+
+    private class RecordingQueue extends BoundedWorkQueue<String> {
+
+        private final List<String> processedItems = new CopyOnWriteArrayList<>();
+        private final List<String> callerRunsItems = new CopyOnWriteArrayList<>();
+        private final List<String> droppedItems = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        RecordingQueue(int capacity, boolean ordered, OverflowPolicy overflowPolicy) {
+
+            super(workerPool, capacity, 1, 1, ordered, 0, overflowPolicy, 4);
+        }
+
+        @Override
+        protected void process(String item, boolean inCallerThread) {
+
+            if (inCallerThread) {
+                callerRunsItems.add(item);
+            }
+            if (BLOCKING_ITEM.equals(item)) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            processedItems.add(item);
+        }
+
+        @Override
+        protected void onDropped(String item) {
+
+            droppedItems.add(item);
+        }
+
+        void awaitProcessed(int expectedItems) throws InterruptedException {
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (processedItems.size() < expectedItems && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(processedItems.size(), expectedItems);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.mockito.MockedStatic;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.caching.impl.CachingConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.context.internal.OSGiDataHolder;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
@@ -29,13 +30,27 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.tenant.TenantManager;
 
 import java.io.File;
+import java.lang.reflect.Field;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Test for the Base cache.
@@ -141,4 +156,261 @@ public class BaseCacheTest {
         entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("test2"), "bar.com");
         assertEquals("value2", entry.getValue());
     }
+
+    @Test
+    public void testCacheAccessInOtherTenant() {
+
+        TestCache.getInstance().addToCache(new TestCacheKey("tenant1"), new TestCacheEntry("value1"), "foo.com");
+        TestCache.getInstance().addToCache(new TestCacheKey("tenant1"), new TestCacheEntry("value2"), "bar.com");
+
+        // The carbon context is in foo.com, hence only the bar.com operations run in a tenant flow.
+        assertEquals(TestCache.getInstance().getValueFromCache(new TestCacheKey("tenant1"), 1).getValue(), "value1");
+        assertEquals(TestCache.getInstance().getValueFromCache(new TestCacheKey("tenant1"), 2).getValue(), "value2");
+        assertEquals(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain(), "foo.com");
+        assertEquals(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(), 1);
+
+        TestCache.getInstance().clearCacheEntry(new TestCacheKey("tenant1"), "bar.com");
+        assertNull(TestCache.getInstance().getValueFromCache(new TestCacheKey("tenant1"), "bar.com"));
+        assertEquals(TestCache.getInstance().getValueFromCache(new TestCacheKey("tenant1"), "foo.com").getValue(),
+                "value1");
+    }
+
+    @Test
+    public void testReleaseTenantCaches() throws Exception {
+
+        TestCache cache = new TestCache();
+        cache.addToCache(new TestCacheKey("release1"), new TestCacheEntry("value1"), 1);
+        cache.addToCache(new TestCacheKey("release2"), new TestCacheEntry("value2"), 2);
+        assertEquals(getTenantCaches(cache).keySet(), new HashSet<>(Arrays.asList(1, 2)));
+
+        BaseCache.releaseTenantCaches(2);
+
+        assertEquals(getTenantCaches(cache).keySet(), Collections.singleton(1));
+        // A released cache is resolved again on the next access.
+        assertEquals(cache.getValueFromCache(new TestCacheKey("release2"), 2).getValue(), "value2");
+        assertTrue(getTenantCaches(cache).containsKey(2));
+    }
+
+    @Test
+    public void testGetOrLoad() throws Exception {
+
+        AtomicInteger loadCount = new AtomicInteger();
+        CacheEntryLoader<TestCacheKey, TestCacheEntry, Exception> loader = key -> {
+            loadCount.incrementAndGet();
+            return new TestCacheEntry("loadedValue");
+        };
+
+        TestCacheEntry entry = TestCache.getInstance().getOrLoad(new TestCacheKey("load1"), loader, 1);
+        assertEquals("loadedValue", entry.getValue());
+        entry = TestCache.getInstance().getOrLoad(new TestCacheKey("load1"), loader, "foo.com");
+        assertEquals("loadedValue", entry.getValue());
+        assertEquals(loadCount.get(), 1);
+
+        entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("load1"), 1);
+        assertEquals("loadedValue", entry.getValue());
+        entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("load1"), 2);
+        assertNull(entry);
+    }
+
+    @Test
+    public void testGetOrLoadWithConcurrentMisses() throws Exception {
+
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        CacheEntryLoader<TestCacheKey, TestCacheEntry, Exception> loader = key -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            releaseLoad.await(10, TimeUnit.SECONDS);
+            return new TestCacheEntry("loadedValue");
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<TestCacheEntry> leader = executorService.submit(() -> getOrLoadInTenant("load2", loader));
+            assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            Future<TestCacheEntry> follower = executorService.submit(() -> getOrLoadInTenant("load2", loader));
+            releaseLoad.countDown();
+
+            assertEquals(leader.get(10, TimeUnit.SECONDS).getValue(), "loadedValue");
+            assertEquals(follower.get(10, TimeUnit.SECONDS).getValue(), "loadedValue");
+            assertEquals(loadCount.get(), 1);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetOrLoadWithLoaderError() {
+
+        AtomicInteger loadCount = new AtomicInteger();
+        CacheEntryLoader<TestCacheKey, TestCacheEntry, Exception> loader = key -> {
+            if (loadCount.incrementAndGet() == 1) {
+                throw new Exception("Store unavailable");
+            }
+            return new TestCacheEntry("loadedValue");
+        };
+
+        try {
+            TestCache.getInstance().getOrLoad(new TestCacheKey("load3"), loader, 1);
+            fail("Loader error is not propagated.");
+        } catch (Exception e) {
+            assertEquals(e.getMessage(), "Store unavailable");
+        }
+        assertNull(TestCache.getInstance().getValueFromCache(new TestCacheKey("load3"), 1));
+
+        try {
+            TestCacheEntry entry = TestCache.getInstance().getOrLoad(new TestCacheKey("load3"), loader, 1);
+            assertEquals(entry.getValue(), "loadedValue");
+        } catch (Exception e) {
+            fail("Entry is not loaded after a failed load.", e);
+        }
+    }
+
+    @Test
+    public void testGetOrLoadWithNegativeCache() throws Exception {
+
+        TestCache negativeCache = new TestCache() {
+
+            @Override
+            public int getNegativeCacheTimeout() {
+
+                return 60;
+            }
+        };
+        AtomicInteger loadCount = new AtomicInteger();
+        CacheEntryLoader<TestCacheKey, TestCacheEntry, Exception> loader = key -> {
+            loadCount.incrementAndGet();
+            return null;
+        };
+
+        assertNull(negativeCache.getOrLoad(new TestCacheKey("load4"), loader, 1));
+        assertNull(negativeCache.getOrLoad(new TestCacheKey("load4"), loader, 1));
+        assertEquals(loadCount.get(), 1);
+
+        // The not found key of a tenant should not affect other tenants.
+        assertNull(negativeCache.getOrLoad(new TestCacheKey("load4"), loader, 2));
+        assertEquals(loadCount.get(), 2);
+
+        // Adding an entry should drop the not found result of the key.
+        negativeCache.addToCache(new TestCacheKey("load4"), new TestCacheEntry("value"), 1);
+        negativeCache.clearCacheEntry(new TestCacheKey("load4"), 1);
+        assertNull(negativeCache.getOrLoad(new TestCacheKey("load4"), loader, 1));
+        assertEquals(loadCount.get(), 3);
+    }
+
+    @Test
+    public void testCacheMetrics() throws Exception {
+
+        TestCache metricsCache = new TestCache() {
+
+            @Override
+            public boolean isMetricsEnabled() {
+
+                return true;
+            }
+        };
+
+        metricsCache.addToCache(new TestCacheKey("metrics1"), new TestCacheEntry("value1"), 1);
+        metricsCache.getValueFromCache(new TestCacheKey("metrics1"), 1);
+        metricsCache.getValueFromCache(new TestCacheKey("metrics2"), "foo.com");
+        metricsCache.getOrLoad(new TestCacheKey("metrics3"), key -> new TestCacheEntry("value3"), 1);
+        metricsCache.clearCacheEntry(new TestCacheKey("metrics1"), 1);
+
+        try {
+            CacheMetrics metrics = CacheMetricsService.getInstance().getCacheMetrics("TestCache", 1);
+            assertEquals(metrics.getHitCount(), 1);
+            assertEquals(metrics.getMissCount(), 2);
+            assertEquals(metrics.getPutCount(), 2);
+            assertEquals(metrics.getRemovalCount(), 1);
+            assertEquals(metrics.getLoadCount(), 1);
+            assertEquals(metrics.getLoadFailureCount(), 0);
+            assertEquals(metrics.getHitRatio(), 1.0 / 3, 0.0001);
+            assertTrue(metrics.getSize() >= 1);
+            assertNull(CacheMetricsService.getInstance().getCacheMetrics("TestCache", 2));
+        } finally {
+            CacheMetricsService.getInstance().unregisterMBeans();
+        }
+    }
+
+    @Test
+    public void testCacheInvalidationBatch() {
+
+        TestCache.getInstance().addToCache(new TestCacheKey("batch1"), new TestCacheEntry("value1"), 1);
+        TestCache.getInstance().addToCache(new TestCacheKey("batch2"), new TestCacheEntry("value2"), 1);
+
+        try (CacheInvalidationBatch batch = CacheInvalidationBatch.start()) {
+            try (CacheInvalidationBatch nestedBatch = CacheInvalidationBatch.start()) {
+                assertSame(nestedBatch, batch);
+                TestCache.getInstance().clearCacheEntry(new TestCacheKey("batch1"), 1);
+                TestCache.getInstance().clearCacheEntry(new TestCacheKey("batch1"), "foo.com");
+            }
+            assertSame(CacheInvalidationBatch.getCurrentBatch(), batch);
+
+            // The entries of this node are removed without waiting for the batch to be closed.
+            assertNull(TestCache.getInstance().getValueFromCache(new TestCacheKey("batch1"), 1));
+            assertEquals(TestCache.getInstance().getValueFromCache(new TestCacheKey("batch2"), 1).getValue(),
+                    "value2");
+        }
+        assertNull(CacheInvalidationBatch.getCurrentBatch());
+    }
+
+    @Test
+    public void testApplyCacheInvalidationMessage() throws Exception {
+
+        TestCache cache = new TestCache();
+        cache.addToCache(new TestCacheKey("message1"), new TestCacheEntry("value1"), 1);
+        cache.addToCache(new TestCacheKey("message2"), new TestCacheEntry("value2"), 1);
+        cache.addToCache(new TestCacheKey("message3"), new TestCacheEntry("value3"), 1);
+
+        String cacheName = CachingConstants.LOCAL_CACHE_PREFIX + "TestCache";
+        new CacheInvalidationMessage(cacheName, 1, false,
+                Arrays.asList(new TestCacheKey("message1"), new TestCacheKey("message2"))).execute(null);
+
+        assertNull(cache.getValueFromCache(new TestCacheKey("message1"), 1));
+        assertNull(cache.getValueFromCache(new TestCacheKey("message2"), 1));
+        assertEquals(cache.getValueFromCache(new TestCacheKey("message3"), 1).getValue(), "value3");
+
+        new CacheInvalidationMessage(cacheName, 1, true, Collections.emptyList()).execute(null);
+        assertNull(cache.getValueFromCache(new TestCacheKey("message3"), 1));
+    }
+
+    @Test
+    public void testApplyKeyInvalidationMessage() throws Exception {
+
+        String[] invalidation = new String[3];
+        ClusterKeyInvalidation.registerHandler("TestStore", (scope, key, invalidationTime) -> {
+            invalidation[0] = scope;
+            invalidation[1] = key;
+            invalidation[2] = String.valueOf(invalidationTime);
+        });
+        try {
+            new KeyInvalidationMessage("TestStore", "scope1", "key1", 10L).execute(null);
+            assertEquals(invalidation, new String[]{"scope1", "key1", "10"});
+
+            // Messages of stores without a handler on this node are ignored.
+            new KeyInvalidationMessage("OtherStore", "scope2", "key2", 20L).execute(null);
+            assertEquals(invalidation[1], "key1");
+        } finally {
+            ClusterKeyInvalidation.unregisterHandler("TestStore");
+        }
+    }
+
+    private TestCacheEntry getOrLoadInTenant(String key, CacheEntryLoader<TestCacheKey, TestCacheEntry,
+            Exception> loader) throws Exception {
+
+        // Static mocks are bound to the thread that creates them.
+        try (MockedStatic<IdentityTenantUtil> tenantUtil = mockStatic(IdentityTenantUtil.class)) {
+            tenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(1)).thenReturn("foo.com");
+            tenantUtil.when(() -> IdentityTenantUtil.getTenantId("foo.com")).thenReturn(1);
+            return TestCache.getInstance().getOrLoad(new TestCacheKey(key), loader, 1);
+        }
+    }
+
+    private static Map<?, ?> getTenantCaches(BaseCache<?, ?> cache) throws Exception {
+
+        Field tenantCaches = BaseCache.class.getDeclaredField("tenantCaches");
+        tenantCaches.setAccessible(true);
+        return (Map<?, ?>) tenantCaches.get(cache);
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for the cache warm-up service.
+ */
+public class CacheWarmUpServiceTest {
+
+    private static final String TASK_NAME = "Test";
+    private static final String TENANT_DOMAIN_1 = "foo.com";
+    private static final String TENANT_DOMAIN_2 = "bar.com";
+
+    private MockedStatic<IdentityUtil> identityUtil;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private Path hotKeysFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        URL root = this.getClass().getClassLoader().getResource(".");
+        File file = new File(root.getPath());
+        System.setProperty("carbon.home", file.getAbsolutePath());
+        hotKeysFile = Files.createTempDirectory("cache-warm-up").resolve("hot-keys.txt");
+
+        identityUtil = mockStatic(IdentityUtil.class);
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_TENANTS, TENANT_DOMAIN_1 + ", " + TENANT_DOMAIN_2);
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_POOL_SIZE, "2");
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_MAX_ENTRIES, "2");
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_HOT_KEYS_ENABLE, "true");
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_HOT_KEYS_FILE, hotKeysFile.toString());
+
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN_1)).thenReturn(1);
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN_2)).thenReturn(2);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        identityUtil.close();
+        identityTenantUtil.close();
+        Files.deleteIfExists(hotKeysFile);
+        Files.deleteIfExists(hotKeysFile.getParent());
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService();
+        TestCacheWarmUpTask task = new TestCacheWarmUpTask(false);
+        cacheWarmUpService.addTask(task);
+        assertFalse(cacheWarmUpService.isCompleted());
+
+        cacheWarmUpService.warmUp();
+
+        assertTrue(cacheWarmUpService.awaitCompletion(10, TimeUnit.SECONDS));
+        assertTrue(cacheWarmUpService.isCompleted());
+        assertEquals(cacheWarmUpService.getTotalTasks(), 2);
+        assertEquals(cacheWarmUpService.getCompletedTasks(), 2);
+        assertEquals(cacheWarmUpService.getFailedTasks(), 0);
+        assertEquals(cacheWarmUpService.getPreloadedEntries(), 4);
+        // Each task runs in a tenant flow of its tenant.
+        assertEquals(task.tenantsInContext.get(TENANT_DOMAIN_1), TENANT_DOMAIN_1);
+        assertEquals(task.tenantsInContext.get(TENANT_DOMAIN_2), TENANT_DOMAIN_2);
+        assertEquals(task.hotKeys.get(TENANT_DOMAIN_1), Collections.emptyList());
+    }
+
+    @Test
+    public void testWarmUpWithFailedTasks() throws Exception {
+
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService();
+        cacheWarmUpService.addTask(new TestCacheWarmUpTask(true));
+
+        cacheWarmUpService.warmUp();
+
+        assertTrue(cacheWarmUpService.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(cacheWarmUpService.getCompletedTasks(), 2);
+        assertEquals(cacheWarmUpService.getFailedTasks(), 2);
+        assertEquals(cacheWarmUpService.getPreloadedEntries(), 0);
+    }
+
+    @Test
+    public void testWarmUpWithoutTasks() throws Exception {
+
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService();
+        cacheWarmUpService.warmUp();
+
+        assertTrue(cacheWarmUpService.isCompleted());
+        assertEquals(cacheWarmUpService.getTotalTasks(), 0);
+    }
+
+    @Test
+    public void testTaskAddedAfterWarmUpStartedIsRejected() throws Exception {
+
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService();
+        assertTrue(cacheWarmUpService.addTask(new TestCacheWarmUpTask(false)));
+        cacheWarmUpService.warmUp();
+
+        assertFalse(cacheWarmUpService.addTask(new TestCacheWarmUpTask(false)));
+        assertTrue(cacheWarmUpService.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(cacheWarmUpService.getTotalTasks(), 2);
+        assertEquals(cacheWarmUpService.getCompletedTasks(), 2);
+    }
+
+    @Test
+    public void testWarmUpWithPersistedHotKeys() throws Exception {
+
+        CacheWarmUpService previousRun = new CacheWarmUpService();
+        for (String key : Arrays.asList("a", "c", "b", "a", "c", "a", "with\ttab")) {
+            previousRun.recordHotKey(TASK_NAME, TENANT_DOMAIN_1, key);
+        }
+        previousRun.recordHotKey(TASK_NAME, TENANT_DOMAIN_2, "d");
+        previousRun.persistHotKeys();
+
+        // Tenants with recorded hot keys are warmed up even if they are not configured.
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_TENANTS, TENANT_DOMAIN_1);
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService();
+        TestCacheWarmUpTask task = new TestCacheWarmUpTask(false);
+        cacheWarmUpService.addTask(task);
+        cacheWarmUpService.warmUp();
+
+        assertTrue(cacheWarmUpService.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(cacheWarmUpService.getTotalTasks(), 2);
+        // Most used keys first, up to the maximum number of entries.
+        assertEquals(task.hotKeys.get(TENANT_DOMAIN_1), Arrays.asList("a", "c"));
+        assertEquals(task.hotKeys.get(TENANT_DOMAIN_2), Collections.singletonList("d"));
+    }
+
+    @Test
+    public void testHotKeysAreNotRecordedWhenDisabled() throws Exception {
+
+        mockProperty(IdentityCoreConstants.CACHE_WARM_UP_HOT_KEYS_ENABLE, "false");
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService();
+        cacheWarmUpService.recordHotKey(TASK_NAME, TENANT_DOMAIN_1, "a");
+        cacheWarmUpService.persistHotKeys();
+
+        assertFalse(Files.exists(hotKeysFile));
+    }
+
+    private void mockProperty(String propertyName, String value) {
+
+        identityUtil.when(() -> IdentityUtil.getProperty(propertyName)).thenReturn(value);
+    }
+
+    private static class TestCacheWarmUpTask implements CacheWarmUpTask {
+
+        private final boolean fail;
+        private final Map<String, String> tenantsInContext = new ConcurrentHashMap<>();
+        private final Map<String, List<String>> hotKeys = new ConcurrentHashMap<>();
+
+        private TestCacheWarmUpTask(boolean fail) {
+
+            this.fail = fail;
+        }
+
+        @Override
+        public String getName() {
+
+            return TASK_NAME;
+        }
+
+        @Override
+        public int warmUp(String tenantDomain, List<String> hotKeys, int maxEntries) throws IdentityException {
+
+            if (fail) {
+                throw new IdentityException("Error while warming up the cache.");
+            }
+            tenantsInContext.put(tenantDomain, PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                    .getTenantDomain());
+            this.hotKeys.put(tenantDomain, hotKeys);
+            return maxEntries;
+        }
+    }
+}
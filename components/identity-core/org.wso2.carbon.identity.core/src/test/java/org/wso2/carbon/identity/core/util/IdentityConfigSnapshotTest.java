@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.core.util;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class IdentityConfigSnapshotTest {
+
+    private static final IdentityConfigKey<Integer> INT_KEY = IdentityConfigKey.intKey("Snapshot.Int", 10);
+    private static final IdentityConfigKey<Boolean> BOOLEAN_KEY =
+            IdentityConfigKey.booleanKey("Snapshot.Boolean", false);
+    private static final IdentityConfigKey<Duration> DURATION_KEY =
+            IdentityConfigKey.durationKey("Snapshot.Duration", TimeUnit.SECONDS, Duration.ofSeconds(5));
+    private static final IdentityConfigKey<URI> URL_KEY =
+            IdentityConfigKey.urlKey("Snapshot.URL", URI.create("/default"));
+    private static final IdentityConfigKey<String> STRING_KEY = IdentityConfigKey.stringKey("Snapshot.String", null);
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        getSnapshotReference().set(null);
+        System.clearProperty("snapshot.test.host");
+    }
+
+    @Test
+    public void testTypedValues() {
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("Snapshot.Int", "42");
+        configuration.put("Snapshot.Boolean", " true ");
+        configuration.put("Snapshot.Duration", "30");
+        configuration.put("Snapshot.URL", "https://localhost:9443/authenticationendpoint/login.do");
+        configuration.put("Snapshot.String", Arrays.asList("first", "second"));
+
+        IdentityConfigSnapshot snapshot = IdentityConfigSnapshot.build(configuration);
+
+        assertEquals(snapshot.get(INT_KEY), Integer.valueOf(42));
+        assertTrue(snapshot.get(BOOLEAN_KEY));
+        assertEquals(snapshot.get(DURATION_KEY), Duration.ofSeconds(30));
+        assertEquals(snapshot.get(URL_KEY), URI.create("https://localhost:9443/authenticationendpoint/login.do"));
+        assertEquals(snapshot.get(STRING_KEY), "first");
+        assertEquals(snapshot.getProperty("Snapshot.String"), "first");
+        assertEquals(snapshot.getInt("Snapshot.Int", 0), 42);
+        assertTrue(snapshot.getBoolean("Snapshot.Boolean", false));
+    }
+
+    @Test
+    public void testDefaultValues() {
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("Snapshot.Int", "not-a-number");
+        configuration.put("Snapshot.Duration", "");
+        configuration.put("Snapshot.URL", "not a url");
+
+        IdentityConfigSnapshot snapshot = IdentityConfigSnapshot.build(configuration);
+
+        assertEquals(snapshot.get(INT_KEY), Integer.valueOf(10));
+        assertFalse(snapshot.get(BOOLEAN_KEY));
+        assertEquals(snapshot.get(DURATION_KEY), Duration.ofSeconds(5));
+        assertEquals(snapshot.get(URL_KEY), URI.create("/default"));
+        assertNull(snapshot.get(STRING_KEY));
+        assertNull(snapshot.getProperty("Snapshot.String"));
+        assertEquals(snapshot.getDuration("Snapshot.Missing", TimeUnit.MILLISECONDS, Duration.ZERO), Duration.ZERO);
+    }
+
+    @Test
+    public void testPlaceholdersAreResolvedWhenBuilding() {
+
+        System.setProperty("snapshot.test.host", "localhost");
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("Snapshot.URL", "https://${snapshot.test.host}/path");
+
+        IdentityConfigSnapshot snapshot = IdentityConfigSnapshot.build(configuration);
+        System.setProperty("snapshot.test.host", "changed");
+
+        assertEquals(snapshot.getProperty("Snapshot.URL"), "https://localhost/path");
+        assertEquals(snapshot.get(URL_KEY), URI.create("https://localhost/path"));
+    }
+
+    @Test
+    public void testKeyReadsSwappedSnapshot() {
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("Snapshot.Int", "20");
+        IdentityConfigParser configParser = mock(IdentityConfigParser.class);
+        when(configParser.getConfiguration()).thenReturn(configuration);
+
+        try (MockedStatic<IdentityConfigParser> identityConfigParser = mockStatic(IdentityConfigParser.class)) {
+            identityConfigParser.when(IdentityConfigParser::getInstance).thenReturn(configParser);
+
+            IdentityUtil.populateProperties();
+            IdentityConfigSnapshot firstSnapshot = IdentityUtil.getConfigSnapshot();
+            assertEquals(INT_KEY.getValue(), Integer.valueOf(20));
+
+            Map<String, Object> reloadedConfiguration = new HashMap<>();
+            reloadedConfiguration.put("Snapshot.Int", "30");
+            when(configParser.getConfiguration()).thenReturn(reloadedConfiguration);
+            IdentityUtil.populateProperties();
+
+            assertNotSame(IdentityUtil.getConfigSnapshot(), firstSnapshot);
+            assertEquals(INT_KEY.getValue(), Integer.valueOf(30));
+            assertEquals(firstSnapshot.get(INT_KEY), Integer.valueOf(20));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReference<IdentityConfigSnapshot> getSnapshotReference() throws Exception {
+
+        Field field = IdentityUtil.class.getDeclaredField("configSnapshot");
+        field.setAccessible(true);
+        return (AtomicReference<IdentityConfigSnapshot>) field.get(null);
+    }
+}
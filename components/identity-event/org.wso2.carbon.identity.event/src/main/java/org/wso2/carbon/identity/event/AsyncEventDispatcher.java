@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.BoundedWorkQueue;
+import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches events to the handlers which are associated asynchronously to them.
+ * <p>
+ * Each handler has its own bounded queue, so a slow handler cannot hold back the others and a notification storm
+ * cannot grow the heap without limit. When a handler queue is full, the configured {@link OverflowPolicy} decides
+ * whether the publisher blocks, the oldest queued event is dropped or the publisher runs the handler itself.
+ * Events listed as priority events are taken before the other queued events of a handler. Handlers configured with
+ * {@link AbstractEventHandler#isAssociationOrdered()} receive the events of a user in the order they were published,
+ * so a priority event never overtakes an earlier event of the same user.
+ * <p>
+ * Events published by a handler while it runs on a worker thread are never blocked on a full queue. A blocked worker
+ * could be waiting for itself, or for other workers which wait for it, so such an event is handled in the publishing
+ * worker thread instead when the overflow policy is {@link OverflowPolicy#BLOCK}.
+ * <p>
+ * All handler queues are {@link BoundedWorkQueue}s served by a shared pool of worker threads.
+ */
+public class AsyncEventDispatcher {
+
+    private static final Log log = LogFactory.getLog(AsyncEventDispatcher.class);
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    private static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.CALLER_RUNS;
+    // Number of events a worker handles from a queue before yielding to the other queues.
+    private static final int MAX_EVENTS_PER_DRAIN = 32;
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Set<String> priorityEvents;
+    private final int concurrency;
+    private final ThreadPoolExecutor workerPool;
+    private final ConcurrentMap<AbstractEventHandler, HandlerQueue> handlerQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Policy applied when an event is dispatched to a handler whose queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Block the publisher until the handler queue has space. A publisher which is a worker thread of the
+         * dispatcher handles the event itself instead.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued event of the handler to make space for the new event.
+         */
+        DROP_OLDEST,
+        /**
+         * Handle the event in the publisher thread.
+         */
+        CALLER_RUNS
+    }
+
+    /**
+     * Create an async event dispatcher.
+     *
+     * @param threadPoolSize Number of worker threads.
+     * @param queueCapacity  Maximum number of queued events per handler.
+     * @param overflowPolicy Policy applied when a handler queue is full.
+     * @param priorityEvents Names of the events which are handled before the other queued events.
+     */
+    public AsyncEventDispatcher(int threadPoolSize, int queueCapacity, OverflowPolicy overflowPolicy,
+                                Set<String> priorityEvents) {
+
+        if (threadPoolSize <= 0) {
+            throw new IllegalArgumentException("Thread pool size of the async event dispatcher should be positive.");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity of the async event dispatcher should be positive.");
+        }
+        this.concurrency = threadPoolSize;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.priorityEvents = Collections.unmodifiableSet(new HashSet<>(priorityEvents));
+        this.workerPool = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new WorkerThreadFactory(this));
+    }
+
+    /**
+     * Create an async event dispatcher from the {@code asyncDispatcher.*} properties of identity-event.properties.
+     *
+     * @param threadPoolSize Number of worker threads.
+     * @param properties     Async dispatcher properties.
+     * @return Async event dispatcher.
+     */
+    public static AsyncEventDispatcher build(int threadPoolSize, Properties properties) {
+
+        int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+        Set<String> priorityEvents = new HashSet<>();
+
+        String queueCapacityValue = properties.getProperty(
+                IdentityEventConstants.PropertyConfig.ASYNC_DISPATCHER_QUEUE_CAPACITY);
+        if (StringUtils.isNotBlank(queueCapacityValue)) {
+            try {
+                queueCapacity = Integer.parseInt(queueCapacityValue.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid async event dispatcher queue capacity: " + queueCapacityValue + ". Using the " +
+                        "default value: " + DEFAULT_QUEUE_CAPACITY);
+            }
+            if (queueCapacity <= 0) {
+                log.warn("Async event dispatcher queue capacity should be positive. Using the default value: " +
+                        DEFAULT_QUEUE_CAPACITY);
+                queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            }
+        }
+
+        String overflowPolicyValue = properties.getProperty(
+                IdentityEventConstants.PropertyConfig.ASYNC_DISPATCHER_OVERFLOW_POLICY);
+        if (StringUtils.isNotBlank(overflowPolicyValue)) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(overflowPolicyValue.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid async event dispatcher overflow policy: " + overflowPolicyValue + ". Using the " +
+                        "default policy: " + DEFAULT_OVERFLOW_POLICY);
+            }
+        }
+
+        String priorityEventsValue = properties.getProperty(
+                IdentityEventConstants.PropertyConfig.ASYNC_DISPATCHER_PRIORITY_EVENTS);
+        if (StringUtils.isNotBlank(priorityEventsValue)) {
+            for (String eventName : priorityEventsValue.split(",")) {
+                if (StringUtils.isNotBlank(eventName)) {
+                    priorityEvents.add(eventName.trim());
+                }
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Async event dispatcher configured with " + threadPoolSize + " threads, queue capacity: " +
+                    queueCapacity + ", overflow policy: " + overflowPolicy + " and priority events: " +
+                    priorityEvents);
+        }
+        return new AsyncEventDispatcher(threadPoolSize, queueCapacity, overflowPolicy, priorityEvents);
+    }
+
+    /**
+     * Queue an event to be handled asynchronously by the given handler.
+     *
+     * @param handler Event handler.
+     * @param event   Event.
+     */
+    public void dispatch(AbstractEventHandler handler, Event event) {
+
+        HandlerQueue handlerQueue = handlerQueues.get(handler);
+        if (handlerQueue == null) {
+            HandlerQueue newHandlerQueue = new HandlerQueue(handler, isOrderedDelivery(handler));
+            handlerQueue = handlerQueues.putIfAbsent(handler, newHandlerQueue);
+            if (handlerQueue == null) {
+                handlerQueue = newHandlerQueue;
+            }
+        }
+        handlerQueue.offer(event);
+    }
+
+    /**
+     * Get the metrics of the handler queues, keyed by the handler name.
+     *
+     * @return Metrics of each handler which events were dispatched to.
+     */
+    public Map<String, AsyncEventDispatcherMetrics> getMetrics() {
+
+        Map<String, AsyncEventDispatcherMetrics> metrics = new LinkedHashMap<>();
+        for (HandlerQueue handlerQueue : handlerQueues.values()) {
+            metrics.put(handlerQueue.handler.getName(), handlerQueue.metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Get the worker pool which handles the queued events.
+     *
+     * @return Worker pool.
+     */
+    public ExecutorService getWorkerPool() {
+
+        return workerPool;
+    }
+
+    /**
+     * Stop accepting events and stop the worker threads. Events which are still queued are discarded.
+     */
+    public void shutdown() {
+
+        for (HandlerQueue handlerQueue : handlerQueues.values()) {
+            int discardedEvents = handlerQueue.shutdown().size();
+            if (discardedEvents > 0) {
+                log.warn("Async event dispatcher is shut down. " + discardedEvents + " queued events of event " +
+                        "handler " + handlerQueue.handler.getName() + " are discarded.");
+            }
+        }
+        workerPool.shutdownNow();
+    }
+
+    private void handle(AbstractEventHandler handler, Event event, AsyncEventDispatcherMetrics metrics) {
+
+        if (!handler.isEnabled(new IdentityEventMessageContext(event))) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Executing " + handler.getName() + " on event " + event.getEventName());
+        }
+        long startTime = System.nanoTime();
+        try {
+            handler.handleEvent(event);
+        } catch (IdentityEventException | RuntimeException e) {
+            metrics.recordFailure();
+            log.error("Error while invoking event handler " + handler.getName() + " for event " +
+                    event.getEventName(), e);
+        } finally {
+            metrics.recordHandled(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Check whether the current thread is a worker thread of this dispatcher.
+     *
+     * @return True if the current thread is a worker thread of this dispatcher.
+     */
+    private boolean isWorkerThread() {
+
+        Thread thread = Thread.currentThread();
+        return thread instanceof WorkerThread && ((WorkerThread) thread).dispatcher == this;
+    }
+
+    private static boolean isOrderedDelivery(AbstractEventHandler handler) {
+
+        try {
+            return handler.isAssociationOrdered();
+        } catch (RuntimeException e) {
+            log.warn("Error while reading the ordered delivery configuration of event handler " +
+                    handler.getName() + ". Events will be delivered unordered.", e);
+            return false;
+        }
+    }
+
+    private static String getUserKey(Event event) {
+
+        Map<String, Object> properties = event.getEventProperties();
+        if (properties == null) {
+            return null;
+        }
+        Object userName = properties.get(IdentityEventConstants.EventProperty.USER_NAME);
+        if (userName == null) {
+            return null;
+        }
+        return properties.get(IdentityEventConstants.EventProperty.TENANT_DOMAIN) + "/" +
+                properties.get(IdentityEventConstants.EventProperty.USER_STORE_DOMAIN) + "/" + userName;
+    }
+
+    /**
+     * Bounded queue of the events of a handler. A handler without ordered delivery has a single lane served by any
+     * number of workers. A handler with ordered delivery has one lane per worker thread, events of a user always go
+     * to the same lane, and each lane is served by one worker at a time.
+     */
+    private final class HandlerQueue extends BoundedWorkQueue<Event> {
+
+        private final AbstractEventHandler handler;
+        private final boolean orderedDelivery;
+        private final AsyncEventDispatcherMetrics metrics = new AsyncEventDispatcherMetrics();
+        private final BoundedWorkQueue.OverflowPolicy queueOverflowPolicy =
+                BoundedWorkQueue.OverflowPolicy.valueOf(overflowPolicy.name());
+
+        HandlerQueue(AbstractEventHandler handler, boolean orderedDelivery) {
+
+            super(workerPool, queueCapacity, orderedDelivery ? concurrency : 1, orderedDelivery ? 1 : concurrency,
+                    orderedDelivery, 0, BoundedWorkQueue.OverflowPolicy.valueOf(overflowPolicy.name()),
+                    MAX_EVENTS_PER_DRAIN);
+            this.handler = handler;
+            this.orderedDelivery = orderedDelivery;
+        }
+
+        void offer(Event event) {
+
+            BoundedWorkQueue.OverflowPolicy policy = queueOverflowPolicy;
+            if (policy == BoundedWorkQueue.OverflowPolicy.BLOCK && isWorkerThread()) {
+                // A worker waiting for space could wait for itself, or for workers which wait for it.
+                policy = BoundedWorkQueue.OverflowPolicy.CALLER_RUNS;
+            }
+            if (!offer(selectLane(event), event, priorityEvents.contains(event.getEventName()), policy)) {
+                metrics.recordRejected();
+                logRejected(event);
+            }
+        }
+
+        @Override
+        protected void process(Event event, boolean inCallerThread) {
+
+            if (inCallerThread) {
+                metrics.recordCallerRuns();
+            }
+            handle(handler, event, metrics);
+        }
+
+        @Override
+        protected void onDropped(Event event) {
+
+            metrics.recordRejected();
+            logRejected(event);
+        }
+
+        @Override
+        protected void onQueueDepthChanged(int queueDepth) {
+
+            metrics.setQueueDepth(queueDepth);
+        }
+
+        private int selectLane(Event event) {
+
+            if (!orderedDelivery) {
+                return 0;
+            }
+            String userKey = getUserKey(event);
+            if (userKey == null) {
+                return ThreadLocalRandom.current().nextInt(getLaneCount());
+            }
+            return (userKey.hashCode() & Integer.MAX_VALUE) % getLaneCount();
+        }
+
+        private void logRejected(Event event) {
+
+            if (log.isDebugEnabled()) {
+                log.debug("Queue of event handler " + handler.getName() + " is full or shut down. Event " +
+                        event.getEventName() + " is dropped.");
+            }
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AsyncEventDispatcher dispatcher;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        WorkerThreadFactory(AsyncEventDispatcher dispatcher) {
+
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new WorkerThread(dispatcher, runnable,
+                    "IdentityEventDispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Worker thread of a dispatcher.
+     */
+    private static final class WorkerThread extends Thread {
+
+        private final AsyncEventDispatcher dispatcher;
+
+        WorkerThread(AsyncEventDispatcher dispatcher, Runnable runnable, String name) {
+
+            super(runnable, name);
+            this.dispatcher = dispatcher;
+        }
+    }
+}
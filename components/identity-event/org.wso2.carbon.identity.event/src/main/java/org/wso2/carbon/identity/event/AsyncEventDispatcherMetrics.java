@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the queue of an event handler in the {@link AsyncEventDispatcher}.
+ */
+public class AsyncEventDispatcherMetrics {
+
+    /**
+     * Upper bounds, in milliseconds, of the handler latency histogram buckets. The last bucket holds the latencies
+     * above the largest bound.
+     */
+    private static final long[] LATENCY_BUCKET_BOUNDS_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+
+    private final LongAdder handledEvents = new LongAdder();
+    private final LongAdder failedEvents = new LongAdder();
+    private final LongAdder rejectedEvents = new LongAdder();
+    private final LongAdder callerRunsEvents = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKET_BOUNDS_MILLIS.length + 1];
+    private volatile int queueDepth;
+
+    AsyncEventDispatcherMetrics() {
+
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBuckets[i] = new LongAdder();
+        }
+    }
+
+    void setQueueDepth(int queueDepth) {
+
+        this.queueDepth = queueDepth;
+    }
+
+    void recordHandled(long latencyNanos) {
+
+        handledEvents.increment();
+        totalLatencyNanos.add(latencyNanos);
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS_MILLIS.length && latencyMillis > LATENCY_BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        latencyBuckets[bucket].increment();
+    }
+
+    void recordFailure() {
+
+        failedEvents.increment();
+    }
+
+    void recordRejected() {
+
+        rejectedEvents.increment();
+    }
+
+    void recordCallerRuns() {
+
+        callerRunsEvents.increment();
+    }
+
+    /**
+     * Get the number of events waiting in the handler queue.
+     *
+     * @return Queue depth.
+     */
+    public int getQueueDepth() {
+
+        return queueDepth;
+    }
+
+    /**
+     * Get the number of events handled by the handler, including the failed ones and the ones handled in the
+     * publisher thread.
+     *
+     * @return Number of handled events.
+     */
+    public long getHandledEvents() {
+
+        return handledEvents.sum();
+    }
+
+    /**
+     * Get the number of events for which the handler threw an error.
+     *
+     * @return Number of failed events.
+     */
+    public long getFailedEvents() {
+
+        return failedEvents.sum();
+    }
+
+    /**
+     * Get the number of events dropped because the handler queue was full or the dispatcher was shut down.
+     *
+     * @return Number of rejected events.
+     */
+    public long getRejectedEvents() {
+
+        return rejectedEvents.sum();
+    }
+
+    /**
+     * Get the number of events handled in the publisher thread because the handler queue was full.
+     *
+     * @return Number of events handled by the publisher.
+     */
+    public long getCallerRunsEvents() {
+
+        return callerRunsEvents.sum();
+    }
+
+    /**
+     * Get the average time taken by the handler to handle an event.
+     *
+     * @return Average handler latency in milliseconds.
+     */
+    public double getAverageLatencyMillis() {
+
+        long handled = handledEvents.sum();
+        if (handled == 0) {
+            return 0;
+        }
+        return (double) totalLatencyNanos.sum() / handled / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the upper bounds of the latency histogram buckets.
+     *
+     * @return Bucket upper bounds in milliseconds.
+     */
+    public long[] getLatencyBucketBoundsMillis() {
+
+        return LATENCY_BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Get the handler latency histogram. The count at index i is the number of events handled within the i-th
+     * bucket bound, and the last count is the number of events which took longer than the largest bound.
+     *
+     * @return Number of handled events per latency bucket.
+     */
+    public long[] getLatencyHistogram() {
+
+        long[] histogram = new long[latencyBuckets.length];
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            histogram[i] = latencyBuckets[i].sum();
+        }
+        return histogram;
+    }
+}
@@ -62,6 +62,10 @@ public class IdentityEventConfigBuilder {
      * Thread pool size for message sending task
      */
     private String threadPoolSize;
+    /**
+     * Properties of the async event dispatcher
+     */
+    private Properties asyncDispatcherProperties;
 
     private static IdentityEventConfigBuilder notificationMgtConfigBuilder = new IdentityEventConfigBuilder();
 
@@ -78,6 +82,7 @@ public class IdentityEventConfigBuilder {
         }
 
         setThreadPoolSize();
+        setAsyncDispatcherProperties();
         resolveSecrets();
         moduleConfiguration = new HashMap<>();
         build();
@@ -98,6 +103,14 @@ public class IdentityEventConfigBuilder {
         threadPoolSize = (String) notificationMgtConfigProperties.remove("threadPool.size");
     }
 
+    /**
+     * Sets the async event dispatcher properties read from configurations
+     */
+    private void setAsyncDispatcherProperties() {
+        asyncDispatcherProperties = IdentityEventUtils.getPropertiesWithPrefix(
+                IdentityEventConstants.PropertyConfig.ASYNC_DISPATCHER_PROPERTY_PREFIX, notificationMgtConfigProperties);
+    }
+
     /**
      * Load properties which are defined in msg-mgt.properties file
      *
@@ -222,6 +235,10 @@ public class IdentityEventConfigBuilder {
         return threadPoolSize;
     }
 
+    public Properties getAsyncDispatcherProperties() {
+        return asyncDispatcherProperties;
+    }
+
     /**
      * There can be sensitive information like passwords in configuration file. If they are encrypted using secure
      * vault, this method will resolve them and replace with original values.
@@ -30,6 +30,10 @@ public class IdentityEventConstants {
         private PropertyConfig(){}
 
         public static final String CONFIG_FILE_NAME = "identity-event.properties";
+        public static final String ASYNC_DISPATCHER_PROPERTY_PREFIX = "asyncDispatcher.";
+        public static final String ASYNC_DISPATCHER_QUEUE_CAPACITY = "asyncDispatcher.queueCapacity";
+        public static final String ASYNC_DISPATCHER_OVERFLOW_POLICY = "asyncDispatcher.overflowPolicy";
+        public static final String ASYNC_DISPATCHER_PRIORITY_EVENTS = "asyncDispatcher.priorityEvents";
         public static final String ACCOUNT_LOCK_ENABLE = "Account.Lock.Enable";
         public static final String AUTH_POLICY_ENABLE = "Authentication.Policy.Enable";
         public static final String AUTH_POLICY_ACCOUNT_EXIST = "Authentication.Policy.Check.Account.Exist";
@@ -132,6 +132,20 @@ public abstract class AbstractEventHandler extends AbstractIdentityMessageHandle
         return Boolean.parseBoolean(getSubscriptionProperty("operationAsync", eventName));
     }
 
+    /**
+     * If the module property '&lt;module&gt;.async.orderedDelivery' is true, the asynchronously associated events of a
+     * user are handled by this handler in the order they were published. Otherwise, they may be handled concurrently.
+     *
+     * @return True if the asynchronous events of a user should be handled in order.
+     */
+    public boolean isAssociationOrdered() {
+        if (configs == null || configs.getModuleProperties() == null) {
+            return false;
+        }
+        return Boolean.parseBoolean(configs.getModuleProperties().getProperty(this.getName() +
+                ".async.orderedDelivery"));
+    }
+
     public abstract void handleEvent(Event event) throws IdentityEventException;
 
     @Override
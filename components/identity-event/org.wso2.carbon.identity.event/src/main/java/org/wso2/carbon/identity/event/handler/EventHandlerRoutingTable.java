@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.bean.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable routing table from event names to the event handlers subscribed to them.
+ * <p>
+ * Handlers which rely on the subscription based {@link AbstractEventHandler#canHandle(MessageContext)} are routed
+ * only for the events they subscribe to, and their sync or async association is resolved once when the table is
+ * built. Handlers which override {@code canHandle} or the association lookup keep being asked on every event, in
+ * the same order as the registered handler list.
+ */
+public class EventHandlerRoutingTable {
+
+    private static final Log log = LogFactory.getLog(EventHandlerRoutingTable.class);
+
+    private final List<AbstractEventHandler> sourceHandlers;
+    private final int sourceVersion;
+    private final Map<String, List<HandlerRoute>> routesByEventName;
+    private final List<HandlerRoute> defaultRoutes;
+
+    private EventHandlerRoutingTable(List<AbstractEventHandler> sourceHandlers, int sourceVersion,
+                                     Map<String, List<HandlerRoute>> routesByEventName,
+                                     List<HandlerRoute> defaultRoutes) {
+
+        this.sourceHandlers = sourceHandlers;
+        this.sourceVersion = sourceVersion;
+        this.routesByEventName = routesByEventName;
+        this.defaultRoutes = defaultRoutes;
+    }
+
+    /**
+     * Build the routing table for the given handlers.
+     *
+     * @param handlers Registered event handlers, in the order they should be invoked.
+     * @param version  Version of the handler list, used to detect registrations and un-registrations.
+     * @return Routing table.
+     */
+    public static EventHandlerRoutingTable build(List<AbstractEventHandler> handlers, int version) {
+
+        List<AbstractEventHandler> handlersSnapshot = new ArrayList<>(handlers);
+        Set<String> eventNames = new LinkedHashSet<>();
+        List<HandlerRoute> defaultRoutes = new ArrayList<>();
+        for (AbstractEventHandler handler : handlersSnapshot) {
+            if (hasCustomCanHandle(handler)) {
+                defaultRoutes.add(new HandlerRoute(handler, false, null));
+            } else if (handler.configs != null && handler.configs.getSubscriptions() != null) {
+                for (Subscription subscription : handler.configs.getSubscriptions()) {
+                    eventNames.add(subscription.getSubscriptionName());
+                }
+            }
+        }
+
+        Map<String, List<HandlerRoute>> routesByEventName = new HashMap<>();
+        for (String eventName : eventNames) {
+            List<HandlerRoute> routes = new ArrayList<>();
+            for (AbstractEventHandler handler : handlersSnapshot) {
+                if (hasCustomCanHandle(handler)) {
+                    routes.add(new HandlerRoute(handler, false, null));
+                } else if (isSubscribed(handler, eventName)) {
+                    routes.add(new HandlerRoute(handler, true, resolveAssociationAsync(handler, eventName)));
+                }
+            }
+            routesByEventName.put(eventName, Collections.unmodifiableList(routes));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Built event handler routing table for " + handlersSnapshot.size() + " handlers and " +
+                    routesByEventName.size() + " subscribed events.");
+        }
+        return new EventHandlerRoutingTable(handlers, version, routesByEventName,
+                Collections.unmodifiableList(defaultRoutes));
+    }
+
+    /**
+     * Check whether this routing table was built from the given handler list.
+     *
+     * @param handlers Registered event handlers.
+     * @param version  Current version of the handler list.
+     * @return True if the routing table is up to date.
+     */
+    public boolean isBuiltFrom(List<AbstractEventHandler> handlers, int version) {
+
+        return sourceHandlers == handlers && sourceVersion == version;
+    }
+
+    /**
+     * Get the handlers which may handle the given event.
+     *
+     * @param eventName Event name.
+     * @return Routes of the handlers to be considered for the event, in invocation order.
+     */
+    public List<HandlerRoute> getRoutes(String eventName) {
+
+        List<HandlerRoute> routes = eventName == null ? null : routesByEventName.get(eventName);
+        return routes != null ? routes : defaultRoutes;
+    }
+
+    private static boolean isSubscribed(AbstractEventHandler handler, String eventName) {
+
+        for (Subscription subscription : handler.configs.getSubscriptions()) {
+            if (subscription.getSubscriptionName().equals(eventName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Boolean resolveAssociationAsync(AbstractEventHandler handler, String eventName) {
+
+        if (isOverridden(handler, "isAssociationAsync", String.class) ||
+                isOverridden(handler, "getSubscriptionProperty", String.class, String.class) ||
+                isOverridden(handler, "getSubscriptionProperties", String.class)) {
+            return null;
+        }
+        try {
+            return handler.isAssociationAsync(eventName);
+        } catch (IdentityEventException | RuntimeException e) {
+            // Resolve when the event is handled, so the error is reported to the publisher as before.
+            if (log.isDebugEnabled()) {
+                log.debug("Error while resolving the association of handler: " + handler.getName() +
+                        " for event: " + eventName, e);
+            }
+            return null;
+        }
+    }
+
+    private static boolean hasCustomCanHandle(AbstractEventHandler handler) {
+
+        return isOverridden(handler, "canHandle", MessageContext.class);
+    }
+
+    private static boolean isOverridden(AbstractEventHandler handler, String methodName, Class<?>... parameterTypes) {
+
+        try {
+            return handler.getClass().getMethod(methodName, parameterTypes).getDeclaringClass() !=
+                    AbstractEventHandler.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Route of an event to a handler.
+     */
+    public static class HandlerRoute {
+
+        private final AbstractEventHandler handler;
+        private final boolean subscribed;
+        private final Boolean associationAsync;
+
+        HandlerRoute(AbstractEventHandler handler, boolean subscribed, Boolean associationAsync) {
+
+            this.handler = handler;
+            this.subscribed = subscribed;
+            this.associationAsync = associationAsync;
+        }
+
+        public AbstractEventHandler getHandler() {
+
+            return handler;
+        }
+
+        /**
+         * Check whether the handler can handle the event.
+         *
+         * @param messageContext Message context of the event.
+         * @return True if the handler can handle the event.
+         */
+        public boolean canHandle(MessageContext messageContext) {
+
+            return subscribed || handler.canHandle(messageContext);
+        }
+
+        /**
+         * Check whether the handler is associated asynchronously to the event.
+         *
+         * @param eventName Event name.
+         * @return True if the event should be handled asynchronously.
+         * @throws IdentityEventException If an error occurs while reading the subscription properties.
+         */
+        public boolean isAssociationAsync(String eventName) throws IdentityEventException {
+
+            if (associationAsync != null) {
+                return associationAsync;
+            }
+            return handler.isAssociationAsync(eventName);
+        }
+    }
+}
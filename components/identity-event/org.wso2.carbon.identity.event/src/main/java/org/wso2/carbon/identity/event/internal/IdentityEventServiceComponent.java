@@ -54,11 +54,16 @@ public class IdentityEventServiceComponent {
 
     // list of all registered event handlers
     public static List<AbstractEventHandler> eventHandlerList = new ArrayList<>();
+    // incremented whenever an event handler is registered or unregistered
+    private static volatile int eventHandlerListVersion;
 
     @Activate
     protected void activate(ComponentContext context) {
         try {
-            IdentityEventServiceDataHolder.getInstance().setEventMgtService(new IdentityEventServiceImpl(eventHandlerList, Integer.parseInt(IdentityEventConfigBuilder.getInstance().getThreadPoolSize())));
+            IdentityEventConfigBuilder configBuilder = IdentityEventConfigBuilder.getInstance();
+            IdentityEventServiceDataHolder.getInstance().setEventMgtService(new IdentityEventServiceImpl(
+                    eventHandlerList, Integer.parseInt(configBuilder.getThreadPoolSize()),
+                    configBuilder.getAsyncDispatcherProperties()));
             context.getBundleContext().registerService(IdentityEventService.class.getName(), IdentityEventServiceDataHolder.getInstance().getEventMgtService(), null);
         } catch (IdentityEventException e) {
             log.error("Error while initiating IdentityMgtService.");
@@ -70,6 +75,10 @@ public class IdentityEventServiceComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext context) {
+        IdentityEventService eventMgtService = IdentityEventServiceDataHolder.getInstance().getEventMgtService();
+        if (eventMgtService instanceof IdentityEventServiceImpl) {
+            ((IdentityEventServiceImpl) eventMgtService).shutdown();
+        }
         if (log.isDebugEnabled()) {
             log.debug("Identity Management bundle is de-activated");
         }
@@ -88,12 +97,32 @@ public class IdentityEventServiceComponent {
         } catch (IdentityEventException | IdentityRuntimeException e) {
             log.warn("Properties for " + handlerName + " is not configured. This event handler will not be activated");
         }
-        eventHandlerList.add(eventHandler);
-        MessageHandlerComparator messageHandlerComparator = new MessageHandlerComparator(null);
-        Collections.sort(eventHandlerList, messageHandlerComparator);
+        synchronized (IdentityEventServiceComponent.class) {
+            eventHandlerList.add(eventHandler);
+            MessageHandlerComparator messageHandlerComparator = new MessageHandlerComparator(null);
+            Collections.sort(eventHandlerList, messageHandlerComparator);
+            eventHandlerListVersion++;
+        }
     }
 
     protected void unRegisterEventHandler(AbstractEventHandler eventHandler) {
+
+        synchronized (IdentityEventServiceComponent.class) {
+            if (eventHandlerList.remove(eventHandler)) {
+                eventHandlerListVersion++;
+            }
+        }
+    }
+
+    /**
+     * Get the version of the event handler list. The version changes whenever an event handler is registered or
+     * unregistered, so that the event routing can be rebuilt.
+     *
+     * @return Version of the event handler list.
+     */
+    public static int getEventHandlerListVersion() {
+
+        return eventHandlerListVersion;
     }
 
     @Reference(
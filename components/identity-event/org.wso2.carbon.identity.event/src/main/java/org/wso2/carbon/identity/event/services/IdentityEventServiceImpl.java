@@ -21,41 +21,81 @@ package org.wso2.carbon.identity.event.services;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import org.wso2.carbon.identity.event.EventDistributionTask;
+import org.wso2.carbon.identity.event.AsyncEventDispatcher;
+import org.wso2.carbon.identity.event.AsyncEventDispatcherMetrics;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+import org.wso2.carbon.identity.event.handler.EventHandlerRoutingTable;
 import org.wso2.carbon.identity.event.internal.IdentityEventServiceComponent;
+import org.wso2.carbon.identity.event.internal.IdentityEventServiceDataHolder;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 
 public class IdentityEventServiceImpl implements IdentityEventService {
 
     private static final Log log = LogFactory.getLog(IdentityEventServiceImpl.class);
-    private EventDistributionTask eventDistributionTask;
+    private final AsyncEventDispatcher asyncEventDispatcher;
+    private volatile EventHandlerRoutingTable routingTable;
 
     public IdentityEventServiceImpl(List<AbstractEventHandler> handlerList, int threadPoolSize) {
-        this.eventDistributionTask = new EventDistributionTask(handlerList, threadPoolSize);
+        this(handlerList, threadPoolSize, new Properties());
+    }
+
+    public IdentityEventServiceImpl(List<AbstractEventHandler> handlerList, int threadPoolSize,
+                                    Properties asyncDispatcherProperties) {
         if (log.isDebugEnabled()) {
-            log.debug("Starting event distribution task from Notification Management component");
+            log.debug("Starting async event dispatcher from Identity Event component");
         }
-        new Thread(eventDistributionTask).start();
+        this.asyncEventDispatcher = AsyncEventDispatcher.build(threadPoolSize, asyncDispatcherProperties);
+        IdentityEventServiceDataHolder.getInstance().setThreadPool(asyncEventDispatcher.getWorkerPool());
     }
     @Override
     public void handleEvent(Event event) throws IdentityEventException {
 
-        List<AbstractEventHandler> eventHandlerList = IdentityEventServiceComponent.eventHandlerList;
         IdentityEventMessageContext eventContext = new IdentityEventMessageContext(event);
-        for (final AbstractEventHandler handler : eventHandlerList) {
+        for (EventHandlerRoutingTable.HandlerRoute route : getRoutingTable().getRoutes(event.getEventName())) {
 
-            if (handler.canHandle(eventContext)) {
-                if (handler.isAssociationAsync(event.getEventName())) {
-                    eventDistributionTask.addEventToQueue(event);
+            if (route.canHandle(eventContext)) {
+                if (route.isAssociationAsync(event.getEventName())) {
+                    asyncEventDispatcher.dispatch(route.getHandler(), event);
                 } else {
-                    handler.handleEvent(event);
+                    route.getHandler().handleEvent(event);
                 }
             }
         }
     }
+
+    /**
+     * Get the metrics of the async event dispatcher, keyed by the event handler name.
+     *
+     * @return Async event dispatcher metrics of each handler.
+     */
+    public Map<String, AsyncEventDispatcherMetrics> getAsyncEventDispatcherMetrics() {
+
+        return asyncEventDispatcher.getMetrics();
+    }
+
+    /**
+     * Stop the async event dispatcher.
+     */
+    public void shutdown() {
+
+        asyncEventDispatcher.shutdown();
+    }
+
+    private EventHandlerRoutingTable getRoutingTable() {
+
+        List<AbstractEventHandler> eventHandlerList = IdentityEventServiceComponent.eventHandlerList;
+        int version = IdentityEventServiceComponent.getEventHandlerListVersion();
+        EventHandlerRoutingTable currentRoutingTable = routingTable;
+        if (currentRoutingTable == null || !currentRoutingTable.isBuiltFrom(eventHandlerList, version)) {
+            currentRoutingTable = EventHandlerRoutingTable.build(eventHandlerList, version);
+            routingTable = currentRoutingTable;
+        }
+        return currentRoutingTable;
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncEventDispatcherTest {
+
+    private static final String BLOCKING_EVENT = "BLOCKING_EVENT";
+
+    private AsyncEventDispatcher dispatcher;
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuildFromProperties() throws Exception {
+
+        Properties properties = new Properties();
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_DISPATCHER_QUEUE_CAPACITY, "1");
+        properties.setProperty(IdentityEventConstants.PropertyConfig.ASYNC_DISPATCHER_OVERFLOW_POLICY, "drop_oldest");
+        dispatcher = AsyncEventDispatcher.build(1, properties);
+        RecordingEventHandler handler = new RecordingEventHandler(2);
+
+        dispatcher.dispatch(handler, new Event(BLOCKING_EVENT));
+        Assert.assertTrue(handler.blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(handler, new Event("FIRST"));
+        dispatcher.dispatch(handler, new Event("SECOND"));
+        handler.release.countDown();
+
+        Assert.assertTrue(handler.handled.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(handler.eventNames, Arrays.asList(BLOCKING_EVENT, "SECOND"));
+        Assert.assertEquals(dispatcher.getMetrics().get(handler.getName()).getRejectedEvents(), 1);
+    }
+
+    @Test
+    public void testCallerRunsWhenQueueIsFull() throws Exception {
+
+        dispatcher = new AsyncEventDispatcher(1, 1, AsyncEventDispatcher.OverflowPolicy.CALLER_RUNS,
+                Collections.<String>emptySet());
+        RecordingEventHandler handler = new RecordingEventHandler(3);
+
+        dispatcher.dispatch(handler, new Event(BLOCKING_EVENT));
+        Assert.assertTrue(handler.blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(handler, new Event("QUEUED"));
+        dispatcher.dispatch(handler, new Event("CALLER"));
+        Assert.assertEquals(handler.eventNames, Collections.singletonList("CALLER"));
+        Assert.assertEquals(handler.threadNames.get(0), Thread.currentThread().getName());
+        handler.release.countDown();
+
+        Assert.assertTrue(handler.handled.await(5, TimeUnit.SECONDS));
+        AsyncEventDispatcherMetrics metrics = dispatcher.getMetrics().get(handler.getName());
+        Assert.assertEquals(metrics.getCallerRunsEvents(), 1);
+        Assert.assertEquals(metrics.getRejectedEvents(), 0);
+    }
+
+    @Test
+    public void testPriorityEventsAreHandledFirst() throws Exception {
+
+        dispatcher = new AsyncEventDispatcher(1, 10, AsyncEventDispatcher.OverflowPolicy.BLOCK,
+                Collections.singleton("PRIORITY"));
+        RecordingEventHandler handler = new RecordingEventHandler(4);
+
+        dispatcher.dispatch(handler, new Event(BLOCKING_EVENT));
+        Assert.assertTrue(handler.blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(handler, new Event("NORMAL"));
+        dispatcher.dispatch(handler, new Event("PRIORITY"));
+        dispatcher.dispatch(handler, new Event("NORMAL"));
+        Assert.assertEquals(dispatcher.getMetrics().get(handler.getName()).getQueueDepth(), 3);
+        handler.release.countDown();
+
+        Assert.assertTrue(handler.handled.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(handler.eventNames, Arrays.asList(BLOCKING_EVENT, "PRIORITY", "NORMAL",
+                "NORMAL"));
+        long[] histogram = dispatcher.getMetrics().get(handler.getName()).getLatencyHistogram();
+        long handledEvents = 0;
+        for (long count : histogram) {
+            handledEvents += count;
+        }
+        Assert.assertEquals(handledEvents, 4);
+    }
+
+    @Test
+    public void testPriorityEventsKeepTheOrderOfAUser() throws Exception {
+
+        dispatcher = new AsyncEventDispatcher(1, 10, AsyncEventDispatcher.OverflowPolicy.BLOCK,
+                Collections.singleton("PRIORITY"));
+        RecordingEventHandler handler = new RecordingEventHandler(3) {
+            @Override
+            public boolean isAssociationOrdered() {
+
+                return true;
+            }
+        };
+
+        dispatcher.dispatch(handler, newUserEvent(BLOCKING_EVENT, "alice"));
+        Assert.assertTrue(handler.blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(handler, newUserEvent("NORMAL", "alice"));
+        dispatcher.dispatch(handler, newUserEvent("PRIORITY", "alice"));
+        handler.release.countDown();
+
+        Assert.assertTrue(handler.handled.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(handler.eventNames, Arrays.asList(BLOCKING_EVENT, "NORMAL", "PRIORITY"));
+    }
+
+    @Test
+    public void testEventPublishedByAHandlerDoesNotBlockOnAFullQueue() throws Exception {
+
+        dispatcher = new AsyncEventDispatcher(1, 1, AsyncEventDispatcher.OverflowPolicy.BLOCK,
+                Collections.<String>emptySet());
+        RecordingEventHandler handler = new RecordingEventHandler(3) {
+            @Override
+            public void handleEvent(Event event) throws IdentityEventException {
+
+                if ("FIRST".equals(event.getEventName())) {
+                    // The only worker publishes to its own queue, which is full after the first event.
+                    dispatcher.dispatch(this, new Event("SECOND"));
+                    dispatcher.dispatch(this, new Event("THIRD"));
+                }
+                super.handleEvent(event);
+            }
+        };
+
+        dispatcher.dispatch(handler, new Event("FIRST"));
+
+        Assert.assertTrue(handler.handled.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(handler.eventNames, Arrays.asList("THIRD", "FIRST", "SECOND"));
+        Assert.assertEquals(dispatcher.getMetrics().get(handler.getName()).getCallerRunsEvents(), 1);
+    }
+
+    private static Event newUserEvent(String eventName, String userName) {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(IdentityEventConstants.EventProperty.USER_NAME, userName);
+        properties.put(IdentityEventConstants.EventProperty.USER_STORE_DOMAIN, "PRIMARY");
+        properties.put(IdentityEventConstants.EventProperty.TENANT_DOMAIN, "carbon.super");
+        return new Event(eventName, properties);
+    }
+
+    private static class RecordingEventHandler extends AbstractEventHandler {
+
+        private final List<String> eventNames = new CopyOnWriteArrayList<>();
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch handled;
+
+        RecordingEventHandler(int expectedEvents) {
+
+            this.handled = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public String getName() {
+
+            return "recordingHandler";
+        }
+
+        @Override
+        public boolean isEnabled(MessageContext messageContext) {
+
+            return true;
+        }
+
+        @Override
+        public void handleEvent(Event event) throws IdentityEventException {
+
+            if (BLOCKING_EVENT.equals(event.getEventName())) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            eventNames.add(event.getEventName());
+            threadNames.add(Thread.currentThread().getName());
+            handled.countDown();
+        }
+    }
+}
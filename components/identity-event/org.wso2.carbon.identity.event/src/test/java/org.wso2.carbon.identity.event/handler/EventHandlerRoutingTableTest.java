@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.bean.ModuleConfiguration;
+import org.wso2.carbon.identity.event.bean.Subscription;
+import org.wso2.carbon.identity.event.event.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+public class EventHandlerRoutingTableTest {
+
+    private static final String PRE_ADD_USER = "PRE_ADD_USER";
+    private static final String POST_ADD_USER = "POST_ADD_USER";
+
+    @Test
+    public void testRoutesBySubscription() throws Exception {
+
+        AbstractEventHandler syncHandler = new SubscribedEventHandler("syncHandler");
+        syncHandler.init(moduleConfiguration("syncHandler", PRE_ADD_USER, false));
+        AbstractEventHandler asyncHandler = new SubscribedEventHandler("asyncHandler");
+        asyncHandler.init(moduleConfiguration("asyncHandler", POST_ADD_USER, true));
+        List<AbstractEventHandler> handlers = new ArrayList<>();
+        handlers.add(syncHandler);
+        handlers.add(asyncHandler);
+
+        EventHandlerRoutingTable routingTable = EventHandlerRoutingTable.build(handlers, 1);
+
+        List<EventHandlerRoutingTable.HandlerRoute> preAddRoutes = routingTable.getRoutes(PRE_ADD_USER);
+        Assert.assertEquals(preAddRoutes.size(), 1);
+        Assert.assertSame(preAddRoutes.get(0).getHandler(), syncHandler);
+        Assert.assertFalse(preAddRoutes.get(0).isAssociationAsync(PRE_ADD_USER));
+
+        List<EventHandlerRoutingTable.HandlerRoute> postAddRoutes = routingTable.getRoutes(POST_ADD_USER);
+        Assert.assertEquals(postAddRoutes.size(), 1);
+        Assert.assertSame(postAddRoutes.get(0).getHandler(), asyncHandler);
+        Assert.assertTrue(postAddRoutes.get(0).isAssociationAsync(POST_ADD_USER));
+
+        Assert.assertTrue(routingTable.getRoutes("UNKNOWN_EVENT").isEmpty());
+    }
+
+    @Test
+    public void testCustomCanHandleIsRoutedForAllEvents() throws Exception {
+
+        AbstractEventHandler subscribedHandler = new SubscribedEventHandler("subscribedHandler");
+        subscribedHandler.init(moduleConfiguration("subscribedHandler", POST_ADD_USER, false));
+        AbstractEventHandler customHandler = new CustomCanHandleEventHandler();
+        customHandler.init(new ModuleConfiguration(new Properties(), Collections.<Subscription>emptyList()));
+        List<AbstractEventHandler> handlers = new ArrayList<>();
+        handlers.add(customHandler);
+        handlers.add(subscribedHandler);
+
+        EventHandlerRoutingTable routingTable = EventHandlerRoutingTable.build(handlers, 1);
+
+        List<EventHandlerRoutingTable.HandlerRoute> postAddRoutes = routingTable.getRoutes(POST_ADD_USER);
+        Assert.assertEquals(postAddRoutes.size(), 2);
+        Assert.assertSame(postAddRoutes.get(0).getHandler(), customHandler);
+        Assert.assertSame(postAddRoutes.get(1).getHandler(), subscribedHandler);
+
+        List<EventHandlerRoutingTable.HandlerRoute> unknownRoutes = routingTable.getRoutes("UNKNOWN_EVENT");
+        Assert.assertEquals(unknownRoutes.size(), 1);
+        MessageContext messageContext = new IdentityEventMessageContext(new Event("UNKNOWN_EVENT"));
+        Assert.assertTrue(unknownRoutes.get(0).canHandle(messageContext));
+    }
+
+    @Test
+    public void testIsBuiltFrom() {
+
+        List<AbstractEventHandler> handlers = new ArrayList<>();
+        EventHandlerRoutingTable routingTable = EventHandlerRoutingTable.build(handlers, 3);
+
+        Assert.assertTrue(routingTable.isBuiltFrom(handlers, 3));
+        Assert.assertFalse(routingTable.isBuiltFrom(handlers, 4));
+        Assert.assertFalse(routingTable.isBuiltFrom(new ArrayList<AbstractEventHandler>(), 3));
+    }
+
+    private ModuleConfiguration moduleConfiguration(String handlerName, String eventName, boolean async) {
+
+        Properties subscriptionProperties = new Properties();
+        subscriptionProperties.setProperty(handlerName + ".subscription." + eventName + ".operationAsync",
+                String.valueOf(async));
+        List<Subscription> subscriptions = new ArrayList<>();
+        subscriptions.add(new Subscription(eventName, subscriptionProperties));
+        return new ModuleConfiguration(new Properties(), subscriptions);
+    }
+
+    private static class SubscribedEventHandler extends AbstractEventHandler {
+
+        private final String name;
+
+        SubscribedEventHandler(String name) {
+
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+
+            return name;
+        }
+
+        @Override
+        public void handleEvent(Event event) throws IdentityEventException {
+            // do nothing
+        }
+    }
+
+    private static class CustomCanHandleEventHandler extends AbstractEventHandler {
+
+        @Override
+        public String getName() {
+
+            return "customHandler";
+        }
+
+        @Override
+        public boolean canHandle(MessageContext messageContext) {
+
+            return true;
+        }
+
+        @Override
+        public void handleEvent(Event event) throws IdentityEventException {
+            // do nothing
+        }
+    }
+}
@@ -68,36 +68,32 @@ public class ApplicationDataRetrievalClient {
     public String getApplicationAccessURL(String tenant, String applicationName)
             throws ApplicationDataRetrievalClientException {
 
-        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build()) {
+        try {
             HttpGet request =
                     new HttpGet(getApplicationsEndpoint(tenant) + APP_FILTER +
                             Encode.forUriComponent(applicationName));
             setAuthorizationHeader(request);
 
-            try (CloseableHttpResponse response = httpclient.execute(request)) {
-
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    JSONObject jsonResponse = new JSONObject(
-                            new JSONTokener(new InputStreamReader(response.getEntity().getContent())));
-                    JSONArray applications = jsonResponse.getJSONArray(APPLICATIONS_KEY);
-                    if (applications.length() != 1) {
-                        return StringUtils.EMPTY;
-                    }
+            RetrievalClientResponseCache.Response response =
+                    RetrievalClientResponseCache.getInstance().execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                JSONObject jsonResponse = new JSONObject(response.getBody());
+                JSONArray applications = jsonResponse.getJSONArray(APPLICATIONS_KEY);
+                if (applications.length() != 1) {
+                    return StringUtils.EMPTY;
+                }
 
-                    JSONObject application = (JSONObject) applications.get(0);
-                    if (application.has(ACCESS_URL_KEY)) {
-                        return application.getString(ACCESS_URL_KEY);
-                    }
-                    /*
-                    If access URL is not stored in the DB but resolved from a listener, need to get the access url by
-                    invoking application get by id.
-                     */
-                    if (application.has(APP_ID)) {
-                        return getApplicationAccessURLByAppId(tenant, application.getString(APP_ID));
-                    }
+                JSONObject application = (JSONObject) applications.get(0);
+                if (application.has(ACCESS_URL_KEY)) {
+                    return application.getString(ACCESS_URL_KEY);
+                }
+                /*
+                If access URL is not stored in the DB but resolved from a listener, need to get the access url by
+                invoking application get by id.
+                 */
+                if (application.has(APP_ID)) {
+                    return getApplicationAccessURLByAppId(tenant, application.getString(APP_ID));
                 }
-            } finally {
-                request.releaseConnection();
             }
         } catch (IOException | JSONException e) {
             //JSONException may occur if the application don't have an access URL configured
@@ -166,18 +162,15 @@ public class ApplicationDataRetrievalClient {
     public String getApplicationAccessURLByAppId(String tenant, String applicationId)
             throws ApplicationDataRetrievalClientException {
 
-        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build()) {
+        try {
             HttpGet request = new HttpGet(getApplicationsEndpoint(tenant) + "/" + applicationId);
             setAuthorizationHeader(request);
 
-            try (CloseableHttpResponse response = httpclient.execute(request)) {
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    JSONObject jsonResponse = new JSONObject(
-                            new JSONTokener(new InputStreamReader(response.getEntity().getContent())));
-                    return jsonResponse.getString(ACCESS_URL_KEY);
-                }
-            } finally {
-                request.releaseConnection();
+            RetrievalClientResponseCache.Response response =
+                    RetrievalClientResponseCache.getInstance().execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                JSONObject jsonResponse = new JSONObject(response.getBody());
+                return jsonResponse.getString(ACCESS_URL_KEY);
             }
         } catch (IOException | JSONException e) {
             //JSONException may occur if the application don't have an access URL configured
@@ -201,20 +194,16 @@ public class ApplicationDataRetrievalClient {
     public String getApplicationName(String tenant, String applicationId)
             throws ApplicationDataRetrievalClientException {
 
-        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build()) {
+        try {
             HttpGet request =
                     new HttpGet(getApplicationsEndpoint(tenant) + "/" + applicationId);
             setAuthorizationHeader(request);
 
-            try (CloseableHttpResponse response = httpclient.execute(request)) {
-
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    JSONObject jsonResponse = new JSONObject(
-                            new JSONTokener(new InputStreamReader(response.getEntity().getContent())));
-                    return jsonResponse.getString(APP_NAME);
-                }
-            } finally {
-                request.releaseConnection();
+            RetrievalClientResponseCache.Response response =
+                    RetrievalClientResponseCache.getInstance().execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                JSONObject jsonResponse = new JSONObject(response.getBody());
+                return jsonResponse.getString(APP_NAME);
             }
         } catch (IOException | JSONException e) {
             //JSONException may occur if the application don't have an access URL configured
@@ -238,27 +227,23 @@ public class ApplicationDataRetrievalClient {
     public String getApplicationID(String tenant, String applicationName)
             throws ApplicationDataRetrievalClientException {
 
-        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build()) {
+        try {
             HttpGet request =
                     new HttpGet(getApplicationsEndpoint(tenant) + APP_FILTER +
                             Encode.forUriComponent(applicationName));
             setAuthorizationHeader(request);
 
-            try (CloseableHttpResponse response = httpclient.execute(request)) {
-
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    JSONObject jsonResponse = new JSONObject(
-                            new JSONTokener(new InputStreamReader(response.getEntity().getContent())));
-                    JSONArray applications = jsonResponse.getJSONArray(APPLICATIONS_KEY);
-                    if (applications.length() != 1) {
-                        return StringUtils.EMPTY;
-                    }
-
-                    JSONObject application = (JSONObject) applications.get(0);
-                    return application.getString(APP_ID);
+            RetrievalClientResponseCache.Response response =
+                    RetrievalClientResponseCache.getInstance().execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                JSONObject jsonResponse = new JSONObject(response.getBody());
+                JSONArray applications = jsonResponse.getJSONArray(APPLICATIONS_KEY);
+                if (applications.length() != 1) {
+                    return StringUtils.EMPTY;
                 }
-            } finally {
-                request.releaseConnection();
+
+                JSONObject application = (JSONObject) applications.get(0);
+                return application.getString(APP_ID);
             }
         } catch (IOException | JSONException e) {
             //JSONException may occur if the application don't have an access URL configured
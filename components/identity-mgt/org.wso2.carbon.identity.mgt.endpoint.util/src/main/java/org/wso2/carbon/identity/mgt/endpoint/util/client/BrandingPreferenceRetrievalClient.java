@@ -24,21 +24,16 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.impl.client.CloseableHttpClient;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.mgt.endpoint.util.IdentityManagementEndpointUtil;
 import org.wso2.carbon.identity.mgt.endpoint.util.IdentityManagementServiceUtil;
-import org.wso2.carbon.utils.HTTPClientUtils;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 
@@ -71,8 +66,7 @@ public class BrandingPreferenceRetrievalClient {
     public JSONObject getPreference(String tenant, String type, String name, String locale)
             throws BrandingPreferenceRetrievalClientException {
 
-        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build()) {
-
+        try {
             String uri = getBrandingPreferenceEndpoint(tenant);
 
             try {
@@ -108,18 +102,13 @@ public class BrandingPreferenceRetrievalClient {
             setAuthorizationHeader(request);
 
             JSONObject jsonResponse = new JSONObject();
-
-            try (CloseableHttpResponse response = httpclient.execute(request)) {
-
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    jsonResponse = new JSONObject(
-                            new JSONTokener(new InputStreamReader(response.getEntity().getContent())));
-                }
-
-                return jsonResponse;
-            } finally {
-                request.releaseConnection();
+            RetrievalClientResponseCache.Response response =
+                    RetrievalClientResponseCache.getInstance().execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                jsonResponse = new JSONObject(response.getBody());
             }
+
+            return jsonResponse;
         } catch (IOException e) {
             String msg = "Error while getting branding preference for tenant : " + tenant;
 
@@ -145,8 +134,7 @@ public class BrandingPreferenceRetrievalClient {
     public JSONObject getCustomTextPreference(String tenant, String type, String name, String screen, String locale)
             throws BrandingPreferenceRetrievalClientException {
 
-        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build()) {
-
+        try {
             String uri = getCustomTextPreferenceEndpoint(tenant);
 
             try {
@@ -183,18 +171,13 @@ public class BrandingPreferenceRetrievalClient {
             setAuthorizationHeader(request);
 
             JSONObject jsonResponse = new JSONObject();
-
-            try (CloseableHttpResponse response = httpclient.execute(request)) {
-
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    jsonResponse = new JSONObject(
-                            new JSONTokener(new InputStreamReader(response.getEntity().getContent())));
-                }
-
-                return jsonResponse;
-            } finally {
-                request.releaseConnection();
+            RetrievalClientResponseCache.Response response =
+                    RetrievalClientResponseCache.getInstance().execute(request);
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                jsonResponse = new JSONObject(response.getBody());
             }
+
+            return jsonResponse;
         } catch (IOException e) {
             String msg = "Error while getting custom text preference for tenant : " + tenant;
 
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.mgt.endpoint.util.client;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.utils.HTTPClientUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared response cache of the REST API calls made by the retrieval clients while rendering the authentication and
+ * recovery portal pages.
+ * <p>
+ * Responses are cached by the request URI, which carries the tenant or organization, the application and the locale
+ * of the request, for {@code AuthenticationEndpoint.ResponseCache.TimeToLive} seconds and up to
+ * {@code AuthenticationEndpoint.ResponseCache.MaxEntries} entries, evicting the least recently used entry. An expired
+ * response with an ETag is revalidated with an If-None-Match request. Concurrent requests for the same URI are
+ * coalesced into a single API call.
+ */
+public class RetrievalClientResponseCache {
+
+    private static final Log log = LogFactory.getLog(RetrievalClientResponseCache.class);
+
+    private static final String ENABLE = "AuthenticationEndpoint.ResponseCache.Enable";
+    private static final String TIME_TO_LIVE = "AuthenticationEndpoint.ResponseCache.TimeToLive";
+    private static final String MAX_ENTRIES = "AuthenticationEndpoint.ResponseCache.MaxEntries";
+    private static final long DEFAULT_TIME_TO_LIVE = 60;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static volatile RetrievalClientResponseCache instance;
+
+    private final boolean enabled;
+    private final long timeToLiveMillis;
+    private final Map<String, CacheEntry> entries;
+    private final ConcurrentMap<String, CompletableFuture<Response>> inFlightRequests = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidationCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param enabled          Whether the responses should be cached.
+     * @param timeToLiveMillis Time a response is served from the cache without revalidation.
+     * @param maxEntries       Maximum number of cached responses.
+     */
+    public RetrievalClientResponseCache(boolean enabled, long timeToLiveMillis, final int maxEntries) {
+
+        this.enabled = enabled && timeToLiveMillis > 0 && maxEntries > 0;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 5412069536187935470L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+
+                if (size() > maxEntries) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the response cache shared by the retrieval clients.
+     *
+     * @return Response cache.
+     */
+    public static RetrievalClientResponseCache getInstance() {
+
+        if (instance == null) {
+            synchronized (RetrievalClientResponseCache.class) {
+                if (instance == null) {
+                    String enable = IdentityUtil.getProperty(ENABLE);
+                    boolean enabled = StringUtils.isBlank(enable) || Boolean.parseBoolean(enable);
+                    long timeToLive = readLongProperty(TIME_TO_LIVE, DEFAULT_TIME_TO_LIVE);
+                    int maxEntries = (int) readLongProperty(MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+                    instance = new RetrievalClientResponseCache(enabled, TimeUnit.SECONDS.toMillis(timeToLive),
+                            maxEntries);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Execute a GET request, or serve its response from the cache.
+     *
+     * @param request GET request with the required headers set.
+     * @return Response of the request. Cached responses are shared, hence should not be modified.
+     * @throws IOException If an error occurs while executing the request.
+     */
+    public Response execute(HttpGet request) throws IOException {
+
+        if (!enabled) {
+            return fetch(request);
+        }
+
+        String cacheKey = request.getURI().toString();
+        Response cachedResponse = getFreshResponse(cacheKey);
+        if (cachedResponse != null) {
+            hitCount.increment();
+            return cachedResponse;
+        }
+
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        CompletableFuture<Response> inFlightRequest = inFlightRequests.putIfAbsent(cacheKey, future);
+        if (inFlightRequest != null) {
+            hitCount.increment();
+            return await(inFlightRequest);
+        }
+        try {
+            // The response may have been cached while this request was waiting to become the in flight request.
+            cachedResponse = getFreshResponse(cacheKey);
+            if (cachedResponse != null) {
+                hitCount.increment();
+            } else {
+                cachedResponse = load(cacheKey, request);
+            }
+            future.complete(cachedResponse);
+            return cachedResponse;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(cacheKey, future);
+        }
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public void clear() {
+
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Number of requests served from the cache, or from a concurrent request for the same URI.
+     */
+    public long getHitCount() {
+
+        return hitCount.sum();
+    }
+
+    /**
+     * @return Number of requests sent to the API, including the revalidations.
+     */
+    public long getMissCount() {
+
+        return missCount.sum();
+    }
+
+    /**
+     * @return Number of expired responses the API confirmed as not modified.
+     */
+    public long getRevalidationCount() {
+
+        return revalidationCount.sum();
+    }
+
+    /**
+     * @return Number of responses evicted to keep the cache within its maximum size.
+     */
+    public long getEvictionCount() {
+
+        return evictionCount.sum();
+    }
+
+    private Response load(String cacheKey, HttpGet request) throws IOException {
+
+        CacheEntry staleEntry;
+        synchronized (entries) {
+            staleEntry = entries.get(cacheKey);
+        }
+        if (staleEntry != null && staleEntry.response.getETag() != null) {
+            request.setHeader(HttpHeaders.IF_NONE_MATCH, staleEntry.response.getETag());
+        }
+
+        missCount.increment();
+        Response response = fetch(request);
+        if (response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED && staleEntry != null) {
+            revalidationCount.increment();
+            response = staleEntry.response;
+            if (log.isDebugEnabled()) {
+                log.debug("Revalidated the cached response of : " + cacheKey);
+            }
+        }
+
+        synchronized (entries) {
+            if (isCacheable(response)) {
+                entries.put(cacheKey, new CacheEntry(response, System.currentTimeMillis() + timeToLiveMillis));
+            } else {
+                entries.remove(cacheKey);
+            }
+        }
+        return response;
+    }
+
+    private Response getFreshResponse(String cacheKey) {
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(cacheKey);
+            if (entry != null && entry.expiryTime > System.currentTimeMillis()) {
+                return entry.response;
+            }
+            return null;
+        }
+    }
+
+    private static Response fetch(HttpGet request) throws IOException {
+
+        try (CloseableHttpClient httpclient = HTTPClientUtils.createClientWithCustomVerifier().build();
+             CloseableHttpResponse response = httpclient.execute(request)) {
+            String body = null;
+            if (response.getEntity() != null) {
+                body = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+            }
+            Header eTag = response.getFirstHeader(HttpHeaders.ETAG);
+            return new Response(response.getStatusLine().getStatusCode(), body,
+                    eTag != null ? eTag.getValue() : null);
+        } finally {
+            request.releaseConnection();
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> inFlightRequest) throws IOException {
+
+        try {
+            return inFlightRequest.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response of a concurrent request.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Successful responses and not found responses, returned when a resource such as a branding preference is not
+     * configured, are cached. Other responses are transient or caused by the request, hence are not cached.
+     */
+    private static boolean isCacheable(Response response) {
+
+        return response.getStatusCode() == HttpStatus.SC_OK || response.getStatusCode() == HttpStatus.SC_NOT_FOUND;
+    }
+
+    private static long readLongProperty(String key, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(key);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + value + " configured for: " + key + ". Using the default value: " +
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Response of a REST API call.
+     */
+    public static final class Response {
+
+        private final int statusCode;
+        private final String body;
+        private final String eTag;
+
+        Response(int statusCode, String body, String eTag) {
+
+            this.statusCode = statusCode;
+            this.body = body;
+            this.eTag = eTag;
+        }
+
+        public int getStatusCode() {
+
+            return statusCode;
+        }
+
+        public String getBody() {
+
+            return body;
+        }
+
+        public String getETag() {
+
+            return eTag;
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final Response response;
+        private final long expiryTime;
+
+        private CacheEntry(Response response, long expiryTime) {
+
+            this.response = response;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.mgt.endpoint.util;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.mgt.endpoint.util.client.RetrievalClientResponseCache;
+import org.wso2.carbon.utils.HTTPClientUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RetrievalClientResponseCache.
+ */
+public class RetrievalClientResponseCacheTest {
+
+    private static final String PREFERENCE_URI = "https://localhost:9443/api/server/v1/branding-preference/resolve" +
+            "?type=ORG&locale=en-US";
+    private static final String APPLICATION_URI = "https://localhost:9443/api/server/v1/applications/123";
+
+    private CloseableHttpClient httpClient;
+    private MockedStatic<HTTPClientUtils> httpClientUtils;
+
+    @BeforeMethod
+    public void setUp() {
+
+        HttpClientBuilder httpClientBuilder = mock(HttpClientBuilder.class);
+        httpClient = mock(CloseableHttpClient.class);
+        when(httpClientBuilder.build()).thenReturn(httpClient);
+        httpClientUtils = mockStatic(HTTPClientUtils.class);
+        httpClientUtils.when(HTTPClientUtils::createClientWithCustomVerifier).thenReturn(httpClientBuilder);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        httpClientUtils.close();
+    }
+
+    @Test
+    public void testCachedResponse() throws Exception {
+
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "{\"name\":\"app\"}", null);
+        when(httpClient.execute(any())).thenReturn(response);
+        RetrievalClientResponseCache cache = new RetrievalClientResponseCache(true, 60000, 10);
+
+        Assert.assertEquals(cache.execute(new HttpGet(APPLICATION_URI)).getBody(), "{\"name\":\"app\"}");
+        Assert.assertEquals(cache.execute(new HttpGet(APPLICATION_URI)).getBody(), "{\"name\":\"app\"}");
+
+        verify(httpClient, times(1)).execute(any());
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    public void testNotFoundResponseIsCachedAndServerErrorIsNot() throws Exception {
+
+        CloseableHttpResponse notFound = mockResponse(HttpStatus.SC_NOT_FOUND, "", null);
+        CloseableHttpResponse serverError = mockResponse(HttpStatus.SC_INTERNAL_SERVER_ERROR, "", null);
+        when(httpClient.execute(any())).thenReturn(notFound, serverError, serverError);
+        RetrievalClientResponseCache cache = new RetrievalClientResponseCache(true, 60000, 10);
+
+        cache.execute(new HttpGet(PREFERENCE_URI));
+        Assert.assertEquals(cache.execute(new HttpGet(PREFERENCE_URI)).getStatusCode(), HttpStatus.SC_NOT_FOUND);
+        cache.execute(new HttpGet(APPLICATION_URI));
+        cache.execute(new HttpGet(APPLICATION_URI));
+
+        verify(httpClient, times(3)).execute(any());
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testExpiredResponseIsRevalidated() throws Exception {
+
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "{\"preference\":{}}", "\"v1\"");
+        CloseableHttpResponse notModified = mockResponse(HttpStatus.SC_NOT_MODIFIED, null, "\"v1\"");
+        when(httpClient.execute(any())).thenReturn(response, notModified);
+        RetrievalClientResponseCache cache = new RetrievalClientResponseCache(true, 1, 10);
+
+        cache.execute(new HttpGet(PREFERENCE_URI));
+        Thread.sleep(10);
+        RetrievalClientResponseCache.Response revalidated = cache.execute(new HttpGet(PREFERENCE_URI));
+
+        Assert.assertEquals(revalidated.getStatusCode(), HttpStatus.SC_OK);
+        Assert.assertEquals(revalidated.getBody(), "{\"preference\":{}}");
+        ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(httpClient, times(2)).execute(requests.capture());
+        Assert.assertEquals(requests.getAllValues().get(1).getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue(),
+                "\"v1\"");
+        Assert.assertEquals(cache.getRevalidationCount(), 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResponseIsEvicted() throws Exception {
+
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "{}", null);
+        when(httpClient.execute(any())).thenReturn(response);
+        RetrievalClientResponseCache cache = new RetrievalClientResponseCache(true, 60000, 1);
+
+        cache.execute(new HttpGet(PREFERENCE_URI));
+        cache.execute(new HttpGet(APPLICATION_URI));
+        cache.execute(new HttpGet(PREFERENCE_URI));
+
+        verify(httpClient, times(3)).execute(any());
+        Assert.assertEquals(cache.getEvictionCount(), 2);
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch releaseResponse = new CountDownLatch(1);
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "{}", null);
+        when(httpClient.execute(any())).thenAnswer(invocation -> {
+            requestStarted.countDown();
+            releaseResponse.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        RetrievalClientResponseCache cache = new RetrievalClientResponseCache(true, 60000, 10);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<RetrievalClientResponseCache.Response> first =
+                    executorService.submit(() -> cache.execute(new HttpGet(PREFERENCE_URI)));
+            Assert.assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+            Future<RetrievalClientResponseCache.Response> second =
+                    executorService.submit(() -> cache.execute(new HttpGet(PREFERENCE_URI)));
+            Thread.sleep(50);
+            releaseResponse.countDown();
+
+            Assert.assertSame(second.get(5, TimeUnit.SECONDS), first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(httpClient, times(1)).execute(any());
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "{}", null);
+        when(httpClient.execute(any())).thenReturn(response);
+        RetrievalClientResponseCache cache = new RetrievalClientResponseCache(false, 60000, 10);
+
+        cache.execute(new HttpGet(PREFERENCE_URI));
+        cache.execute(new HttpGet(PREFERENCE_URI));
+
+        verify(httpClient, times(2)).execute(any());
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    private CloseableHttpResponse mockResponse(int statusCode, String body, String eTag) throws Exception {
+
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(statusCode);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        if (body != null) {
+            HttpEntity entity = mock(HttpEntity.class);
+            when(entity.getContent()).thenAnswer(
+                    invocation -> new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+            when(response.getEntity()).thenReturn(entity);
+        }
+        if (eTag != null) {
+            Header header = mock(Header.class);
+            when(header.getValue()).thenReturn(eTag);
+            when(response.getFirstHeader(HttpHeaders.ETAG)).thenReturn(header);
+        }
+        return response;
+    }
+}
@@ -28,6 +28,8 @@ import org.wso2.carbon.identity.application.common.model.IdPGroup;
 import org.wso2.carbon.identity.application.common.model.IdentityProvider;
 import org.wso2.carbon.identity.application.common.model.IdentityProviderProperty;
 import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
+import org.wso2.carbon.identity.core.cache.CacheInvalidationBatch;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpService;
 import org.wso2.carbon.identity.core.model.ExpressionNode;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementClientException;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
@@ -43,6 +45,7 @@ import org.wso2.carbon.idp.mgt.cache.IdPHomeRealmIdCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPMetadataPropertyCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPNameCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPResourceIdCacheKey;
+import org.wso2.carbon.idp.mgt.internal.IdPCacheWarmUpTask;
 import org.wso2.carbon.idp.mgt.model.ConnectedAppsResult;
 import org.wso2.carbon.idp.mgt.util.IdPManagementConstants;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
@@ -215,33 +218,31 @@ public class CacheBackedIdPMgtDAO {
             IdentityProviderManagementException {
 
         IdPNameCacheKey cacheKey = new IdPNameCacheKey(idPName);
-        IdPCacheEntry entry = idPCacheByName.getValueFromCache(cacheKey, tenantDomain);
-
-        if (entry != null) {
-            log.debug("Cache entry found for Identity Provider " + idPName);
-            IdentityProvider identityProvider = entry.getIdentityProvider();
-            IdPManagementUtil.removeRandomPasswords(identityProvider, false);
-            return identityProvider;
-        } else {
+        IdPCacheEntry entry = idPCacheByName.getOrLoad(cacheKey, key -> {
             log.debug("Cache entry not found for Identity Provider " + idPName
                     + ". Fetching entry from DB");
-        }
-
-        IdentityProvider identityProvider = idPManagementFacade.getIdPByName(dbConnection, idPName,
-                                                                   tenantId, tenantDomain);
-
-        if (identityProvider != null) {
+            IdentityProvider identityProvider = idPManagementFacade.getIdPByName(dbConnection, idPName,
+                    tenantId, tenantDomain);
+            if (identityProvider == null) {
+                log.debug("Entry for Identity Provider " + idPName + " not found in cache or DB");
+                return null;
+            }
             log.debug("Entry fetched from DB for Identity Provider " + idPName + ". Updating cache");
-            idPCacheByName.addToCache(cacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
             if (identityProvider.getHomeRealmId() != null) {
                 IdPHomeRealmIdCacheKey homeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
                         identityProvider.getHomeRealmId());
                 idPCacheByHRI.addToCache(homeRealmIdCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
             }
-        } else {
-            log.debug("Entry for Identity Provider " + idPName + " not found in cache or DB");
-        }
+            return new IdPCacheEntry(identityProvider);
+        }, tenantDomain);
 
+        if (entry == null) {
+            return null;
+        }
+        IdentityProvider identityProvider = entry.getIdentityProvider();
+        recordHotKey(idPName, tenantDomain);
+        // A freshly loaded IdP has no random passwords, hence this only restores the passwords of a cached IdP.
+        IdPManagementUtil.removeRandomPasswords(identityProvider, false);
         return identityProvider;
     }
 
@@ -494,29 +495,23 @@ public class CacheBackedIdPMgtDAO {
                                             String tenantDomain) throws IdentityProviderManagementException {
 
         IdPHomeRealmIdCacheKey cacheKey = new IdPHomeRealmIdCacheKey(realmId);
-        IdPCacheEntry entry = idPCacheByHRI.getValueFromCache(cacheKey, tenantDomain);
-        if (entry != null) {
-            log.debug("Cache entry found for Identity Provider with Home Realm ID " + realmId);
-            return entry.getIdentityProvider();
-        } else {
+        IdPCacheEntry entry = idPCacheByHRI.getOrLoad(cacheKey, key -> {
             log.debug("Cache entry not found for Identity Provider with Home Realm ID " + realmId
                     + ". Fetching entry from DB");
-        }
-
-        IdentityProvider identityProvider = idPManagementFacade.getIdPByRealmId(realmId, tenantId, tenantDomain);
-
-        if (identityProvider != null) {
+            IdentityProvider identityProvider = idPManagementFacade.getIdPByRealmId(realmId, tenantId, tenantDomain);
+            if (identityProvider == null) {
+                log.debug("Entry for Identity Provider with Home Realm ID " + realmId
+                        + " not found in cache or DB");
+                return null;
+            }
             log.debug("Entry fetched from DB for Identity Provider with Home Realm ID " + realmId
                     + ". Updating cache");
-            idPCacheByHRI.addToCache(cacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
             IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProvider.getIdentityProviderName());
             idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-        } else {
-            log.debug("Entry for Identity Provider with Home Realm ID " + realmId
-                    + " not found in cache or DB");
-        }
+            return new IdPCacheEntry(identityProvider);
+        }, tenantDomain);
 
-        return identityProvider;
+        return entry != null ? entry.getIdentityProvider() : null;
     }
 
     /**
@@ -582,7 +577,9 @@ public class CacheBackedIdPMgtDAO {
     public String addIdP(IdentityProvider identityProvider, int tenantId, String
             tenantDomain) throws IdentityProviderManagementException {
 
-        return idPManagementFacade.addIdPWithResourceId(identityProvider, tenantId);
+        String resourceId = idPManagementFacade.addIdPWithResourceId(identityProvider, tenantId);
+        clearNotFoundEntries(identityProvider, tenantDomain);
+        return resourceId;
     }
 
     /**
@@ -604,6 +601,7 @@ public class CacheBackedIdPMgtDAO {
                 tenantId, tenantDomain);
         idPManagementFacade.updateIdPWithResourceId(currentIdentityProvider.getResourceId(),
                 newIdentityProvider, currentIdentityProvider, tenantId);
+        clearNotFoundEntries(newIdentityProvider, tenantDomain);
     }
 
     /**
@@ -752,6 +750,30 @@ public class CacheBackedIdPMgtDAO {
         }
     }
 
+    /**
+     * Clear the name and home realm ID cache entries of the given IdP, so that a lookup which did not find the IdP
+     * before it was added or renamed is not served from the cache.
+     *
+     * @param identityProvider Added or updated Identity Provider.
+     * @param tenantDomain     Tenant domain of IDP.
+     */
+    private void clearNotFoundEntries(IdentityProvider identityProvider, String tenantDomain) {
+
+        if (idPCacheByName.getNegativeCacheTimeout() > 0) {
+            idPCacheByName.clearCacheEntry(new IdPNameCacheKey(identityProvider.getIdentityProviderName()),
+                    tenantDomain);
+        }
+        if (idPCacheByHRI.getNegativeCacheTimeout() > 0 && identityProvider.getHomeRealmId() != null) {
+            idPCacheByHRI.clearCacheEntry(new IdPHomeRealmIdCacheKey(identityProvider.getHomeRealmId()),
+                    tenantDomain);
+        }
+    }
+
+    private void recordHotKey(String idPName, String tenantDomain) {
+
+        CacheWarmUpService.getInstance().recordHotKey(IdPCacheWarmUpTask.TASK_NAME, tenantDomain, idPName);
+    }
+
     public void clearIdpCache(String idPName, int tenantId, String tenantDomain)
             throws IdentityProviderManagementException {
 
@@ -813,34 +835,36 @@ public class CacheBackedIdPMgtDAO {
         log.debug("Removing all cached Identity Provider entries for tenant Domain " + tenantDomain);
         List<IdentityProvider> identityProviders = this.getIdPs(null, tenantId,
                 tenantDomain);
-        for (IdentityProvider identityProvider : identityProviders) {
-            String identityProviderName = identityProvider.getIdentityProviderName();
-            try {
-                identityProvider = this.getIdPByName(null, identityProviderName, tenantId, tenantDomain);
-            } catch (IdentityProviderManagementClientException e) {
-                /* The IDP data might get deleted from another process. In cases like that `getIdPByName` will throw
-                 the IdentityProviderManagementClientException. Hence, we need to handle that exception and continue the
-                 iteration. */
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Continue the iteration since identity provider %s is not available " +
-                            "in cache or database of tenant domain %s", identityProviderName, tenantDomain), e);
+        try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
+            for (IdentityProvider identityProvider : identityProviders) {
+                String identityProviderName = identityProvider.getIdentityProviderName();
+                try {
+                    identityProvider = this.getIdPByName(null, identityProviderName, tenantId, tenantDomain);
+                } catch (IdentityProviderManagementClientException e) {
+                    /* The IDP data might get deleted from another process. In cases like that `getIdPByName` will throw
+                     the IdentityProviderManagementClientException. Hence, we need to handle that exception and continue
+                     the iteration. */
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Continue the iteration since identity provider %s is not available " +
+                                "in cache or database of tenant domain %s", identityProviderName, tenantDomain), e);
+                    }
+                    identityProvider = null;
                 }
-                identityProvider = null;
-            }
-            // An IDP might get deleted from another process. Hence, identityProvider is nullable.
-            if (identityProvider == null) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Continue the iteration since identity provider %s is not available " +
-                            "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+                // An IDP might get deleted from another process. Hence, identityProvider is nullable.
+                if (identityProvider == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Continue the iteration since identity provider %s is not available " +
+                                "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+                    }
+                    continue;
+                }
+                IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProviderName);
+                idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
+                if (identityProvider.getHomeRealmId() != null) {
+                    IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
+                            identityProvider.getHomeRealmId());
+                    idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
                 }
-                continue;
-            }
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProviderName);
-            idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
             }
         }
 
@@ -860,25 +884,27 @@ public class CacheBackedIdPMgtDAO {
         log.debug("Removing all cached Identity Provider entries for tenant Domain " + tenantDomain);
         List<IdentityProvider> identityProviders = this.getIdPs(null, tenantId,
                 tenantDomain);
-        for (IdentityProvider identityProvider : identityProviders) {
-            String identityProviderName = identityProvider.getIdentityProviderName();
-            identityProvider = this.getIdPByName(null, identityProvider.getIdentityProviderName(),
-                    tenantId, tenantDomain);
-            // An IDP might get deleted from another process. Hence, identityProvider is nullable.
-            if (identityProvider == null) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Continue the iteration since identity provider %s is not available " +
-                            "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+        try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
+            for (IdentityProvider identityProvider : identityProviders) {
+                String identityProviderName = identityProvider.getIdentityProviderName();
+                identityProvider = this.getIdPByName(null, identityProvider.getIdentityProviderName(),
+                        tenantId, tenantDomain);
+                // An IDP might get deleted from another process. Hence, identityProvider is nullable.
+                if (identityProvider == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Continue the iteration since identity provider %s is not available " +
+                                "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+                    }
+                    continue;
+                }
+                IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(
+                        identityProvider.getIdentityProviderName());
+                idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
+                if (identityProvider.getHomeRealmId() != null) {
+                    IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
+                            identityProvider.getHomeRealmId());
+                    idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
                 }
-                continue;
-            }
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(
-                    identityProvider.getIdentityProviderName());
-            idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
             }
         }
 
@@ -897,23 +923,25 @@ public class CacheBackedIdPMgtDAO {
         log.debug("Removing all cached Identity Provider entries for tenant Domain " + tenantDomain);
         List<IdentityProvider> identityProviders = this.getIdPs(null, tenantId,
                 tenantDomain);
-        for (IdentityProvider identityProvider : identityProviders) {
-            String identityProviderName = identityProvider.getIdentityProviderName();
-            identityProvider = this.getIdPByName(null, identityProviderName, tenantId, tenantDomain);
-            // An IDP might get deleted from another process. Hence, identityProvider is nullable.
-            if (identityProvider == null) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Continue the iteration since identity provider %s is not available " +
-                            "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+        try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
+            for (IdentityProvider identityProvider : identityProviders) {
+                String identityProviderName = identityProvider.getIdentityProviderName();
+                identityProvider = this.getIdPByName(null, identityProviderName, tenantId, tenantDomain);
+                // An IDP might get deleted from another process. Hence, identityProvider is nullable.
+                if (identityProvider == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Continue the iteration since identity provider %s is not available " +
+                                "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+                    }
+                    continue;
+                }
+                IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProviderName);
+                idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
+                if (identityProvider.getHomeRealmId() != null) {
+                    IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
+                            identityProvider.getHomeRealmId());
+                    idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
                 }
-                continue;
-            }
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProviderName);
-            idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
             }
         }
 
@@ -933,23 +961,25 @@ public class CacheBackedIdPMgtDAO {
         log.debug("Removing all cached Identity Provider entries for tenant Domain " + tenantDomain);
         List<IdentityProvider> identityProviders = this.getIdPs(null, tenantId,
                 tenantDomain);
-        for (IdentityProvider identityProvider : identityProviders) {
-            String identityProviderName = identityProvider.getIdentityProviderName();
-            identityProvider = this.getIdPByName(null, identityProviderName, tenantId, tenantDomain);
-            // An IDP might get deleted from another process. Hence, identityProvider is nullable.
-            if (identityProvider == null) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Continue the iteration since identity provider %s is not available " +
-                            "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+        try (CacheInvalidationBatch ignored = CacheInvalidationBatch.start()) {
+            for (IdentityProvider identityProvider : identityProviders) {
+                String identityProviderName = identityProvider.getIdentityProviderName();
+                identityProvider = this.getIdPByName(null, identityProviderName, tenantId, tenantDomain);
+                // An IDP might get deleted from another process. Hence, identityProvider is nullable.
+                if (identityProvider == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Continue the iteration since identity provider %s is not available " +
+                                "in cache or database of tenant domain %s", identityProviderName, tenantDomain));
+                    }
+                    continue;
+                }
+                IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProviderName);
+                idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
+                if (identityProvider.getHomeRealmId() != null) {
+                    IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
+                            identityProvider.getHomeRealmId());
+                    idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
                 }
-                continue;
-            }
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProviderName);
-            idPCacheByName.clearCacheEntry(idPNameCacheKey, tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey idPHomeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.clearCacheEntry(idPHomeRealmIdCacheKey, tenantDomain);
             }
         }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.idp.mgt.internal;
+
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpTask;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.idp.mgt.dao.CacheBackedIdPMgtDAO;
+import org.wso2.carbon.idp.mgt.dao.IdPManagementDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache warm-up task that preloads the identity providers of a tenant into the identity provider caches keyed by
+ * name, home realm ID and resource ID. The hot keys of the task are identity provider names. Without hot keys, the
+ * identity providers of the tenant are preloaded up to the maximum number of entries.
+ */
+public class IdPCacheWarmUpTask implements CacheWarmUpTask {
+
+    public static final String TASK_NAME = "IdentityProvider";
+
+    private final CacheBackedIdPMgtDAO dao = new CacheBackedIdPMgtDAO(new IdPManagementDAO());
+
+    @Override
+    public String getName() {
+
+        return TASK_NAME;
+    }
+
+    @Override
+    public int warmUp(String tenantDomain, List<String> hotKeys, int maxEntries) throws IdentityException {
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        List<String> idPNames = new ArrayList<>(hotKeys);
+        if (idPNames.isEmpty()) {
+            for (IdentityProvider identityProvider : dao.getIdPs(null, tenantId, tenantDomain)) {
+                idPNames.add(identityProvider.getIdentityProviderName());
+            }
+        }
+
+        int preloadedEntries = 0;
+        for (String idPName : idPNames) {
+            if (preloadedEntries >= maxEntries) {
+                break;
+            }
+            // Adds the identity provider to the name and home realm ID caches.
+            IdentityProvider identityProvider = dao.getIdPByName(null, idPName, tenantId, tenantDomain);
+            if (identityProvider != null) {
+                dao.addIdPCache(identityProvider, tenantDomain);
+                preloadedEntries++;
+            }
+        }
+        return preloadedEntries;
+    }
+}
@@ -39,6 +39,7 @@ import org.wso2.carbon.identity.application.common.util.IdentityApplicationConst
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataMgtListener;
 import org.wso2.carbon.identity.core.ConnectorConfig;
+import org.wso2.carbon.identity.core.cache.CacheWarmUpTask;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
@@ -215,6 +216,7 @@ public class IdPManagementServiceComponent {
                 addSuperTenantIdp();
             }
             bundleCtx.registerService(IdpManager.class, IdentityProviderManager.getInstance(), null);
+            bundleCtx.registerService(CacheWarmUpTask.class, new IdPCacheWarmUpTask(), null);
 
             ServiceRegistration idpClaimMetadataMgtListener =
                     bundleCtx.registerService(ClaimMetadataMgtListener.class.getName(),
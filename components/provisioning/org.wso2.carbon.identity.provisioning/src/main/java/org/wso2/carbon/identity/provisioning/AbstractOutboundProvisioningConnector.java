@@ -27,6 +27,7 @@ import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.user.core.UserCoreConstants;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,39 @@ public abstract class AbstractOutboundProvisioningConnector implements Serializa
     public abstract ProvisionedIdentifier provision(ProvisioningEntity provisioningEntity)
             throws IdentityProvisioningException;
 
+    /**
+     * Provision a batch of entities. The default implementation provisions the entities one by one. Connectors of
+     * identity providers which accept bulk requests should override this along with
+     * {@link #isBatchProvisioningSupported()}.
+     *
+     * @param provisioningEntities Entities to be provisioned, in the order the operations happened.
+     * @return Result of each entity, in the same order as the given entities.
+     */
+    public List<ProvisioningResult> provisionBatch(List<ProvisioningEntity> provisioningEntities) {
+
+        List<ProvisioningResult> results = new ArrayList<>(provisioningEntities.size());
+        for (ProvisioningEntity provisioningEntity : provisioningEntities) {
+            try {
+                results.add(ProvisioningResult.success(provisioningEntity, provision(provisioningEntity)));
+            } catch (IdentityProvisioningException e) {
+                results.add(ProvisioningResult.failure(provisioningEntity, e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Override only if needed - return true if {@link #provisionBatch(List)} sends the entities to the identity
+     * provider in bulk, so that the non-blocking provisioning operations of this connector are coalesced into
+     * batches.
+     *
+     * @return Whether the connector provisions batches in bulk.
+     */
+    public boolean isBatchProvisioningSupported() {
+
+        return false;
+    }
+
     /**
      * override only if needed - if claims are controlled by the identity provider, this will return
      * null. If it is connector specific this must return the corresponding claim dialect.
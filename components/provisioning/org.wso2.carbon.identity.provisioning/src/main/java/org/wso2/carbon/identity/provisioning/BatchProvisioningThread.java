@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.provisioning.dao.CacheBackedProvisioningMgtDAO;
+import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+import org.wso2.carbon.user.api.UserStoreException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.wso2.carbon.identity.provisioning.ProvisioningUtil.isUserTenantBasedOutboundProvisioningEnabled;
+
+/**
+ * Provisions the entities of several {@link ProvisioningThread}s of the same connector with a single
+ * {@link AbstractOutboundProvisioningConnector#provisionBatch(List)} call, and records the provisioned identifiers in
+ * bulk.
+ */
+public class BatchProvisioningThread implements Callable<Boolean> {
+
+    private static final Log log = LogFactory.getLog(BatchProvisioningThread.class);
+
+    private final List<ProvisioningThread> provisioningTasks;
+
+    /**
+     * @param provisioningTasks Provisioning tasks of the same tenant, identity provider and connector type, in the
+     *                          order the operations happened.
+     */
+    public BatchProvisioningThread(List<ProvisioningThread> provisioningTasks) {
+
+        if (provisioningTasks.isEmpty()) {
+            throw new IllegalArgumentException("A provisioning batch should have at least one provisioning task.");
+        }
+        this.provisioningTasks = provisioningTasks;
+    }
+
+    @Override
+    public Boolean call() throws IdentityProvisioningException {
+
+        ProvisioningThread firstTask = provisioningTasks.get(0);
+        AbstractOutboundProvisioningConnector connector = firstTask.getConnector();
+        String tenantDomainName = firstTask.getTenantDomainName();
+        String provisioningEntityTenantDomainName = firstTask.getProvisioningEntityTenantDomainName();
+        boolean isUserTenantBasedOutboundProvisioningEnabled = isUserTenantBasedOutboundProvisioningEnabled();
+
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            if (isUserTenantBasedOutboundProvisioningEnabled && provisioningEntityTenantDomainName != null) {
+                PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                        .setTenantDomain(provisioningEntityTenantDomainName, true);
+            } else {
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomainName, true);
+            }
+
+            List<ProvisioningEntity> provisioningEntities = new ArrayList<>(provisioningTasks.size());
+            for (ProvisioningThread provisioningTask : provisioningTasks) {
+                ProvisioningEntity provisioningEntity = provisioningTask.getProvisioningEntity();
+                /* Skip outbound provisioning triggered for JIT provisioning flow, where the JIT outbound is disabled
+                   for the configured connector. */
+                if (provisioningEntity.isJitProvisioning() && !connector.isJitProvisioningEnabled()) {
+                    continue;
+                }
+                provisioningEntities.add(provisioningEntity);
+            }
+            if (provisioningEntities.isEmpty()) {
+                return true;
+            }
+
+            // real provisioning happens now.
+            List<ProvisioningResult> results = connector.provisionBatch(provisioningEntities);
+            if (results == null || results.size() != provisioningEntities.size()) {
+                throw new IdentityProvisioningException("Connector " + firstTask.getConnectorType() + " returned " +
+                        (results == null ? 0 : results.size()) + " results for a batch of " +
+                        provisioningEntities.size() + " entities.");
+            }
+            return recordResults(results, firstTask.getDao(), firstTask.getIdPName(), firstTask.getConnectorType(),
+                    tenantDomainName);
+        } catch (Exception e) {
+            String errMsg = " Batch provisioning of " + provisioningTasks.size() + " entities through identity " +
+                    "provider " + firstTask.getIdPName();
+            log.error(errMsg, e);
+            throw new IdentityProvisioningException(errMsg, e);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+
+            if (isUserTenantBasedOutboundProvisioningEnabled && provisioningEntityTenantDomainName != null) {
+                PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                        .setTenantDomain(provisioningEntityTenantDomainName, true);
+            } else if (tenantDomainName != null) {
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomainName, true);
+            }
+        }
+    }
+
+    /**
+     * Record the provisioned identifiers of the successfully provisioned entities. Consecutive additions and
+     * deletions are written in bulk, while keeping the order of the operations on the same entity.
+     */
+    private boolean recordResults(List<ProvisioningResult> results, CacheBackedProvisioningMgtDAO dao, String idPName,
+                                  String connectorType, String tenantDomainName)
+            throws IdentityApplicationManagementException, UserStoreException {
+
+        int tenantId = IdPManagementUtil.getTenantIdOfDomain(tenantDomainName);
+        List<ProvisioningEntity> addedEntities = new ArrayList<>();
+        List<ProvisioningEntity> deletedEntities = new ArrayList<>();
+        boolean success = true;
+
+        for (ProvisioningResult result : results) {
+            ProvisioningEntity provisioningEntity = result.getProvisioningEntity();
+            if (!result.isSuccess()) {
+                success = false;
+                log.error(" Provisioning for Entity " + provisioningEntity.getEntityName() + " For operation = " +
+                        provisioningEntity.getOperation(), result.getError());
+                continue;
+            }
+
+            if (provisioningEntity.getOperation() == ProvisioningOperation.DELETE) {
+                flush(dao, idPName, connectorType, addedEntities, true, tenantId, tenantDomainName);
+                deletedEntities.add(provisioningEntity);
+            } else if (provisioningEntity.getOperation() == ProvisioningOperation.POST) {
+                flush(dao, idPName, connectorType, deletedEntities, false, tenantId, tenantDomainName);
+                ProvisionedIdentifier provisionedIdentifier = result.getProvisionedIdentifier();
+                if (provisionedIdentifier == null || provisionedIdentifier.getIdentifier() == null) {
+                    provisionedIdentifier = new ProvisionedIdentifier();
+                    provisionedIdentifier.setIdentifier(UUID.randomUUID().toString());
+                }
+                provisioningEntity.setIdentifier(provisionedIdentifier);
+                addedEntities.add(provisioningEntity);
+            } else if (provisioningEntity.getEntityType() == ProvisioningEntityType.GROUP &&
+                    provisioningEntity.getOperation() == ProvisioningOperation.PUT) {
+                String newGroupName = ProvisioningUtil.getAttributeValue(provisioningEntity,
+                        IdentityProvisioningConstants.NEW_GROUP_NAME_CLAIM_URI);
+                if (newGroupName != null) {
+                    flush(dao, idPName, connectorType, addedEntities, true, tenantId, tenantDomainName);
+                    flush(dao, idPName, connectorType, deletedEntities, false, tenantId, tenantDomainName);
+                    // update provisioned entity name for future reference. this is applicable for only
+                    // group name update
+                    dao.updateProvisionedEntityName(provisioningEntity);
+                }
+            }
+        }
+        flush(dao, idPName, connectorType, addedEntities, true, tenantId, tenantDomainName);
+        flush(dao, idPName, connectorType, deletedEntities, false, tenantId, tenantDomainName);
+        return success;
+    }
+
+    private void flush(CacheBackedProvisioningMgtDAO dao, String idPName, String connectorType,
+                       List<ProvisioningEntity> provisioningEntities, boolean add, int tenantId,
+                       String tenantDomainName) throws IdentityApplicationManagementException {
+
+        if (provisioningEntities.isEmpty()) {
+            return;
+        }
+        if (add) {
+            dao.addProvisioningEntities(idPName, connectorType, provisioningEntities, tenantId, tenantDomainName);
+        } else {
+            dao.deleteProvisioningEntities(idPName, connectorType, provisioningEntities, tenantId, tenantDomainName);
+        }
+        provisioningEntities.clear();
+    }
+}
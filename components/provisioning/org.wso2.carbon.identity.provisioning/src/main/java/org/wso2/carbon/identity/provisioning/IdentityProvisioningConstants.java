@@ -50,6 +50,25 @@ public class IdentityProvisioningConstants {
     public static final String USE_USER_TENANT_DOMAIN_FOR_OUTBOUND_PROVISIONING_IN_SAAS_APPS = "OutboundProvisioning.useUserTenantDomainInSaasApps";
     public static final String APPLICATION_BASED_OUTBOUND_PROVISIONING_ENABLED = "OutboundProvisioning.enableApplicationBasedOutboundProvisioning";
     public static final String FAIL_ON_BLOCKING_OUTBOUND_PROVISION_FAILURE = "OutboundProvisioning.FailOnBlockingOutboundProvisionFailure";
+    public static final String OUTBOUND_PROVISIONING_EXECUTOR_POOL_SIZE = "OutboundProvisioning.Executor.PoolSize";
+    public static final String OUTBOUND_PROVISIONING_EXECUTOR_QUEUE_CAPACITY = "OutboundProvisioning.Executor.QueueCapacity";
+    public static final String OUTBOUND_PROVISIONING_EXECUTOR_MAX_CONCURRENCY_PER_CONNECTOR =
+            "OutboundProvisioning.Executor.MaxConcurrencyPerConnector";
+    public static final String OUTBOUND_PROVISIONING_EXECUTOR_TASK_TIMEOUT = "OutboundProvisioning.Executor.TaskTimeout";
+    public static final String OUTBOUND_PROVISIONING_EXECUTOR_OFFER_TIMEOUT = "OutboundProvisioning.Executor.OfferTimeout";
+    public static final String OUTBOUND_PROVISIONING_BATCH_ENABLE = "OutboundProvisioning.Batch.Enable";
+    public static final String OUTBOUND_PROVISIONING_BATCH_SIZE = "OutboundProvisioning.Batch.BatchSize";
+    public static final String OUTBOUND_PROVISIONING_BATCH_MAX_WAIT_TIME = "OutboundProvisioning.Batch.MaxWaitTime";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_ENABLE = "OutboundProvisioning.Outbox.Enable";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_POLL_INTERVAL = "OutboundProvisioning.Outbox.PollInterval";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_BATCH_SIZE = "OutboundProvisioning.Outbox.BatchSize";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_MAX_ATTEMPTS = "OutboundProvisioning.Outbox.MaxAttempts";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_INITIAL_BACKOFF =
+            "OutboundProvisioning.Outbox.InitialBackoff";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_MAX_BACKOFF = "OutboundProvisioning.Outbox.MaxBackoff";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_CLAIM_TIMEOUT = "OutboundProvisioning.Outbox.ClaimTimeout";
+    public static final String OUTBOUND_PROVISIONING_OUTBOX_FAILED_RETENTION =
+            "OutboundProvisioning.Outbox.FailedRetention";
 
     public static class SQLQueries {
 
@@ -79,6 +98,36 @@ public class IdentityProvisioningConstants {
                                                                                     "AND APP.TENANT_ID = PC.TENANT_ID" +
                                                                                     " AND APP.TENANT_ID = ?";
 
+        public static final String ADD_OUTBOX_ENTRY_SQL = "INSERT INTO IDP_PROVISIONING_OUTBOX " +
+                "(IDEMPOTENCY_KEY, TENANT_ID, SP_TENANT_DOMAIN, ENTITY_TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, " +
+                "ORDERING_KEY, PAYLOAD, STATUS, ATTEMPTS, NEXT_ATTEMPT_TIME, CREATED_TIME) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+        // An entry is due only when no older entry with the same ordering key is still waiting to be delivered.
+        public static final String GET_DUE_OUTBOX_ENTRIES_SQL = "SELECT O.ID, O.IDEMPOTENCY_KEY, " +
+                "O.SP_TENANT_DOMAIN, O.ENTITY_TENANT_DOMAIN, O.IDP_NAME, O.CONNECTOR_TYPE, O.PAYLOAD, O.ATTEMPTS " +
+                "FROM IDP_PROVISIONING_OUTBOX O WHERE O.STATUS = ? AND O.NEXT_ATTEMPT_TIME <= ? AND NOT EXISTS " +
+                "(SELECT 1 FROM IDP_PROVISIONING_OUTBOX P WHERE P.ORDERING_KEY = O.ORDERING_KEY AND P.ID < O.ID " +
+                "AND P.STATUS <> ?) ORDER BY O.ID";
+
+        public static final String CLAIM_OUTBOX_ENTRY_SQL = "UPDATE IDP_PROVISIONING_OUTBOX SET STATUS = ?, " +
+                "CLAIMED_BY = ?, CLAIM_TIME = ? WHERE ID = ? AND STATUS = ?";
+
+        public static final String RELEASE_EXPIRED_OUTBOX_CLAIMS_SQL = "UPDATE IDP_PROVISIONING_OUTBOX SET " +
+                "STATUS = ?, CLAIMED_BY = NULL, CLAIM_TIME = NULL WHERE STATUS = ? AND CLAIM_TIME < ?";
+
+        // The result of a delivery is recorded only by the node which still holds the claim of the entry.
+        public static final String RESCHEDULE_OUTBOX_ENTRY_SQL = "UPDATE IDP_PROVISIONING_OUTBOX SET STATUS = ?, " +
+                "ATTEMPTS = ?, NEXT_ATTEMPT_TIME = ?, LAST_ERROR = ?, CLAIMED_BY = NULL, CLAIM_TIME = NULL " +
+                "WHERE ID = ? AND CLAIMED_BY = ? AND STATUS = ?";
+
+        public static final String DELETE_OUTBOX_ENTRY_SQL = "DELETE FROM IDP_PROVISIONING_OUTBOX WHERE ID = ? AND " +
+                "CLAIMED_BY = ? AND STATUS = ?";
+
+        // The next attempt time of a failed entry is the time it failed.
+        public static final String DELETE_FAILED_OUTBOX_ENTRIES_SQL = "DELETE FROM IDP_PROVISIONING_OUTBOX WHERE " +
+                "STATUS = ? AND NEXT_ATTEMPT_TIME < ?";
+
         private SQLQueries(){}
     }
 
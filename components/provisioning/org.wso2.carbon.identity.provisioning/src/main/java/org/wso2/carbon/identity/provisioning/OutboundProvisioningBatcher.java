@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the non-blocking provisioning operations of connectors which support batch provisioning. Operations of
+ * the same tenant, identity provider and connector type are collected until the batch size is reached or the
+ * first operation has waited for the maximum wait time, and are then run as one {@link BatchProvisioningThread} on
+ * the {@link OutboundProvisioningExecutor}.
+ */
+public class OutboundProvisioningBatcher {
+
+    private static final Log log = LogFactory.getLog(OutboundProvisioningBatcher.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_WAIT_TIME = 100;
+
+    private final OutboundProvisioningExecutor executor;
+    private final int batchSize;
+    private final long maxWaitTime;
+    private final ScheduledThreadPoolExecutor flushScheduler;
+    private final Map<String, Batch> pendingBatches = new HashMap<>();
+    private boolean running = true;
+
+    /**
+     * @param executor    Executor which runs the batches.
+     * @param batchSize   Maximum number of operations in a batch.
+     * @param maxWaitTime Maximum time in milliseconds an operation waits for its batch to fill.
+     */
+    public OutboundProvisioningBatcher(OutboundProvisioningExecutor executor, int batchSize, long maxWaitTime) {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbound provisioning batch size should be positive.");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxWaitTime = Math.max(maxWaitTime, 0);
+        this.flushScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "OutboundProvisioningBatchFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Check whether batching of outbound provisioning operations is enabled in identity.xml.
+     *
+     * @return True if OutboundProvisioning.Batch.Enable is true.
+     */
+    public static boolean isBatchProvisioningEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_BATCH_ENABLE));
+    }
+
+    /**
+     * Create an outbound provisioning batcher from the OutboundProvisioning.Batch configuration of identity.xml.
+     *
+     * @param executor Executor which runs the batches.
+     * @return Outbound provisioning batcher.
+     */
+    public static OutboundProvisioningBatcher build(OutboundProvisioningExecutor executor) {
+
+        int batchSize = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_BATCH_SIZE;
+        }
+        int maxWaitTime = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_BATCH_MAX_WAIT_TIME, DEFAULT_MAX_WAIT_TIME);
+        if (log.isDebugEnabled()) {
+            log.debug("Outbound provisioning batches are limited to " + batchSize + " operations and " +
+                    maxWaitTime + "ms.");
+        }
+        return new OutboundProvisioningBatcher(executor, batchSize, maxWaitTime);
+    }
+
+    /**
+     * Add a provisioning operation to the batch of its connector.
+     *
+     * @param provisioningTask Provisioning operation.
+     * @param failureHandler   Handler of the failure of the operation, if its batch throws or is discarded.
+     */
+    public void add(ProvisioningThread provisioningTask, OutboundProvisioningExecutor.FailureHandler failureHandler) {
+
+        final String batchKey = provisioningTask.getTenantDomainName() + ":" +
+                provisioningTask.getProvisioningEntityTenantDomainName() + ":" + provisioningTask.getIdPName() + ":" +
+                provisioningTask.getConnectorType();
+        Batch readyBatch = null;
+        synchronized (this) {
+            if (!running) {
+                readyBatch = new Batch(1);
+                readyBatch.add(provisioningTask, failureHandler);
+            } else {
+                Batch batch = pendingBatches.get(batchKey);
+                if (batch == null) {
+                    batch = new Batch(Math.min(batchSize, 16));
+                    pendingBatches.put(batchKey, batch);
+                    if (batchSize > 1) {
+                        scheduleFlush(batchKey, batch);
+                    }
+                }
+                batch.add(provisioningTask, failureHandler);
+                if (batch.size() >= batchSize) {
+                    pendingBatches.remove(batchKey);
+                    readyBatch = batch;
+                }
+            }
+        }
+        if (readyBatch != null) {
+            submit(readyBatch);
+        }
+    }
+
+    /**
+     * Submit the pending batches and stop the flush scheduler. The executor should be shut down afterwards, so it
+     * runs the submitted batches before stopping.
+     */
+    public void shutdown() {
+
+        List<Batch> batches;
+        synchronized (this) {
+            running = false;
+            batches = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+        }
+        flushScheduler.shutdownNow();
+        for (Batch batch : batches) {
+            submit(batch);
+        }
+    }
+
+    private void scheduleFlush(final String batchKey, final Batch batch) {
+
+        flushScheduler.schedule(() -> {
+            boolean flush;
+            synchronized (this) {
+                flush = pendingBatches.get(batchKey) == batch;
+                if (flush) {
+                    pendingBatches.remove(batchKey);
+                }
+            }
+            if (flush) {
+                submit(batch);
+            }
+        }, maxWaitTime, TimeUnit.MILLISECONDS);
+    }
+
+    private void submit(final Batch batch) {
+
+        ProvisioningThread firstTask = batch.provisioningTasks.get(0);
+        if (log.isDebugEnabled()) {
+            log.debug("Submitting a batch of " + batch.size() + " provisioning operations for identity provider: " +
+                    firstTask.getIdPName() + " and connector: " + firstTask.getConnectorType());
+        }
+        // Batches of a connector run one at a time, so operations on the same entity keep their order.
+        executor.submitOrdered(firstTask.getTenantDomainName(), firstTask.getIdPName(), firstTask.getConnectorType(),
+                new BatchProvisioningThread(batch.provisioningTasks), e -> {
+                    for (OutboundProvisioningExecutor.FailureHandler failureHandler : batch.failureHandlers) {
+                        failureHandler.handleFailure(e);
+                    }
+                });
+    }
+
+    /**
+     * Provisioning operations of a batch with the handlers of their failures.
+     */
+    private static final class Batch {
+
+        private final List<ProvisioningThread> provisioningTasks;
+        private final List<OutboundProvisioningExecutor.FailureHandler> failureHandlers;
+
+        Batch(int initialCapacity) {
+
+            this.provisioningTasks = new ArrayList<>(initialCapacity);
+            this.failureHandlers = new ArrayList<>(initialCapacity);
+        }
+
+        void add(ProvisioningThread provisioningTask, OutboundProvisioningExecutor.FailureHandler failureHandler) {
+
+            provisioningTasks.add(provisioningTask);
+            failureHandlers.add(failureHandler);
+        }
+
+        int size() {
+
+            return provisioningTasks.size();
+        }
+    }
+}
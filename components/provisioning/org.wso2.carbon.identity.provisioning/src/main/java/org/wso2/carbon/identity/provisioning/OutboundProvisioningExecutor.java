@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.BoundedWorkQueue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived executor for non-blocking outbound provisioning.
+ * <p>
+ * Each outbound connector of a tenant, identified by the tenant domain, identity provider name and connector type,
+ * has its own {@link BoundedWorkQueue} and a limit on the number of provisioning calls running concurrently against it.
+ * All queues are served by a shared pool of worker threads, which yield to the other queues after a few tasks, so a
+ * busy tenant or a slow identity provider cannot starve the others.
+ * <p>
+ * When a connector queue is full, the publisher waits up to the configured offer timeout for space and then runs the
+ * provisioning task itself. This slows down inbound provisioning, such as bulk user imports through
+ * {@link org.wso2.carbon.identity.provisioning.listener.DefaultInboundUserProvisioningListener}, to the rate the
+ * outbound identity providers can take instead of growing the heap.
+ * <p>
+ * A task which throws, including a task interrupted after the optional task timeout, or which is discarded without
+ * running, is reported to the {@link FailureHandler} it was submitted with.
+ */
+public class OutboundProvisioningExecutor {
+
+    private static final Log log = LogFactory.getLog(OutboundProvisioningExecutor.class);
+
+    private static final int DEFAULT_THREAD_POOL_SIZE = 20;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final int DEFAULT_MAX_CONCURRENCY_PER_CONNECTOR = 4;
+    private static final int DEFAULT_TASK_TIMEOUT = 0;
+    private static final int DEFAULT_OFFER_TIMEOUT = 1000;
+    // Number of tasks a worker runs from a connector queue before yielding to the other queues.
+    private static final int MAX_TASKS_PER_DRAIN = 8;
+    // Time in milliseconds the queued tasks are given to complete on shutdown.
+    private static final long SHUTDOWN_TIMEOUT = 10000;
+    private static final String ORDERED_QUEUE_SUFFIX = ":ordered";
+
+    private final int queueCapacity;
+    private final int maxConcurrencyPerConnector;
+    private final long taskTimeoutNanos;
+    private final long offerTimeout;
+    private final ThreadPoolExecutor workerPool;
+    private final ScheduledThreadPoolExecutor timeoutMonitor;
+    private final ConcurrentMap<String, ConnectorQueue> connectorQueues = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    /**
+     * Create an outbound provisioning executor.
+     *
+     * @param threadPoolSize             Number of worker threads.
+     * @param queueCapacity              Maximum number of queued tasks per connector.
+     * @param maxConcurrencyPerConnector Maximum number of tasks running concurrently per connector.
+     * @param taskTimeout                Maximum time in milliseconds a task may take from submission to completion.
+     *                                   Zero or negative disables the timeout.
+     * @param offerTimeout               Maximum time in milliseconds a publisher waits for space in a full queue
+     *                                   before running the task itself.
+     */
+    public OutboundProvisioningExecutor(int threadPoolSize, int queueCapacity, int maxConcurrencyPerConnector,
+                                        long taskTimeout, long offerTimeout) {
+
+        if (threadPoolSize <= 0 || queueCapacity <= 0 || maxConcurrencyPerConnector <= 0) {
+            throw new IllegalArgumentException("Thread pool size, queue capacity and concurrency of the outbound " +
+                    "provisioning executor should be positive.");
+        }
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrencyPerConnector = maxConcurrencyPerConnector;
+        this.taskTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(taskTimeout, 0));
+        this.offerTimeout = Math.max(offerTimeout, 0);
+        this.workerPool = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("OutboundProvisioningWorker"));
+        this.timeoutMonitor = new ScheduledThreadPoolExecutor(1,
+                new NamedThreadFactory("OutboundProvisioningTimeoutMonitor"));
+        this.timeoutMonitor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Create an outbound provisioning executor from the OutboundProvisioning.Executor configuration of identity.xml.
+     *
+     * @return Outbound provisioning executor.
+     */
+    public static OutboundProvisioningExecutor build() {
+
+        int threadPoolSize = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_EXECUTOR_POOL_SIZE, DEFAULT_THREAD_POOL_SIZE);
+        int queueCapacity = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_EXECUTOR_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        int maxConcurrency = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_EXECUTOR_MAX_CONCURRENCY_PER_CONNECTOR,
+                DEFAULT_MAX_CONCURRENCY_PER_CONNECTOR);
+        long taskTimeout = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_EXECUTOR_TASK_TIMEOUT, DEFAULT_TASK_TIMEOUT);
+        long offerTimeout = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_EXECUTOR_OFFER_TIMEOUT, DEFAULT_OFFER_TIMEOUT);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Outbound provisioning executor configured with " + threadPoolSize + " threads, queue " +
+                    "capacity: " + queueCapacity + ", max concurrency per connector: " + maxConcurrency +
+                    ", task timeout: " + taskTimeout + "ms and offer timeout: " + offerTimeout + "ms");
+        }
+        return new OutboundProvisioningExecutor(threadPoolSize, queueCapacity, maxConcurrency, taskTimeout,
+                offerTimeout);
+    }
+
+    /**
+     * Queue a provisioning task of a connector.
+     *
+     * @param tenantDomain   Tenant domain the connector belongs to.
+     * @param idPName        Name of the outbound identity provider.
+     * @param connectorType  Type of the outbound provisioning connector.
+     * @param task           Provisioning task.
+     * @param failureHandler Handler of the failure of the task, if it throws or is discarded without running.
+     */
+    public void submit(String tenantDomain, String idPName, String connectorType, Callable<Boolean> task,
+                       FailureHandler failureHandler) {
+
+        submit(tenantDomain + ":" + idPName + ":" + connectorType, maxConcurrencyPerConnector, task, failureHandler);
+    }
+
+    /**
+     * Queue a provisioning task of a connector which runs only after the earlier ordered tasks of the connector have
+     * completed, such as the batches of a connector, which may hold operations on the same entities.
+     *
+     * @param tenantDomain   Tenant domain the connector belongs to.
+     * @param idPName        Name of the outbound identity provider.
+     * @param connectorType  Type of the outbound provisioning connector.
+     * @param task           Provisioning task.
+     * @param failureHandler Handler of the failure of the task, if it throws or is discarded without running.
+     */
+    public void submitOrdered(String tenantDomain, String idPName, String connectorType, Callable<Boolean> task,
+                              FailureHandler failureHandler) {
+
+        submit(tenantDomain + ":" + idPName + ":" + connectorType + ORDERED_QUEUE_SUFFIX, 1, task, failureHandler);
+    }
+
+    private void submit(String connectorKey, int maxConcurrency, Callable<Boolean> task,
+                        FailureHandler failureHandler) {
+
+        ConnectorQueue connectorQueue = connectorQueues.get(connectorKey);
+        if (connectorQueue == null) {
+            ConnectorQueue newConnectorQueue = new ConnectorQueue(connectorKey, maxConcurrency);
+            connectorQueue = connectorQueues.putIfAbsent(connectorKey, newConnectorQueue);
+            if (connectorQueue == null) {
+                connectorQueue = newConnectorQueue;
+            }
+        }
+        ProvisioningTask provisioningTask = new ProvisioningTask(task, failureHandler);
+        if (!running || !connectorQueue.offer(0, provisioningTask, false)) {
+            // The executor is shut down.
+            run(provisioningTask, connectorKey, connectorQueue.metrics, true);
+        }
+    }
+
+    /**
+     * Get the metrics of the connector queues, keyed by tenant domain, identity provider name and connector type
+     * separated by ':'. The queue of the ordered tasks of a connector has the additional suffix ':ordered'.
+     *
+     * @return Metrics of each connector which tasks were submitted to.
+     */
+    public Map<String, ProvisioningConnectorMetrics> getMetrics() {
+
+        Map<String, ProvisioningConnectorMetrics> metrics = new LinkedHashMap<>();
+        for (ConnectorQueue connectorQueue : connectorQueues.values()) {
+            metrics.put(connectorQueue.connectorKey, connectorQueue.metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Give the queued tasks up to ten seconds to complete, then stop the worker threads. Tasks which are still queued
+     * are discarded and reported to their failure handlers.
+     */
+    public void shutdown() {
+
+        shutdown(SHUTDOWN_TIMEOUT);
+    }
+
+    /**
+     * Give the queued tasks up to the given time to complete, then stop the worker threads. Tasks which are still
+     * queued are discarded and reported to their failure handlers.
+     *
+     * @param timeout Maximum time in milliseconds to wait for the queued tasks.
+     */
+    public void shutdown(long timeout) {
+
+        long deadline = System.currentTimeMillis() + Math.max(timeout, 0);
+        try {
+            for (ConnectorQueue connectorQueue : connectorQueues.values()) {
+                if (!connectorQueue.awaitIdle(deadline - System.currentTimeMillis())) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        running = false;
+        List<ProvisioningTask> discardedTasks = new ArrayList<>();
+        for (ConnectorQueue connectorQueue : connectorQueues.values()) {
+            discardedTasks.addAll(connectorQueue.shutdown());
+        }
+        workerPool.shutdownNow();
+        timeoutMonitor.shutdownNow();
+        if (!discardedTasks.isEmpty()) {
+            log.warn(discardedTasks.size() + " queued outbound provisioning tasks are discarded as the outbound " +
+                    "provisioning executor is shutting down.");
+        }
+        for (ProvisioningTask task : discardedTasks) {
+            task.fail(new IdentityProvisioningException("Outbound provisioning executor is shut down before the " +
+                    "provisioning task was executed."));
+        }
+    }
+
+    private void run(final ProvisioningTask task, String connectorKey, ProvisioningConnectorMetrics metrics,
+                     boolean inCallerThread) {
+
+        long startTime = System.nanoTime();
+        ScheduledFuture<?> timeoutFuture = null;
+        if (taskTimeoutNanos > 0 && !inCallerThread) {
+            final Thread worker = Thread.currentThread();
+            long remainingNanos = Math.max(taskTimeoutNanos - (startTime - task.submittedTime), 0);
+            timeoutFuture = timeoutMonitor.schedule(new Runnable() {
+                @Override
+                public void run() {
+
+                    task.interruptIfRunning(worker);
+                }
+            }, remainingNanos, TimeUnit.NANOSECONDS);
+        }
+
+        boolean success = false;
+        Exception error = null;
+        try {
+            task.start();
+            success = Boolean.TRUE.equals(task.callable.call());
+        } catch (Exception e) {
+            error = e;
+        } finally {
+            boolean timedOut = task.finish();
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            if (!inCallerThread) {
+                // Do not leak an interrupt raised for this task to the next task of the worker.
+                Thread.interrupted();
+            }
+            if (timedOut) {
+                metrics.recordTimedOut();
+                log.warn("Outbound provisioning task of connector " + connectorKey + " exceeded the timeout of " +
+                        TimeUnit.NANOSECONDS.toMillis(taskTimeoutNanos) + "ms and was interrupted.");
+            }
+            metrics.recordCompleted(System.nanoTime() - startTime, success && !timedOut);
+        }
+        if (error != null) {
+            task.fail(error);
+        }
+    }
+
+    /**
+     * Bounded queue of the provisioning tasks of a connector, served by up to the given number of workers.
+     */
+    private final class ConnectorQueue extends BoundedWorkQueue<ProvisioningTask> {
+
+        private final String connectorKey;
+        private final ProvisioningConnectorMetrics metrics = new ProvisioningConnectorMetrics();
+
+        ConnectorQueue(String connectorKey, int maxConcurrency) {
+
+            super(workerPool, queueCapacity, 1, maxConcurrency, true,
+                    offerTimeout, OverflowPolicy.CALLER_RUNS, MAX_TASKS_PER_DRAIN);
+            this.connectorKey = connectorKey;
+        }
+
+        @Override
+        protected void process(ProvisioningTask task, boolean inCallerThread) {
+
+            if (inCallerThread) {
+                metrics.recordCallerRuns();
+                if (log.isDebugEnabled()) {
+                    log.debug("Queue of outbound provisioning connector " + connectorKey + " is full. Running the " +
+                            "provisioning task in the calling thread.");
+                }
+            } else if (taskTimeoutNanos > 0 && System.nanoTime() - task.submittedTime > taskTimeoutNanos) {
+                String message = "Outbound provisioning task of connector " + connectorKey + " waited longer " +
+                        "than the timeout of " + TimeUnit.NANOSECONDS.toMillis(taskTimeoutNanos) + "ms in the " +
+                        "queue and is discarded.";
+                metrics.recordTimedOut();
+                log.warn(message);
+                task.fail(new IdentityProvisioningException(message));
+                return;
+            }
+            run(task, connectorKey, metrics, inCallerThread);
+        }
+
+        @Override
+        protected void onQueueDepthChanged(int queueDepth) {
+
+            metrics.setQueueDepth(queueDepth);
+        }
+    }
+
+    /**
+     * Handler of the failure of a provisioning task.
+     */
+    public interface FailureHandler {
+
+        /**
+         * Handle a provisioning task which threw an exception, including a task interrupted on timeout, or which was
+         * discarded without running.
+         *
+         * @param e Cause of the failure.
+         */
+        void handleFailure(Exception e);
+    }
+
+    /**
+     * Provisioning task with the state needed to interrupt it on timeout.
+     */
+    private static final class ProvisioningTask {
+
+        private final Callable<Boolean> callable;
+        private final FailureHandler failureHandler;
+        private final long submittedTime = System.nanoTime();
+        private boolean running;
+        private boolean timedOut;
+
+        ProvisioningTask(Callable<Boolean> callable, FailureHandler failureHandler) {
+
+            this.callable = callable;
+            this.failureHandler = failureHandler;
+        }
+
+        void fail(Exception e) {
+
+            try {
+                failureHandler.handleFailure(e);
+            } catch (RuntimeException handlerError) {
+                log.error("Error while handling the failure of an outbound provisioning task.", handlerError);
+            }
+        }
+
+        synchronized void start() {
+
+            running = true;
+        }
+
+        synchronized boolean finish() {
+
+            running = false;
+            return timedOut;
+        }
+
+        synchronized void interruptIfRunning(Thread worker) {
+
+            if (running) {
+                timedOut = true;
+                worker.interrupt();
+            }
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        NamedThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
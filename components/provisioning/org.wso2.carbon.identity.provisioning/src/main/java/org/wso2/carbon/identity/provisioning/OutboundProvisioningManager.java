@@ -19,7 +19,6 @@
 package org.wso2.carbon.identity.provisioning;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -70,7 +69,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.CONSOLE_APPLICATION_NAME;
@@ -268,6 +266,41 @@ public class OutboundProvisioningManager {
 
         // get identity provider configuration.
         fIdP = IdentityProviderManager.getInstance().getEnabledIdPByName(idpName, tenantDomainName);
+        return getOutboundProvisioningConnector(idpName, fIdP, connectorType, registeredConnectorFactories,
+                tenantDomainName, enableJitProvisioning);
+    }
+
+    /**
+     * Get the runtime connector of an outbound provisioning operation recorded in the
+     * {@link OutboundProvisioningOutbox}.
+     *
+     * @param idpName          Name of the outbound identity provider.
+     * @param connectorType    Type of the provisioning connector.
+     * @param tenantDomainName Tenant domain of the service provider which triggered the operation.
+     * @return Provisioning connector, or null if the connector is no longer enabled.
+     * @throws IdentityProvisioningException If the identity provider could not be read.
+     */
+    AbstractOutboundProvisioningConnector getOutboundProvisioningConnector(String idpName, String connectorType,
+                                                                           String tenantDomainName)
+            throws IdentityProvisioningException {
+
+        try {
+            IdentityProvider fIdP = IdentityProviderManager.getInstance().getEnabledIdPByName(idpName,
+                    tenantDomainName);
+            boolean enableJitProvisioning = fIdP != null && fIdP.getJustInTimeProvisioningConfig() != null
+                    && fIdP.getJustInTimeProvisioningConfig().isProvisioningEnabled();
+            return getOutboundProvisioningConnector(idpName, fIdP, connectorType,
+                    IdentityProvisionServiceComponent.getConnectorFactories(), tenantDomainName,
+                    enableJitProvisioning);
+        } catch (IdentityProviderManagementException e) {
+            throw new IdentityProvisioningException("Error while retrieving idp configuration for " + idpName, e);
+        }
+    }
+
+    private AbstractOutboundProvisioningConnector getOutboundProvisioningConnector(
+            String idpName, IdentityProvider fIdP, String connectorType,
+            Map<String, AbstractProvisioningConnectorFactory> registeredConnectorFactories,
+            String tenantDomainName, boolean enableJitProvisioning) throws IdentityProvisioningException {
 
         if (fIdP == null) {
             // This is an exceptional situation. If service provider has connected to an
@@ -395,12 +428,6 @@ public class OutboundProvisioningManager {
 
             ProvisioningEntity outboundProEntity;
 
-            ExecutorService executors = null;
-
-            if (MapUtils.isNotEmpty(connectors)) {
-                executors = Executors.newFixedThreadPool(connectors.size());
-            }
-
             for (Iterator<Entry<String, RuntimeProvisioningConfig>> iterator = connectors
                     .entrySet().iterator(); iterator.hasNext(); ) {
 
@@ -539,7 +566,8 @@ public class OutboundProvisioningManager {
                         outboundProEntity.setIdentifier(provisionedIdentifier);
                         outboundProEntity.setJitProvisioning(jitProvisioning);
                         boolean isBlocking = entry.getValue().isBlocking();
-                        executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                        executeOutboundProvisioning(provisioningEntity, spTenantDomainName, connectorType, idPName, proThread,
+                                    isBlocking);
 
                     }
 
@@ -564,7 +592,8 @@ public class OutboundProvisioningManager {
                             outboundProEntity.setIdentifier(provisionedUserIdentifier);
                             outboundProEntity.setJitProvisioning(jitProvisioning);
                             boolean isBlocking = entry.getValue().isBlocking();
-                            executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                            executeOutboundProvisioning(provisioningEntity, spTenantDomainName, connectorType, idPName, proThread,
+                                    isBlocking);
                         }
                     }
 
@@ -606,16 +635,13 @@ public class OutboundProvisioningManager {
                         }
 
                         if (isAllowed) {
-                            executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                            executeOutboundProvisioning(provisioningEntity, spTenantDomainName, connectorType, idPName, proThread,
+                                    isBlocking);
                         }
                     }
                 }
             }
 
-            if (executors != null) {
-                executors.shutdown();
-            }
-
         } catch (CarbonException | IdentityApplicationManagementException | IdentityProviderManagementException | UserStoreException e) {
             throw new IdentityProvisioningException("Error occurred while checking for user " +
                                                     "provisioning", e);
@@ -654,7 +680,7 @@ public class OutboundProvisioningManager {
         return true;
     }
 
-    private void executeOutboundProvisioning(ProvisioningEntity provisioningEntity, ExecutorService executors,
+    private void executeOutboundProvisioning(ProvisioningEntity provisioningEntity, String spTenantDomainName,
                                              String connectorType,
                                              String idPName, Callable<Boolean> proThread, boolean isBlocking)
             throws IdentityProvisioningException {
@@ -667,18 +693,33 @@ public class OutboundProvisioningManager {
                     //DO not roll back since non-blocking configuration was enabled.
                 }
             } catch (Exception e) {
-                handleException(idPName, connectorType, provisioningEntity, executors, e);
+                handleException(idPName, connectorType, provisioningEntity, null, e);
             }
         } else if (!isBlocking) {
-            executors.submit(proThread);
+            OutboundProvisioningExecutor.FailureHandler failureHandler =
+                    e -> handleException(idPName, connectorType, provisioningEntity, null, e);
+            if (isBatchProvisioningApplicable(proThread)) {
+                ProvisioningServiceDataHolder.getInstance().getOutboundProvisioningBatcher()
+                        .add((ProvisioningThread) proThread, failureHandler);
+            } else if (proThread instanceof ProvisioningThread && OutboundProvisioningOutbox.isOutboxEnabled()) {
+                try {
+                    ProvisioningServiceDataHolder.getInstance().getOutboundProvisioningOutbox()
+                            .add((ProvisioningThread) proThread);
+                } catch (IdentityProvisioningException e) {
+                    log.error("Error while recording the outbound provisioning operation of identity provider: " +
+                            idPName + " in the outbox. Provisioning it without retries.", e);
+                    ProvisioningServiceDataHolder.getInstance().getOutboundProvisioningExecutor()
+                            .submit(spTenantDomainName, idPName, connectorType, proThread, failureHandler);
+                }
+            } else {
+                ProvisioningServiceDataHolder.getInstance().getOutboundProvisioningExecutor()
+                        .submit(spTenantDomainName, idPName, connectorType, proThread, failureHandler);
+            }
         } else {
             try {
 
                 boolean success = proThread.call();
                 if (!success) {
-                    if (executors != null) {
-                        executors.shutdown();
-                    }
                     throw new IdentityProvisioningException
                             (generateMessageOnFailureProvisioningOperation(idPName,
                                                                            connectorType, provisioningEntity));
@@ -688,11 +729,17 @@ public class OutboundProvisioningManager {
                 if (isFailOnBlockingOutBoundProvisionEnabled()) {
                     throw new IdentityProvisioningException(e.getMessage());
                 }
-                handleException(idPName, connectorType, provisioningEntity, executors, e);
+                handleException(idPName, connectorType, provisioningEntity, null, e);
             }
         }
     }
 
+    private boolean isBatchProvisioningApplicable(Callable<Boolean> proThread) {
+
+        return proThread instanceof ProvisioningThread && OutboundProvisioningBatcher.isBatchProvisioningEnabled() &&
+                ((ProvisioningThread) proThread).getConnector().isBatchProvisioningSupported();
+    }
+
     /**
      * When outbound provisioning with blocking mode is enabled for any specific provisioning connector, check whether
      * the flow should break if the outbound provisioning has failed.
@@ -1076,7 +1123,8 @@ public class OutboundProvisioningManager {
      * @param idPName
      * @param connectorType
      * @param provisioningEntity
-     * @param executors
+     * @param executors          Not used. Outbound provisioning tasks run on the shared
+     *                           {@link OutboundProvisioningExecutor}, so null is passed.
      * @param e
      */
     protected void handleException(String idPName, String connectorType, ProvisioningEntity provisioningEntity,
@@ -0,0 +1,588 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.core.util.CryptoException;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.application.common.model.Claim;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.provisioning.dao.CacheBackedProvisioningMgtDAO;
+import org.wso2.carbon.identity.provisioning.dao.ProvisioningManagementDAO;
+import org.wso2.carbon.identity.provisioning.dao.ProvisioningOutboxDAO;
+import org.wso2.carbon.identity.provisioning.dao.ProvisioningOutboxEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Durable queue of non-blocking outbound provisioning operations.
+ * <p>
+ * Operations are recorded in the IDP_PROVISIONING_OUTBOX table by the thread which changes the user store, so an
+ * operation is not lost when the outbound identity provider is down or the node stops before delivering it. A poller
+ * claims the due operations and delivers them through the {@link OutboundProvisioningExecutor}. Failed deliveries are
+ * retried with exponential backoff up to the configured number of attempts, after which the operation is kept with the
+ * FAILED status for the configured retention period. An operation which cannot be read is marked as FAILED right
+ * away. The result of a delivery is recorded only while the delivering node still holds the claim of the operation, so
+ * a delivery which outlives the claim timeout does not overwrite the state of the operation claimed again by another
+ * node. Operations of the same entity on the same connector are delivered one at a time in the order they
+ * were recorded, and every attempt of an operation carries the same
+ * {@link ProvisioningEntity#getIdempotencyKey() idempotency key}.
+ */
+public class OutboundProvisioningOutbox {
+
+    private static final Log log = LogFactory.getLog(OutboundProvisioningOutbox.class);
+
+    private static final int DEFAULT_POLL_INTERVAL = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_ATTEMPTS = 10;
+    private static final int DEFAULT_INITIAL_BACKOFF = 1000;
+    private static final int DEFAULT_MAX_BACKOFF = 300000;
+    private static final int DEFAULT_CLAIM_TIMEOUT = 300000;
+    private static final int DEFAULT_FAILED_RETENTION = 604800000;
+    private static final long FAILED_CLEANUP_INTERVAL = TimeUnit.HOURS.toMillis(1);
+    // Classes a serialized provisioning entity is made of, including the collections its attributes may be held in.
+    private static final Set<String> ALLOWED_PAYLOAD_CLASSES = new HashSet<>(Arrays.asList(
+            ProvisioningEntity.class.getName(), ProvisioningEntityType.class.getName(),
+            ProvisioningOperation.class.getName(), ProvisionedIdentifier.class.getName(),
+            ClaimMapping.class.getName(), Claim.class.getName(),
+            "java.lang.Boolean", "java.lang.Enum", "java.lang.Integer", "java.lang.Long", "java.lang.Number",
+            "java.lang.String",
+            "java.util.ArrayList", "java.util.Arrays$ArrayList", "java.util.HashMap", "java.util.LinkedHashMap",
+            "java.util.LinkedList", "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap",
+            "java.util.Collections$SingletonList", "java.util.Collections$SingletonMap",
+            "java.util.Collections$UnmodifiableCollection", "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList", "java.util.Collections$UnmodifiableMap"));
+
+    private final OutboundProvisioningExecutor executor;
+    private final ConnectorResolver connectorResolver;
+    private final ProvisioningOutboxDAO outboxDAO;
+    private final CacheBackedProvisioningMgtDAO provisioningMgtDAO =
+            new CacheBackedProvisioningMgtDAO(new ProvisioningManagementDAO());
+    private final long pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long claimTimeout;
+    private final long failedRetention;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ScheduledThreadPoolExecutor poller;
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+    private final Runnable pollTask = new Runnable() {
+        @Override
+        public void run() {
+
+            pollRequested.set(false);
+            try {
+                poll();
+            } catch (IdentityProvisioningException | RuntimeException e) {
+                log.error("Error while delivering the operations of the outbound provisioning outbox.", e);
+            }
+        }
+    };
+    private volatile boolean running = true;
+    // Only accessed by the poller.
+    private long lastFailedCleanupTime;
+
+    /**
+     * Resolves the outbound connector which delivers an operation.
+     */
+    public interface ConnectorResolver {
+
+        /**
+         * @param idPName       Name of the outbound identity provider.
+         * @param connectorType Type of the outbound provisioning connector.
+         * @param tenantDomain  Tenant domain of the service provider which triggered the operation.
+         * @return Connector, or null if the connector is no longer enabled.
+         * @throws IdentityProvisioningException If the connector could not be resolved.
+         */
+        AbstractOutboundProvisioningConnector getConnector(String idPName, String connectorType, String tenantDomain)
+                throws IdentityProvisioningException;
+    }
+
+    /**
+     * @param executor          Executor which delivers the operations.
+     * @param connectorResolver Resolver of the connectors of the recorded operations.
+     * @param outboxDAO         Data access of the outbox table.
+     * @param pollInterval      Time in milliseconds between two polls for due operations.
+     * @param batchSize         Maximum number of operations claimed in a poll.
+     * @param maxAttempts       Number of delivery attempts before an operation is marked as FAILED.
+     * @param initialBackoff    Time in milliseconds before the first retry. Each further retry waits twice as long.
+     * @param maxBackoff        Maximum time in milliseconds between two attempts.
+     * @param claimTimeout      Time in milliseconds after which an operation claimed by a node which has not
+     *                          delivered it is claimable again.
+     * @param failedRetention   Time in milliseconds a FAILED operation is kept before it is removed. FAILED
+     *                          operations are kept until removed manually if this is not positive.
+     */
+    public OutboundProvisioningOutbox(OutboundProvisioningExecutor executor, ConnectorResolver connectorResolver,
+                                      ProvisioningOutboxDAO outboxDAO, long pollInterval, int batchSize,
+                                      int maxAttempts, long initialBackoff, long maxBackoff, long claimTimeout,
+                                      long failedRetention) {
+
+        if (pollInterval <= 0 || batchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Poll interval, batch size and maximum attempts of the outbound " +
+                    "provisioning outbox should be positive.");
+        }
+        this.executor = executor;
+        this.connectorResolver = connectorResolver;
+        this.outboxDAO = outboxDAO;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Math.max(initialBackoff, 0);
+        this.maxBackoff = Math.max(maxBackoff, this.initialBackoff);
+        this.claimTimeout = Math.max(claimTimeout, 0);
+        this.failedRetention = failedRetention;
+        this.poller = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "OutboundProvisioningOutboxPoller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Check whether the outbound provisioning outbox is enabled in identity.xml.
+     *
+     * @return True if OutboundProvisioning.Outbox.Enable is true.
+     */
+    public static boolean isOutboxEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_ENABLE));
+    }
+
+    /**
+     * Create an outbound provisioning outbox from the OutboundProvisioning.Outbox configuration of identity.xml.
+     *
+     * @param executor Executor which delivers the operations.
+     * @return Outbound provisioning outbox.
+     */
+    public static OutboundProvisioningOutbox build(OutboundProvisioningExecutor executor) {
+
+        int pollInterval = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_POLL_INTERVAL, DEFAULT_POLL_INTERVAL);
+        int batchSize = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        int maxAttempts = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_MAX_ATTEMPTS, DEFAULT_MAX_ATTEMPTS);
+        int initialBackoff = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_INITIAL_BACKOFF, DEFAULT_INITIAL_BACKOFF);
+        int maxBackoff = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_MAX_BACKOFF, DEFAULT_MAX_BACKOFF);
+        int claimTimeout = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_CLAIM_TIMEOUT, DEFAULT_CLAIM_TIMEOUT);
+        int failedRetention = ProvisioningUtil.getIntegerProperty(
+                IdentityProvisioningConstants.OUTBOUND_PROVISIONING_OUTBOX_FAILED_RETENTION, DEFAULT_FAILED_RETENTION);
+        if (pollInterval <= 0) {
+            pollInterval = DEFAULT_POLL_INTERVAL;
+        }
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_BATCH_SIZE;
+        }
+        if (maxAttempts <= 0) {
+            maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Outbound provisioning outbox configured with poll interval: " + pollInterval + "ms, batch " +
+                    "size: " + batchSize + ", max attempts: " + maxAttempts + ", backoff: " + initialBackoff + "ms " +
+                    "to " + maxBackoff + "ms, claim timeout: " + claimTimeout + "ms and failed retention: " +
+                    failedRetention + "ms");
+        }
+        ConnectorResolver connectorResolver = (idPName, connectorType, tenantDomain) ->
+                OutboundProvisioningManager.getInstance().getOutboundProvisioningConnector(idPName, connectorType,
+                        tenantDomain);
+        return new OutboundProvisioningOutbox(executor, connectorResolver, new ProvisioningOutboxDAO(), pollInterval,
+                batchSize, maxAttempts, initialBackoff, maxBackoff, claimTimeout, failedRetention);
+    }
+
+    /**
+     * Start polling for due operations, including the operations left over from before a restart.
+     */
+    public void start() {
+
+        poller.scheduleWithFixedDelay(pollTask, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling. Operations claimed but not yet delivered are claimable again after the claim timeout.
+     */
+    public void shutdown() {
+
+        running = false;
+        poller.shutdownNow();
+    }
+
+    /**
+     * Record a provisioning operation for delivery.
+     *
+     * @param provisioningTask Provisioning operation.
+     * @throws IdentityProvisioningException If the operation could not be recorded.
+     */
+    public void add(ProvisioningThread provisioningTask) throws IdentityProvisioningException {
+
+        ProvisioningEntity provisioningEntity = provisioningTask.getProvisioningEntity();
+        if (provisioningEntity.isJitProvisioning() && !provisioningTask.getConnector().isJitProvisioningEnabled()) {
+            // The provisioning task skips JIT provisioned entities of connectors which do not provision them.
+            return;
+        }
+
+        ProvisioningOutboxEntry entry = new ProvisioningOutboxEntry();
+        entry.setIdempotencyKey(UUID.randomUUID().toString());
+        entry.setTenantId(IdentityTenantUtil.getTenantId(provisioningTask.getTenantDomainName()));
+        entry.setSpTenantDomain(provisioningTask.getTenantDomainName());
+        entry.setEntityTenantDomain(provisioningTask.getProvisioningEntityTenantDomainName());
+        entry.setIdPName(provisioningTask.getIdPName());
+        entry.setConnectorType(provisioningTask.getConnectorType());
+        entry.setOrderingKey(getOrderingKey(provisioningTask));
+        entry.setPayload(serialize(provisioningEntity));
+        outboxDAO.addEntry(entry, System.currentTimeMillis());
+        requestPoll();
+    }
+
+    /**
+     * Claim the due operations and hand them over to the executor.
+     *
+     * @return Number of claimed operations.
+     * @throws IdentityProvisioningException If the outbox table could not be read.
+     */
+    int poll() throws IdentityProvisioningException {
+
+        long now = System.currentTimeMillis();
+        int released = outboxDAO.releaseExpiredClaims(now - claimTimeout);
+        if (released > 0) {
+            log.warn(released + " outbound provisioning operations were not delivered within the claim timeout " +
+                    "of " + claimTimeout + "ms and will be retried.");
+        }
+        removeExpiredFailedEntries(now);
+
+        int claimed = 0;
+        for (ProvisioningOutboxEntry entry : outboxDAO.getDueEntries(now, batchSize)) {
+            if (!running) {
+                break;
+            }
+            if (outboxDAO.claimEntry(entry.getId(), nodeId, now)) {
+                claimed++;
+                dispatch(entry);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Get the time to wait before retrying an operation.
+     *
+     * @param attempts Number of failed attempts of the operation.
+     * @return Time in milliseconds.
+     */
+    long getBackoff(int attempts) {
+
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialBackoff << exponent, maxBackoff);
+    }
+
+    private void removeExpiredFailedEntries(long now) {
+
+        if (failedRetention <= 0 || now - lastFailedCleanupTime < FAILED_CLEANUP_INTERVAL) {
+            return;
+        }
+        lastFailedCleanupTime = now;
+        int removed = outboxDAO.deleteFailedEntries(now - failedRetention);
+        if (removed > 0) {
+            log.info("Removed " + removed + " outbound provisioning operations which failed more than " +
+                    failedRetention + "ms ago.");
+        }
+    }
+
+    private void requestPoll() {
+
+        if (running && pollRequested.compareAndSet(false, true)) {
+            try {
+                poller.execute(pollTask);
+            } catch (RejectedExecutionException e) {
+                // The outbox is shutting down. The operation is delivered after the next start.
+                pollRequested.set(false);
+            }
+        }
+    }
+
+    private void dispatch(final ProvisioningOutboxEntry entry) {
+
+        ProvisioningEntity provisioningEntity;
+        try {
+            provisioningEntity = deserialize(entry.getPayload());
+        } catch (IdentityProvisioningException e) {
+            // Retrying cannot make the payload readable.
+            log.error("Outbound provisioning operation " + entry.getIdempotencyKey() + " of identity provider: " +
+                    entry.getIdPName() + " could not be read and will not be retried.", e);
+            markFailed(entry, entry.getAttempts() + 1, String.valueOf(e.getMessage()));
+            return;
+        }
+        AbstractOutboundProvisioningConnector connector;
+        try {
+            connector = getConnector(entry);
+        } catch (IdentityProvisioningException e) {
+            complete(entry, false, e);
+            return;
+        }
+        if (connector == null) {
+            complete(entry, false, new IdentityProvisioningException("Provisioning connector: " +
+                    entry.getConnectorType() + " of identity provider: " + entry.getIdPName() + " is not enabled."));
+            return;
+        }
+        provisioningEntity.setIdempotencyKey(entry.getIdempotencyKey());
+
+        final ProvisioningThread provisioningTask = new ProvisioningThread(provisioningEntity,
+                entry.getSpTenantDomain(), entry.getEntityTenantDomain(), connector, entry.getConnectorType(),
+                entry.getIdPName(), provisioningMgtDAO);
+        executor.submit(entry.getSpTenantDomain(), entry.getIdPName(), entry.getConnectorType(),
+                new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+
+                        boolean success = provisioningTask.call();
+                        complete(entry, success, null);
+                        return success;
+                    }
+                }, e -> complete(entry, false, e));
+    }
+
+    private AbstractOutboundProvisioningConnector getConnector(ProvisioningOutboxEntry entry)
+            throws IdentityProvisioningException {
+
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(entry.getSpTenantDomain(), true);
+            return connectorResolver.getConnector(entry.getIdPName(), entry.getConnectorType(),
+                    entry.getSpTenantDomain());
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private void complete(ProvisioningOutboxEntry entry, boolean success, Exception error) {
+
+        // A delivery interrupted on timeout should still be recorded. The executor clears the interrupt afterwards.
+        Thread.interrupted();
+        try {
+            if (success) {
+                if (!outboxDAO.deleteEntry(entry.getId(), nodeId)) {
+                    logLostClaim(entry);
+                }
+                return;
+            }
+            int attempts = entry.getAttempts() + 1;
+            String lastError = error != null ? String.valueOf(error.getMessage()) :
+                    "Provisioning connector reported the operation as failed.";
+            if (attempts >= maxAttempts) {
+                if (!outboxDAO.rescheduleEntry(entry.getId(), nodeId, ProvisioningOutboxDAO.STATUS_FAILED, attempts,
+                        System.currentTimeMillis(), lastError)) {
+                    logLostClaim(entry);
+                    return;
+                }
+                log.error("Outbound provisioning operation " + entry.getIdempotencyKey() + " of identity provider: " +
+                        entry.getIdPName() + " failed " + attempts + " times and will not be retried. Last error: " +
+                        lastError);
+            } else {
+                long backoff = getBackoff(attempts);
+                if (!outboxDAO.rescheduleEntry(entry.getId(), nodeId, ProvisioningOutboxDAO.STATUS_PENDING, attempts,
+                        System.currentTimeMillis() + backoff, lastError)) {
+                    logLostClaim(entry);
+                    return;
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Outbound provisioning operation " + entry.getIdempotencyKey() + " of identity " +
+                            "provider: " + entry.getIdPName() + " failed. Retrying in " + backoff + "ms.", error);
+                }
+            }
+        } catch (IdentityProvisioningException e) {
+            log.error("Error while recording the result of outbound provisioning operation " +
+                    entry.getIdempotencyKey() + ". The operation will be retried after the claim timeout.", e);
+        }
+    }
+
+    private void markFailed(ProvisioningOutboxEntry entry, int attempts, String lastError) {
+
+        try {
+            if (!outboxDAO.rescheduleEntry(entry.getId(), nodeId, ProvisioningOutboxDAO.STATUS_FAILED, attempts,
+                    System.currentTimeMillis(), lastError)) {
+                logLostClaim(entry);
+            }
+        } catch (IdentityProvisioningException e) {
+            log.error("Error while marking the outbound provisioning operation " + entry.getIdempotencyKey() +
+                    " as failed. The operation will be retried after the claim timeout.", e);
+        }
+    }
+
+    /**
+     * The claim of an operation expired before the result of its delivery was recorded, so the operation was released
+     * and possibly claimed again. The result is dropped, leaving the operation to the current claim holder.
+     */
+    private void logLostClaim(ProvisioningOutboxEntry entry) {
+
+        log.warn("Claim of outbound provisioning operation " + entry.getIdempotencyKey() + " of identity provider: " +
+                entry.getIdPName() + " expired before the result was recorded. The result is discarded.");
+    }
+
+    private static String getOrderingKey(ProvisioningThread provisioningTask) {
+
+        ProvisioningEntity provisioningEntity = provisioningTask.getProvisioningEntity();
+        String key = provisioningTask.getTenantDomainName() + ":" + provisioningTask.getIdPName() + ":" +
+                provisioningTask.getConnectorType() + ":" + provisioningEntity.getEntityType() + ":" +
+                provisioningEntity.getEntityName();
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static byte[] serialize(ProvisioningEntity provisioningEntity) throws IdentityProvisioningException {
+
+        ProvisioningEntity protectedEntity = copyWithAttributes(provisioningEntity,
+                protectPasswords(provisioningEntity.getAttributes(), true));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(protectedEntity);
+        } catch (IOException e) {
+            throw new IdentityProvisioningException("Error while serializing the provisioning entity: " +
+                    provisioningEntity.getEntityName(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static ProvisioningEntity deserialize(byte[] payload) throws IdentityProvisioningException {
+
+        ProvisioningEntity provisioningEntity;
+        try (ObjectInputStream objectInputStream = new PayloadInputStream(new ByteArrayInputStream(payload))) {
+            provisioningEntity = (ProvisioningEntity) objectInputStream.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new IdentityProvisioningException("Error while deserializing an outbound provisioning operation.",
+                    e);
+        }
+        return copyWithAttributes(provisioningEntity, protectPasswords(provisioningEntity.getAttributes(), false));
+    }
+
+    private static ProvisioningEntity copyWithAttributes(ProvisioningEntity provisioningEntity,
+                                                         Map<ClaimMapping, List<String>> attributes) {
+
+        ProvisioningEntity copy = new ProvisioningEntity(provisioningEntity.getEntityType(),
+                provisioningEntity.getEntityName(), provisioningEntity.getOperation(), attributes);
+        copy.setIdentifier(provisioningEntity.getIdentifier());
+        copy.setInboundAttributes(provisioningEntity.getInboundAttributes());
+        copy.setJitProvisioning(provisioningEntity.isJitProvisioning());
+        return copy;
+    }
+
+    /**
+     * Encrypt or decrypt the password values of the given attributes, so that passwords are not stored in clear text.
+     */
+    private static Map<ClaimMapping, List<String>> protectPasswords(Map<ClaimMapping, List<String>> attributes,
+                                                                    boolean encrypt)
+            throws IdentityProvisioningException {
+
+        if (attributes == null) {
+            return null;
+        }
+        Map<ClaimMapping, List<String>> protectedAttributes = new HashMap<>(attributes);
+        for (Map.Entry<ClaimMapping, List<String>> attribute : attributes.entrySet()) {
+            if (!isPasswordClaim(attribute.getKey()) || attribute.getValue() == null) {
+                continue;
+            }
+            List<String> values = new ArrayList<>(attribute.getValue().size());
+            try {
+                for (String value : attribute.getValue()) {
+                    if (value == null) {
+                        values.add(null);
+                    } else if (encrypt) {
+                        values.add(CryptoUtil.getDefaultCryptoUtil().encryptAndBase64Encode(
+                                value.getBytes(StandardCharsets.UTF_8)));
+                    } else {
+                        values.add(new String(CryptoUtil.getDefaultCryptoUtil().base64DecodeAndDecrypt(value),
+                                StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (CryptoException e) {
+                throw new IdentityProvisioningException("Error while protecting the password of an outbound " +
+                        "provisioning operation.", e);
+            }
+            protectedAttributes.put(attribute.getKey(), values);
+        }
+        return protectedAttributes;
+    }
+
+    private static boolean isPasswordClaim(ClaimMapping claimMapping) {
+
+        return claimMapping != null && claimMapping.getLocalClaim() != null &&
+                IdentityProvisioningConstants.PASSWORD_CLAIM_URI.equals(claimMapping.getLocalClaim().getClaimUri());
+    }
+
+    /**
+     * Object input stream which only resolves the classes a provisioning entity is made of.
+     */
+    private static class PayloadInputStream extends ObjectInputStream {
+
+        PayloadInputStream(InputStream inputStream) throws IOException {
+
+            super(inputStream);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+
+            String className = desc.getName();
+            while (className.startsWith("[")) {
+                className = className.substring(1);
+            }
+            if (className.startsWith("L") && className.endsWith(";")) {
+                className = className.substring(1, className.length() - 1);
+            }
+            if (className.length() == 1) {
+                // Primitive array.
+                return super.resolveClass(desc);
+            }
+            if (ALLOWED_PAYLOAD_CLASSES.contains(className)) {
+                return super.resolveClass(desc);
+            }
+            throw new InvalidClassException(desc.getName(), "Class is not allowed in an outbound provisioning " +
+                    "operation.");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency metrics of an outbound provisioning connector in the {@link OutboundProvisioningExecutor}.
+ */
+public class ProvisioningConnectorMetrics {
+
+    private final long createdTime = System.nanoTime();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder failedTasks = new LongAdder();
+    private final LongAdder timedOutTasks = new LongAdder();
+    private final LongAdder callerRunsTasks = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private volatile int queueDepth;
+
+    void setQueueDepth(int queueDepth) {
+
+        this.queueDepth = queueDepth;
+    }
+
+    void recordCompleted(long latencyNanos, boolean success) {
+
+        completedTasks.increment();
+        if (!success) {
+            failedTasks.increment();
+        }
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    void recordTimedOut() {
+
+        timedOutTasks.increment();
+    }
+
+    void recordCallerRuns() {
+
+        callerRunsTasks.increment();
+    }
+
+    /**
+     * Get the number of provisioning tasks waiting in the connector queue.
+     *
+     * @return Queue depth.
+     */
+    public int getQueueDepth() {
+
+        return queueDepth;
+    }
+
+    /**
+     * Get the number of provisioning tasks executed against the connector, including the failed ones.
+     *
+     * @return Number of completed tasks.
+     */
+    public long getCompletedTasks() {
+
+        return completedTasks.sum();
+    }
+
+    /**
+     * Get the number of provisioning tasks which failed or timed out while running.
+     *
+     * @return Number of failed tasks.
+     */
+    public long getFailedTasks() {
+
+        return failedTasks.sum();
+    }
+
+    /**
+     * Get the number of provisioning tasks which exceeded the task timeout, either in the queue or while running.
+     *
+     * @return Number of timed out tasks.
+     */
+    public long getTimedOutTasks() {
+
+        return timedOutTasks.sum();
+    }
+
+    /**
+     * Get the number of provisioning tasks run by the publisher because the connector queue was full.
+     *
+     * @return Number of tasks run by the publisher.
+     */
+    public long getCallerRunsTasks() {
+
+        return callerRunsTasks.sum();
+    }
+
+    /**
+     * Get the average number of provisioning tasks completed per second since the connector was first used.
+     *
+     * @return Throughput in tasks per second.
+     */
+    public double getThroughput() {
+
+        long elapsedNanos = System.nanoTime() - createdTime;
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return (double) completedTasks.sum() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Get the average time taken by a provisioning task.
+     *
+     * @return Average latency in milliseconds.
+     */
+    public double getAverageLatencyMillis() {
+
+        long completed = completedTasks.sum();
+        if (completed == 0) {
+            return 0;
+        }
+        return (double) totalLatencyNanos.sum() / completed / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the maximum time taken by a provisioning task.
+     *
+     * @return Maximum latency in milliseconds.
+     */
+    public long getMaxLatencyMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+}
@@ -35,6 +35,7 @@ public class ProvisioningEntity implements Serializable {
     private boolean jitProvisioning;
     private Map<ClaimMapping, List<String>> attributes;
     private Map<String, String> inboundAttributes;
+    private String idempotencyKey;
 
     /**
      *
@@ -142,4 +143,19 @@ public class ProvisioningEntity implements Serializable {
         this.jitProvisioning = jitProvisioning;
     }
 
+    /**
+     * Key which stays the same across the delivery attempts of a provisioning operation recorded in the outbound
+     * provisioning outbox. Connectors can send it to the identity provider so that a retried operation is not applied
+     * twice.
+     *
+     * @return Idempotency key, or null if the operation is not delivered through the outbox.
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+/**
+ * Outcome of provisioning an entity as part of a batch.
+ */
+public class ProvisioningResult {
+
+    private final ProvisioningEntity provisioningEntity;
+    private final ProvisionedIdentifier provisionedIdentifier;
+    private final IdentityProvisioningException error;
+
+    private ProvisioningResult(ProvisioningEntity provisioningEntity, ProvisionedIdentifier provisionedIdentifier,
+                               IdentityProvisioningException error) {
+
+        this.provisioningEntity = provisioningEntity;
+        this.provisionedIdentifier = provisionedIdentifier;
+        this.error = error;
+    }
+
+    /**
+     * Create the result of a successfully provisioned entity.
+     *
+     * @param provisioningEntity    Provisioned entity.
+     * @param provisionedIdentifier Identifier of the entity in the outbound identity provider. May be null.
+     * @return Provisioning result.
+     */
+    public static ProvisioningResult success(ProvisioningEntity provisioningEntity,
+                                             ProvisionedIdentifier provisionedIdentifier) {
+
+        return new ProvisioningResult(provisioningEntity, provisionedIdentifier, null);
+    }
+
+    /**
+     * Create the result of an entity which could not be provisioned.
+     *
+     * @param provisioningEntity Entity which could not be provisioned.
+     * @param error              Reason for the failure.
+     * @return Provisioning result.
+     */
+    public static ProvisioningResult failure(ProvisioningEntity provisioningEntity,
+                                             IdentityProvisioningException error) {
+
+        return new ProvisioningResult(provisioningEntity, null, error);
+    }
+
+    public ProvisioningEntity getProvisioningEntity() {
+
+        return provisioningEntity;
+    }
+
+    public ProvisionedIdentifier getProvisionedIdentifier() {
+
+        return provisionedIdentifier;
+    }
+
+    public IdentityProvisioningException getError() {
+
+        return error;
+    }
+
+    public boolean isSuccess() {
+
+        return error == null;
+    }
+}
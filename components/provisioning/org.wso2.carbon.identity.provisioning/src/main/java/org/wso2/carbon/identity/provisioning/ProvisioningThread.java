@@ -63,6 +63,41 @@ public class ProvisioningThread implements Callable<Boolean> {
         this.provisioningEntityTenantDomainName = provisioningEntityTenantDomainName;
     }
 
+    ProvisioningEntity getProvisioningEntity() {
+
+        return provisioningEntity;
+    }
+
+    String getTenantDomainName() {
+
+        return tenantDomainName;
+    }
+
+    String getProvisioningEntityTenantDomainName() {
+
+        return provisioningEntityTenantDomainName;
+    }
+
+    AbstractOutboundProvisioningConnector getConnector() {
+
+        return connector;
+    }
+
+    String getConnectorType() {
+
+        return connectorType;
+    }
+
+    String getIdPName() {
+
+        return idPName;
+    }
+
+    CacheBackedProvisioningMgtDAO getDao() {
+
+        return dao;
+    }
+
     @Override
     public Boolean call() throws IdentityProvisioningException {
 
@@ -618,4 +618,26 @@ public class ProvisioningUtil {
         }
         return applicationBasedOutboundProvisioningEnabled;
     }
+
+    /**
+     * Read an integer configuration from identity.xml.
+     *
+     * @param propertyName Name of the property.
+     * @param defaultValue Value to be used if the property is not configured or is invalid.
+     * @return Configured value or the default value.
+     */
+    public static int getIntegerProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for " + propertyName + ". Using the default value: " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
 }
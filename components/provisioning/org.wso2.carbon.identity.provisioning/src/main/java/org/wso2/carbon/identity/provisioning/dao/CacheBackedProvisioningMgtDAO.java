@@ -27,6 +27,8 @@ import org.wso2.carbon.identity.provisioning.cache.ProvisioningEntityCache;
 import org.wso2.carbon.identity.provisioning.cache.ProvisioningEntityCacheEntry;
 import org.wso2.carbon.identity.provisioning.cache.ProvisioningEntityCacheKey;
 
+import java.util.List;
+
 public class CacheBackedProvisioningMgtDAO {
 
     private static final Log log = LogFactory.getLog(CacheBackedProvisioningMgtDAO.class);
@@ -56,6 +58,58 @@ public class CacheBackedProvisioningMgtDAO {
 
 
         provisioningMgtDAO.addProvisioningEntity(identityProviderName, connectorType, provisioningEntity, tenantId);
+        addToCache(identityProviderName, connectorType, provisioningEntity, tenantDomain);
+    }
+
+    /**
+     * Add the provisioned identifiers of a batch of entities provisioned through the same connector.
+     *
+     * @param identityProviderName Name of the outbound identity provider.
+     * @param connectorType        Type of the outbound provisioning connector.
+     * @param provisioningEntities Provisioned entities with their provisioned identifiers.
+     * @param tenantId             Tenant id.
+     * @param tenantDomain         Tenant domain.
+     * @throws IdentityApplicationManagementException If an error occurs while adding the entities.
+     */
+    public void addProvisioningEntities(String identityProviderName, String connectorType,
+                                        List<ProvisioningEntity> provisioningEntities, int tenantId,
+                                        String tenantDomain) throws IdentityApplicationManagementException {
+
+        provisioningMgtDAO.addProvisioningEntities(identityProviderName, connectorType, provisioningEntities,
+                tenantId);
+        for (ProvisioningEntity provisioningEntity : provisioningEntities) {
+            addToCache(identityProviderName, connectorType, provisioningEntity, tenantDomain);
+        }
+    }
+
+    /**
+     * Delete the provisioned identifiers of a batch of entities de-provisioned through the same connector.
+     *
+     * @param identityProviderName Name of the outbound identity provider.
+     * @param connectorType        Type of the outbound provisioning connector.
+     * @param provisioningEntities De-provisioned entities.
+     * @param tenantId             Tenant id.
+     * @param tenantDomain         Tenant domain.
+     * @throws IdentityApplicationManagementException If an error occurs while deleting the entities.
+     */
+    public void deleteProvisioningEntities(String identityProviderName, String connectorType,
+                                           List<ProvisioningEntity> provisioningEntities, int tenantId,
+                                           String tenantDomain) throws IdentityApplicationManagementException {
+
+        for (ProvisioningEntity provisioningEntity : provisioningEntities) {
+            provisioningEntityCache.clearCacheEntry(new ProvisioningEntityCacheKey(identityProviderName,
+                    connectorType, provisioningEntity), tenantDomain);
+        }
+        provisioningMgtDAO.deleteProvisioningEntities(identityProviderName, connectorType, provisioningEntities,
+                tenantId);
+        if (log.isDebugEnabled()) {
+            log.debug("Removed " + provisioningEntities.size() + " Provisioning Entities of " +
+                    "identityProviderName=" + identityProviderName + "&& connectorType=" + connectorType);
+        }
+    }
+
+    private void addToCache(String identityProviderName, String connectorType,
+                            ProvisioningEntity provisioningEntity, String tenantDomain) {
 
         if (log.isDebugEnabled()) {
             log.debug("Caching newly added Provisioning Entity : " +
@@ -98,6 +98,100 @@ public class ProvisioningManagementDAO {
         }
     }
 
+    /**
+     * Add the provisioned identifiers of a batch of entities provisioned through the same connector, in a single
+     * transaction.
+     *
+     * @param identityProviderName Name of the outbound identity provider.
+     * @param connectorType        Type of the outbound provisioning connector.
+     * @param provisioningEntities Provisioned entities with their provisioned identifiers.
+     * @param tenantId             Tenant id.
+     * @throws IdentityApplicationManagementException If an error occurs while adding the entities.
+     */
+    public void addProvisioningEntities(String identityProviderName, String connectorType,
+                                        List<ProvisioningEntity> provisioningEntities, int tenantId)
+            throws IdentityApplicationManagementException {
+
+        if (provisioningEntities.isEmpty()) {
+            return;
+        }
+        PreparedStatement prepStmt = null;
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        try {
+            int idpId = getIdentityProviderIdentifier(dbConnection, identityProviderName, tenantId);
+            int provisioningConfigId = getProvisioningConfigurationIdentifier(dbConnection, idpId,
+                    connectorType);
+
+            prepStmt = dbConnection.prepareStatement(
+                    IdentityProvisioningConstants.SQLQueries.ADD_PROVISIONING_ENTITY_SQL);
+            for (ProvisioningEntity provisioningEntity : provisioningEntities) {
+                prepStmt.setInt(1, provisioningConfigId);
+                prepStmt.setString(2, provisioningEntity.getEntityType().toString());
+                prepStmt.setString(3, IdentityUtil.extractDomainFromName(provisioningEntity.getEntityName()));
+                prepStmt.setString(4, UserCoreUtil.removeDomainFromName(provisioningEntity.getEntityName()));
+                prepStmt.setString(5, provisioningEntity.getIdentifier().getIdentifier());
+                prepStmt.setInt(6, tenantId);
+                prepStmt.setString(7, getLocalIdFromProvisioningEntity(provisioningEntity));
+                prepStmt.addBatch();
+            }
+            prepStmt.executeBatch();
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            String msg = "Error occurred while adding " + provisioningEntities.size() + " Provisioning entities " +
+                    "for tenant " + tenantId;
+            throw new IdentityApplicationManagementException(msg, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Delete the provisioned identifiers of a batch of entities de-provisioned through the same connector, in a
+     * single transaction.
+     *
+     * @param identityProviderName Name of the outbound identity provider.
+     * @param connectorType        Type of the outbound provisioning connector.
+     * @param provisioningEntities De-provisioned entities.
+     * @param tenantId             Tenant id.
+     * @throws IdentityApplicationManagementException If an error occurs while deleting the entities.
+     */
+    public void deleteProvisioningEntities(String identityProviderName, String connectorType,
+                                           List<ProvisioningEntity> provisioningEntities, int tenantId)
+            throws IdentityApplicationManagementException {
+
+        if (provisioningEntities.isEmpty()) {
+            return;
+        }
+        Connection dbConnection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            int idpId = getIdentityProviderIdentifier(dbConnection, identityProviderName, tenantId);
+            int provisioningConfigId = getProvisioningConfigurationIdentifier(dbConnection, idpId,
+                    connectorType);
+
+            prepStmt = dbConnection.prepareStatement(
+                    IdentityProvisioningConstants.SQLQueries.DELETE_PROVISIONING_ENTITY_SQL);
+            for (ProvisioningEntity provisioningEntity : provisioningEntities) {
+                prepStmt.setInt(1, provisioningConfigId);
+                prepStmt.setString(2, provisioningEntity.getEntityType().toString());
+                prepStmt.setString(3, IdentityUtil.extractDomainFromName(provisioningEntity.getEntityName()));
+                prepStmt.setString(4, UserCoreUtil.removeDomainFromName(provisioningEntity.getEntityName()));
+                prepStmt.setInt(5, tenantId);
+                prepStmt.addBatch();
+            }
+            prepStmt.executeBatch();
+            IdentityDatabaseUtil.commitTransaction(dbConnection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(dbConnection);
+            String msg = "Error occurred while deleting " + provisioningEntities.size() + " Provisioning entities " +
+                    "for tenant " + tenantId;
+            throw new IdentityApplicationManagementException(msg, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(dbConnection, null, prepStmt);
+        }
+    }
+
     /**
      * @param identityProviderName
      * @param connectorType
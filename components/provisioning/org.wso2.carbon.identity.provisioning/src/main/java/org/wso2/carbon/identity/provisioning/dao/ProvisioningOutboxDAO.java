@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.provisioning.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.SQLQueries;
+import org.wso2.carbon.identity.provisioning.IdentityProvisioningException;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data access of the outbound provisioning outbox, which keeps non-blocking provisioning operations until they are
+ * delivered to the outbound identity provider.
+ */
+public class ProvisioningOutboxDAO {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSING = "PROCESSING";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    /**
+     * Record a provisioning operation as pending.
+     *
+     * @param entry           Operation to record.
+     * @param nextAttemptTime Time in milliseconds after which the operation can be delivered.
+     * @throws IdentityProvisioningException If the operation could not be recorded.
+     */
+    public void addEntry(ProvisioningOutboxEntry entry, long nextAttemptTime) throws IdentityProvisioningException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.ADD_OUTBOX_ENTRY_SQL);
+            prepStmt.setString(1, entry.getIdempotencyKey());
+            prepStmt.setInt(2, entry.getTenantId());
+            prepStmt.setString(3, entry.getSpTenantDomain());
+            prepStmt.setString(4, entry.getEntityTenantDomain());
+            prepStmt.setString(5, entry.getIdPName());
+            prepStmt.setString(6, entry.getConnectorType());
+            prepStmt.setString(7, entry.getOrderingKey());
+            prepStmt.setBinaryStream(8, new ByteArrayInputStream(entry.getPayload()), entry.getPayload().length);
+            prepStmt.setString(9, STATUS_PENDING);
+            prepStmt.setLong(10, nextAttemptTime);
+            prepStmt.setLong(11, System.currentTimeMillis());
+            prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityProvisioningException("Error while recording the outbound provisioning operation " +
+                    entry.getIdempotencyKey() + " of identity provider: " + entry.getIdPName(), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Get the pending operations which are due and are the oldest undelivered operation of their ordering key.
+     *
+     * @param now   Current time in milliseconds.
+     * @param limit Maximum number of operations to return.
+     * @return Due operations, oldest first.
+     * @throws IdentityProvisioningException If the operations could not be read.
+     */
+    public List<ProvisioningOutboxEntry> getDueEntries(long now, int limit) throws IdentityProvisioningException {
+
+        List<ProvisioningOutboxEntry> entries = new ArrayList<>();
+        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+        PreparedStatement prepStmt = null;
+        ResultSet resultSet = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.GET_DUE_OUTBOX_ENTRIES_SQL);
+            prepStmt.setMaxRows(limit);
+            prepStmt.setString(1, STATUS_PENDING);
+            prepStmt.setLong(2, now);
+            prepStmt.setString(3, STATUS_FAILED);
+            resultSet = prepStmt.executeQuery();
+            while (resultSet.next()) {
+                ProvisioningOutboxEntry entry = new ProvisioningOutboxEntry();
+                entry.setId(resultSet.getLong(1));
+                entry.setIdempotencyKey(resultSet.getString(2));
+                entry.setSpTenantDomain(resultSet.getString(3));
+                entry.setEntityTenantDomain(resultSet.getString(4));
+                entry.setIdPName(resultSet.getString(5));
+                entry.setConnectorType(resultSet.getString(6));
+                entry.setPayload(resultSet.getBytes(7));
+                entry.setAttempts(resultSet.getInt(8));
+                entries.add(entry);
+            }
+        } catch (SQLException e) {
+            throw new IdentityProvisioningException("Error while reading the due outbound provisioning operations.",
+                    e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, resultSet, prepStmt);
+        }
+        return entries;
+    }
+
+    /**
+     * Claim a pending operation for delivery. Only one node of a cluster can claim an operation.
+     *
+     * @param id        Id of the operation.
+     * @param claimedBy Identifier of the claiming node.
+     * @param now       Current time in milliseconds.
+     * @return True if the operation was claimed.
+     * @throws IdentityProvisioningException If the operation could not be claimed.
+     */
+    public boolean claimEntry(long id, String claimedBy, long now) throws IdentityProvisioningException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.CLAIM_OUTBOX_ENTRY_SQL);
+            prepStmt.setString(1, STATUS_PROCESSING);
+            prepStmt.setString(2, claimedBy);
+            prepStmt.setLong(3, now);
+            prepStmt.setLong(4, id);
+            prepStmt.setString(5, STATUS_PENDING);
+            boolean claimed = prepStmt.executeUpdate() == 1;
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return claimed;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityProvisioningException("Error while claiming the outbound provisioning operation: " +
+                    id, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Return the operations claimed before the given time to the pending state, so that operations claimed by a node
+     * which stopped before delivering them are delivered by another node.
+     *
+     * @param claimedBefore Time in milliseconds.
+     * @return Number of released operations.
+     * @throws IdentityProvisioningException If the claims could not be released.
+     */
+    public int releaseExpiredClaims(long claimedBefore) throws IdentityProvisioningException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.RELEASE_EXPIRED_OUTBOX_CLAIMS_SQL);
+            prepStmt.setString(1, STATUS_PENDING);
+            prepStmt.setString(2, STATUS_PROCESSING);
+            prepStmt.setLong(3, claimedBefore);
+            int released = prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return released;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityProvisioningException("Error while releasing expired outbound provisioning claims.", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Record a failed delivery attempt of an operation claimed by the given node.
+     *
+     * @param id              Id of the operation.
+     * @param claimedBy       Identifier of the node which claimed the operation.
+     * @param status          {@link #STATUS_PENDING} to retry the operation or {@link #STATUS_FAILED} to give up.
+     * @param attempts        Number of failed attempts.
+     * @param nextAttemptTime Time in milliseconds after which the operation can be retried, or the time it failed if
+     *                        the status is {@link #STATUS_FAILED}.
+     * @param lastError       Error of the last attempt.
+     * @return False if the operation is no longer claimed by the node.
+     * @throws IdentityProvisioningException If the attempt could not be recorded.
+     */
+    public boolean rescheduleEntry(long id, String claimedBy, String status, int attempts, long nextAttemptTime,
+                                   String lastError) throws IdentityProvisioningException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.RESCHEDULE_OUTBOX_ENTRY_SQL);
+            prepStmt.setString(1, status);
+            prepStmt.setInt(2, attempts);
+            prepStmt.setLong(3, nextAttemptTime);
+            prepStmt.setString(4, StringUtils.abbreviate(lastError, MAX_ERROR_LENGTH));
+            prepStmt.setLong(5, id);
+            prepStmt.setString(6, claimedBy);
+            prepStmt.setString(7, STATUS_PROCESSING);
+            boolean rescheduled = prepStmt.executeUpdate() == 1;
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return rescheduled;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityProvisioningException("Error while rescheduling the outbound provisioning operation: " +
+                    id, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Remove a delivered operation claimed by the given node.
+     *
+     * @param id        Id of the operation.
+     * @param claimedBy Identifier of the node which claimed the operation.
+     * @return False if the operation is no longer claimed by the node.
+     * @throws IdentityProvisioningException If the operation could not be removed.
+     */
+    public boolean deleteEntry(long id, String claimedBy) throws IdentityProvisioningException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.DELETE_OUTBOX_ENTRY_SQL);
+            prepStmt.setLong(1, id);
+            prepStmt.setString(2, claimedBy);
+            prepStmt.setString(3, STATUS_PROCESSING);
+            boolean deleted = prepStmt.executeUpdate() == 1;
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return deleted;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityProvisioningException("Error while removing the outbound provisioning operation: " +
+                    id, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+    }
+
+    /**
+     * Remove the operations which failed before the given time.
+     *
+     * @param failedBefore Time in milliseconds.
+     * @return Number of removed operations.
+     * @throws IdentityProvisioningException If the operations could not be removed.
+     */
+    public int deleteFailedEntries(long failedBefore) throws IdentityProvisioningException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        PreparedStatement prepStmt = null;
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.DELETE_FAILED_OUTBOX_ENTRIES_SQL);
+            prepStmt.setString(1, STATUS_FAILED);
+            prepStmt.setLong(2, failedBefore);
+            int deleted = prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return deleted;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityProvisioningException("Error while removing the failed outbound provisioning " +
+                    "operations.", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.provisioning.dao;
+
+/**
+ * An outbound provisioning operation recorded in the IDP_PROVISIONING_OUTBOX table.
+ */
+public class ProvisioningOutboxEntry {
+
+    private long id;
+    private String idempotencyKey;
+    private int tenantId;
+    private String spTenantDomain;
+    private String entityTenantDomain;
+    private String idPName;
+    private String connectorType;
+    private String orderingKey;
+    private byte[] payload;
+    private int attempts;
+
+    public long getId() {
+
+        return id;
+    }
+
+    public void setId(long id) {
+
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public void setTenantId(int tenantId) {
+
+        this.tenantId = tenantId;
+    }
+
+    public String getSpTenantDomain() {
+
+        return spTenantDomain;
+    }
+
+    public void setSpTenantDomain(String spTenantDomain) {
+
+        this.spTenantDomain = spTenantDomain;
+    }
+
+    public String getEntityTenantDomain() {
+
+        return entityTenantDomain;
+    }
+
+    public void setEntityTenantDomain(String entityTenantDomain) {
+
+        this.entityTenantDomain = entityTenantDomain;
+    }
+
+    public String getIdPName() {
+
+        return idPName;
+    }
+
+    public void setIdPName(String idPName) {
+
+        this.idPName = idPName;
+    }
+
+    public String getConnectorType() {
+
+        return connectorType;
+    }
+
+    public void setConnectorType(String connectorType) {
+
+        this.connectorType = connectorType;
+    }
+
+    /**
+     * Operations with the same ordering key are delivered one at a time, in the order they were recorded.
+     *
+     * @return Ordering key of the operation.
+     */
+    public String getOrderingKey() {
+
+        return orderingKey;
+    }
+
+    public void setOrderingKey(String orderingKey) {
+
+        this.orderingKey = orderingKey;
+    }
+
+    /**
+     * @return Serialized {@link org.wso2.carbon.identity.provisioning.ProvisioningEntity}.
+     */
+    public byte[] getPayload() {
+
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+
+        this.payload = payload;
+    }
+
+    /**
+     * @return Number of failed delivery attempts so far.
+     */
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+
+        this.attempts = attempts;
+    }
+}
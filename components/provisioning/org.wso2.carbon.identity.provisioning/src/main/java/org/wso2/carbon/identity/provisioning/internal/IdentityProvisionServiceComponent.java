@@ -32,6 +32,8 @@ import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorCo
 import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.provisioning.rules.ProvisioningHandler;
 import org.wso2.carbon.identity.provisioning.AbstractProvisioningConnectorFactory;
+import org.wso2.carbon.identity.provisioning.OutboundProvisioningExecutor;
+import org.wso2.carbon.identity.provisioning.OutboundProvisioningOutbox;
 import org.wso2.carbon.identity.provisioning.listener.DefaultInboundUserProvisioningListener;
 import org.wso2.carbon.identity.provisioning.listener.ProvisioningApplicationMgtListener;
 import org.wso2.carbon.identity.provisioning.listener.ProvisioningErrorListener;
@@ -91,6 +93,12 @@ public class IdentityProvisionServiceComponent {
     protected void activate(ComponentContext context) {
         try {
             ProvisioningServiceDataHolder.getInstance().setBundleContext(context.getBundleContext());
+            ProvisioningServiceDataHolder.getInstance().setOutboundProvisioningExecutor(
+                    OutboundProvisioningExecutor.build());
+            if (OutboundProvisioningOutbox.isOutboxEnabled()) {
+                // Start delivering the operations recorded before the restart.
+                ProvisioningServiceDataHolder.getInstance().getOutboundProvisioningOutbox();
+            }
             DefaultInboundUserProvisioningListener provisioningListener = new DefaultInboundUserProvisioningListener();
             ProvisioningServiceDataHolder.getInstance().setDefaultInboundUserProvisioningListener(provisioningListener);
             ProvisioningServiceDataHolder.getInstance().getBundleContext()
@@ -125,6 +133,7 @@ public class IdentityProvisionServiceComponent {
      */
     @Deactivate
     protected void deactivate(ComponentContext context) {
+        ProvisioningServiceDataHolder.getInstance().shutdownOutboundProvisioningExecutor();
         if (log.isDebugEnabled()) {
             log.debug("Identity Provision bundle is de-activated");
         }
@@ -20,6 +20,9 @@ package org.wso2.carbon.identity.provisioning.internal;
 
 import org.osgi.framework.BundleContext;
 import org.wso2.carbon.identity.provisioning.AbstractProvisioningConnectorFactory;
+import org.wso2.carbon.identity.provisioning.OutboundProvisioningBatcher;
+import org.wso2.carbon.identity.provisioning.OutboundProvisioningExecutor;
+import org.wso2.carbon.identity.provisioning.OutboundProvisioningOutbox;
 import org.wso2.carbon.identity.provisioning.listener.DefaultInboundUserProvisioningListener;
 import org.wso2.carbon.identity.provisioning.rules.ProvisioningHandler;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
@@ -39,6 +42,9 @@ public class ProvisioningServiceDataHolder {
     private DefaultInboundUserProvisioningListener defaultInboundUserProvisioningListener;
     private RoleManagementService roleManagementService;
     private ProvisioningHandler provisioningHandler;
+    private volatile OutboundProvisioningExecutor outboundProvisioningExecutor;
+    private volatile OutboundProvisioningBatcher outboundProvisioningBatcher;
+    private volatile OutboundProvisioningOutbox outboundProvisioningOutbox;
 
     private ProvisioningServiceDataHolder() {
     }
@@ -91,6 +97,88 @@ public class ProvisioningServiceDataHolder {
         return rolePermissionManagementService;
     }
 
+    /**
+     * Get the executor of the non-blocking outbound provisioning tasks. The executor is created on first use if the
+     * component has not created it yet.
+     *
+     * @return Outbound provisioning executor.
+     */
+    public OutboundProvisioningExecutor getOutboundProvisioningExecutor() {
+
+        if (outboundProvisioningExecutor == null) {
+            synchronized (this) {
+                if (outboundProvisioningExecutor == null) {
+                    outboundProvisioningExecutor = OutboundProvisioningExecutor.build();
+                }
+            }
+        }
+        return outboundProvisioningExecutor;
+    }
+
+    public void setOutboundProvisioningExecutor(OutboundProvisioningExecutor outboundProvisioningExecutor) {
+
+        this.outboundProvisioningExecutor = outboundProvisioningExecutor;
+    }
+
+    /**
+     * Get the batcher of the non-blocking outbound provisioning operations. The batcher is created on first use.
+     *
+     * @return Outbound provisioning batcher.
+     */
+    public OutboundProvisioningBatcher getOutboundProvisioningBatcher() {
+
+        if (outboundProvisioningBatcher == null) {
+            synchronized (this) {
+                if (outboundProvisioningBatcher == null) {
+                    outboundProvisioningBatcher = OutboundProvisioningBatcher.build(
+                            getOutboundProvisioningExecutor());
+                }
+            }
+        }
+        return outboundProvisioningBatcher;
+    }
+
+    /**
+     * Get the outbox of the non-blocking outbound provisioning operations. The outbox is created and starts
+     * delivering the recorded operations on first use.
+     *
+     * @return Outbound provisioning outbox.
+     */
+    public OutboundProvisioningOutbox getOutboundProvisioningOutbox() {
+
+        if (outboundProvisioningOutbox == null) {
+            synchronized (this) {
+                if (outboundProvisioningOutbox == null) {
+                    OutboundProvisioningOutbox outbox = OutboundProvisioningOutbox.build(
+                            getOutboundProvisioningExecutor());
+                    outbox.start();
+                    outboundProvisioningOutbox = outbox;
+                }
+            }
+        }
+        return outboundProvisioningOutbox;
+    }
+
+    /**
+     * Shut down the outbound provisioning outbox, batcher and executor, if they were created. The batcher flushes its
+     * pending batches to the executor, which is shut down last and waits for the queued tasks to complete.
+     */
+    public synchronized void shutdownOutboundProvisioningExecutor() {
+
+        if (outboundProvisioningOutbox != null) {
+            outboundProvisioningOutbox.shutdown();
+            outboundProvisioningOutbox = null;
+        }
+        if (outboundProvisioningBatcher != null) {
+            outboundProvisioningBatcher.shutdown();
+            outboundProvisioningBatcher = null;
+        }
+        if (outboundProvisioningExecutor != null) {
+            outboundProvisioningExecutor.shutdown();
+            outboundProvisioningExecutor = null;
+        }
+    }
+
     public DefaultInboundUserProvisioningListener getDefaultInboundUserProvisioningListener() {
 
         return defaultInboundUserProvisioningListener;
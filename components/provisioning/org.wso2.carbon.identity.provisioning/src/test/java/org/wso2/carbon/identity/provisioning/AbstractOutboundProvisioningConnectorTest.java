@@ -91,6 +91,25 @@ public class AbstractOutboundProvisioningConnectorTest {
                 "'remoteClaimValue'.");
     }
 
+    @Test
+    public void testProvisionBatch() {
+
+        ProvisioningEntity userEntity = new ProvisioningEntity(ProvisioningEntityType.USER,
+                ProvisioningOperation.POST);
+        ProvisioningEntity groupEntity = new ProvisioningEntity(ProvisioningEntityType.GROUP,
+                ProvisioningOperation.POST);
+
+        List<ProvisioningResult> results = connector.provisionBatch(Arrays.asList(userEntity, groupEntity));
+
+        Assert.assertEquals(results.size(), 2);
+        Assert.assertSame(results.get(0).getProvisioningEntity(), userEntity);
+        Assert.assertSame(results.get(1).getProvisioningEntity(), groupEntity);
+        Assert.assertTrue(results.get(0).isSuccess());
+        Assert.assertTrue(results.get(1).isSuccess());
+        Assert.assertFalse(connector.isBatchProvisioningSupported(), "Batch provisioning should not be supported " +
+                "by default.");
+    }
+
     @Test
     public void testGetClaimDialectUri() throws Exception {
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.provisioning.dao.CacheBackedProvisioningMgtDAO;
+import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.wso2.carbon.identity.provisioning.ProvisioningEntityType.USER;
+import static org.wso2.carbon.identity.provisioning.ProvisioningOperation.DELETE;
+import static org.wso2.carbon.identity.provisioning.ProvisioningOperation.POST;
+
+/**
+ * Test class for BatchProvisioningThread test cases.
+ */
+public class BatchProvisioningThreadTest {
+
+    private static final String TENANT_DOMAIN_NAME = "carbon.super";
+    private static final int TENANT_ID = -1234;
+    private static final String CONNECTOR_TYPE = "testConnectorType";
+    private static final String IDP_NAME = "testIdpName";
+
+    @Mock
+    private AbstractOutboundProvisioningConnector mockConnector;
+    @Mock
+    private CacheBackedProvisioningMgtDAO mockDao;
+    private MockedStatic<IdPManagementUtil> idPManagementUtil;
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContext;
+
+    @BeforeMethod
+    public void setUp() {
+
+        initMocks(this);
+        System.setProperty("carbon.home", "");
+        idPManagementUtil = mockStatic(IdPManagementUtil.class);
+        idPManagementUtil.when(() -> IdPManagementUtil.getTenantIdOfDomain(TENANT_DOMAIN_NAME)).thenReturn(TENANT_ID);
+        privilegedCarbonContext = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        privilegedCarbonContext.close();
+        idPManagementUtil.close();
+    }
+
+    @Test
+    public void testCallRecordsResultsInOperationOrder() throws Exception {
+
+        ProvisioningEntity addedUser = new ProvisioningEntity(USER, "user1", POST, null);
+        ProvisioningEntity deletedUser = new ProvisioningEntity(USER, "user2", DELETE, null);
+        ProvisioningEntity readdedUser = new ProvisioningEntity(USER, "user2", POST, null);
+        List<ProvisioningEntity> entities = Arrays.asList(addedUser, deletedUser, readdedUser);
+
+        List<ProvisioningResult> results = new ArrayList<>();
+        for (ProvisioningEntity entity : entities) {
+            results.add(ProvisioningResult.success(entity, new ProvisionedIdentifier()));
+        }
+        when(mockConnector.provisionBatch(entities)).thenReturn(results);
+
+        Assert.assertTrue(createBatch(entities).call());
+        Assert.assertNotNull(addedUser.getIdentifier().getIdentifier());
+        Assert.assertNotNull(readdedUser.getIdentifier().getIdentifier());
+
+        InOrder inOrder = inOrder(mockDao);
+        inOrder.verify(mockDao).addProvisioningEntities(IDP_NAME, CONNECTOR_TYPE,
+                Collections.singletonList(addedUser), TENANT_ID, TENANT_DOMAIN_NAME);
+        inOrder.verify(mockDao).deleteProvisioningEntities(IDP_NAME, CONNECTOR_TYPE,
+                Collections.singletonList(deletedUser), TENANT_ID, TENANT_DOMAIN_NAME);
+        inOrder.verify(mockDao).addProvisioningEntities(IDP_NAME, CONNECTOR_TYPE,
+                Collections.singletonList(readdedUser), TENANT_ID, TENANT_DOMAIN_NAME);
+    }
+
+    @Test
+    public void testCallWithFailedEntity() throws Exception {
+
+        ProvisioningEntity failedUser = new ProvisioningEntity(USER, "user1", POST, null);
+        ProvisioningEntity addedUser = new ProvisioningEntity(USER, "user2", POST, null);
+        List<ProvisioningEntity> entities = Arrays.asList(failedUser, addedUser);
+
+        when(mockConnector.provisionBatch(entities)).thenReturn(Arrays.asList(
+                ProvisioningResult.failure(failedUser, new IdentityProvisioningException("Provisioning failed.")),
+                ProvisioningResult.success(addedUser, new ProvisionedIdentifier())));
+
+        Assert.assertFalse(createBatch(entities).call());
+        verify(mockDao).addProvisioningEntities(IDP_NAME, CONNECTOR_TYPE, Collections.singletonList(addedUser),
+                TENANT_ID, TENANT_DOMAIN_NAME);
+    }
+
+    @Test
+    public void testCallWithJitOutboundDisabledConnector() throws Exception {
+
+        ProvisioningEntity jitUser = new ProvisioningEntity(USER, "user1", POST, null);
+        jitUser.setJitProvisioning(true);
+        when(mockConnector.isJitProvisioningEnabled()).thenReturn(false);
+
+        Assert.assertTrue(createBatch(Collections.singletonList(jitUser)).call());
+        verify(mockConnector, never()).provisionBatch(anyList());
+    }
+
+    @Test(expectedExceptions = IdentityProvisioningException.class)
+    public void testCallWithMismatchingResultCount() throws Exception {
+
+        ProvisioningEntity user = new ProvisioningEntity(USER, "user1", POST, null);
+        when(mockConnector.provisionBatch(anyList())).thenReturn(Collections.<ProvisioningResult>emptyList());
+
+        createBatch(Collections.singletonList(user)).call();
+    }
+
+    private BatchProvisioningThread createBatch(List<ProvisioningEntity> entities) {
+
+        List<ProvisioningThread> tasks = new ArrayList<>();
+        for (ProvisioningEntity entity : entities) {
+            tasks.add(new ProvisioningThread(entity, TENANT_DOMAIN_NAME, mockConnector, CONNECTOR_TYPE, IDP_NAME,
+                    mockDao));
+        }
+        return new BatchProvisioningThread(tasks);
+    }
+}
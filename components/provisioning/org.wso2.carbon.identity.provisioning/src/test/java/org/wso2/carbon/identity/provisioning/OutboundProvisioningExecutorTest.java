@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OutboundProvisioningExecutorTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String IDP_NAME = "outboundIdP";
+    private static final String CONNECTOR_TYPE = "scim2";
+    private static final String CONNECTOR_KEY = TENANT_DOMAIN + ":" + IDP_NAME + ":" + CONNECTOR_TYPE;
+
+    private OutboundProvisioningExecutor executor;
+    private RecordingFailureHandler failureHandler;
+
+    @BeforeMethod
+    public void setUp() {
+
+        failureHandler = new RecordingFailureHandler();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (executor != null) {
+            executor.shutdown(0);
+        }
+    }
+
+    @Test
+    public void testConcurrencyPerConnectorIsLimited() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(4, 100, 2, 0, 1000);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+
+                    int current = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(current, Math::max);
+                    Thread.sleep(5);
+                    running.decrementAndGet();
+                    completed.countDown();
+                    return true;
+                }
+            }, failureHandler);
+        }
+
+        Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(maxRunning.get() <= 2, "More tasks than the concurrency limit ran for a connector.");
+        ProvisioningConnectorMetrics metrics = executor.getMetrics().get(CONNECTOR_KEY);
+        waitForCompletedTasks(metrics, 20);
+        Assert.assertEquals(metrics.getFailedTasks(), 0);
+        Assert.assertTrue(failureHandler.failures.isEmpty());
+    }
+
+    @Test
+    public void testCallerRunsWhenQueueIsFull() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 1, 1, 0, 0);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return true;
+            }
+        }, failureHandler);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, new SuccessfulTask(), failureHandler);
+
+        final String callerThread = Thread.currentThread().getName();
+        final String[] executedThread = new String[1];
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+
+                executedThread[0] = Thread.currentThread().getName();
+                return true;
+            }
+        }, failureHandler);
+        release.countDown();
+
+        Assert.assertEquals(executedThread[0], callerThread);
+        ProvisioningConnectorMetrics metrics = executor.getMetrics().get(CONNECTOR_KEY);
+        Assert.assertEquals(metrics.getCallerRunsTasks(), 1);
+        waitForCompletedTasks(metrics, 3);
+        Assert.assertTrue(failureHandler.failures.isEmpty());
+    }
+
+    @Test
+    public void testTaskTimeout() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 10, 1, 100, 1000);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return true;
+            }
+        }, failureHandler);
+
+        Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        ProvisioningConnectorMetrics metrics = executor.getMetrics().get(CONNECTOR_KEY);
+        waitForCompletedTasks(metrics, 1);
+        Assert.assertEquals(metrics.getTimedOutTasks(), 1);
+        Assert.assertEquals(metrics.getFailedTasks(), 1);
+        failureHandler.awaitFailures(1);
+        Assert.assertTrue(failureHandler.failures.get(0) instanceof InterruptedException);
+    }
+
+    @Test
+    public void testDiscardedTasksAreReportedToFailureHandler() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 10, 1, 100, 1000);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, () -> {
+            started.countDown();
+            // Ignore the interrupt on timeout, so the next task waits in the queue past the timeout.
+            while (true) {
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    // Keep waiting for the release.
+                }
+            }
+        }, failureHandler);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        final AtomicInteger executedTasks = new AtomicInteger();
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, () -> executedTasks.incrementAndGet() > 0,
+                failureHandler);
+        Thread.sleep(300);
+        release.countDown();
+
+        failureHandler.awaitFailures(1);
+        Assert.assertTrue(failureHandler.failures.get(0) instanceof IdentityProvisioningException);
+        Assert.assertEquals(executedTasks.get(), 0, "A task queued past the timeout should not run.");
+
+        // Tasks still queued on shutdown are reported as well.
+        executor.shutdown(0);
+        executor = new OutboundProvisioningExecutor(1, 10, 1, 0, 1000);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, () -> {
+            blocked.countDown();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            return true;
+        }, new RecordingFailureHandler());
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, new SuccessfulTask(), failureHandler);
+        executor.shutdown(0);
+        failureHandler.awaitFailures(2);
+    }
+
+    @Test
+    public void testOrderedTasksRunOneAtATime() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(4, 100, 4, 0, 1000);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Integer> executionOrder = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final int taskIndex = i;
+            executor.submitOrdered(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                executionOrder.add(taskIndex);
+                running.decrementAndGet();
+                return true;
+            }, failureHandler);
+        }
+
+        waitForCompletedTasks(executor.getMetrics().get(CONNECTOR_KEY + ":ordered"), 10);
+        Assert.assertEquals(maxRunning.get(), 1, "Ordered tasks of a connector ran concurrently.");
+        Assert.assertEquals(executionOrder, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+
+    @Test
+    public void testShutdownWaitsForQueuedTasks() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 10, 1, 0, 1000);
+        final AtomicInteger executedTasks = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.submit(TENANT_DOMAIN, IDP_NAME, CONNECTOR_TYPE, () -> {
+                Thread.sleep(20);
+                executedTasks.incrementAndGet();
+                return true;
+            }, failureHandler);
+        }
+
+        executor.shutdown(5000);
+        Assert.assertEquals(executedTasks.get(), 5);
+        Assert.assertTrue(failureHandler.failures.isEmpty());
+    }
+
+    private void waitForCompletedTasks(ProvisioningConnectorMetrics metrics, long expectedTasks)
+            throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (metrics.getCompletedTasks() < expectedTasks && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(metrics.getCompletedTasks(), expectedTasks);
+    }
+
+    private static class RecordingFailureHandler implements OutboundProvisioningExecutor.FailureHandler {
+
+        private final List<Exception> failures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void handleFailure(Exception e) {
+
+            failures.add(e);
+        }
+
+        void awaitFailures(int expectedFailures) throws InterruptedException {
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (failures.size() < expectedFailures && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(failures.size(), expectedFailures);
+        }
+    }
+
+    private static class SuccessfulTask implements Callable<Boolean> {
+
+        @Override
+        public Boolean call() {
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.provisioning.cache.ProvisioningEntityCache;
+import org.wso2.carbon.identity.provisioning.dao.ProvisioningOutboxDAO;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OutboundProvisioningOutboxTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String IDP_NAME = "outboundIdP";
+    private static final String CONNECTOR_TYPE = "scim2";
+    private static final String PASSWORD = "Password@123";
+
+    private BasicDataSource dataSource;
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private MockedStatic<PrivilegedCarbonContext> privilegedCarbonContext;
+    private MockedStatic<CryptoUtil> cryptoUtil;
+    private MockedStatic<ProvisioningEntityCache> provisioningEntityCache;
+    private OutboundProvisioningExecutor executor;
+    private AbstractOutboundProvisioningConnector connector;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUsername("username");
+        dataSource.setPassword("password");
+        dataSource.setUrl("jdbc:h2:mem:outbox");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("RUNSCRIPT FROM '" + Paths.get(System.getProperty("user.dir"),
+                    "src", "test", "resources", "dbscripts", "h2.sql") + "'");
+        }
+
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> dataSource.getConnection());
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.closeAllConnections(any(), any(), any()))
+                .thenCallRealMethod();
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.closeConnection(any())).thenCallRealMethod();
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.closeResultSet(any())).thenCallRealMethod();
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.closeStatement(any())).thenCallRealMethod();
+
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(-1234);
+
+        privilegedCarbonContext = mockStatic(PrivilegedCarbonContext.class);
+        privilegedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+
+        CryptoUtil mockCryptoUtil = mock(CryptoUtil.class);
+        when(mockCryptoUtil.encryptAndBase64Encode(any(byte[].class))).thenAnswer(invocation ->
+                Base64.getEncoder().encodeToString((byte[]) invocation.getArgument(0)));
+        when(mockCryptoUtil.base64DecodeAndDecrypt(anyString())).thenAnswer(invocation ->
+                Base64.getDecoder().decode((String) invocation.getArgument(0)));
+        cryptoUtil = mockStatic(CryptoUtil.class);
+        cryptoUtil.when(CryptoUtil::getDefaultCryptoUtil).thenReturn(mockCryptoUtil);
+
+        provisioningEntityCache = mockStatic(ProvisioningEntityCache.class);
+        provisioningEntityCache.when(ProvisioningEntityCache::getInstance)
+                .thenReturn(mock(ProvisioningEntityCache.class));
+
+        executor = mock(OutboundProvisioningExecutor.class);
+        connector = mock(AbstractOutboundProvisioningConnector.class);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        identityDatabaseUtil.close();
+        identityTenantUtil.close();
+        privilegedCarbonContext.close();
+        cryptoUtil.close();
+        provisioningEntityCache.close();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("DROP ALL OBJECTS");
+        }
+        dataSource.close();
+    }
+
+    @Test
+    public void testDeliveredOperationIsRemoved() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(10);
+        outbox.add(createProvisioningTask("alice"));
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_PENDING), 1);
+        Assert.assertFalse(new String(getPayload(), StandardCharsets.ISO_8859_1).contains(PASSWORD),
+                "Password should not be stored in clear text.");
+
+        Assert.assertEquals(outbox.poll(), 1);
+        when(connector.provision(any(ProvisioningEntity.class))).thenReturn(new ProvisionedIdentifier());
+        Assert.assertTrue(captureDeliveries(1).get(0).call());
+
+        ArgumentCaptor<ProvisioningEntity> provisionedEntity = ArgumentCaptor.forClass(ProvisioningEntity.class);
+        verify(connector).provision(provisionedEntity.capture());
+        ProvisioningEntity entity = provisionedEntity.getValue();
+        Assert.assertEquals(entity.getEntityName(), "alice");
+        Assert.assertNotNull(entity.getIdempotencyKey());
+        Assert.assertEquals(ProvisioningUtil.getClaimValues(entity.getAttributes(),
+                IdentityProvisioningConstants.PASSWORD_CLAIM_URI, null), Collections.singletonList(PASSWORD));
+        Assert.assertEquals(countEntries(null), 0);
+    }
+
+    @Test
+    public void testFailedOperationIsRetriedBeforeLaterOperationsOfTheEntity() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(10);
+        outbox.add(createProvisioningTask("alice"));
+        outbox.add(createProvisioningTask("alice"));
+        outbox.add(createProvisioningTask("bob"));
+
+        // Only the first operation of each entity is due.
+        Assert.assertEquals(outbox.poll(), 2);
+        List<Callable<Boolean>> deliveries = captureDeliveries(2);
+        when(connector.provision(any(ProvisioningEntity.class)))
+                .thenThrow(new IdentityProvisioningException("Identity provider is not available."))
+                .thenReturn(new ProvisionedIdentifier());
+        String failedKey = getIdempotencyKeys().get(0);
+        try {
+            deliveries.get(0).call();
+            Assert.fail("Delivery of the first operation should fail.");
+        } catch (IdentityProvisioningException e) {
+            // Expected.
+        }
+        Assert.assertTrue(deliveries.get(1).call());
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_PENDING), 2);
+
+        // The failed operation waits for its backoff and blocks the next operation of the same entity.
+        Assert.assertEquals(outbox.poll(), 0);
+
+        executeUpdate("UPDATE IDP_PROVISIONING_OUTBOX SET NEXT_ATTEMPT_TIME = 0 WHERE IDEMPOTENCY_KEY = ?", failedKey);
+        Assert.assertEquals(outbox.poll(), 1);
+        Assert.assertTrue(captureDeliveries(3).get(2).call());
+        ArgumentCaptor<ProvisioningEntity> provisionedEntity = ArgumentCaptor.forClass(ProvisioningEntity.class);
+        verify(connector, times(3)).provision(provisionedEntity.capture());
+        Assert.assertEquals(provisionedEntity.getAllValues().get(2).getIdempotencyKey(), failedKey);
+    }
+
+    @Test
+    public void testOperationIsMarkedFailedAfterMaxAttempts() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(1);
+        outbox.add(createProvisioningTask("alice"));
+        outbox.add(createProvisioningTask("alice"));
+
+        Assert.assertEquals(outbox.poll(), 1);
+        when(connector.provision(any(ProvisioningEntity.class)))
+                .thenThrow(new IdentityProvisioningException("Invalid user."));
+        try {
+            captureDeliveries(1).get(0).call();
+            Assert.fail("Delivery of the operation should fail.");
+        } catch (IdentityProvisioningException e) {
+            // Expected.
+        }
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_FAILED), 1);
+
+        // A failed operation does not block the later operations of the entity.
+        Assert.assertEquals(outbox.poll(), 1);
+    }
+
+    @Test
+    public void testUnreadableOperationIsMarkedFailed() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(10);
+        ProvisioningThread provisioningTask = createProvisioningTask("alice");
+        // Only the listed collection classes are allowed in a payload.
+        provisioningTask.getProvisioningEntity().setInboundAttributes(new TreeMap<>());
+        outbox.add(provisioningTask);
+
+        Assert.assertEquals(outbox.poll(), 1);
+        verify(executor, never()).submit(anyString(), anyString(), anyString(), any(), any());
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_FAILED), 1);
+    }
+
+    @Test
+    public void testExpiredFailedOperationIsRemoved() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(1);
+        outbox.add(createProvisioningTask("alice"));
+        outbox.add(createProvisioningTask("bob"));
+        Assert.assertEquals(outbox.poll(), 2);
+        when(connector.provision(any(ProvisioningEntity.class)))
+                .thenThrow(new IdentityProvisioningException("Invalid user."));
+        for (Callable<Boolean> delivery : captureDeliveries(2)) {
+            try {
+                delivery.call();
+                Assert.fail("Delivery of the operation should fail.");
+            } catch (IdentityProvisioningException e) {
+                // Expected.
+            }
+        }
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_FAILED), 2);
+
+        // Only the operation which failed before the retention period is removed.
+        executeUpdate("UPDATE IDP_PROVISIONING_OUTBOX SET NEXT_ATTEMPT_TIME = 0 WHERE IDEMPOTENCY_KEY = ?",
+                getIdempotencyKeys().get(0));
+        Assert.assertEquals(createOutbox(1).poll(), 0);
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_FAILED), 1);
+    }
+
+    @Test
+    public void testExpiredClaimIsReleased() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(10);
+        outbox.add(createProvisioningTask("alice"));
+        Assert.assertEquals(outbox.poll(), 1);
+        Assert.assertEquals(outbox.poll(), 0);
+
+        executeUpdate("UPDATE IDP_PROVISIONING_OUTBOX SET CLAIM_TIME = 0 WHERE STATUS = ?",
+                ProvisioningOutboxDAO.STATUS_PROCESSING);
+        Assert.assertEquals(outbox.poll(), 1);
+    }
+
+    @Test
+    public void testResultAfterExpiredClaimIsDiscarded() throws Exception {
+
+        OutboundProvisioningOutbox outbox = createOutbox(10);
+        OutboundProvisioningOutbox otherNodeOutbox = createOutbox(10);
+        outbox.add(createProvisioningTask("alice"));
+        Assert.assertEquals(outbox.poll(), 1);
+
+        // The claim expires before the delivery completes, and another node claims the operation again.
+        executeUpdate("UPDATE IDP_PROVISIONING_OUTBOX SET CLAIM_TIME = 0 WHERE STATUS = ?",
+                ProvisioningOutboxDAO.STATUS_PROCESSING);
+        Assert.assertEquals(otherNodeOutbox.poll(), 1);
+        List<Callable<Boolean>> deliveries = captureDeliveries(2);
+        when(connector.provision(any(ProvisioningEntity.class)))
+                .thenThrow(new IdentityProvisioningException("Identity provider is not available."))
+                .thenReturn(new ProvisionedIdentifier());
+
+        // Neither the failure nor the success of the late delivery changes the operation claimed by the other node.
+        try {
+            deliveries.get(0).call();
+            Assert.fail("Delivery of the operation should fail.");
+        } catch (IdentityProvisioningException e) {
+            // Expected.
+        }
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_PROCESSING), 1);
+        Assert.assertTrue(deliveries.get(0).call());
+        Assert.assertEquals(countEntries(ProvisioningOutboxDAO.STATUS_PROCESSING), 1);
+
+        Assert.assertTrue(deliveries.get(1).call());
+        Assert.assertEquals(countEntries(null), 0);
+    }
+
+    @Test
+    public void testBackoff() {
+
+        OutboundProvisioningOutbox outbox = new OutboundProvisioningOutbox(executor, null, null, 1000, 10, 10, 1000,
+                5000, 60000, 60000);
+        Assert.assertEquals(outbox.getBackoff(1), 1000);
+        Assert.assertEquals(outbox.getBackoff(2), 2000);
+        Assert.assertEquals(outbox.getBackoff(3), 4000);
+        Assert.assertEquals(outbox.getBackoff(4), 5000);
+        Assert.assertEquals(outbox.getBackoff(100), 5000);
+    }
+
+    private OutboundProvisioningOutbox createOutbox(int maxAttempts) {
+
+        // The poller is not started, so the tests drive the polls.
+        return new OutboundProvisioningOutbox(executor, (idPName, connectorType, tenantDomain) -> connector,
+                new ProvisioningOutboxDAO(), 60000, 10, maxAttempts, 60000, 600000, 60000, 60000);
+    }
+
+    private ProvisioningThread createProvisioningTask(String userName) {
+
+        Map<ClaimMapping, List<String>> attributes = new HashMap<>();
+        attributes.put(ClaimMapping.build(IdentityProvisioningConstants.PASSWORD_CLAIM_URI, null, null, false),
+                Collections.singletonList(PASSWORD));
+        ProvisioningEntity provisioningEntity = new ProvisioningEntity(ProvisioningEntityType.USER, userName,
+                ProvisioningOperation.PUT, attributes);
+        return new ProvisioningThread(provisioningEntity, TENANT_DOMAIN, TENANT_DOMAIN, connector, CONNECTOR_TYPE,
+                IDP_NAME, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Callable<Boolean>> captureDeliveries(int expectedDeliveries) {
+
+        ArgumentCaptor<Callable<Boolean>> deliveries = ArgumentCaptor.forClass(Callable.class);
+        ArgumentCaptor<OutboundProvisioningExecutor.FailureHandler> failureHandlers =
+                ArgumentCaptor.forClass(OutboundProvisioningExecutor.FailureHandler.class);
+        verify(executor, times(expectedDeliveries)).submit(eq(TENANT_DOMAIN), eq(IDP_NAME), eq(CONNECTOR_TYPE),
+                deliveries.capture(), failureHandlers.capture());
+
+        // Run the deliveries the way the executor does, reporting the failures to their handlers.
+        List<Callable<Boolean>> executedDeliveries = new ArrayList<>();
+        for (int i = 0; i < expectedDeliveries; i++) {
+            final Callable<Boolean> delivery = deliveries.getAllValues().get(i);
+            final OutboundProvisioningExecutor.FailureHandler failureHandler = failureHandlers.getAllValues().get(i);
+            executedDeliveries.add(() -> {
+                try {
+                    return delivery.call();
+                } catch (Exception e) {
+                    failureHandler.handleFailure(e);
+                    throw e;
+                }
+            });
+        }
+        return executedDeliveries;
+    }
+
+    private int countEntries(String status) throws Exception {
+
+        String sql = "SELECT COUNT(*) FROM IDP_PROVISIONING_OUTBOX" + (status == null ? "" : " WHERE STATUS = ?");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            if (status != null) {
+                prepStmt.setString(1, status);
+            }
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private byte[] getPayload() throws Exception {
+
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery(
+                     "SELECT PAYLOAD FROM IDP_PROVISIONING_OUTBOX")) {
+            resultSet.next();
+            return resultSet.getBytes(1);
+        }
+    }
+
+    private List<String> getIdempotencyKeys() throws Exception {
+
+        List<String> keys = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery(
+                     "SELECT IDEMPOTENCY_KEY FROM IDP_PROVISIONING_OUTBOX ORDER BY ID")) {
+            while (resultSet.next()) {
+                keys.add(resultSet.getString(1));
+            }
+        }
+        return keys;
+    }
+
+    private void executeUpdate(String sql, String parameter) throws Exception {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, parameter);
+            prepStmt.executeUpdate();
+        }
+    }
+}
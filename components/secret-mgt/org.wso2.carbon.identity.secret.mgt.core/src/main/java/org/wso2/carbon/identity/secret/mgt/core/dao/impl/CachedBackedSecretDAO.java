@@ -58,43 +58,40 @@ public class CachedBackedSecretDAO implements SecretDAO {
     @Override
     public Secret getSecretByName(String name, SecretType secretType, int tenantId) throws SecretManagementException {
 
-        Secret secret = getSecretFromCacheByName(name, tenantId);
-        if (secret != null) {
-            if (log.isDebugEnabled()) {
-                String message = String.format("Cache hit for secret by it's name. Secret name: %s, Tenant id: "
-                        + "%d", name, tenantId);
-                log.debug(message);
-            }
-        } else {
+        SecretCacheEntry secretCacheEntry = secretByNameCache.getOrLoad(new SecretByNameCacheKey(name), key -> {
             if (log.isDebugEnabled()) {
                 String message = String.format("Cache miss for secret by it's name. Secret name: %s, Tenant id: " +
                         "%d", name, tenantId);
                 log.debug(message);
             }
-            secret = secretDAO.getSecretByName(name, secretType, tenantId);
-            addSecretToCache(secret);
-        }
-        return secret;
+            Secret secret = secretDAO.getSecretByName(name, secretType, tenantId);
+            if (secret == null) {
+                return null;
+            }
+            secretByIdCache.addToCache(new SecretByIdCacheKey(secret.getSecretId()), new SecretCacheEntry(secret),
+                    secret.getTenantDomain());
+            return new SecretCacheEntry(secret);
+        }, tenantId);
+        return secretCacheEntry != null ? secretCacheEntry.getSecret() : null;
     }
 
     @Override
     public Secret getSecretById(String secretId, int tenantId) throws SecretManagementException {
 
-        Secret secret = getSecretFromCacheById(secretId, tenantId);
-        if (secret != null) {
-            if (log.isDebugEnabled()) {
-                String message = String.format("Cache hit for secret by it's id. Secret id: %s", secretId);
-                log.debug(message);
-            }
-        } else {
+        SecretCacheEntry secretCacheEntry = secretByIdCache.getOrLoad(new SecretByIdCacheKey(secretId), key -> {
             if (log.isDebugEnabled()) {
                 String message = String.format("Cache miss for secret by it's id. Secret id: %s", secretId);
                 log.debug(message);
             }
-            secret = secretDAO.getSecretById(secretId, tenantId);
-            addSecretToCache(secret);
-        }
-        return secret;
+            Secret secret = secretDAO.getSecretById(secretId, tenantId);
+            if (secret == null) {
+                return null;
+            }
+            secretByNameCache.addToCache(new SecretByNameCacheKey(secret.getSecretName()),
+                    new SecretCacheEntry(secret), secret.getTenantDomain());
+            return new SecretCacheEntry(secret);
+        }, tenantId);
+        return secretCacheEntry != null ? secretCacheEntry.getSecret() : null;
     }
 
     @Override
@@ -55,8 +55,19 @@ public class UserMgtConstants {
     public static final String USERS = "users";
     public static final String NAME = "name";
     public static final String CAUSE = "cause";
+    public static final String SKIPPED_ROWS = "skippedRows";
+    public static final String READ_ROWS = "readRows";
+    public static final String ERROR_REPORT = "errorReport";
     public static final String AUDIT_LOG_FORMAT = "Initiator : %s | Action : %s | Target : %s | Data : %s | Result : %s";
     public static final String ERROR_MESSAGE = "Bulk User Import was completed with Errors. Success count : %d,  " +
             "Failed Count : %d, Duplicate Count : %d.";
+
+    // Streaming bulk user import configs
+    public static final String STREAMING_BULK_IMPORT_ENABLE = "UserBulkImport.StreamingImport.Enable";
+    public static final String STREAMING_BULK_IMPORT_CONCURRENCY =
+            "UserBulkImport.StreamingImport.ConcurrencyPerUserStore";
+    public static final String STREAMING_BULK_IMPORT_DATA_DIRECTORY = "UserBulkImport.StreamingImport.DataDirectory";
+    public static final String STREAMING_BULK_IMPORT_PROGRESS_LOG_INTERVAL =
+            "UserBulkImport.StreamingImport.ProgressLogInterval";
     // component xml constants
 }
@@ -46,9 +46,12 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.jdbc.JDBCUserStoreManager;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.user.mgt.bulkimport.BulkImportConfig;
+import org.wso2.carbon.user.mgt.bulkimport.CSVBulkImportRowSource;
 import org.wso2.carbon.user.mgt.bulkimport.CSVUserBulkImport;
 import org.wso2.carbon.user.mgt.bulkimport.ExcelUserBulkImport;
+import org.wso2.carbon.user.mgt.bulkimport.StreamingUserBulkImport;
 import org.wso2.carbon.user.mgt.bulkimport.UserBulkImport;
+import org.wso2.carbon.user.mgt.bulkimport.XLSXBulkImportRowSource;
 import org.wso2.carbon.user.mgt.common.ClaimValue;
 import org.wso2.carbon.user.mgt.common.FlaggedName;
 import org.wso2.carbon.user.mgt.common.UIPermissionNode;
@@ -2240,7 +2243,13 @@ public class UserRealmProxy {
             UserStoreManager userStore = this.realm.getUserStoreManager();
             userStore = userStore.getSecondaryUserStoreManager(userStoreDomain);
 
-            if (fileName.endsWith("csv")) {
+            if (fileName.endsWith("csv") && StreamingUserBulkImport.isEnabled()) {
+                UserBulkImport csvAdder = new StreamingUserBulkImport(config, new CSVBulkImportRowSource(config));
+                csvAdder.addUserList(userStore);
+            } else if (fileName.endsWith("xlsx") && StreamingUserBulkImport.isEnabled()) {
+                UserBulkImport excelAdder = new StreamingUserBulkImport(config, new XLSXBulkImportRowSource(config));
+                excelAdder.addUserList(userStore);
+            } else if (fileName.endsWith("csv")) {
                 UserBulkImport csvAdder = new CSVUserBulkImport(config);
                 csvAdder.addUserList(userStore);
             } else if (fileName.endsWith("xls") || fileName.endsWith("xlsx")) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Resumable checkpoint of a bulk user import. Rows complete out of order as they are added in parallel, hence the
+ * checkpoint keeps the highest row number up to which all rows are processed, and the rows completed after it.
+ * <p>
+ * The checkpoint file holds the user name of the first data row along with the row number, so that a checkpoint is
+ * not applied to a different file uploaded with the same name.
+ */
+class BulkImportCheckpoint {
+
+    private static final Log log = LogFactory.getLog(BulkImportCheckpoint.class);
+
+    private final Path file;
+    private final TreeSet<Long> completedRows = new TreeSet<>();
+    private String firstUserName;
+    private long processedRow;
+
+    private BulkImportCheckpoint(Path file, String firstUserName, long processedRow) {
+
+        this.file = file;
+        this.firstUserName = firstUserName;
+        this.processedRow = processedRow;
+    }
+
+    /**
+     * Load the checkpoint from the given file. A new checkpoint is returned if the file does not exist or cannot be
+     * read.
+     *
+     * @param file Checkpoint file.
+     * @return Checkpoint.
+     */
+    static BulkImportCheckpoint load(Path file) {
+
+        if (Files.exists(file)) {
+            try {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                if (lines.size() == 2 && StringUtils.isNumeric(lines.get(1))) {
+                    return new BulkImportCheckpoint(file, lines.get(0), Long.parseLong(lines.get(1)));
+                }
+                log.warn("Ignoring the invalid bulk user import checkpoint: " + file);
+            } catch (IOException e) {
+                log.warn("Error while reading the bulk user import checkpoint: " + file, e);
+            }
+        }
+        return new BulkImportCheckpoint(file, null, 0);
+    }
+
+    /**
+     * Check whether the checkpoint was recorded for a file whose first data row has the given user name. Otherwise
+     * the checkpoint is reset, so that all rows are processed.
+     *
+     * @param userName User name of the first data row.
+     * @return true if the rows up to the checkpoint can be skipped.
+     */
+    synchronized boolean matches(String userName) {
+
+        if (firstUserName == null || !firstUserName.equals(userName)) {
+            if (processedRow > 0) {
+                log.warn("The bulk user import checkpoint: " + file + " was recorded for a different file. " +
+                        "Hence processing all rows.");
+            }
+            firstUserName = userName;
+            processedRow = 0;
+            return false;
+        }
+        return processedRow > 0;
+    }
+
+    synchronized long getProcessedRow() {
+
+        return processedRow;
+    }
+
+    /**
+     * Mark a row as processed.
+     *
+     * @param rowNumber Row number.
+     */
+    synchronized void markProcessed(long rowNumber) {
+
+        if (rowNumber <= processedRow) {
+            return;
+        }
+        completedRows.add(rowNumber);
+        while (!completedRows.isEmpty() && completedRows.first() == processedRow + 1) {
+            processedRow = completedRows.pollFirst();
+        }
+    }
+
+    /**
+     * Persist the checkpoint. The file is replaced atomically, so that a crash does not leave a partial checkpoint.
+     */
+    void save() {
+
+        List<String> lines;
+        synchronized (this) {
+            if (firstUserName == null) {
+                return;
+            }
+            lines = Arrays.asList(firstUserName, String.valueOf(processedRow));
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Error while saving the bulk user import checkpoint: " + file, e);
+        }
+    }
+
+    /**
+     * Delete the checkpoint once the import is completed.
+     */
+    void delete() {
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("Error while deleting the bulk user import checkpoint: " + file, e);
+        }
+    }
+}
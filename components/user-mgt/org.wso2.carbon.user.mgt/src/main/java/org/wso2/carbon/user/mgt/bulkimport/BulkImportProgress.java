@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of a running bulk user import. The counters are updated by the import threads and can be read while the
+ * import runs.
+ */
+public class BulkImportProgress {
+
+    private final String importId;
+    private final String userStoreDomain;
+    private final long startTime = System.nanoTime();
+    private final LongAdder processedRows = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
+    private volatile long skippedRows;
+    private volatile long endTime;
+
+    public BulkImportProgress(String importId, String userStoreDomain) {
+
+        this.importId = importId;
+        this.userStoreDomain = userStoreDomain;
+    }
+
+    public String getImportId() {
+
+        return importId;
+    }
+
+    public String getUserStoreDomain() {
+
+        return userStoreDomain;
+    }
+
+    /**
+     * Get the number of rows processed in this run, excluding the rows skipped from a previous run.
+     *
+     * @return Number of processed rows.
+     */
+    public long getProcessedRows() {
+
+        return processedRows.sum();
+    }
+
+    public long getSuccessCount() {
+
+        return successCount.sum();
+    }
+
+    public long getFailedCount() {
+
+        return failedCount.sum();
+    }
+
+    public long getDuplicateCount() {
+
+        return duplicateCount.sum();
+    }
+
+    /**
+     * Get the number of rows skipped as they were processed by a previous run of the import.
+     *
+     * @return Number of skipped rows.
+     */
+    public long getSkippedRows() {
+
+        return skippedRows;
+    }
+
+    public boolean isCompleted() {
+
+        return endTime != 0;
+    }
+
+    /**
+     * Get the elapsed time of the import.
+     *
+     * @return Elapsed time in milliseconds.
+     */
+    public long getElapsedTime() {
+
+        long end = isCompleted() ? endTime : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startTime);
+    }
+
+    /**
+     * Get the average number of rows processed per second.
+     *
+     * @return Rows per second.
+     */
+    public double getRowsPerSecond() {
+
+        long elapsedTime = getElapsedTime();
+        return elapsedTime == 0 ? 0 : getProcessedRows() * 1000d / elapsedTime;
+    }
+
+    void setSkippedRows(long skippedRows) {
+
+        this.skippedRows = skippedRows;
+    }
+
+    void rowSucceeded() {
+
+        successCount.increment();
+        processedRows.increment();
+    }
+
+    void rowFailed() {
+
+        failedCount.increment();
+        processedRows.increment();
+    }
+
+    void rowDuplicated() {
+
+        duplicateCount.increment();
+        processedRows.increment();
+    }
+
+    void rowIgnored() {
+
+        processedRows.increment();
+    }
+
+    void complete() {
+
+        endTime = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("Bulk user import: %s to user store: %s - processed rows: %d, rows/sec: %.1f, " +
+                        "success: %d, failed: %d, duplicates: %d, skipped: %d", importId, userStoreDomain,
+                getProcessedRows(), getRowsPerSecond(), getSuccessCount(), getFailedCount(), getDuplicateCount(),
+                getSkippedRows());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import org.wso2.carbon.user.mgt.common.UserAdminException;
+
+/**
+ * Source of the user rows of a bulk import file. Rows are read one at a time and handed to the given handler, so
+ * the file is never held in memory as a whole.
+ */
+public interface BulkImportRowSource {
+
+    /**
+     * Read the data rows of the file, skipping the header row.
+     *
+     * @param handler Handler of the rows.
+     * @throws UserAdminException If the file cannot be read or the handler fails.
+     */
+    void read(RowHandler handler) throws UserAdminException;
+
+    /**
+     * Handler of the rows read from a bulk import file.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * Handle a data row.
+         *
+         * @param rowNumber Number of the data row, starting from 1 for the row after the header.
+         * @param columns   Values of the row. The first value is the user name.
+         * @throws UserAdminException If the row cannot be handled.
+         */
+        void handle(long rowNumber, String[] columns) throws UserAdminException;
+    }
+}
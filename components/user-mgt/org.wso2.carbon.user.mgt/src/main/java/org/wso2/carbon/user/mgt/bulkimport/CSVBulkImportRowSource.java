@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import au.com.bytecode.opencsv.CSVReader;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityIOStreamUtils;
+import org.wso2.carbon.user.mgt.common.UserAdminException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the rows of a CSV bulk import file as a stream.
+ */
+public class CSVBulkImportRowSource implements BulkImportRowSource {
+
+    private static final Log log = LogFactory.getLog(CSVBulkImportRowSource.class);
+
+    private final BulkImportConfig config;
+
+    public CSVBulkImportRowSource(BulkImportConfig config) {
+
+        this.config = config;
+    }
+
+    @Override
+    public void read(RowHandler handler) throws UserAdminException {
+
+        CSVReader csvReader = new CSVReader(new BufferedReader(new InputStreamReader(config.getInStream(),
+                StandardCharsets.UTF_8)), ',', '"', 1);
+        try {
+            long rowNumber = 0;
+            String[] line = csvReader.readNext();
+            while (line != null && line.length > 0) {
+                handler.handle(++rowNumber, line);
+                line = csvReader.readNext();
+            }
+        } catch (IOException e) {
+            throw new UserAdminException("Error occurred while reading the CSV file: " + config.getFileName(), e);
+        } finally {
+            try {
+                csvReader.close();
+            } catch (IOException e) {
+                log.error("Error occurred while closing the CSV file: " + config.getFileName(), e);
+            }
+            IdentityIOStreamUtils.closeInputStream(config.getInStream());
+        }
+    }
+}
@@ -22,10 +22,8 @@ import au.com.bytecode.opencsv.CSVReader;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.user.core.UserStoreException;
 import org.wso2.carbon.user.core.UserStoreManager;
-import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.user.mgt.UserMgtConstants;
 import org.wso2.carbon.user.mgt.bulkimport.util.JSONConverter;
 import org.wso2.carbon.user.mgt.common.UserAdminException;
@@ -35,8 +33,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Class to handle import users from a CSV file.
@@ -60,16 +56,7 @@ public class CSVUserBulkImport extends UserBulkImport {
             boolean isDuplicate = false;
             boolean fail = false;
             while (line != null && line.length > 0) {
-                String userName = line[0];
-
-                int index;
-                index = userName.indexOf(CarbonConstants.DOMAIN_SEPARATOR);
-                if (index > 0) {
-                    String domainFreeName = userName.substring(index + 1);
-                    userName = UserCoreUtil.addDomainToName(domainFreeName, userStoreDomain);
-                } else {
-                    userName = UserCoreUtil.addDomainToName(userName, userStoreDomain);
-                }
+                String userName = resolveUserName(line[0], userStoreDomain);
 
                 if (StringUtils.isNotBlank(userName)) {
                     try {
@@ -138,46 +125,4 @@ public class CSVUserBulkImport extends UserBulkImport {
             }
         }
     }
-
-    /**
-     * Method to handle adding users with claim values.
-     *
-     * @param username : The name of the importing user.
-     * @param line : The line read from the CSV file.
-     * @param userStore : The user store which the user should be imported to.
-     * @throws UserStoreException : Throws when there is any error occurred while adding the user to user store.
-     */
-    private void addUserWithClaims(String username, String[] line, UserStoreManager userStore)
-            throws UserStoreException {
-        String roleString = null;
-        String[] roles = null;
-        String password = line[1];
-        Map<String, String> claims = new HashMap<>();
-        for (int i = 2; i < line.length; i++) {
-            if (StringUtils.isNotBlank(line[i])) {
-                String[] claimStrings = line[i].split("=");
-                if (claimStrings.length != 2) {
-                    throw new IllegalArgumentException("Claims and values are not in correct format");
-                } else {
-                    String claimURI = claimStrings[0];
-                    String claimValue = claimStrings[1];
-                    if (claimURI.contains("role")) {
-                        roleString = claimValue;
-                    } else {
-                        if (!claimURI.isEmpty()) {
-                            // Not trimming the claim values as we should not restrict the claim values not to have
-                            // leading or trailing whitespaces.
-                            claims.put(claimURI.trim(), claimValue);
-                        }
-                    }
-                }
-            }
-        }
-
-        if (StringUtils.isNotBlank(roleString)) {
-            roles = roleString.split(":");
-        }
-
-        userStore.addUser(username, password, roles, claims, null, true);
-    }
 }
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import au.com.bytecode.opencsv.CSVWriter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.mgt.UserMgtConstants;
+import org.wso2.carbon.user.mgt.common.UserAdminException;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports users from a {@link BulkImportRowSource} as the rows are read, instead of loading the whole file first.
+ * <p>
+ * Users are added in parallel. The number of users added at a time to a user store is bounded across all the
+ * imports running on the node, which also keeps the reader from running ahead of the user store. A checkpoint of the
+ * processed rows is kept, so that an interrupted import of the same file skips the rows that were already processed.
+ * The failed and duplicate rows are written to an error report, and the progress of the running imports is
+ * available from {@link #getActiveImports()}. The user names of the file are written to the audit log in chunks.
+ */
+public class StreamingUserBulkImport extends UserBulkImport {
+
+    private static final Log log = LogFactory.getLog(StreamingUserBulkImport.class);
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_PROGRESS_LOG_INTERVAL = 30;
+    private static final int CHECKPOINT_INTERVAL = 1000;
+    private static final int AUDIT_CHUNK_SIZE = 1000;
+    private static final int USER_NAME_LOCK_STRIPES = 64;
+    private static final String DUPLICATE_USER_ERROR = "Duplicate user";
+    private static final String[] ERROR_REPORT_HEADER = {"Row", "UserName", "Error"};
+    private static final Map<String, Semaphore> userStorePermits = new ConcurrentHashMap<>();
+    private static final Map<String, BulkImportProgress> activeImports = new ConcurrentHashMap<>();
+
+    private final BulkImportConfig config;
+    private final BulkImportRowSource rowSource;
+    private final int concurrency;
+    private final long progressLogInterval;
+    private final Path dataDirectory;
+    private final String tenantDomain;
+    private final int tenantId;
+    private final String username;
+
+    public StreamingUserBulkImport(BulkImportConfig config, BulkImportRowSource rowSource) {
+
+        this.config = config;
+        this.rowSource = rowSource;
+        this.concurrency = getIntProperty(UserMgtConstants.STREAMING_BULK_IMPORT_CONCURRENCY, DEFAULT_CONCURRENCY);
+        this.progressLogInterval = TimeUnit.SECONDS.toNanos(getIntProperty(
+                UserMgtConstants.STREAMING_BULK_IMPORT_PROGRESS_LOG_INTERVAL, DEFAULT_PROGRESS_LOG_INTERVAL));
+        String dataDirectoryPath = IdentityUtil.getProperty(UserMgtConstants.STREAMING_BULK_IMPORT_DATA_DIRECTORY);
+        this.dataDirectory = StringUtils.isNotBlank(dataDirectoryPath) ? Paths.get(dataDirectoryPath.trim()) :
+                Paths.get(CarbonUtils.getCarbonHome(), "repository", "data", "bulk-user-import");
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        this.tenantDomain = carbonContext.getTenantDomain();
+        this.tenantId = carbonContext.getTenantId();
+        this.username = carbonContext.getUsername();
+    }
+
+    /**
+     * Check whether CSV and XLSX files are imported with the streaming import.
+     *
+     * @return true if the streaming import is enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(UserMgtConstants.STREAMING_BULK_IMPORT_ENABLE));
+    }
+
+    /**
+     * Get the progress of the imports running on this node.
+     *
+     * @return Progress of the running imports.
+     */
+    public static Collection<BulkImportProgress> getActiveImports() {
+
+        return Collections.unmodifiableCollection(new ArrayList<>(activeImports.values()));
+    }
+
+    @Override
+    public void addUserList(UserStoreManager userStore) throws UserAdminException {
+
+        userStoreDomain = config.getUserStoreDomain();
+        String importId = getImportId();
+        BulkImportProgress progress = new BulkImportProgress(importId, userStoreDomain);
+        if (activeImports.putIfAbsent(importId, progress) != null) {
+            throw new UserAdminException("An import of the file: " + config.getFileName() + " to the user store: "
+                    + userStoreDomain + " is already running");
+        }
+
+        ImportRun run = new ImportRun(userStore, progress,
+                BulkImportCheckpoint.load(dataDirectory.resolve(importId + ".checkpoint")),
+                dataDirectory.resolve(importId + "-errors.csv"));
+        boolean completed = false;
+        try {
+            rowSource.read(run);
+            run.awaitRows();
+            completed = true;
+        } finally {
+            run.close(completed);
+            activeImports.remove(importId);
+        }
+
+        log.info(progress);
+        String summaryLog = buildSummary(progress, run.errorReportFile);
+        JsonObject importedUsers = new JsonObject();
+        importedUsers.addProperty(UserMgtConstants.COUNT, run.readUserCount);
+        auditLog.info(String.format(UserMgtConstants.AUDIT_LOG_FORMAT, tenantUser, UserMgtConstants.OPERATION_NAME,
+                userStoreDomain, importedUsers.toString(), summaryLog));
+        log.info(summaryLog);
+
+        if (progress.getFailedCount() > 0 || progress.getDuplicateCount() > 0) {
+            throw new UserAdminException(String.format(UserMgtConstants.ERROR_MESSAGE, progress.getSuccessCount(),
+                    progress.getFailedCount(), progress.getDuplicateCount()));
+        }
+    }
+
+    private String getImportId() {
+
+        return (tenantDomain + "-" + userStoreDomain + "-" + config.getFileName()).replaceAll("[^A-Za-z0-9._-]",
+                "_");
+    }
+
+    private String buildSummary(BulkImportProgress progress, Path errorReportFile) {
+
+        JsonObject summaryJson = new JsonObject();
+        summaryJson.addProperty(UserMgtConstants.OPERATION, UserMgtConstants.OPERATION_NAME);
+        summaryJson.addProperty(UserMgtConstants.PERFORMED_BY, username);
+        summaryJson.addProperty(UserMgtConstants.USER_STORE, userStoreDomain);
+        summaryJson.addProperty(UserMgtConstants.SUCCESS_COUNT, progress.getSuccessCount());
+        if (progress.getSkippedRows() > 0) {
+            summaryJson.addProperty(UserMgtConstants.SKIPPED_ROWS, progress.getSkippedRows());
+        }
+        if (progress.getDuplicateCount() > 0) {
+            JsonObject duplicateUsersJson = new JsonObject();
+            duplicateUsersJson.addProperty(UserMgtConstants.COUNT, progress.getDuplicateCount());
+            summaryJson.add(UserMgtConstants.DUPLICATE_USERS, duplicateUsersJson);
+        }
+        if (progress.getFailedCount() > 0) {
+            JsonObject errorUsersJson = new JsonObject();
+            errorUsersJson.addProperty(UserMgtConstants.COUNT, progress.getFailedCount());
+            summaryJson.add(UserMgtConstants.FAILED_USERS, errorUsersJson);
+        }
+        if (progress.getDuplicateCount() > 0 || progress.getFailedCount() > 0) {
+            summaryJson.addProperty(UserMgtConstants.ERROR_REPORT, errorReportFile.toString());
+        }
+        return summaryJson.toString();
+    }
+
+    private static int getIntProperty(String key, int defaultValue) {
+
+        String value = StringUtils.trim(IdentityUtil.getProperty(key));
+        if (StringUtils.isNotEmpty(value) && StringUtils.isNumeric(value) && Integer.parseInt(value) > 0) {
+            return Integer.parseInt(value);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * State of a single run of the import. Rows are handed to the pool by the reading thread and processed by the
+     * pool threads.
+     */
+    private class ImportRun implements BulkImportRowSource.RowHandler {
+
+        private final UserStoreManager userStore;
+        private final BulkImportProgress progress;
+        private final BulkImportCheckpoint checkpoint;
+        private final Path errorReportFile;
+        private final Semaphore permits;
+        private final ExecutorService executor;
+        private final Object[] userNameLocks = new Object[USER_NAME_LOCK_STRIPES];
+        private final Set<String> importedUserNames = ConcurrentHashMap.newKeySet();
+        private JsonArray auditedUsers = new JsonArray();
+        private long readUserCount;
+        private CSVWriter errorReport;
+        private long skipUntilRow = -1;
+        private long lastRowNumber;
+        private long lastProgressLog = System.nanoTime();
+
+        ImportRun(UserStoreManager userStore, BulkImportProgress progress, BulkImportCheckpoint checkpoint,
+                  Path errorReportFile) {
+
+            this.userStore = userStore;
+            this.progress = progress;
+            this.checkpoint = checkpoint;
+            this.errorReportFile = errorReportFile;
+            this.permits = userStorePermits.computeIfAbsent(tenantId + ":" + userStoreDomain,
+                    key -> new Semaphore(concurrency));
+            this.executor = ThreadLocalAwareExecutors.newFixedThreadPool(concurrency);
+            for (int i = 0; i < userNameLocks.length; i++) {
+                userNameLocks[i] = new Object();
+            }
+        }
+
+        @Override
+        public void handle(long rowNumber, String[] columns) throws UserAdminException {
+
+            if (skipUntilRow < 0) {
+                start(columns[0]);
+            }
+            // Blank rows are not passed by the row source, hence they are marked as processed here.
+            for (long row = lastRowNumber + 1; row < rowNumber; row++) {
+                checkpoint.markProcessed(row);
+            }
+            lastRowNumber = rowNumber;
+            auditUser(columns[0]);
+            if (rowNumber <= skipUntilRow) {
+                progress.setSkippedRows(progress.getSkippedRows() + 1);
+                return;
+            }
+
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UserAdminException("Interrupted while importing the users of the file: "
+                        + config.getFileName(), e);
+            }
+            try {
+                executor.execute(() -> processRow(rowNumber, columns));
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw new UserAdminException("Error while importing the user in row: " + rowNumber, e);
+            }
+
+            if (rowNumber % CHECKPOINT_INTERVAL == 0) {
+                saveCheckpoint();
+            }
+            long now = System.nanoTime();
+            if (now - lastProgressLog >= progressLogInterval) {
+                lastProgressLog = now;
+                log.info(progress);
+            }
+        }
+
+        /**
+         * Resume from the checkpoint if it was recorded for this file, and open the error report.
+         *
+         * @param firstUserName User name of the first data row.
+         * @throws UserAdminException If the error report cannot be opened.
+         */
+        private void start(String firstUserName) throws UserAdminException {
+
+            boolean resume = checkpoint.matches(firstUserName);
+            skipUntilRow = resume ? checkpoint.getProcessedRow() : 0;
+            if (resume) {
+                log.info("Resuming the bulk user import: " + progress.getImportId() + " after row: " + skipUntilRow);
+            }
+            try {
+                Files.createDirectories(dataDirectory);
+                errorReport = new CSVWriter(Files.newBufferedWriter(errorReportFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, resume ? StandardOpenOption.APPEND :
+                                StandardOpenOption.TRUNCATE_EXISTING));
+                if (!resume) {
+                    errorReport.writeNext(ERROR_REPORT_HEADER);
+                }
+            } catch (IOException e) {
+                throw new UserAdminException("Error while opening the bulk user import error report: "
+                        + errorReportFile, e);
+            }
+        }
+
+        private void processRow(long rowNumber, String[] columns) {
+
+            String userName = null;
+            try {
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                carbonContext.setTenantDomain(tenantDomain);
+                carbonContext.setTenantId(tenantId);
+                carbonContext.setUsername(username);
+
+                userName = resolveUserName(columns[0], userStoreDomain);
+                if (StringUtils.isBlank(userName)) {
+                    progress.rowIgnored();
+                } else if (!addUser(userName, columns)) {
+                    progress.rowDuplicated();
+                    reportError(rowNumber, userName, DUPLICATE_USER_ERROR);
+                    log.error("User import unsuccessful - Username : " + userName + " - Error: Duplicate user");
+                } else {
+                    progress.rowSucceeded();
+                    if (log.isDebugEnabled()) {
+                        log.debug("User import successful - Username : " + userName);
+                    }
+                }
+            } catch (UserStoreException | RuntimeException e) {
+                progress.rowFailed();
+                reportError(rowNumber, userName, e.getMessage());
+                log.error("User import unsuccessful - Username : " + userName + " - Error: " + e.getMessage(), e);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+                checkpoint.markProcessed(rowNumber);
+                permits.release();
+            }
+        }
+
+        /**
+         * Add the user of a row unless it already exists. Rows of the same user name are added one at a time, so
+         * that a user name repeated in the file is reported as a duplicate rather than failing in the user store.
+         * The lower case user names added in this run are kept, so that a user name repeated in another case is
+         * reported as a duplicate even when the user store is case sensitive.
+         *
+         * @param userName Domain qualified user name.
+         * @param columns  Columns of the row.
+         * @return False if the user already exists.
+         * @throws UserStoreException If the user cannot be added.
+         */
+        private boolean addUser(String userName, String[] columns) throws UserStoreException {
+
+            String lowerCaseUserName = userName.toLowerCase(Locale.ENGLISH);
+            Object lock = userNameLocks[Math.floorMod(lowerCaseUserName.hashCode(), userNameLocks.length)];
+            synchronized (lock) {
+                if (importedUserNames.contains(lowerCaseUserName) || userStore.isExistingUser(userName)) {
+                    return false;
+                }
+                if (columns.length == 1) {
+                    userStore.addUser(userName, null, null, null, null, true);
+                } else {
+                    addUserWithClaims(userName, columns, userStore);
+                }
+                importedUserNames.add(lowerCaseUserName);
+                return true;
+            }
+        }
+
+        /**
+         * Record a user name of the file in the audit log. The user names are logged in chunks as they are read, so
+         * that an audit log line stays bounded however large the file is.
+         *
+         * @param userName User name as given in the file.
+         */
+        private void auditUser(String userName) {
+
+            auditedUsers.add(new JsonPrimitive(userName));
+            readUserCount++;
+            if (auditedUsers.size() >= AUDIT_CHUNK_SIZE) {
+                flushAuditedUsers();
+            }
+        }
+
+        private void flushAuditedUsers() {
+
+            if (auditedUsers.size() == 0) {
+                return;
+            }
+            JsonObject importedUsers = new JsonObject();
+            importedUsers.add(UserMgtConstants.USERS, auditedUsers);
+            JsonObject result = new JsonObject();
+            result.addProperty(UserMgtConstants.OPERATION, UserMgtConstants.OPERATION_NAME);
+            result.addProperty(UserMgtConstants.PERFORMED_BY, username);
+            result.addProperty(UserMgtConstants.USER_STORE, userStoreDomain);
+            result.addProperty(UserMgtConstants.READ_ROWS, lastRowNumber);
+            auditLog.info(String.format(UserMgtConstants.AUDIT_LOG_FORMAT, tenantUser,
+                    UserMgtConstants.OPERATION_NAME, userStoreDomain, importedUsers.toString(), result.toString()));
+            auditedUsers = new JsonArray();
+        }
+
+        private void reportError(long rowNumber, String userName, String error) {
+
+            synchronized (this) {
+                errorReport.writeNext(new String[]{String.valueOf(rowNumber), userName, error});
+            }
+        }
+
+        private void saveCheckpoint() {
+
+            // The error report is flushed first, so that it covers all the rows in the checkpoint.
+            synchronized (this) {
+                if (errorReport != null) {
+                    try {
+                        errorReport.flush();
+                    } catch (IOException e) {
+                        log.error("Error while writing the bulk user import error report: " + errorReportFile, e);
+                    }
+                }
+            }
+            checkpoint.save();
+        }
+
+        /**
+         * Wait until the rows handed to the pool are processed.
+         *
+         * @throws UserAdminException If interrupted while waiting.
+         */
+        void awaitRows() throws UserAdminException {
+
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(progressLogInterval, TimeUnit.NANOSECONDS)) {
+                    log.info(progress);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UserAdminException("Interrupted while importing the users of the file: "
+                        + config.getFileName(), e);
+            }
+        }
+
+        /**
+         * Complete the run. When the import did not complete, the checkpoint is kept so that the import can be
+         * resumed. Otherwise it is deleted.
+         *
+         * @param completed Whether all the rows of the file were processed.
+         */
+        void close(boolean completed) {
+
+            flushAuditedUsers();
+            if (!completed) {
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(progressLogInterval, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                saveCheckpoint();
+            } else {
+                checkpoint.delete();
+            }
+            progress.complete();
+            synchronized (this) {
+                if (errorReport != null) {
+                    try {
+                        errorReport.close();
+                    } catch (IOException e) {
+                        log.error("Error while closing the bulk user import error report: " + errorReportFile, e);
+                    }
+                }
+            }
+        }
+    }
+}
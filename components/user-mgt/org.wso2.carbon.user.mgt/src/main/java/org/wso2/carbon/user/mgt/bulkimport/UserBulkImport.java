@@ -21,10 +21,13 @@ package org.wso2.carbon.user.mgt.bulkimport;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.user.core.UserStoreException;
 import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.user.mgt.UserMgtConstants;
 import org.wso2.carbon.user.mgt.common.UserAdminException;
 
@@ -116,4 +119,63 @@ public abstract class UserBulkImport {
 
         return summaryJson.toString();
     }
+
+    /**
+     * Qualify the given user name with the user store domain of the import. A domain given in the user name is
+     * replaced with the domain of the import.
+     *
+     * @param userName        : The user name read from the file.
+     * @param userStoreDomain : The user store domain of the import.
+     * @return : The domain qualified user name.
+     */
+    static String resolveUserName(String userName, String userStoreDomain) {
+
+        int index = userName.indexOf(CarbonConstants.DOMAIN_SEPARATOR);
+        if (index > 0) {
+            return UserCoreUtil.addDomainToName(userName.substring(index + 1), userStoreDomain);
+        }
+        return UserCoreUtil.addDomainToName(userName, userStoreDomain);
+    }
+
+    /**
+     * Method to handle adding users with claim values.
+     *
+     * @param username : The name of the importing user.
+     * @param line : The line read from the CSV file.
+     * @param userStore : The user store which the user should be imported to.
+     * @throws UserStoreException : Throws when there is any error occurred while adding the user to user store.
+     */
+    static void addUserWithClaims(String username, String[] line, UserStoreManager userStore)
+            throws UserStoreException {
+        String roleString = null;
+        String[] roles = null;
+        String password = line[1];
+        Map<String, String> claims = new HashMap<>();
+        for (int i = 2; i < line.length; i++) {
+            if (StringUtils.isNotBlank(line[i])) {
+                String[] claimStrings = line[i].split("=");
+                if (claimStrings.length != 2) {
+                    throw new IllegalArgumentException("Claims and values are not in correct format");
+                } else {
+                    String claimURI = claimStrings[0];
+                    String claimValue = claimStrings[1];
+                    if (claimURI.contains("role")) {
+                        roleString = claimValue;
+                    } else {
+                        if (!claimURI.isEmpty()) {
+                            // Not trimming the claim values as we should not restrict the claim values not to have
+                            // leading or trailing whitespaces.
+                            claims.put(claimURI.trim(), claimValue);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (StringUtils.isNotBlank(roleString)) {
+            roles = roleString.split(":");
+        }
+
+        userStore.addUser(username, password, roles, claims, null, true);
+    }
 }
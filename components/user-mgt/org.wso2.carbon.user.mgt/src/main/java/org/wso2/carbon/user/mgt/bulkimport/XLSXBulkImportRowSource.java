@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.wso2.carbon.identity.core.util.IdentityIOStreamUtils;
+import org.wso2.carbon.user.mgt.common.UserAdminException;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Reads the rows of the first sheet of an XLSX bulk import file with the SAX event model of POI, instead of loading
+ * the whole workbook into memory. Only the shared strings table of the workbook is kept in memory.
+ * <p>
+ * Same as the Excel import, only the user name in the first column of the rows is read.
+ */
+public class XLSXBulkImportRowSource implements BulkImportRowSource {
+
+    private static final Log log = LogFactory.getLog(XLSXBulkImportRowSource.class);
+    private final BulkImportConfig config;
+
+    public XLSXBulkImportRowSource(BulkImportConfig config) {
+
+        this.config = config;
+    }
+
+    @Override
+    public void read(RowHandler handler) throws UserAdminException {
+
+        Path workbookFile = null;
+        OPCPackage workbook = null;
+        try {
+            // The zip entries of the workbook are read from a file, as opening the package from a stream buffers
+            // the whole package in memory.
+            workbookFile = Files.createTempFile("bulk-user-import", ".xlsx");
+            Files.copy(config.getInStream(), workbookFile, StandardCopyOption.REPLACE_EXISTING);
+            workbook = OPCPackage.open(workbookFile.toFile(), PackageAccess.READ);
+
+            XSSFReader reader = new XSSFReader(workbook);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new UserAdminException("The first sheet is empty");
+            }
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                    new ReadOnlySharedStringsTable(workbook), new UserNameHandler(handler), new DataFormatter(),
+                    false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (RowHandlingException e) {
+            throw e.getCause();
+        } catch (IOException | OpenXML4JException | InvalidOperationException | NotOfficeXmlFileException |
+                 ParserConfigurationException | SAXException e) {
+            throw new UserAdminException("Error reading the xlsx file " + e.getMessage(), e);
+        } finally {
+            if (workbook != null) {
+                workbook.revert();
+            }
+            IdentityIOStreamUtils.closeInputStream(config.getInStream());
+            deleteFile(workbookFile);
+        }
+    }
+
+    private void deleteFile(Path file) {
+
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("Error while deleting the temporary file: " + file, e);
+        }
+    }
+
+    /**
+     * Passes the user name in the first column of each data row to the row handler.
+     */
+    private static class UserNameHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private String userName;
+
+        UserNameHandler(RowHandler handler) {
+
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+
+            userName = null;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+
+            // Row 0 is the header row, hence the row index is the data row number.
+            if (rowNum == 0 || StringUtils.isBlank(userName)) {
+                return;
+            }
+            try {
+                handler.handle(rowNum, new String[]{userName});
+            } catch (UserAdminException e) {
+                throw new RowHandlingException(e);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+
+            if (cellReference != null && new CellReference(cellReference).getCol() == 0) {
+                userName = formattedValue;
+            }
+        }
+    }
+
+    /**
+     * Carries the failure of the row handler through the SAX parser.
+     */
+    private static class RowHandlingException extends RuntimeException {
+
+        private static final long serialVersionUID = 2190358106264811352L;
+
+        RowHandlingException(UserAdminException cause) {
+
+            super(cause);
+        }
+
+        @Override
+        public synchronized UserAdminException getCause() {
+
+            return (UserAdminException) super.getCause();
+        }
+    }
+}
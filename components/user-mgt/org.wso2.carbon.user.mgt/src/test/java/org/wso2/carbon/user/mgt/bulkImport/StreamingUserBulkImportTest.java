@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.user.mgt.bulkImport;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportConfig;
+import org.wso2.carbon.user.mgt.bulkimport.CSVBulkImportRowSource;
+import org.wso2.carbon.user.mgt.bulkimport.StreamingUserBulkImport;
+import org.wso2.carbon.user.mgt.common.UserAdminException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for StreamingUserBulkImport class.
+ */
+public class StreamingUserBulkImportTest {
+
+    private static final String CSV_FILENAME = "users.csv";
+    private static final String USER_STORE_DOMAIN = "SECONDARY";
+    private static final String RESOURCE_LOCATION = Paths.get(System.getProperty("user.dir"), "src", "test",
+            "resources").toString();
+    private Path dataDirectory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, this.getClass().getResource("/").getFile());
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain("carbon.super");
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(-1234);
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setUsername("admin");
+        dataDirectory = Paths.get(System.getProperty(CarbonBaseConstants.CARBON_HOME), "repository", "data",
+                "bulk-user-import");
+        deleteDataDirectory();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        PrivilegedCarbonContext.endTenantFlow();
+        deleteDataDirectory();
+    }
+
+    @Test(description = "Test importing the users of a CSV file with a duplicate user.")
+    public void testImportCSVWithDuplicateUser() throws Exception {
+
+        UserStoreManager userStore = mock(UserStoreManager.class);
+        when(userStore.isExistingUser(endsWith("testUser2"))).thenReturn(true);
+
+        try {
+            createImport().addUserList(userStore);
+            Assert.fail("The import should fail due to the duplicate user.");
+        } catch (UserAdminException e) {
+            Assert.assertTrue(e.getMessage().contains("Success count : 2"), e.getMessage());
+        }
+
+        verify(userStore).addUser(eq("SECONDARY/testUser1"), eq("testPassword1"), any(), anyMap(), any(),
+                anyBoolean());
+        verify(userStore).addUser(eq("SECONDARY/testUser3"), eq("testPassword3"), any(), anyMap(), any(),
+                anyBoolean());
+        verify(userStore, never()).addUser(eq("SECONDARY/testUser2"), any(), any(), anyMap(), any(),
+                anyBoolean());
+
+        List<String> errorReport = Files.readAllLines(dataDirectory.resolve(
+                "carbon.super-SECONDARY-users.csv-errors.csv"), StandardCharsets.UTF_8);
+        Assert.assertEquals(errorReport.size(), 2);
+        Assert.assertEquals(errorReport.get(1), "\"2\",\"SECONDARY/testUser2\",\"Duplicate user\"");
+        Assert.assertFalse(Files.exists(dataDirectory.resolve("carbon.super-SECONDARY-users.csv.checkpoint")),
+                "The checkpoint should be deleted once the import completes.");
+        Assert.assertTrue(StreamingUserBulkImport.getActiveImports().isEmpty());
+    }
+
+    @Test(description = "Test resuming an import from the checkpoint of a previous run.")
+    public void testResumeImportFromCheckpoint() throws Exception {
+
+        Files.createDirectories(dataDirectory);
+        Files.write(dataDirectory.resolve("carbon.super-SECONDARY-users.csv.checkpoint"),
+                Arrays.asList("testUser1", "2"), StandardCharsets.UTF_8);
+        UserStoreManager userStore = mock(UserStoreManager.class);
+
+        createImport().addUserList(userStore);
+
+        verify(userStore).addUser(eq("SECONDARY/testUser3"), eq("testPassword3"), any(), anyMap(), any(),
+                anyBoolean());
+        verify(userStore, never()).isExistingUser("SECONDARY/testUser1");
+        verify(userStore, never()).isExistingUser("SECONDARY/testUser2");
+    }
+
+    @Test(description = "Test that a checkpoint of a different file is not applied.")
+    public void testCheckpointOfDifferentFileIsIgnored() throws Exception {
+
+        Files.createDirectories(dataDirectory);
+        Files.write(dataDirectory.resolve("carbon.super-SECONDARY-users.csv.checkpoint"),
+                Arrays.asList("anotherUser", "2"), StandardCharsets.UTF_8);
+        UserStoreManager userStore = mock(UserStoreManager.class);
+
+        createImport().addUserList(userStore);
+
+        verify(userStore).addUser(eq("SECONDARY/testUser1"), eq("testPassword1"), any(), anyMap(), any(),
+                anyBoolean());
+        verify(userStore).addUser(eq("SECONDARY/testUser2"), eq("testPassword2"), any(), anyMap(), any(),
+                anyBoolean());
+    }
+
+    @Test(description = "Test that a user name repeated in the file is reported as a duplicate.")
+    public void testImportCSVWithRepeatedUser() throws Exception {
+
+        Path csvFile = Files.createTempFile("repeated-users", ".csv");
+        Files.write(csvFile, Arrays.asList("UserName,Password,Claims", "repeatedUser,testPassword1,",
+                "repeatedUser,testPassword2,", "REPEATEDUSER,testPassword3,", "repeatedUser,testPassword4,"),
+                StandardCharsets.UTF_8);
+        Set<String> addedUsers = ConcurrentHashMap.newKeySet();
+        UserStoreManager userStore = mock(UserStoreManager.class);
+        when(userStore.isExistingUser(anyString())).thenAnswer(invocation ->
+                addedUsers.contains(invocation.<String>getArgument(0).toLowerCase(Locale.ENGLISH)));
+        doAnswer(invocation -> {
+            // Keep the user addition in progress long enough for the other rows to reach the user store.
+            Thread.sleep(50);
+            addedUsers.add(invocation.<String>getArgument(0).toLowerCase(Locale.ENGLISH));
+            return null;
+        }).when(userStore).addUser(anyString(), any(), any(), anyMap(), any(), anyBoolean());
+
+        try {
+            createImport(csvFile, "repeated-users.csv").addUserList(userStore);
+            Assert.fail("The import should fail due to the duplicate users.");
+        } catch (UserAdminException e) {
+            Assert.assertTrue(e.getMessage().contains("Success count : 1,  Failed Count : 0, Duplicate Count : 3"),
+                    e.getMessage());
+        } finally {
+            Files.delete(csvFile);
+        }
+        verify(userStore).addUser(anyString(), any(), any(), anyMap(), any(), anyBoolean());
+    }
+
+    @Test(description = "Test that a user name repeated in another case is a duplicate in a case sensitive store.")
+    public void testImportCSVWithRepeatedUserInCaseSensitiveStore() throws Exception {
+
+        Path csvFile = Files.createTempFile("repeated-case-users", ".csv");
+        Files.write(csvFile, Arrays.asList("UserName,Password,Claims", "caseUser,testPassword1,",
+                "CASEUSER,testPassword2,", "CaseUser,testPassword3,"), StandardCharsets.UTF_8);
+        Set<String> addedUsers = ConcurrentHashMap.newKeySet();
+        UserStoreManager userStore = mock(UserStoreManager.class);
+        when(userStore.isExistingUser(anyString())).thenAnswer(invocation ->
+                addedUsers.contains(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> addedUsers.add(invocation.getArgument(0))).when(userStore)
+                .addUser(anyString(), any(), any(), anyMap(), any(), anyBoolean());
+
+        try {
+            createImport(csvFile, "repeated-case-users.csv").addUserList(userStore);
+            Assert.fail("The import should fail due to the duplicate users.");
+        } catch (UserAdminException e) {
+            Assert.assertTrue(e.getMessage().contains("Success count : 1,  Failed Count : 0, Duplicate Count : 2"),
+                    e.getMessage());
+        } finally {
+            Files.delete(csvFile);
+        }
+        verify(userStore).addUser(anyString(), any(), any(), anyMap(), any(), anyBoolean());
+    }
+
+    private StreamingUserBulkImport createImport() throws IOException {
+
+        return createImport(Paths.get(RESOURCE_LOCATION, CSV_FILENAME), CSV_FILENAME);
+    }
+
+    private StreamingUserBulkImport createImport(Path file, String fileName) throws IOException {
+
+        BulkImportConfig config = new BulkImportConfig(new FileInputStream(file.toFile()), fileName);
+        config.setUserStoreDomain(USER_STORE_DOMAIN);
+        return new StreamingUserBulkImport(config, new CSVBulkImportRowSource(config));
+    }
+
+    private void deleteDataDirectory() throws IOException {
+
+        if (Files.exists(dataDirectory)) {
+            for (File file : dataDirectory.toFile().listFiles()) {
+                Files.delete(file.toPath());
+            }
+            Files.delete(dataDirectory);
+        }
+    }
+}
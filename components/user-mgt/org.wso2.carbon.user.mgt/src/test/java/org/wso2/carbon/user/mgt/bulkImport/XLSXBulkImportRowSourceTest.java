@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.user.mgt.bulkImport;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportConfig;
+import org.wso2.carbon.user.mgt.bulkimport.XLSXBulkImportRowSource;
+import org.wso2.carbon.user.mgt.common.UserAdminException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test cases for XLSXBulkImportRowSource class.
+ */
+public class XLSXBulkImportRowSourceTest {
+
+    private static final String XLSX_FILENAME = "users.xlsx";
+
+    @Test(description = "Test reading the user names of the data rows of the first sheet.")
+    public void testReadUserNames() throws Exception {
+
+        List<String> rows = new ArrayList<>();
+        createRowSource().read((rowNumber, columns) -> rows.add(rowNumber + ":" + String.join(",", columns)));
+
+        // The header row, the blank row and the row without a user name are not passed to the handler.
+        Assert.assertEquals(rows, Arrays.asList("1:testUser1", "3:12345", "5:testUser5"));
+    }
+
+    @Test(description = "Test that a failure of the row handler stops reading the file.")
+    public void testRowHandlerFailure() throws Exception {
+
+        List<Long> rowNumbers = new ArrayList<>();
+        try {
+            createRowSource().read((rowNumber, columns) -> {
+                rowNumbers.add(rowNumber);
+                throw new UserAdminException("Row handler failure");
+            });
+            Assert.fail("The row handler failure should be thrown.");
+        } catch (UserAdminException e) {
+            Assert.assertEquals(e.getMessage(), "Row handler failure");
+        }
+        Assert.assertEquals(rowNumbers, Arrays.asList(1L));
+    }
+
+    @Test(description = "Test reading a file which is not an XLSX workbook.",
+            expectedExceptions = UserAdminException.class)
+    public void testReadInvalidFile() throws Exception {
+
+        BulkImportConfig config = new BulkImportConfig(new ByteArrayInputStream("UserName\ntestUser1".getBytes()),
+                XLSX_FILENAME);
+        new XLSXBulkImportRowSource(config).read((rowNumber, columns) -> {
+        });
+    }
+
+    private XLSXBulkImportRowSource createRowSource() throws IOException {
+
+        ByteArrayOutputStream workbookBytes = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("users");
+            sheet.createRow(0).createCell(0).setCellValue("UserName");
+            sheet.createRow(1).createCell(0).setCellValue("testUser1");
+            // Row 2 is left blank.
+            sheet.createRow(3).createCell(0).setCellValue(12345);
+            Row rowWithoutUserName = sheet.createRow(4);
+            rowWithoutUserName.createCell(1).setCellValue("testPassword4");
+            sheet.createRow(5).createCell(0).setCellValue("testUser5");
+            workbook.createSheet("other").createRow(1).createCell(0).setCellValue("otherUser");
+            workbook.write(workbookBytes);
+        }
+        BulkImportConfig config = new BulkImportConfig(new ByteArrayInputStream(workbookBytes.toByteArray()),
+                XLSX_FILENAME);
+        return new XLSXBulkImportRowSource(config);
+    }
+}
@@ -796,6 +796,28 @@ CREATE TABLE IF NOT EXISTS IDP_PROVISIONING_ENTITY (
 )
   ENGINE NDB;
 
+CREATE TABLE IF NOT EXISTS IDP_PROVISIONING_OUTBOX (
+  ID INTEGER AUTO_INCREMENT,
+  IDEMPOTENCY_KEY VARCHAR(255) NOT NULL,
+  TENANT_ID INTEGER NOT NULL,
+  SP_TENANT_DOMAIN VARCHAR(255) NOT NULL,
+  ENTITY_TENANT_DOMAIN VARCHAR(255),
+  IDP_NAME VARCHAR(254) NOT NULL,
+  CONNECTOR_TYPE VARCHAR(255) NOT NULL,
+  ORDERING_KEY VARCHAR(255) NOT NULL,
+  PAYLOAD MEDIUMBLOB NOT NULL,
+  STATUS VARCHAR(20) NOT NULL,
+  ATTEMPTS INTEGER DEFAULT 0,
+  NEXT_ATTEMPT_TIME BIGINT NOT NULL,
+  CLAIMED_BY VARCHAR(255),
+  CLAIM_TIME BIGINT,
+  LAST_ERROR VARCHAR(1024),
+  CREATED_TIME BIGINT NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (IDEMPOTENCY_KEY)
+)
+  ENGINE NDB;
+
 CREATE TABLE IF NOT EXISTS IDP_LOCAL_CLAIM (
   ID            INTEGER      AUTO_INCREMENT,
   TENANT_ID     INTEGER,
@@ -1671,6 +1693,10 @@ CREATE INDEX IDX_CLAIM_TI_CU ON IDN_CLAIM (TENANT_ID, CLAIM_URI);
 -- IDP_AUTHENTICATOR_PROPERTY --
 CREATE INDEX IDX_AUTH_PROP_AUTH_ID ON IDP_AUTHENTICATOR_PROPERTY (AUTHENTICATOR_ID);
 
+-- IDP_PROVISIONING_OUTBOX --
+CREATE INDEX IDX_IDP_PROV_OUTBOX_ST_NAT ON IDP_PROVISIONING_OUTBOX (STATUS, NEXT_ATTEMPT_TIME);
+CREATE INDEX IDX_IDP_PROV_OUTBOX_OK_ID ON IDP_PROVISIONING_OUTBOX (ORDERING_KEY, ID);
+
 -- IDN_CONFIG_FILE --
 CREATE INDEX IDX_CON_FILE_RES_ID ON IDN_CONFIG_FILE (RESOURCE_ID);
 
@@ -1135,6 +1135,37 @@ CREATE OR REPLACE TRIGGER IDP_PROV_ENTITY_TRIG
                    SELECT IDP_PROV_ENTITY_SEQ.nextval INTO :NEW.ID FROM dual;
                END;
 /
+CREATE TABLE IDP_PROVISIONING_OUTBOX (
+            ID INTEGER,
+            IDEMPOTENCY_KEY VARCHAR(255) NOT NULL,
+            TENANT_ID INTEGER NOT NULL,
+            SP_TENANT_DOMAIN VARCHAR(255) NOT NULL,
+            ENTITY_TENANT_DOMAIN VARCHAR(255),
+            IDP_NAME VARCHAR(254) NOT NULL,
+            CONNECTOR_TYPE VARCHAR(255) NOT NULL,
+            ORDERING_KEY VARCHAR(255) NOT NULL,
+            PAYLOAD BLOB NOT NULL,
+            STATUS VARCHAR(20) NOT NULL,
+            ATTEMPTS INTEGER DEFAULT 0,
+            NEXT_ATTEMPT_TIME NUMBER(19) NOT NULL,
+            CLAIMED_BY VARCHAR(255),
+            CLAIM_TIME NUMBER(19),
+            LAST_ERROR VARCHAR(1024),
+            CREATED_TIME NUMBER(19) NOT NULL,
+            PRIMARY KEY (ID),
+            UNIQUE (IDEMPOTENCY_KEY))
+/
+CREATE SEQUENCE IDP_PROV_OUTBOX_SEQ START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER IDP_PROV_OUTBOX_TRIG
+            BEFORE INSERT
+            ON IDP_PROVISIONING_OUTBOX
+            REFERENCING NEW AS NEW
+            FOR EACH ROW
+               BEGIN
+                   SELECT IDP_PROV_OUTBOX_SEQ.nextval INTO :NEW.ID FROM dual;
+               END;
+/
 CREATE TABLE IDP_LOCAL_CLAIM (
             ID INTEGER,
             TENANT_ID INTEGER,
@@ -2313,6 +2344,12 @@ CREATE INDEX IDX_CLAIM_TI_CU ON IDN_CLAIM (TENANT_ID, CLAIM_URI)
 CREATE INDEX IDX_AUTH_PROP_AUTH_ID ON IDP_AUTHENTICATOR_PROPERTY (AUTHENTICATOR_ID)
 /
 
+-- IDP_PROVISIONING_OUTBOX --
+CREATE INDEX IDX_IDP_PROV_OUTBOX_ST_NAT ON IDP_PROVISIONING_OUTBOX (STATUS, NEXT_ATTEMPT_TIME)
+/
+CREATE INDEX IDX_IDP_PROV_OUTBOX_OK_ID ON IDP_PROVISIONING_OUTBOX (ORDERING_KEY, ID)
+/
+
 -- SCOPE --
 CREATE INDEX API_ID_NAME_INDEX ON SCOPE (API_ID, NAME)
 /